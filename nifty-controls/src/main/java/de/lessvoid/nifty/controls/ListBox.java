@@ -74,6 +74,15 @@ public interface ListBox<T> extends NiftyControl {
    */
   void selectItemByIndex(final int selectionIndex);
 
+  /**
+   * Select all items from the first to the last index (both inclusive). With {@link SelectionMode#Single} only the
+   * item at the last index will be selected.
+   *
+   * @param firstIndex the index of the first item to select
+   * @param lastIndex  the index of the last item to select
+   */
+  void selectItemRangeByIndex(int firstIndex, int lastIndex);
+
   /**
    * Select the item in the ListBox.
    *
@@ -198,6 +207,14 @@ public interface ListBox<T> extends NiftyControl {
    */
   void addAllItems(@Nonnull Collection<T> itemsToAdd);
 
+  /**
+   * Insert all items at the given index. This is much faster than inserting the items one by one.
+   *
+   * @param itemsToInsert the items to insert
+   * @param index         the index the first of the items will have in the ListBox
+   */
+  void insertAllItems(@Nonnull Collection<T> itemsToInsert, int index);
+
   /**
    * Remove all items given in the List from this ListBox.
    *
@@ -205,6 +222,15 @@ public interface ListBox<T> extends NiftyControl {
    */
   void removeAllItems(@Nonnull Collection<T> itemsToRemove);
 
+  /**
+   * Remove all items from the first to the last index (both inclusive). This is much faster than removeAllItems()
+   * when the items to remove are next to each other.
+   *
+   * @param firstIndex the index of the first item to remove
+   * @param lastIndex  the index of the last item to remove
+   */
+  void removeItemRangeByIndex(int firstIndex, int lastIndex);
+
   /**
    * Sort all items using natural ordering.
    */
@@ -228,6 +254,20 @@ public interface ListBox<T> extends NiftyControl {
    */
   void refresh();
 
+  /**
+   * Use the given ListBoxDataProvider to access the items of this ListBox. The ListBox will not copy the items but only
+   * request the items it displays from the data provider. All items that have been added to the ListBox before are
+   * removed. While a data provider is used the methods that add, remove or sort items are not supported.
+   *
+   * @param dataProvider the data provider or {@code null} to store the items in the ListBox again
+   */
+  void setDataProvider(@Nullable ListBoxDataProvider<T> dataProvider);
+
+  /**
+   * Call this when the items of the data provider have changed.
+   */
+  void dataProviderChanged();
+
   void addItemProcessor(@Nonnull ListBoxItemProcessor processor);
   
   /**
@@ -0,0 +1,50 @@
+package de.lessvoid.nifty.controls;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A ListBoxDataProvider gives a ListBox access to items that are stored somewhere else. When a ListBox uses a
+ * ListBoxDataProvider it does not copy the items. It only requests the items that are currently displayed and keeps
+ * the selection as a set of item indices. This allows a ListBox to display a very large number of items.
+ * <p/>
+ * When the items of the data provider change you'll need to call {@link ListBox#dataProviderChanged()}.
+ *
+ * @param <T> the type of the items
+ * @author void
+ */
+public interface ListBoxDataProvider<T> {
+  /**
+   * The total number of items.
+   *
+   * @return the number of items
+   */
+  int size();
+
+  /**
+   * Get the item with the given index.
+   *
+   * @param index the index of the item [0, size())
+   * @return the item
+   */
+  @Nonnull
+  T get(int index);
+
+  /**
+   * Get the index of the given item. This is used by the ListBox methods that take an item instead of an index, for
+   * instance {@link ListBox#selectItem(Object)}. If the data provider can't find items quickly prefer the ListBox
+   * methods that work with indices.
+   *
+   * @param item the item to look for
+   * @return the index of the item or -1 when the item is not part of the data
+   */
+  int indexOf(@Nonnull T item);
+
+  /**
+   * An estimate for the width of the widest item. This is used to update the horizontal scrollbar of the ListBox. When
+   * this returns a negative value the ListBox only measures the items it displays and uses the widest item it has seen
+   * so far.
+   *
+   * @return the estimated width of the widest item or a negative value when there is no estimate
+   */
+  int getWidthEstimate();
+}
@@ -71,6 +71,23 @@ public interface ScrollPanel extends NiftyControl {
   @Nonnull
   AutoScroll getAutoScroll();
 
+  /**
+   * Enable or disable the virtualized mode. In the virtualized mode all children that are completely outside of the
+   * visible area of the scroll panel are not rendered and not checked for mouse events. This makes a scroll panel with
+   * a lot of content a lot faster.
+   *
+   * @param virtualized true to enable the virtualized mode
+   * @param skipLayout true to skip the layout of the children of invisible elements as well
+   */
+  void setVirtualized(boolean virtualized, boolean skipLayout);
+
+  /**
+   * Check if the virtualized mode is enabled.
+   *
+   * @return true when the scroll panel is virtualized
+   */
+  boolean isVirtualized();
+
   /**
    * Step size x
    */
@@ -0,0 +1,104 @@
+package de.lessvoid.nifty.controls;
+
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.elements.render.TextRenderer;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * The Table control. A Table is a ListBox that displays each item in a row of cells. Only the rows that fit into the
+ * Table are created and they are reused while scrolling. Together with a {@link ListBoxDataProvider} a Table can
+ * display a very large number of rows.
+ *
+ * @author void
+ */
+public interface Table<T> extends ListBox<T> {
+  /**
+   * Get the number of columns.
+   *
+   * @return the number of columns
+   */
+  int getColumnCount();
+
+  /**
+   * Change the width of a column. This only changes the cells of the displayed rows.
+   *
+   * @param column the index of the column
+   * @param width  the new width of the column in pixel
+   */
+  void setColumnWidth(int column, int width);
+
+  /**
+   * Get the width of a column.
+   *
+   * @param column the index of the column
+   * @return the width of the column in pixel
+   */
+  int getColumnWidth(int column);
+
+  /**
+   * Change the TableCellConverter that displays the items in the cells.
+   *
+   * @param cellConverter the new TableCellConverter
+   */
+  void setTableCellConverter(@Nonnull TableCellConverter<T> cellConverter);
+
+  /**
+   * You'll need to implement this interface to change the way your model class T is displayed in the cells of the
+   * Table. If you omit it then Nifty will use the {@link TableCellConverterSimple}.
+   *
+   * @param <T>
+   * @author void
+   */
+  public interface TableCellConverter<T> {
+    /**
+     * Display the given column of the given item in the given cell element.
+     *
+     * @param cell   the element of the cell
+     * @param item   the item of the row
+     * @param column the index of the column
+     */
+    void display(@Nonnull Element cell, @Nonnull T item, int column);
+  }
+
+  /**
+   * A simple implementation of TableCellConverter. When the item is an array or a List it displays the element with
+   * the index of the column in each cell. Any other item is displayed with item.toString() in the first column.
+   *
+   * @param <T>
+   * @author void
+   */
+  public class TableCellConverterSimple<T> implements TableCellConverter<T> {
+    private final Logger log = Logger.getLogger(TableCellConverterSimple.class.getName());
+
+    @Override
+    public void display(@Nonnull final Element cell, @Nonnull final T item, final int column) {
+      TextRenderer renderer = cell.getRenderer(TextRenderer.class);
+      if (renderer == null) {
+        log.warning(
+            "you're using the TableCellConverterSimple but there is no TextRenderer on the cell element."
+                + "You've probably changed the cell template but did not provided your own "
+                + "TableCellConverter to the Table.");
+        return;
+      }
+      renderer.setText(getCellText(item, column));
+    }
+
+    @Nonnull
+    private String getCellText(@Nonnull final T item, final int column) {
+      Object value;
+      if (item instanceof Object[]) {
+        Object[] values = (Object[]) item;
+        value = column < values.length ? values[column] : null;
+      } else if (item instanceof List) {
+        List<?> values = (List<?>) item;
+        value = column < values.size() ? values.get(column) : null;
+      } else {
+        value = column == 0 ? item : null;
+      }
+      return value == null ? "" : value.toString();
+    }
+  }
+}
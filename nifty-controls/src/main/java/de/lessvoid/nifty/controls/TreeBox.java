@@ -20,4 +20,13 @@ public interface TreeBox<T> extends ListBox<TreeItem<T>> {
    * @param treeRoot the root node of the tree
    */
   void setTree(@Nonnull TreeItem<T> treeRoot);
+
+  /**
+   * Expand or collapse the given item. Only the children of the item are added to or removed from the displayed list.
+   * A child loader of the item is called when it's expanded for the first time.
+   *
+   * @param item     the item to expand or collapse
+   * @param expanded {@code true} to expand the item, {@code false} to collapse it
+   */
+  void setExpanded(@Nonnull TreeItem<T> item, boolean expanded);
 }
@@ -45,6 +45,12 @@ public final class TreeItem<T> implements Iterable<TreeItem<T>> {
    */
   private int indent;
 
+  /**
+   * The loader that creates the children of this item when it's expanded for the first time.
+   */
+  @Nullable
+  private ChildLoader<T> childLoader;
+
   /**
    * Default item for a constructor.
    */
@@ -118,12 +124,44 @@ public final class TreeItem<T> implements Iterable<TreeItem<T>> {
   }
 
   /**
-   * Check if this tree item is a leaf. So if it does not have any children.
+   * Check if this tree item is a leaf. So if it does not have any children. An item with a child loader that has not
+   * been called yet is never a leaf.
    *
    * @return {@code true} in case this tree item is a leaf
    */
   public boolean isLeaf() {
-    return children.isEmpty();
+    return childLoader == null && children.isEmpty();
+  }
+
+  /**
+   * Set a loader that adds the children of this item. The loader is called once when the children are required for the
+   * first time, usually when the item gets expanded. This allows to display large trees without creating all items in
+   * advance.
+   *
+   * @param loader the loader or {@code null} to remove a loader that was not called yet
+   */
+  public void setChildLoader(@Nullable final ChildLoader<T> loader) {
+    childLoader = loader;
+  }
+
+  /**
+   * Check if the children of this item still need to be loaded.
+   *
+   * @return {@code true} in case a child loader is set that was not called yet
+   */
+  public boolean isChildLoadingPending() {
+    return childLoader != null;
+  }
+
+  /**
+   * Make sure the children of this item are loaded. When a child loader is set it's called now and removed afterwards.
+   */
+  public void ensureChildrenLoaded() {
+    final ChildLoader<T> loader = childLoader;
+    if (loader != null) {
+      childLoader = null;
+      loader.loadChildren(this);
+    }
   }
 
   public int getIndent() {
@@ -133,4 +171,18 @@ public final class TreeItem<T> implements Iterable<TreeItem<T>> {
   public void setIndent(final int indent) {
     this.indent = indent;
   }
+
+  /**
+   * Loads the children of a TreeItem on demand.
+   *
+   * @param <T> the type that is displayed in the node
+   */
+  public interface ChildLoader<T> {
+    /**
+     * Add the children to the given item using {@link TreeItem#addTreeItem(TreeItem)}.
+     *
+     * @param item the item that needs its children
+     */
+    void loadChildren(@Nonnull TreeItem<T> item);
+  }
 }
@@ -3,10 +3,15 @@ package de.lessvoid.nifty.controls.console;
 import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.controls.*;
 import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.elements.render.TextViewRenderer;
+import de.lessvoid.nifty.elements.tools.TextLineStore;
 import de.lessvoid.nifty.input.NiftyInputEvent;
+import de.lessvoid.nifty.input.NiftyMouseInputEvent;
 import de.lessvoid.nifty.input.NiftyStandardInputEvent;
 import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.nifty.spi.render.RenderFont;
 import de.lessvoid.nifty.tools.Color;
+import de.lessvoid.nifty.tools.SizeValue;
 import org.bushe.swing.event.EventTopicSubscriber;
 
 import javax.annotation.Nonnull;
@@ -17,6 +22,11 @@ import java.util.logging.Logger;
 
 /**
  * A Nifty Control that represents a input console.
+ * <p/>
+ * The console output is written to a textView element with the id "#textView". The textView only renders the visible
+ * lines and can therefore keep a very large number of lines. It is scrolled with the mouse wheel or with the vertical
+ * scrollbar "#vertical-scrollbar". Control definitions that have a ListBox with the id "#listBox" instead of the
+ * textView are still supported.
  *
  * @author void
  * @deprecated Please use {@link de.lessvoid.nifty.controls.Console} when accessing NiftyControls.
@@ -32,11 +42,25 @@ public class ConsoleControl extends AbstractController implements Console, Event
   @Nullable
   private ListBox<String> listBox;
   @Nullable
+  private TextViewRenderer textView;
+  @Nullable
+  private Element textViewElement;
+  @Nullable
+  private Scrollbar verticalScrollbar;
+  @Nullable
   private TextField textfield;
   @Nullable
   private Color standardColor = null;
   @Nonnull
   private Color errorColor = new Color("#f00a");
+  @Nonnull
+  private final EventTopicSubscriber<ScrollbarChangedEvent> verticalScrollbarSubscriber = new
+      EventTopicSubscriber<ScrollbarChangedEvent>() {
+        @Override
+        public void onEvent(final String id, @Nonnull final ScrollbarChangedEvent event) {
+          scrollTextView(event.getScrollbar(), event.getValue());
+        }
+      };
 
   @SuppressWarnings("unchecked")
   @Override
@@ -48,12 +72,25 @@ public class ConsoleControl extends AbstractController implements Console, Event
     super.bind(element);
     this.nifty = nifty;
     this.screen = screen;
-    listBox = element.findNiftyControl("#listBox", ListBox.class);
+    textViewElement = element.findElementById("#textView");
+    if (textViewElement != null) {
+      textView = textViewElement.getRenderer(TextViewRenderer.class);
+    }
+    if (textView == null) {
+      listBox = element.findNiftyControl("#listBox", ListBox.class);
+    } else {
+      verticalScrollbar = element.findNiftyControl("#vertical-scrollbar", Scrollbar.class);
+      RenderFont font = textView.getFont();
+      int lines = properties.getAsInteger("lines", 0);
+      if (font != null && lines > 0 && textViewElement != null) {
+        textViewElement.setConstraintHeight(SizeValue.px(lines * font.getHeight()));
+      }
+    }
     textfield = element.findNiftyControl("#textInput", TextField.class);
 
-    if (listBox == null) {
+    if (listBox == null && textView == null) {
       log.severe("Failed to locate the list to show the console log. Console functionality severely limited. Looked " +
-          "for: #listBox");
+          "for: #listBox and #textView");
     }
     if (textfield == null) {
       log.severe("Failed to locate the input area of the console. No console input possible. Looked for: #textInput");
@@ -75,6 +112,12 @@ public class ConsoleControl extends AbstractController implements Console, Event
       } else {
         nifty.subscribe(screen, id, NiftyInputEvent.class, this);
       }
+      if (verticalScrollbar != null) {
+        String scrollbarId = verticalScrollbar.getId();
+        if (scrollbarId != null) {
+          nifty.subscribe(screen, scrollbarId, ScrollbarChangedEvent.class, verticalScrollbarSubscriber);
+        }
+      }
 
       Element element = getElement();
       if (element != null) {
@@ -85,11 +128,24 @@ public class ConsoleControl extends AbstractController implements Console, Event
 
   @Override
   public void onStartScreen() {
+    updateScrollbar();
     if (textfield != null) {
       textfield.setFocus();
     }
   }
 
+  public void mouseWheel(@Nonnull final Element e, @Nonnull final NiftyMouseInputEvent inputEvent) {
+    int mouseWheel = inputEvent.getMouseWheel();
+    if (mouseWheel == 0 || textView == null || textViewElement == null) {
+      return;
+    }
+    if (verticalScrollbar != null) {
+      verticalScrollbar.setValue(verticalScrollbar.getValue() - verticalScrollbar.getButtonStepSize() * mouseWheel);
+    } else {
+      textView.scrollTo(textView.getFirstVisibleLine(textViewElement) - mouseWheel);
+    }
+  }
+
   @Nullable
   @Override
   public TextField getTextField() {
@@ -104,10 +160,16 @@ public class ConsoleControl extends AbstractController implements Console, Event
   @Override
   public void onEvent(final String topic, @Nonnull final NiftyInputEvent data) {
     if (data == NiftyStandardInputEvent.SubmitText) {
-      if (textfield != null && listBox != null) {
+      if (textfield != null && (listBox != null || textView != null)) {
         String text = textfield.getText();
-        listBox.addItem(text);
-        listBox.showItemByIndex(listBox.itemCount() - 1);
+        if (textView != null) {
+          textView.getLineStore().addLine(text);
+          textView.scrollToEnd();
+          updateScrollbar();
+        } else if (listBox != null) {
+          listBox.addItem(text);
+          listBox.showItemByIndex(listBox.itemCount() - 1);
+        }
 
         textfield.setText("");
         String id = getId();
@@ -136,6 +198,14 @@ public class ConsoleControl extends AbstractController implements Console, Event
   @Nonnull
   @Override
   public String[] getConsoleContent() {
+    if (textView != null) {
+      TextLineStore lineStore = textView.getLineStore();
+      String[] content = new String[lineStore.getLineCount()];
+      for (int i = 0; i < content.length; i++) {
+        content[i] = lineStore.getLine(i);
+      }
+      return content;
+    }
     if (listBox == null) {
       return new String[0];
     }
@@ -145,6 +215,11 @@ public class ConsoleControl extends AbstractController implements Console, Event
 
   @Override
   public void clear() {
+    if (textView != null) {
+      textView.clear();
+      textView.scrollToEnd();
+      updateScrollbar();
+    }
     if (listBox != null) {
       listBox.clear();
     }
@@ -166,7 +241,7 @@ public class ConsoleControl extends AbstractController implements Console, Event
   }
 
   private void out(@Nonnull final String param, @Nullable final Color color) {
-    if (listBox == null) {
+    if (listBox == null && textView == null) {
       return;
     }
     final String value;
@@ -176,6 +251,14 @@ public class ConsoleControl extends AbstractController implements Console, Event
       value = nifty.specialValuesReplace(param);
     }
 
+    if (textView != null) {
+      outTextView(textView, value, color);
+      return;
+    }
+    if (listBox == null) {
+      return;
+    }
+
     String[] lines = value.split("\n");
     List<String> list = new ArrayList<String>(lines.length);
     for (String line : lines) {
@@ -188,4 +271,54 @@ public class ConsoleControl extends AbstractController implements Console, Event
     listBox.addAllItems(list);
     listBox.showItemByIndex(listBox.itemCount() - 1);
   }
+
+  private void outTextView(
+      @Nonnull final TextViewRenderer textView,
+      @Nonnull final String value,
+      @Nullable final Color color) {
+    TextLineStore lineStore = textView.getLineStore();
+    if (color == null) {
+      lineStore.append(value);
+    } else {
+      String colorPrefix = "\\" + color.getColorString() + "#";
+      int start = 0;
+      int end = value.indexOf('\n');
+      while (end != -1) {
+        lineStore.addLine(colorPrefix + value.substring(start, end));
+        start = end + 1;
+        end = value.indexOf('\n', start);
+      }
+      lineStore.addLine(colorPrefix + value.substring(start));
+    }
+    textView.scrollToEnd();
+    updateScrollbar();
+  }
+
+  /**
+   * Update the vertical scrollbar to the current number of lines. The scrollbar works in lines.
+   */
+  private void updateScrollbar() {
+    if (verticalScrollbar == null || textView == null || textViewElement == null) {
+      return;
+    }
+    int visibleLines = textView.getVisibleLineCount(textViewElement);
+    verticalScrollbar.setup(
+        textView.getFirstVisibleLine(textViewElement),
+        textView.getLineStore().getLineCount(),
+        visibleLines,
+        1.f,
+        Math.max(1, visibleLines));
+  }
+
+  private void scrollTextView(@Nonnull final Scrollbar scrollbar, final float value) {
+    if (textView == null) {
+      return;
+    }
+    // scrolling down to the last line switches back to following the end of the text
+    if (value >= scrollbar.getWorldMax() - scrollbar.getWorldPageSize()) {
+      textView.scrollToEnd();
+    } else {
+      textView.scrollTo((int) value);
+    }
+  }
 }
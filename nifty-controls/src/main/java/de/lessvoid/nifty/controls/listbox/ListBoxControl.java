@@ -17,6 +17,7 @@ import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.NiftyIdCreator;
 import de.lessvoid.nifty.controls.AbstractController;
 import de.lessvoid.nifty.controls.ListBox;
+import de.lessvoid.nifty.controls.ListBoxDataProvider;
 import de.lessvoid.nifty.controls.ListBoxSelectionChangedEvent;
 import de.lessvoid.nifty.controls.Parameters;
 import de.lessvoid.nifty.controls.Scrollbar;
@@ -656,6 +657,11 @@ public class ListBoxControl<T> extends AbstractController implements ListBox<T>,
     listBoxImpl.selectItemByIndex(selectionIndex);
   }
 
+  @Override
+  public void selectItemRangeByIndex(final int firstIndex, final int lastIndex) {
+    listBoxImpl.selectItemRangeByIndex(firstIndex, lastIndex);
+  }
+
   @Override
   public void selectItem(@Nonnull final T item) {
     listBoxImpl.selectItem(item);
@@ -760,11 +766,21 @@ public class ListBoxControl<T> extends AbstractController implements ListBox<T>,
     listBoxImpl.addAllItems(itemsToAdd);
   }
 
+  @Override
+  public void insertAllItems(@Nonnull final Collection<T> itemsToInsert, final int index) {
+    listBoxImpl.insertAllItems(itemsToInsert, index);
+  }
+
   @Override
   public void removeAllItems(@Nonnull final Collection<T> itemsToRemove) {
     listBoxImpl.removeAllItems(itemsToRemove);
   }
 
+  @Override
+  public void removeItemRangeByIndex(final int firstIndex, final int lastIndex) {
+    listBoxImpl.removeItemRangeByIndex(firstIndex, lastIndex);
+  }
+
   @Override
   public void sortAllItems() {
     listBoxImpl.sortItems(null);
@@ -785,6 +801,16 @@ public class ListBoxControl<T> extends AbstractController implements ListBox<T>,
     listBoxImpl.updateView();
   }
 
+  @Override
+  public void setDataProvider(@Nullable final ListBoxDataProvider<T> dataProvider) {
+    listBoxImpl.setDataProvider(dataProvider);
+  }
+
+  @Override
+  public void dataProviderChanged() {
+    listBoxImpl.dataProviderChanged();
+  }
+
   // internals 
 
   private void initSelectionMode(
@@ -891,6 +917,24 @@ public class ListBoxControl<T> extends AbstractController implements ListBox<T>,
     }
   }
 
+  /**
+   * Measure the width of all items again. Subclasses need to call this when they change the way the items are
+   * displayed.
+   */
+  protected void updateItemWidths() {
+    listBoxImpl.updateItemWidths();
+  }
+
+  /**
+   * Use the same width for all items instead of measuring each of them. Subclasses that display all items with the
+   * same width can use this to update the width of all items at once.
+   *
+   * @param width the width of all items or a negative value to measure the items again
+   */
+  protected void setFixedItemWidth(final int width) {
+    listBoxImpl.setFixedItemWidth(width);
+  }
+
   @Override
   public void addItemProcessor(@Nonnull final ListBoxItemProcessor processor) {
     itemProcessors.add(processor);
@@ -33,21 +33,17 @@ class ListBoxFocusItem {
     return newFocusIndex;
   }
 
+  /**
+   * All indices refer to the list before any item has been removed. The focus moves up by one for each removed item in
+   * front of it.
+   */
   private int calcNewFocusIndex(final int focusIndex, @Nonnull final List<Integer> indicesToRemove) {
     int newFocusIndex = focusIndex;
     for (int i = 0; i < indicesToRemove.size(); i++) {
-      int removeIdx = indicesToRemove.get(i);
-      if (removeIdx < newFocusIndex) {
+      if (indicesToRemove.get(i) < focusIndex) {
         newFocusIndex--;
-        decrementListEntries(indicesToRemove, i);
       }
     }
     return newFocusIndex;
   }
-
-  private void decrementListEntries(@Nonnull final List<Integer> indicesToRemove, final int startIdx) {
-    for (int i = startIdx; i < indicesToRemove.size(); i++) {
-      indicesToRemove.set(i, indicesToRemove.get(i) - 1);
-    }
-  }
 }
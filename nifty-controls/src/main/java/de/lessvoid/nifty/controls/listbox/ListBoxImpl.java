@@ -1,17 +1,22 @@
 package de.lessvoid.nifty.controls.listbox;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.logging.Logger;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import de.lessvoid.nifty.controls.ListBox;
+import de.lessvoid.nifty.controls.ListBoxDataProvider;
 import de.lessvoid.nifty.controls.ListBox.ListBoxViewConverter;
 import de.lessvoid.nifty.controls.ListBox.SelectionMode;
 import de.lessvoid.nifty.controls.ListBoxSelectionChangedEvent;
@@ -23,8 +28,16 @@ class ListBoxImpl<T> {
   private final ListBox<T> listBox;
   @Nonnull
   private final List<T> items;
+  /**
+   * The width of each item in the same order as the items.
+   */
   @Nonnull
-  private final List<ItemWidth<T>> widthList;
+  private final List<Integer> itemWidths;
+  /**
+   * The number of items for each width. The greatest key is the width of the widest item.
+   */
+  @Nonnull
+  private final TreeMap<Integer, Integer> widthCounts;
   @Nonnull
   private ListBoxSelectionMode<T> selection;
   @Nullable
@@ -40,24 +53,43 @@ class ListBoxImpl<T> {
   private final ListBoxFocusItem listBoxFocusItem;
   private int lastMaxWidth = 0;
 
+  /**
+   * When a data provider is set the items are not stored in this class at all. The items that are displayed are
+   * requested from the data provider and the selection is stored as indices in indexSelection.
+   */
+  @Nullable
+  private ListBoxDataProvider<T> dataProvider;
+  @Nonnull
+  private final ListBoxIndexSelection indexSelection;
+  /**
+   * The widest displayed item of the data provider when the data provider doesn't provide a width estimate.
+   */
+  private int measuredMaxWidth;
+  /**
+   * When this is not negative all items have this width and the items are not measured at all.
+   */
+  private int fixedItemWidth = -1;
+
   public ListBoxImpl(@Nonnull final ListBox<T> listBox) {
     this.listBox = listBox;
     items = new ArrayList<T>();
-    widthList = new ArrayList<ItemWidth<T>>();
+    itemWidths = new ArrayList<Integer>();
+    widthCounts = new TreeMap<Integer, Integer>();
     selection = new ListBoxSelectionModeSingle<T>();
     visibleItemsForDisplay = new ArrayList<T>();
     selectedItemsForDisplay = new ArrayList<Integer>();
     listBoxFocusItem = new ListBoxFocusItem();
+    indexSelection = new ListBoxIndexSelection();
   }
 
   public int bindToView(@Nonnull final ListBoxView<T> newListBoxView, final int viewDisplayItemCount) {
     this.view = newListBoxView;
     this.viewDisplayItemCount = viewDisplayItemCount;
-    return items.size();
+    return itemCount();
   }
 
   public void updateView(final int newViewOffset) {
-    if (newViewOffset > 0 && newViewOffset >= items.size()) {
+    if (newViewOffset > 0 && newViewOffset >= itemCount()) {
       return;
     }
     viewOffset = newViewOffset;
@@ -91,10 +123,10 @@ class ListBoxImpl<T> {
     if (invalidVisualIndex(selectionIndex)) {
       return null;
     }
-    if ((viewOffset + selectionIndex) >= items.size()) {
+    if ((viewOffset + selectionIndex) >= itemCount()) {
       return null;
     }
-    return items.get(viewOffset + selectionIndex);
+    return getItem(viewOffset + selectionIndex);
   }
 
   public void changeSelectionMode(
@@ -107,6 +139,18 @@ class ListBoxImpl<T> {
       @Nonnull final SelectionMode listBoxSelectionMode,
       final boolean forceSelection,
       final boolean raiseEvent) {
+    indexSelection.changeSelectionMode(listBoxSelectionMode, forceSelection);
+    if (dataProvider != null) {
+      if (indexSelection.requiresAutoSelection() && itemCount() > 0) {
+        indexSelection.select(0);
+      }
+      updateView();
+      if (raiseEvent) {
+        selectionChangedEvent();
+      }
+      return;
+    }
+
     List<T> oldSelection = getSelection();
 
     selection = createSelectionMode(listBoxSelectionMode);
@@ -118,7 +162,7 @@ class ListBoxImpl<T> {
     }
 
     if (selection.requiresAutoSelection() && itemCount() > 0) {
-      selection.add(items.get(0));
+      selection.add(getItem(0));
     }
 
     updateView();
@@ -128,10 +172,13 @@ class ListBoxImpl<T> {
   }
 
   public void addItem(@Nonnull final T newItem) {
+    if (isDataProviderActive("addItem")) {
+      return;
+    }
     T visibleItem = getVisibleItem();
 
-    widthList.add(new ItemWidth<T>(newItem, view == null ? 0 : view.getWidth(newItem)));
     items.add(newItem);
+    addWidth(itemWidths.size(), newItem);
     widthUpdate();
     focusItemIndexUpdate();
     updateViewTotalCount();
@@ -143,14 +190,22 @@ class ListBoxImpl<T> {
   }
 
   public int itemCount() {
+    if (dataProvider != null) {
+      return dataProvider.size();
+    }
     return items.size();
   }
 
   public void clear() {
+    if (dataProvider != null) {
+      setDataProvider(null);
+      return;
+    }
     items.clear();
     selection.clear();
 
-    widthList.clear();
+    itemWidths.clear();
+    widthCounts.clear();
     lastMaxWidth = 0;
     if (view != null) {
       view.updateTotalWidth(lastMaxWidth);
@@ -165,24 +220,56 @@ class ListBoxImpl<T> {
     if (invalidIndex(selectionIndex)) {
       return;
     }
-    selection.add(items.get(selectionIndex));
+    if (dataProvider != null) {
+      indexSelection.select(selectionIndex);
+    } else {
+      selection.add(getItem(selectionIndex));
+    }
     updateView();
     selectionChangedEvent();
     setFocusItemByIndex(selectionIndex);
   }
 
-  public void selectItem(@Nonnull final T item) {
-    selectItemByIndex(items.indexOf(item));
-  }
-
-  public void selectNext() {
-    if (!(selection instanceof ListBoxSelectionModeSingle)) {
+  /**
+   * Select all items from the first to the last index (both inclusive). In single selection mode only the last index
+   * is selected.
+   *
+   * @param firstIndex the index of the first item to select
+   * @param lastIndex the index of the last item to select
+   */
+  public void selectItemRangeByIndex(final int firstIndex, final int lastIndex) {
+    final int start = Math.max(0, Math.min(firstIndex, lastIndex));
+    final int end = Math.min(itemCount() - 1, Math.max(firstIndex, lastIndex));
+    if (start > end) {
       return;
     }
-    if (selection.getSelection().isEmpty()) {
+    final int last = Math.max(start, Math.min(end, lastIndex));
+    if (!isMultipleSelectionMode()) {
+      selectItemByIndex(last);
       return;
     }
-    int selectionIndex = items.indexOf(selection.getSelection().get(0));
+    if (dataProvider != null) {
+      indexSelection.selectRange(start, end);
+    } else {
+      Set<T> selected = new HashSet<T>(selection.getSelection());
+      for (int i = start; i <= end; i++) {
+        T item = items.get(i);
+        if (selected.add(item)) {
+          selection.add(item);
+        }
+      }
+    }
+    updateView();
+    selectionChangedEvent();
+    setFocusItemByIndex(last);
+  }
+
+  public void selectItem(@Nonnull final T item) {
+    selectItemByIndex(indexOf(item));
+  }
+
+  public void selectNext() {
+    int selectionIndex = getSingleSelectionIndex();
     if (invalidIndex(selectionIndex)) {
       return;
     }
@@ -195,13 +282,7 @@ class ListBoxImpl<T> {
   }
 
   public void selectPrevious() {
-    if (!(selection instanceof ListBoxSelectionModeSingle)) {
-      return;
-    }
-    if (selection.getSelection().isEmpty()) {
-      return;
-    }
-    int selectionIndex = items.indexOf(selection.getSelection().get(0));
+    int selectionIndex = getSingleSelectionIndex();
     if (invalidIndex(selectionIndex)) {
       return;
     }
@@ -214,11 +295,21 @@ class ListBoxImpl<T> {
   }
 
   public List<T> getSelection() {
+    if (dataProvider != null) {
+      List<T> result = new ArrayList<T>();
+      for (int index : indexSelection.getSelectedIndices()) {
+        result.add(dataProvider.get(index));
+      }
+      return Collections.unmodifiableList(result);
+    }
     return Collections.unmodifiableList(selection.getSelection());
   }
 
   @Nonnull
   public List<Integer> getSelectedIndices() {
+    if (dataProvider != null) {
+      return indexSelection.getSelectedIndices();
+    }
     List<T> sel = selection.getSelection();
     if (sel.isEmpty()) {
       return Collections.emptyList();
@@ -226,22 +317,22 @@ class ListBoxImpl<T> {
 
     List<Integer> result = new ArrayList<Integer>();
     for (T selItem : sel) {
-      result.add(items.indexOf(selItem));
+      result.add(indexOf(selItem));
     }
     return result;
   }
 
   public void removeItemByIndex(final int itemIndex) {
-    if (invalidIndex(itemIndex)) {
+    if (isDataProviderActive("removeItemByIndex") || invalidIndex(itemIndex)) {
       return;
     }
     int oldCount = itemCount();
     T visibleItem = getVisibleItem();
 
-    T item = items.get(itemIndex);
+    T item = getItem(itemIndex);
     selection.removeForced(item);
     items.remove(itemIndex);
-    widthList.remove(findItemIndexInWidthList(item));
+    removeWidth(itemIndex);
     widthUpdate();
 
     listBoxFocusItem.prepare();
@@ -254,28 +345,95 @@ class ListBoxImpl<T> {
   }
 
   public void removeItem(final T item) {
-    removeItemByIndex(items.indexOf(item));
+    removeItemByIndex(indexOf(item));
   }
 
   public void removeAllItems(@Nonnull final Collection<T> itemsToRemove) {
+    if (isDataProviderActive("removeAllItems")) {
+      return;
+    }
     int oldCount = itemCount();
     T visibleItem = getVisibleItem();
 
+    final Set<T> removeSet;
+    if (itemsToRemove instanceof Set) {
+      removeSet = (Set<T>) itemsToRemove;
+    } else {
+      removeSet = new HashSet<T>(itemsToRemove);
+    }
+
+    // remove the items in a single pass by moving all remaining items to the front of the lists
     listBoxFocusItem.prepare();
-    for (T item : itemsToRemove) {
-      listBoxFocusItem.registerIndex(items.indexOf(item));
-      widthList.remove(findItemIndexInWidthList(item));
+    int remaining = 0;
+    for (int i = 0; i < itemCount(); i++) {
+      T item = getItem(i);
+      int width = itemWidths.get(i);
+      if (removeSet.contains(item)) {
+        listBoxFocusItem.registerIndex(i);
+        decrementWidthCount(width);
+      } else {
+        items.set(remaining, item);
+        itemWidths.set(remaining, width);
+        remaining++;
+      }
+    }
+    if (remaining == itemCount()) {
+      return;
     }
+    items.subList(remaining, itemCount()).clear();
+    itemWidths.subList(remaining, itemWidths.size()).clear();
 
     widthUpdate();
 
-    if (!items.removeAll(itemsToRemove)) {
+    for (T item : selection.getSelection()) {
+      selection.removeForced(item);
+    }
+
+    updateAfterRemove(oldCount);
+    if (visibleItem != null) {
+      restoreVisibleItem(visibleItem);
+    }
+  }
+
+  /**
+   * Remove all items from the first to the last index (both inclusive). The items behind the range are moved to the
+   * front just once and no item is compared, so this is much faster than removeAllItems() for a contiguous range.
+   *
+   * @param firstIndex the index of the first item to remove
+   * @param lastIndex the index of the last item to remove
+   */
+  public void removeItemRangeByIndex(final int firstIndex, final int lastIndex) {
+    if (isDataProviderActive("removeItemRangeByIndex")) {
       return;
     }
+    final int start = Math.max(0, firstIndex);
+    final int end = Math.min(itemCount() - 1, lastIndex);
+    if (start > end) {
+      return;
+    }
+    int oldCount = itemCount();
+    T visibleItem = getVisibleItem();
+
+    List<T> removedItems = items.subList(start, end + 1);
+    List<T> currentSelection = selection.getSelection();
+    if (!currentSelection.isEmpty()) {
+      Set<T> removedSet = new HashSet<T>(removedItems);
+      for (T item : currentSelection) {
+        if (removedSet.contains(item)) {
+          selection.removeForced(item);
+        }
+      }
+    }
 
-    for (T item : selection.getSelection()) {
-      selection.removeForced(item);
+    listBoxFocusItem.prepare();
+    List<Integer> removedWidths = itemWidths.subList(start, end + 1);
+    for (int i = start; i <= end; i++) {
+      listBoxFocusItem.registerIndex(i);
+      decrementWidthCount(removedWidths.get(i - start));
     }
+    removedItems.clear();
+    removedWidths.clear();
+    widthUpdate();
 
     updateAfterRemove(oldCount);
     if (visibleItem != null) {
@@ -287,27 +445,34 @@ class ListBoxImpl<T> {
     if (invalidIndex(itemIndex)) {
       return;
     }
-    selection.remove(items.get(itemIndex));
+    if (dataProvider != null) {
+      indexSelection.deselect(itemIndex);
+    } else {
+      selection.remove(getItem(itemIndex));
+    }
     updateView();
     selectionChangedEvent();
   }
 
   public void deselectItem(@Nonnull final T item) {
-    deselectItemByIndex(items.indexOf(item));
+    deselectItemByIndex(indexOf(item));
   }
 
   @Nonnull
   public List<T> getItems() {
+    if (dataProvider != null) {
+      return new DataProviderList<T>(dataProvider);
+    }
     return Collections.unmodifiableList(items);
   }
 
   public void insertItem(@Nonnull final T item, final int index) {
-    if (invalidIndexForInsert(index)) {
+    if (isDataProviderActive("insertItem") || invalidIndexForInsert(index)) {
       return;
     }
     T visibleItem = getVisibleItem();
-    widthList.add(new ItemWidth<T>(item, view == null ? 0 : view.getWidth(item)));
     items.add(index, item);
+    addWidth(index, item);
     widthUpdate();
     focusItemIndexUpdate();
     updateViewTotalCount();
@@ -317,8 +482,31 @@ class ListBoxImpl<T> {
     ensureAutoSelection(item);
   }
 
+  public void insertAllItems(@Nonnull final Collection<T> itemsToInsert, final int index) {
+    if (isDataProviderActive("insertAllItems") || invalidIndexForInsert(index) || itemsToInsert.isEmpty()) {
+      return;
+    }
+    T visibleItem = getVisibleItem();
+    items.addAll(index, itemsToInsert);
+    int widthIndex = index;
+    for (T item : itemsToInsert) {
+      addWidth(widthIndex, item);
+      widthIndex++;
+    }
+    if (focusItemIndex >= index) {
+      focusItemIndex += itemsToInsert.size();
+    }
+    widthUpdate();
+    focusItemIndexUpdate();
+    updateViewTotalCount();
+    if (visibleItem != null) {
+      restoreVisibleItem(visibleItem);
+    }
+    ensureAutoSelection(itemsToInsert.iterator().next());
+  }
+
   public void showItem(@Nonnull final T item) {
-    showItemByIndex(items.indexOf(item));
+    showItemByIndex(indexOf(item));
   }
 
   public void showItemByIndex(final int itemIndex) {
@@ -328,8 +516,8 @@ class ListBoxImpl<T> {
     viewOffset = itemIndex;
     if (itemCount() <= viewDisplayItemCount) {
       viewOffset = 0;
-    } else if (itemIndex > items.size() - viewDisplayItemCount) {
-      viewOffset = items.size() - viewDisplayItemCount;
+    } else if (itemIndex > itemCount() - viewDisplayItemCount) {
+      viewOffset = itemCount() - viewDisplayItemCount;
     }
     updateViewScroll();
     updateView();
@@ -339,7 +527,7 @@ class ListBoxImpl<T> {
     if (item == null) {
       setFocusItemByIndex(-1);
     } else {
-      setFocusItemByIndex(items.indexOf(item));
+      setFocusItemByIndex(indexOf(item));
     }
   }
 
@@ -365,7 +553,7 @@ class ListBoxImpl<T> {
     if (focusItemIndex == -1) {
       return null;
     }
-    return items.get(focusItemIndex);
+    return getItem(focusItemIndex);
   }
 
   public int getFocusItemIndex() {
@@ -377,14 +565,14 @@ class ListBoxImpl<T> {
   }
 
   public void addAllItems(@Nonnull final Collection<T> itemsToAdd) {
-    if (itemsToAdd.isEmpty()) {
+    if (isDataProviderActive("addAllItems") || itemsToAdd.isEmpty()) {
       return;
     }
+    T visibleItem = getVisibleItem();
     for (T item : itemsToAdd) {
-      widthList.add(new ItemWidth<T>(item, view == null ? 0 : view.getWidth(item)));
+      items.add(item);
+      addWidth(itemWidths.size(), item);
     }
-    T visibleItem = getVisibleItem();
-    items.addAll(itemsToAdd);
     widthUpdate();
     focusItemIndexUpdate();
     updateViewTotalCount();
@@ -396,15 +584,115 @@ class ListBoxImpl<T> {
     }
   }
 
+  /**
+   * Use the given data provider for the items of this list box. All items that have been added to the list box before
+   * are removed. Call this with null to go back to storing the items in the list box.
+   *
+   * @param newDataProvider the data provider or null
+   */
+  public void setDataProvider(@Nullable final ListBoxDataProvider<T> newDataProvider) {
+    items.clear();
+    itemWidths.clear();
+    widthCounts.clear();
+    selection.clear();
+    indexSelection.clear();
+    dataProvider = newDataProvider;
+    measuredMaxWidth = 0;
+    viewOffset = 0;
+    focusItemIndex = -1;
+
+    widthUpdate();
+    focusItemIndexUpdate();
+    updateViewScroll();
+    if (dataProvider != null && indexSelection.requiresAutoSelection() && itemCount() > 0) {
+      indexSelection.select(0);
+    }
+    updateViewTotalCount();
+    selectionChangedEvent();
+  }
+
+  /**
+   * Update the list box after the items of the data provider changed. Selected indices that are not valid anymore are
+   * removed from the selection.
+   */
+  public void dataProviderChanged() {
+    if (dataProvider == null) {
+      return;
+    }
+    int count = itemCount();
+    boolean selectionChanged = indexSelection.truncate(count);
+    if (indexSelection.requiresAutoSelection() && count > 0) {
+      indexSelection.select(0);
+      selectionChanged = true;
+    }
+    if (focusItemIndex >= count) {
+      focusItemIndex = count - 1;
+    }
+    focusItemIndexUpdate();
+    if (viewOffset > 0 && viewOffset + viewDisplayItemCount > count) {
+      viewOffset = Math.max(0, count - viewDisplayItemCount);
+      updateViewScroll();
+    }
+    widthUpdate();
+    updateViewTotalCount();
+    if (selectionChanged) {
+      selectionChangedEvent();
+    }
+  }
+
+  /**
+   * Measure the width of all items again. This is necessary when the view changed the way it displays the items. With
+   * a data provider only the estimate of the data provider and the displayed items are used.
+   */
+  /**
+   * Use the same width for all items instead of measuring each of them. Changing the width is O(1).
+   *
+   * @param width the width of all items or a negative value to measure the items again
+   */
+  public void setFixedItemWidth(final int width) {
+    boolean measure = fixedItemWidth >= 0 && width < 0;
+    fixedItemWidth = width;
+    if (measure) {
+      updateItemWidths();
+    } else {
+      widthUpdate();
+    }
+  }
+
+  public void updateItemWidths() {
+    measuredMaxWidth = 0;
+    if (dataProvider == null) {
+      itemWidths.clear();
+      widthCounts.clear();
+      for (int i = 0; i < items.size(); i++) {
+        addWidth(i, items.get(i));
+      }
+      widthUpdate();
+    } else {
+      updateView();
+    }
+  }
+
   public void sortItems(@Nullable final Comparator<T> comparator) {
-    Collections.sort(items, comparator);
+    if (isDataProviderActive("sortItems")) {
+      return;
+    }
+    List<ItemWidth<T>> sorted = new ArrayList<ItemWidth<T>>(itemCount());
+    for (int i = 0; i < itemCount(); i++) {
+      sorted.add(new ItemWidth<T>(getItem(i), itemWidths.get(i)));
+    }
+    Collections.sort(sorted, new ItemWidthComparator<T>(comparator));
+    for (int i = 0; i < sorted.size(); i++) {
+      items.set(i, sorted.get(i).getItem());
+      itemWidths.set(i, sorted.get(i).getWidth());
+    }
   }
 
   void updateViewTotalCount() {
     if (view == null) {
       log.warning("Can't update total count of view while there is not view bound to the list box implementation.");
     } else {
-      view.updateTotalCount(items.size());
+      view.updateTotalCount(itemCount());
       updateView();
     }
   }
@@ -420,16 +708,22 @@ class ListBoxImpl<T> {
   @Nonnull
   private List<Integer> getSelectionElementsForDisplay() {
     selectedItemsForDisplay.clear();
+    if (dataProvider != null) {
+      for (int i = 0; i < viewDisplayItemCount; i++) {
+        if (viewOffset + i < itemCount() && indexSelection.isSelected(viewOffset + i)) {
+          selectedItemsForDisplay.add(i);
+        }
+      }
+      return selectedItemsForDisplay;
+    }
     List<T> selectionList = selection.getSelection();
     if (selectionList.isEmpty()) {
       return selectedItemsForDisplay;
     }
     for (T selectedItem : selectionList) {
-      for (int i = 0; i < viewDisplayItemCount; i++) {
-        int selectedItemIndex = items.indexOf(selectedItem);
-        if (selectedItemIndex == viewOffset + i) {
-          selectedItemsForDisplay.add(i);
-        }
+      int selectedItemIndex = indexOf(selectedItem);
+      if (selectedItemIndex >= viewOffset && selectedItemIndex < viewOffset + viewDisplayItemCount) {
+        selectedItemsForDisplay.add(selectedItemIndex - viewOffset);
       }
     }
     return selectedItemsForDisplay;
@@ -439,19 +733,25 @@ class ListBoxImpl<T> {
   private List<T> updateCaptions() {
     visibleItemsForDisplay.clear();
     for (int i = 0; i < viewDisplayItemCount; i++) {
-      if (viewOffset + i < items.size()) {
-        T item = items.get(viewOffset + i);
+      if (viewOffset + i < itemCount()) {
+        T item = getItem(viewOffset + i);
         visibleItemsForDisplay.add(item);
+        if (dataProvider != null && fixedItemWidth < 0 && dataProvider.getWidthEstimate() < 0 && view != null) {
+          measuredMaxWidth = Math.max(measuredMaxWidth, view.getWidth(item));
+        }
       } else {
         break;
       }
     }
+    if (dataProvider != null) {
+      widthUpdate();
+    }
     return visibleItemsForDisplay;
   }
 
   private int getFocusItemForDisplay() {
     for (int i = 0; i < viewDisplayItemCount; i++) {
-      if (viewOffset + i < items.size()) {
+      if (viewOffset + i < itemCount()) {
         if (focusItemIndex == viewOffset + i) {
           return i;
         }
@@ -477,7 +777,7 @@ class ListBoxImpl<T> {
     if (itemIndex < 0) {
       return true;
     }
-    if (itemIndex >= items.size()) {
+    if (itemIndex >= itemCount()) {
       return true;
     }
     return false;
@@ -487,18 +787,18 @@ class ListBoxImpl<T> {
     if (itemIndex < 0) {
       return true;
     }
-    if (itemIndex > items.size()) {
+    if (itemIndex > itemCount()) {
       return true;
     }
     return false;
   }
 
   private void focusItemIndexUpdate() {
-    if (items.size() == 0) {
+    if (itemCount() == 0) {
       focusItemIndex = -1;
       return;
     }
-    if (items.size() == 1) {
+    if (itemCount() == 1) {
       focusItemIndex = 0;
       return;
     }
@@ -507,10 +807,23 @@ class ListBoxImpl<T> {
     }
   }
 
+  /**
+   * With a data provider the event only gets a snapshot of the selected indices. The Integer values and the items
+   * are created when the receiver of the event accesses them.
+   */
   private void selectionChangedEvent() {
-    if (view != null) {
-      view.publish(new ListBoxSelectionChangedEvent<T>(listBox, getSelection(), getSelectedIndices()));
+    if (view == null) {
+      return;
     }
+    if (dataProvider != null) {
+      List<Integer> selectedIndices = indexSelection.getSelectedIndices();
+      view.publish(new ListBoxSelectionChangedEvent<T>(
+          listBox,
+          new DataProviderSelection<T>(dataProvider, selectedIndices),
+          selectedIndices));
+      return;
+    }
+    view.publish(new ListBoxSelectionChangedEvent<T>(listBox, getSelection(), getSelectedIndices()));
   }
 
   private void updateAfterRemove(final int oldItemCount) {
@@ -518,11 +831,11 @@ class ListBoxImpl<T> {
     focusItemIndexUpdate();
 
     if (selection.requiresAutoSelection() && itemCount() > 0 && focusItemIndex > -1) {
-      selection.add(items.get(focusItemIndex));
+      selection.add(getItem(focusItemIndex));
     }
 
     if (view != null) {
-      view.updateTotalCount(items.size());
+      view.updateTotalCount(itemCount());
     }
 
     if (viewOffset + viewDisplayItemCount > itemCount()) {
@@ -538,33 +851,93 @@ class ListBoxImpl<T> {
   }
 
   private void widthUpdate() {
-    if (widthList.isEmpty()) {
-      if (lastMaxWidth != 0) {
-        lastMaxWidth = 0;
-        if (view != null) {
-          view.updateTotalWidth(0);
-        }
-      }
-      return;
+    int maxWidth;
+    if (fixedItemWidth >= 0) {
+      maxWidth = itemCount() > 0 ? fixedItemWidth : 0;
+    } else if (dataProvider != null) {
+      int estimate = dataProvider.getWidthEstimate();
+      maxWidth = estimate < 0 ? measuredMaxWidth : estimate;
+    } else {
+      maxWidth = widthCounts.isEmpty() ? 0 : widthCounts.lastKey();
     }
-    Collections.sort(widthList);
-
-    if (widthList.get(widthList.size() - 1).getWidth() != lastMaxWidth) {
-      lastMaxWidth = widthList.get(widthList.size() - 1).getWidth();
+    if (maxWidth != lastMaxWidth) {
+      lastMaxWidth = maxWidth;
       if (view != null) {
         view.updateTotalWidth(lastMaxWidth);
       }
     }
   }
 
-  private int findItemIndexInWidthList(final T item) {
-    for (int i = 0; i < widthList.size(); i++) {
-      ItemWidth itemWidth = widthList.get(i);
-      if (itemWidth.getItem().equals(item)) {
-        return i;
+  private void addWidth(final int index, @Nonnull final T item) {
+    int width;
+    if (fixedItemWidth >= 0) {
+      width = fixedItemWidth;
+    } else {
+      width = view == null ? 0 : view.getWidth(item);
+    }
+    itemWidths.add(index, width);
+    Integer count = widthCounts.get(width);
+    widthCounts.put(width, count == null ? 1 : count + 1);
+  }
+
+  private void removeWidth(final int index) {
+    decrementWidthCount(itemWidths.remove(index));
+  }
+
+  private void decrementWidthCount(final int width) {
+    Integer count = widthCounts.get(width);
+    if (count == null || count <= 1) {
+      widthCounts.remove(width);
+    } else {
+      widthCounts.put(width, count - 1);
+    }
+  }
+
+  @Nonnull
+  private T getItem(final int index) {
+    if (dataProvider != null) {
+      return dataProvider.get(index);
+    }
+    return items.get(index);
+  }
+
+  private int indexOf(@Nullable final T item) {
+    if (dataProvider != null) {
+      return item == null ? -1 : dataProvider.indexOf(item);
+    }
+    return items.indexOf(item);
+  }
+
+  private boolean isMultipleSelectionMode() {
+    if (dataProvider != null) {
+      return indexSelection.isMultipleSelectionMode();
+    }
+    return selection instanceof ListBoxSelectionModeMulti;
+  }
+
+  private int getSingleSelectionIndex() {
+    if (dataProvider != null) {
+      if (!indexSelection.isSingleSelectionMode()) {
+        return -1;
       }
+      return indexSelection.getFirstSelectedIndex();
     }
-    return -1;
+    if (!(selection instanceof ListBoxSelectionModeSingle)) {
+      return -1;
+    }
+    if (selection.getSelection().isEmpty()) {
+      return -1;
+    }
+    return indexOf(selection.getSelection().get(0));
+  }
+
+  private boolean isDataProviderActive(@Nonnull final String operation) {
+    if (dataProvider != null) {
+      log.warning(operation + " is not supported while the list box uses a data provider. "
+          + "Change the items of the data provider and call dataProviderChanged() instead.");
+      return true;
+    }
+    return false;
   }
 
   private void ensureAutoSelection(@Nonnull final T newItem) {
@@ -599,7 +972,7 @@ class ListBoxImpl<T> {
     showItem(visibleItem);
   }
 
-  private static class ItemWidth<T> implements Comparable<ItemWidth<T>> {
+  private static class ItemWidth<T> {
     @Nonnull
     private final T item;
     private final int width;
@@ -609,11 +982,6 @@ class ListBoxImpl<T> {
       this.width = width;
     }
 
-    @Override
-    public int compareTo(@Nonnull final ItemWidth a) {
-      return Integer.valueOf(width).compareTo(a.width);
-    }
-
     @Nonnull
     public T getItem() {
       return item;
@@ -623,4 +991,74 @@ class ListBoxImpl<T> {
       return width;
     }
   }
+
+  /**
+   * Sorts the items together with their widths. Without a comparator the natural ordering of the items is used.
+   */
+  private static class ItemWidthComparator<T> implements Comparator<ItemWidth<T>> {
+    @Nullable
+    private final Comparator<T> comparator;
+
+    public ItemWidthComparator(@Nullable final Comparator<T> comparator) {
+      this.comparator = comparator;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public int compare(@Nonnull final ItemWidth<T> o1, @Nonnull final ItemWidth<T> o2) {
+      if (comparator == null) {
+        return ((Comparable<T>) o1.getItem()).compareTo(o2.getItem());
+      }
+      return comparator.compare(o1.getItem(), o2.getItem());
+    }
+  }
+
+  /**
+   * Read only view of the items of a data provider.
+   */
+  private static class DataProviderList<T> extends AbstractList<T> {
+    @Nonnull
+    private final ListBoxDataProvider<T> dataProvider;
+
+    public DataProviderList(@Nonnull final ListBoxDataProvider<T> dataProvider) {
+      this.dataProvider = dataProvider;
+    }
+
+    @Override
+    public T get(final int index) {
+      return dataProvider.get(index);
+    }
+
+    @Override
+    public int size() {
+      return dataProvider.size();
+    }
+  }
+
+  /**
+   * Read only view of the selected items of a data provider. The items are requested when they are accessed.
+   */
+  private static class DataProviderSelection<T> extends AbstractList<T> {
+    @Nonnull
+    private final ListBoxDataProvider<T> dataProvider;
+    @Nonnull
+    private final List<Integer> selectedIndices;
+
+    public DataProviderSelection(
+        @Nonnull final ListBoxDataProvider<T> dataProvider,
+        @Nonnull final List<Integer> selectedIndices) {
+      this.dataProvider = dataProvider;
+      this.selectedIndices = selectedIndices;
+    }
+
+    @Override
+    public T get(final int index) {
+      return dataProvider.get(selectedIndices.get(index));
+    }
+
+    @Override
+    public int size() {
+      return selectedIndices.size();
+    }
+  }
 }
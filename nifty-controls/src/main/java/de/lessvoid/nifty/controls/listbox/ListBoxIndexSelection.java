@@ -0,0 +1,170 @@
+package de.lessvoid.nifty.controls.listbox;
+
+import de.lessvoid.nifty.controls.ListBox.SelectionMode;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The selection of a ListBox that uses a ListBoxDataProvider. Other than the ListBoxSelectionMode implementations
+ * this stores the indices of the selected items in a BitSet and not the items themselves. This way selecting a range
+ * of items doesn't require to access the items at all.
+ *
+ * @author void
+ */
+class ListBoxIndexSelection {
+  @Nonnull
+  private final BitSet selected = new BitSet();
+  @Nonnull
+  private SelectionMode selectionMode = SelectionMode.Single;
+  private boolean requiresSelection;
+
+  /**
+   * Change the selection mode. When the new mode is Single only the first selected index stays selected.
+   *
+   * @param newSelectionMode the new selection mode
+   * @param forceSelection true when there should always be at least one item selected
+   */
+  public void changeSelectionMode(@Nonnull final SelectionMode newSelectionMode, final boolean forceSelection) {
+    selectionMode = newSelectionMode;
+    requiresSelection = forceSelection && newSelectionMode != SelectionMode.Disabled;
+    if (newSelectionMode == SelectionMode.Disabled) {
+      selected.clear();
+    } else if (newSelectionMode == SelectionMode.Single) {
+      int first = selected.nextSetBit(0);
+      if (first != -1) {
+        selected.clear();
+        selected.set(first);
+      }
+    }
+  }
+
+  public void clear() {
+    selected.clear();
+  }
+
+  public void select(final int index) {
+    switch (selectionMode) {
+      case Single:
+        selected.clear();
+        selected.set(index);
+        break;
+      case Multiple:
+        selected.set(index);
+        break;
+      default:
+        break;
+    }
+  }
+
+  /**
+   * Select all indices from start to end (both inclusive). This only works in Multiple selection mode, use
+   * {@link #select(int)} in the other modes.
+   *
+   * @param start the first index to select
+   * @param end the last index to select
+   */
+  public void selectRange(final int start, final int end) {
+    if (selectionMode == SelectionMode.Multiple) {
+      selected.set(start, end + 1);
+    }
+  }
+
+  public void deselect(final int index) {
+    if (!selected.get(index)) {
+      return;
+    }
+    if (requiresSelection && (selectionMode == SelectionMode.Single || selected.cardinality() < 2)) {
+      return;
+    }
+    selected.clear(index);
+  }
+
+  public boolean isSingleSelectionMode() {
+    return selectionMode == SelectionMode.Single;
+  }
+
+  public boolean isMultipleSelectionMode() {
+    return selectionMode == SelectionMode.Multiple;
+  }
+
+  public boolean isSelected(final int index) {
+    return selected.get(index);
+  }
+
+  /**
+   * @return the first selected index or -1 if nothing is selected
+   */
+  public int getFirstSelectedIndex() {
+    return selected.nextSetBit(0);
+  }
+
+  /**
+   * Get the selected indices in ascending order. The returned list is a snapshot of the current selection that only
+   * copies the bits. The Integer values are created when the list is accessed for the first time.
+   *
+   * @return the selected indices
+   */
+  @Nonnull
+  public List<Integer> getSelectedIndices() {
+    return new SelectedIndices((BitSet) selected.clone());
+  }
+
+  /**
+   * Remove all selected indices that are not valid anymore because the number of items decreased.
+   *
+   * @param itemCount the new number of items
+   * @return true when the selection has changed
+   */
+  public boolean truncate(final int itemCount) {
+    if (selected.length() <= itemCount) {
+      return false;
+    }
+    selected.clear(itemCount, selected.length());
+    return true;
+  }
+
+  public boolean requiresAutoSelection() {
+    return requiresSelection && selected.isEmpty();
+  }
+
+  /**
+   * An unmodifiable list of the indices that are set in a BitSet.
+   */
+  private static class SelectedIndices extends AbstractList<Integer> {
+    @Nonnull
+    private final BitSet bits;
+    private final int size;
+    @Nullable
+    private int[] indices;
+
+    private SelectedIndices(@Nonnull final BitSet bits) {
+      this.bits = bits;
+      this.size = bits.cardinality();
+    }
+
+    @Override
+    public Integer get(final int index) {
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+      }
+      if (indices == null) {
+        int[] resolved = new int[size];
+        int i = 0;
+        for (int bit = bits.nextSetBit(0); bit >= 0; bit = bits.nextSetBit(bit + 1)) {
+          resolved[i++] = bit;
+        }
+        indices = resolved;
+      }
+      return indices[index];
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+}
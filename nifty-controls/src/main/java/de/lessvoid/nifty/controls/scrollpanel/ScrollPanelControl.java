@@ -53,6 +53,11 @@ public class ScrollPanelControl extends AbstractController implements ScrollPane
       log.severe("Missing children root id. This scroll panel will not work.");
     } else {
       childRootElement = element.findElementById(childRootId);
+      if (childRootElement != null) {
+        childRootElement.setCullChildren(
+            parameter.getAsBoolean("virtualized", false),
+            parameter.getAsBoolean("virtualizedLayout", false));
+      }
     }
     stepSizeX = parameter.getAsFloat("stepSizeX", 1.f);
     stepSizeY = parameter.getAsFloat("stepSizeY", 1.f);
@@ -201,6 +206,20 @@ public class ScrollPanelControl extends AbstractController implements ScrollPane
     return autoScroll;
   }
 
+  @Override
+  public void setVirtualized(final boolean virtualized, final boolean skipLayout) {
+    if (childRootElement == null) {
+      return;
+    }
+    childRootElement.setCullChildren(virtualized, skipLayout);
+    childRootElement.layoutElements();
+  }
+
+  @Override
+  public boolean isVirtualized() {
+    return childRootElement != null && childRootElement.isCullChildren();
+  }
+
   @Override
   public void setStepSizeX(final float stepSizeX) {
     this.stepSizeX = stepSizeX;
@@ -8,4 +8,14 @@ public class ScrollPanelBuilder extends ControlBuilder {
   public ScrollPanelBuilder(@Nonnull final String id) {
     super(id, "scrollPanel");
   }
+
+  /**
+   * Don't render children that are outside of the visible area of the scroll panel.
+   *
+   * @param skipLayout true to skip the layout of the children of invisible elements as well
+   */
+  public void virtualized(final boolean skipLayout) {
+    set("virtualized", "true");
+    set("virtualizedLayout", String.valueOf(skipLayout));
+  }
 }
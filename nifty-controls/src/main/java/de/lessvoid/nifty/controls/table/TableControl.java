@@ -0,0 +1,220 @@
+package de.lessvoid.nifty.controls.table;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.controls.ListBox.ListBoxViewConverter;
+import de.lessvoid.nifty.controls.Parameters;
+import de.lessvoid.nifty.controls.Table;
+import de.lessvoid.nifty.controls.listbox.ListBoxItemProcessor;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.loaderv2.types.ElementType;
+import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.nifty.tools.SizeValue;
+import de.lessvoid.xml.tools.ClassHelper;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * This is the control of the table. It's a list box that uses rows of cells as list box items. The list box only
+ * creates as many rows as it displays and reuses them while scrolling. Each row contains one cell for each column and
+ * the cells are filled by a {@link Table.TableCellConverter}. All rows have the same width, the sum of the column
+ * widths, so the items are never measured.
+ *
+ * @author void
+ */
+// ListBoxControl is only deprecated for accessing list boxes, extending it is the way to build on the list box
+// behaviour. The base class is named with its full name because a deprecated import can't be suppressed.
+@SuppressWarnings("deprecation")
+public class TableControl<T> extends de.lessvoid.nifty.controls.listbox.ListBoxControl<T> implements Table<T> {
+  @Nonnull
+  private static final Logger log = Logger.getLogger(TableControl.class.getName());
+
+  /**
+   * The default width of a column in pixel.
+   */
+  private static final int DEFAULT_COLUMN_WIDTH = 100;
+
+  @Nullable
+  private Nifty nifty;
+  @Nullable
+  private Screen screen;
+  @Nonnull
+  private int[] columnWidths = new int[]{DEFAULT_COLUMN_WIDTH};
+  private int totalColumnWidth = DEFAULT_COLUMN_WIDTH;
+
+  /**
+   * The row elements that have been created by the list box.
+   */
+  @Nonnull
+  private final List<Element> rows = new ArrayList<Element>();
+  @Nonnull
+  private TableCellConverter<T> cellConverter = new TableCellConverterSimple<T>();
+
+  public TableControl() {
+    addItemProcessor(new ListBoxItemProcessor() {
+      @Override
+      public void processElement(@Nonnull final Element element) {
+        createCells(element);
+      }
+    });
+  }
+
+  @Override
+  public void bind(
+      @Nonnull final Nifty nifty,
+      @Nonnull final Screen screen,
+      @Nonnull final Element element,
+      @Nonnull final Parameters parameter) {
+    this.nifty = nifty;
+    this.screen = screen;
+    rows.clear();
+    setColumnWidths(parameter.get("columnWidths"));
+
+    String cellConverterClass = parameter.get("cellConverterClass");
+    if (cellConverterClass != null) {
+      cellConverter = createCellConverter(cellConverterClass);
+    }
+
+    super.bind(nifty, screen, element, parameter);
+    setListBoxViewConverter(new RowConverter());
+    setFixedItemWidth(totalColumnWidth);
+  }
+
+  @Override
+  public int getColumnCount() {
+    return columnWidths.length;
+  }
+
+  /**
+   * Only the cells of the displayed rows are changed. The rows are reused for all items, so the other items don't need
+   * to be touched at all.
+   */
+  @Override
+  public void setColumnWidth(final int column, final int width) {
+    if (column < 0 || column >= columnWidths.length) {
+      log.warning("Column index " + column + " is out of bounds. Ignored.");
+      return;
+    }
+    int newWidth = Math.max(0, width);
+    if (columnWidths[column] == newWidth) {
+      return;
+    }
+    totalColumnWidth += newWidth - columnWidths[column];
+    columnWidths[column] = newWidth;
+
+    SizeValue widthValue = SizeValue.px(newWidth);
+    for (int i = 0; i < rows.size(); i++) {
+      Element row = rows.get(i);
+      List<Element> cells = row.getChildren();
+      if (column < cells.size()) {
+        cells.get(column).setConstraintWidth(widthValue);
+        row.layoutElements();
+      }
+    }
+    setFixedItemWidth(totalColumnWidth);
+  }
+
+  @Override
+  public int getColumnWidth(final int column) {
+    if (column < 0 || column >= columnWidths.length) {
+      return 0;
+    }
+    return columnWidths[column];
+  }
+
+  @Override
+  public void setTableCellConverter(@Nonnull final TableCellConverter<T> cellConverter) {
+    this.cellConverter = cellConverter;
+    refresh();
+  }
+
+  /**
+   * All rows have the same width: the sum of the column widths.
+   */
+  @Override
+  public int getWidth(@Nonnull final T item) {
+    return totalColumnWidth;
+  }
+
+  private void setColumnWidths(@Nullable final String columnWidthsParam) {
+    if (columnWidthsParam == null) {
+      columnWidths = new int[]{DEFAULT_COLUMN_WIDTH};
+    } else {
+      String[] values = columnWidthsParam.split(",");
+      columnWidths = new int[values.length];
+      for (int i = 0; i < values.length; i++) {
+        try {
+          columnWidths[i] = Math.max(0, Integer.parseInt(values[i].trim()));
+        } catch (NumberFormatException e) {
+          log.warning("Invalid column width [" + values[i] + "]. Falling back to " + DEFAULT_COLUMN_WIDTH + ".");
+          columnWidths[i] = DEFAULT_COLUMN_WIDTH;
+        }
+      }
+    }
+    totalColumnWidth = 0;
+    for (int width : columnWidths) {
+      totalColumnWidth += width;
+    }
+  }
+
+  /**
+   * The row template contains a single cell. The cells of the other columns are created as copies of this cell.
+   */
+  private void createCells(@Nonnull final Element row) {
+    if (nifty == null || screen == null) {
+      log.severe("Can't create the cells of a row as long as the control is not bound.");
+      return;
+    }
+    List<Element> cells = row.getChildren();
+    if (cells.isEmpty()) {
+      log.severe("The row template of the table does not contain a cell element. Table will not work properly.");
+      return;
+    }
+    Element templateCell = cells.get(0);
+    ElementType templateType = templateCell.getElementType();
+    String templateId = templateCell.getId();
+    templateCell.setConstraintWidth(SizeValue.px(columnWidths[0]));
+    for (int i = 1; i < columnWidths.length; i++) {
+      ElementType cellType = templateType.copy();
+      if (templateId != null) {
+        cellType.getAttributes().set("id", templateId + "-" + i);
+      }
+      Element cell = nifty.createElementFromType(screen, row, cellType);
+      cell.setConstraintWidth(SizeValue.px(columnWidths[i]));
+    }
+    rows.add(row);
+  }
+
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  private TableCellConverter<T> createCellConverter(@Nonnull final String className) {
+    TableCellConverter<T> converter = ClassHelper.getInstance(className, TableCellConverter.class);
+    if (converter == null) {
+      log.warning("Unable to instantiate given class [" + className + "]. Using the default cell converter.");
+      return new TableCellConverterSimple<T>();
+    }
+    return converter;
+  }
+
+  /**
+   * Displays an item in a row by handing each cell to the TableCellConverter.
+   */
+  private class RowConverter implements ListBoxViewConverter<T> {
+    @Override
+    public void display(@Nonnull final Element row, @Nonnull final T item) {
+      List<Element> cells = row.getChildren();
+      int count = Math.min(cells.size(), columnWidths.length);
+      for (int i = 0; i < count; i++) {
+        cellConverter.display(cells.get(i), item, i);
+      }
+    }
+
+    @Override
+    public int getWidth(@Nonnull final Element element, @Nonnull final T item) {
+      return totalColumnWidth;
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package de.lessvoid.nifty.controls.table.builder;
+
+import de.lessvoid.nifty.controls.listbox.builder.ListBoxBuilder;
+
+import javax.annotation.Nonnull;
+
+public class TableBuilder extends ListBoxBuilder {
+  public TableBuilder(@Nonnull final String id) {
+    super(id, "table");
+  }
+
+  public void columnWidths(@Nonnull final int... widths) {
+    StringBuilder value = new StringBuilder();
+    for (int i = 0; i < widths.length; i++) {
+      if (i > 0) {
+        value.append(',');
+      }
+      value.append(widths[i]);
+    }
+    set("columnWidths", value.toString());
+  }
+
+  public void cellConverterClass(@Nonnull final Class<?> clazz) {
+    set("cellConverterClass", clazz.getName());
+  }
+}
@@ -0,0 +1,259 @@
+package de.lessvoid.nifty.controls.textfield;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The text buffer of a text field. The characters are stored in an array with a gap at the position of the last edit.
+ * Inserting or deleting characters at the gap is O(1) and moving the gap costs only the distance it is moved. Since
+ * the user usually edits the text around the cursor this makes typing independent of the length of the text.
+ * <p/>
+ * Together with each character the buffer stores the advance of the displayed character. The advances move together
+ * with the characters, so an edit only invalidates the advances of the changed characters and of the character in
+ * front of them (because of kerning).
+ *
+ * @author void
+ */
+class GapBuffer implements CharSequence {
+  /**
+   * Marks an advance that has not been measured yet.
+   */
+  static final int UNKNOWN_ADVANCE = Integer.MIN_VALUE;
+
+  private static final int MIN_GAP_SIZE = 16;
+
+  @Nonnull
+  private char[] chars;
+  @Nonnull
+  private int[] advances;
+  private int gapStart;
+  private int gapEnd;
+
+  /**
+   * The text as String. This is created on request and kept until the text changes.
+   */
+  @Nullable
+  private String string;
+
+  GapBuffer(final int capacity) {
+    int size = Math.max(capacity, MIN_GAP_SIZE);
+    chars = new char[size];
+    advances = new int[size];
+    gapStart = 0;
+    gapEnd = size;
+  }
+
+  @Override
+  public int length() {
+    return chars.length - (gapEnd - gapStart);
+  }
+
+  @Override
+  public char charAt(final int index) {
+    checkIndex(index);
+    return chars[toBufferIndex(index)];
+  }
+
+  @Nonnull
+  @Override
+  public CharSequence subSequence(final int start, final int end) {
+    checkRange(start, end);
+    if (string != null) {
+      return string.substring(start, end);
+    }
+    return new String(copyChars(start, end));
+  }
+
+  @Nonnull
+  @Override
+  public String toString() {
+    if (string == null) {
+      string = new String(copyChars(0, length()));
+    }
+    return string;
+  }
+
+  /**
+   * Insert a single character.
+   *
+   * @param index the index to insert the character at
+   * @param c the character
+   */
+  void insert(final int index, final char c) {
+    checkPosition(index);
+    prepareInsert(index, 1);
+    chars[gapStart] = c;
+    advances[gapStart] = UNKNOWN_ADVANCE;
+    gapStart++;
+  }
+
+  /**
+   * Insert a sequence of characters.
+   *
+   * @param index the index to insert the characters at
+   * @param sequence the characters to insert
+   */
+  void insert(final int index, @Nonnull final CharSequence sequence) {
+    checkPosition(index);
+    int count = sequence.length();
+    if (count == 0) {
+      return;
+    }
+    prepareInsert(index, count);
+    for (int i = 0; i < count; i++) {
+      chars[gapStart] = sequence.charAt(i);
+      advances[gapStart] = UNKNOWN_ADVANCE;
+      gapStart++;
+    }
+  }
+
+  /**
+   * Delete the characters from start (inclusive) to end (exclusive).
+   *
+   * @param start the index of the first character to delete
+   * @param end the index behind the last character to delete
+   */
+  void delete(final int start, final int end) {
+    checkRange(start, end);
+    if (start == end) {
+      return;
+    }
+    moveGap(start);
+    gapEnd += end - start;
+    invalidatePrevious(start);
+    string = null;
+  }
+
+  /**
+   * Remove all characters.
+   */
+  void clear() {
+    gapStart = 0;
+    gapEnd = chars.length;
+    string = null;
+  }
+
+  /**
+   * Get the cached advance of the character at the given index.
+   *
+   * @param index the index of the character
+   * @return the advance or UNKNOWN_ADVANCE if the advance has not been stored yet
+   */
+  int getAdvance(final int index) {
+    checkIndex(index);
+    return advances[toBufferIndex(index)];
+  }
+
+  /**
+   * Store the advance of the character at the given index.
+   *
+   * @param index the index of the character
+   * @param advance the advance of the character
+   */
+  void setAdvance(final int index, final int advance) {
+    checkIndex(index);
+    advances[toBufferIndex(index)] = advance;
+  }
+
+  /**
+   * Forget all stored advances. This is necessary when the font or the way the characters are displayed changes.
+   */
+  void invalidateAdvances() {
+    for (int i = 0; i < gapStart; i++) {
+      advances[i] = UNKNOWN_ADVANCE;
+    }
+    for (int i = gapEnd; i < advances.length; i++) {
+      advances[i] = UNKNOWN_ADVANCE;
+    }
+  }
+
+  private void prepareInsert(final int index, final int count) {
+    moveGap(index);
+    ensureGapSize(count);
+    invalidatePrevious(index);
+    string = null;
+  }
+
+  /**
+   * The advance of the character in front of an edit depends on the character that follows it (kerning) and needs to
+   * be measured again.
+   */
+  private void invalidatePrevious(final int index) {
+    if (index > 0) {
+      advances[toBufferIndex(index - 1)] = UNKNOWN_ADVANCE;
+    }
+  }
+
+  private void moveGap(final int index) {
+    if (index < gapStart) {
+      int count = gapStart - index;
+      System.arraycopy(chars, index, chars, gapEnd - count, count);
+      System.arraycopy(advances, index, advances, gapEnd - count, count);
+      gapStart -= count;
+      gapEnd -= count;
+    } else if (index > gapStart) {
+      int count = index - gapStart;
+      System.arraycopy(chars, gapEnd, chars, gapStart, count);
+      System.arraycopy(advances, gapEnd, advances, gapStart, count);
+      gapStart += count;
+      gapEnd += count;
+    }
+  }
+
+  private void ensureGapSize(final int required) {
+    if (gapEnd - gapStart >= required) {
+      return;
+    }
+    int length = length();
+    int newSize = Math.max(chars.length * 2, length + required + MIN_GAP_SIZE);
+    int tailLength = chars.length - gapEnd;
+    int newGapEnd = newSize - tailLength;
+
+    char[] newChars = new char[newSize];
+    System.arraycopy(chars, 0, newChars, 0, gapStart);
+    System.arraycopy(chars, gapEnd, newChars, newGapEnd, tailLength);
+    int[] newAdvances = new int[newSize];
+    System.arraycopy(advances, 0, newAdvances, 0, gapStart);
+    System.arraycopy(advances, gapEnd, newAdvances, newGapEnd, tailLength);
+
+    chars = newChars;
+    advances = newAdvances;
+    gapEnd = newGapEnd;
+  }
+
+  @Nonnull
+  private char[] copyChars(final int start, final int end) {
+    char[] result = new char[end - start];
+    int beforeGapEnd = Math.min(end, gapStart);
+    if (start < beforeGapEnd) {
+      System.arraycopy(chars, start, result, 0, beforeGapEnd - start);
+    }
+    int afterGapStart = Math.max(start, gapStart);
+    if (afterGapStart < end) {
+      System.arraycopy(chars, toBufferIndex(afterGapStart), result, afterGapStart - start, end - afterGapStart);
+    }
+    return result;
+  }
+
+  private int toBufferIndex(final int index) {
+    return index < gapStart ? index : index + (gapEnd - gapStart);
+  }
+
+  private void checkIndex(final int index) {
+    if (index < 0 || index >= length()) {
+      throw new IndexOutOfBoundsException("index " + index + " out of bounds [0, " + length() + ")");
+    }
+  }
+
+  private void checkPosition(final int index) {
+    if (index < 0 || index > length()) {
+      throw new IndexOutOfBoundsException("index " + index + " out of bounds [0, " + length() + "]");
+    }
+  }
+
+  private void checkRange(final int start, final int end) {
+    if (start < 0 || end > length() || start > end) {
+      throw new IndexOutOfBoundsException("range [" + start + ", " + end + ") out of bounds [0, " + length() + ")");
+    }
+  }
+}
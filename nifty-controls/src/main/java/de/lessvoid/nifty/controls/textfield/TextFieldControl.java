@@ -9,7 +9,6 @@ import de.lessvoid.nifty.controls.textfield.format.TextFieldDisplayFormat;
 import de.lessvoid.nifty.effects.EffectEventId;
 import de.lessvoid.nifty.elements.Element;
 import de.lessvoid.nifty.elements.render.TextRenderer;
-import de.lessvoid.nifty.elements.tools.FontHelper;
 import de.lessvoid.nifty.input.NiftyInputEvent;
 import de.lessvoid.nifty.input.NiftyStandardInputEvent;
 import de.lessvoid.nifty.screen.Screen;
@@ -135,9 +134,8 @@ public class TextFieldControl extends AbstractController implements TextField, T
 
     layoutCallback();
 
-    CharSequence displayedText = textField.getDisplayedText();
     firstVisibleCharacterIndex = 0;
-    lastVisibleCharacterIndex = displayedText.length();
+    lastVisibleCharacterIndex = textField.getRealText().length();
     if (textElement != null) {
       final TextRenderer textRenderer = textElement.getRenderer(TextRenderer.class);
       if (textRenderer == null) {
@@ -147,7 +145,7 @@ public class TextFieldControl extends AbstractController implements TextField, T
         if (font == null) {
           log.warning("No font applied to text element.");
         } else {
-          lastVisibleCharacterIndex = FontHelper.getVisibleCharactersFromStart(font, displayedText, fieldWidth, 1.0f);
+          lastVisibleCharacterIndex = getVisibleCharactersFromStart(font, 0);
         }
       }
     }
@@ -168,21 +166,8 @@ public class TextFieldControl extends AbstractController implements TextField, T
     }
   }
 
-  @Nonnull
-  private CharSequence getVisibleText() {
-    if (textField == null) {
-      return "";
-    }
-    if (lastVisibleCharacterIndex == UNLIMITED_LENGTH) {
-      final CharSequence text = textField.getDisplayedText();
-      return text.subSequence(firstVisibleCharacterIndex, text.length());
-    }
-    return textField.getDisplayedText().subSequence(firstVisibleCharacterIndex, lastVisibleCharacterIndex);
-  }
-
   public void onClick(final int mouseX, final int mouseY) {
-    final CharSequence visibleString = getVisibleText();
-    final int indexFromPixel = getCursorPosFromMouse(mouseX, visibleString);
+    final int indexFromPixel = getCursorPosFromMouse(mouseX);
     if (indexFromPixel != -1) {
       fromClickCursorPos = firstVisibleCharacterIndex + indexFromPixel;
     }
@@ -194,8 +179,7 @@ public class TextFieldControl extends AbstractController implements TextField, T
   }
 
   public void onClickMouseMove(final int mouseX, final int mouseY) {
-    final CharSequence visibleString = getVisibleText();
-    final int indexFromPixel = getCursorPosFromMouse(mouseX, visibleString);
+    final int indexFromPixel = getCursorPosFromMouse(mouseX);
     if (indexFromPixel != -1) {
       toClickCursorPos = firstVisibleCharacterIndex + indexFromPixel;
     }
@@ -209,8 +193,8 @@ public class TextFieldControl extends AbstractController implements TextField, T
     updateCursor();
   }
 
-  private int getCursorPosFromMouse(final int mouseX, @Nonnull final CharSequence visibleString) {
-    if (textElement == null || fieldElement == null) {
+  private int getCursorPosFromMouse(final int mouseX) {
+    if (textElement == null || fieldElement == null || textField == null) {
       return 0;
     }
     final TextRenderer textRenderer = textElement.getRenderer(TextRenderer.class);
@@ -221,7 +205,26 @@ public class TextFieldControl extends AbstractController implements TextField, T
     if (font == null) {
       return 0;
     }
-    return FontHelper.getCharacterIndexFromPixelPosition(font, visibleString, mouseX - fieldElement.getX(), 1.0f);
+    final int pixel = mouseX - fieldElement.getX();
+    if (pixel < 0) {
+      return -1;
+    }
+    final int textLength = textField.getRealText().length();
+    final int visibleEnd;
+    if (lastVisibleCharacterIndex == UNLIMITED_LENGTH) {
+      visibleEnd = textLength;
+    } else {
+      visibleEnd = Math.min(lastVisibleCharacterIndex, textLength);
+    }
+    int current = 0;
+    for (int i = firstVisibleCharacterIndex; i < visibleEnd; i++) {
+      final int w = textField.getDisplayedCharacterAdvance(i, font);
+      if ((pixel >= current) && (pixel <= current + w)) {
+        return i - firstVisibleCharacterIndex;
+      }
+      current += w;
+    }
+    return Math.max(0, visibleEnd - firstVisibleCharacterIndex);
   }
 
   @Override
@@ -300,33 +303,30 @@ public class TextFieldControl extends AbstractController implements TextField, T
       return;
     }
 
-    final String text = textField.getDisplayedText().toString();
-    checkBounds(text, textRenderer);
-    calcLastVisibleIndex(textRenderer);
-
-    textRenderer.setText(text);
-    textRenderer.setSelection(textField.getSelectionStart(), textField.getSelectionEnd());
+    final RenderFont font = textRenderer.getFont();
+    final int textLength = textField.getRealText().length();
+    checkBounds(textLength, font);
+    calcLastVisibleIndex(textLength, font);
 
     // calc cursor position
     final int cursorPos = textField.getCursorPosition();
 
     // outside, move window to fit cursorPos inside [first,last]
     calcFirstVisibleIndex(cursorPos);
-    calcLastVisibleIndex(textRenderer);
+    calcLastVisibleIndex(textLength, font);
 
-    RenderFont font = textRenderer.getFont();
-    final int d;
+    // only the visible part of the text and the character that is cut off at the right border is rendered
+    final int visibleEnd = Math.min(textLength, lastVisibleCharacterIndex + 1);
+    textRenderer.setText(textField.getDisplayedText(firstVisibleCharacterIndex, visibleEnd).toString());
+    textRenderer.setxOffsetHack(0);
+    updateSelection(textRenderer, visibleEnd);
+
+    final int cursorPixelPos;
     if (font != null) {
-      final String substring2 = text.substring(0, firstVisibleCharacterIndex);
-      d = font.getWidth(substring2);
+      cursorPixelPos = getTextWidth(font, firstVisibleCharacterIndex, cursorPos);
     } else {
-      d = 0;
+      cursorPixelPos = 0;
     }
-    textRenderer.setxOffsetHack(-d);
-
-    final String substring = text.substring(0, cursorPos);
-    final int textWidth = textRenderer.getFont().getWidth(substring);
-    final int cursorPixelPos = textWidth - d;
     final Element element = getElement();
     if (element == null) {
       return;
@@ -338,6 +338,26 @@ public class TextFieldControl extends AbstractController implements TextField, T
     element.getParent().layoutElements();
   }
 
+  /**
+   * Apply the part of the selection that is visible to the text renderer. The renderer only knows the visible part of
+   * the text so the selection is moved accordingly.
+   */
+  private void updateSelection(@Nonnull final TextRenderer textRenderer, final int visibleEnd) {
+    if (textField == null || !textField.hasSelection()) {
+      textRenderer.setSelection(-1, -1);
+      return;
+    }
+    final int selectionStart = Math.max(textField.getSelectionStart(), firstVisibleCharacterIndex);
+    final int selectionEnd = Math.min(textField.getSelectionEnd(), visibleEnd);
+    if (selectionStart < selectionEnd) {
+      textRenderer.setSelection(
+          selectionStart - firstVisibleCharacterIndex,
+          selectionEnd - firstVisibleCharacterIndex);
+    } else {
+      textRenderer.setSelection(-1, -1);
+    }
+  }
+
   private void calcFirstVisibleIndex(final int cursorPos) {
     if (cursorPos > lastVisibleCharacterIndex) {
       final int cursorPosDelta = cursorPos - lastVisibleCharacterIndex;
@@ -348,39 +368,76 @@ public class TextFieldControl extends AbstractController implements TextField, T
     }
   }
 
-  private void checkBounds(@Nonnull final CharSequence text, @Nonnull final TextRenderer textRenderer) {
-    final int textLen = text.length();
-    if (firstVisibleCharacterIndex > textLen) {
+  private void checkBounds(final int textLength, @Nullable final RenderFont font) {
+    if (firstVisibleCharacterIndex > textLength) {
       // re position so that we show at much possible text
-      lastVisibleCharacterIndex = textLen;
+      lastVisibleCharacterIndex = textLength;
 
-      RenderFont font = textRenderer.getFont();
       if (font == null) {
         firstVisibleCharacterIndex = 0;
       } else {
-        firstVisibleCharacterIndex = FontHelper.getVisibleCharactersFromEnd(font, text, fieldWidth, 1.0f);
+        firstVisibleCharacterIndex = getVisibleCharactersFromEnd(font, textLength);
       }
     }
   }
 
-  private void calcLastVisibleIndex(@Nonnull final TextRenderer textRenderer) {
-    if (textField == null) {
-      return;
-    }
-    final CharSequence currentText = textField.getDisplayedText();
-    final RenderFont font = textRenderer.getFont();
-    final int textLength = currentText.length();
+  private void calcLastVisibleIndex(final int textLength, @Nullable final RenderFont font) {
     if (font == null) {
       lastVisibleCharacterIndex = textLength;
+    } else if (firstVisibleCharacterIndex < textLength) {
+      lastVisibleCharacterIndex = getVisibleCharactersFromStart(font, firstVisibleCharacterIndex);
     } else {
-      if (firstVisibleCharacterIndex < textLength) {
-        final CharSequence textToCheck = currentText.subSequence(firstVisibleCharacterIndex, textLength);
-        final int lengthFitting = FontHelper.getVisibleCharactersFromStart(font, textToCheck, fieldWidth, 1.0f);
-        lastVisibleCharacterIndex = lengthFitting + firstVisibleCharacterIndex;
-      } else {
-        lastVisibleCharacterIndex = firstVisibleCharacterIndex;
+      lastVisibleCharacterIndex = firstVisibleCharacterIndex;
+    }
+  }
+
+  /**
+   * Get the index of the first character starting at the given index that does not fit into the field anymore. The
+   * advances of the characters are cached by the text field logic, so this only costs the number of visible characters
+   * and not the length of the whole text.
+   */
+  private int getVisibleCharactersFromStart(@Nonnull final RenderFont font, final int start) {
+    if (textField == null) {
+      return start;
+    }
+    final int textLength = textField.getRealText().length();
+    int widthRemaining = fieldWidth;
+    for (int i = start; i < textLength; i++) {
+      widthRemaining -= textField.getDisplayedCharacterAdvance(i, font);
+      if (widthRemaining < 0) {
+        return i;
+      }
+    }
+    return textLength;
+  }
+
+  /**
+   * Get the index of the character in front of the given end index that does not fit into the field anymore when the
+   * text is aligned to end at this index.
+   */
+  private int getVisibleCharactersFromEnd(@Nonnull final RenderFont font, final int end) {
+    if (textField == null) {
+      return 0;
+    }
+    int widthRemaining = fieldWidth;
+    for (int i = end - 1; i >= 0; i--) {
+      widthRemaining -= textField.getDisplayedCharacterAdvance(i, font);
+      if (widthRemaining < 0) {
+        return i;
       }
     }
+    return 0;
+  }
+
+  private int getTextWidth(@Nonnull final RenderFont font, final int start, final int end) {
+    if (textField == null) {
+      return 0;
+    }
+    int width = 0;
+    for (int i = start; i < end; i++) {
+      width += textField.getDisplayedCharacterAdvance(i, font);
+    }
+    return width;
   }
 
   @Override
@@ -11,6 +11,7 @@ import de.lessvoid.nifty.controls.textfield.filter.input.TextFieldInputFilter;
 import de.lessvoid.nifty.controls.textfield.format.FormatPassword;
 import de.lessvoid.nifty.controls.textfield.format.FormatPlain;
 import de.lessvoid.nifty.controls.textfield.format.TextFieldDisplayFormat;
+import de.lessvoid.nifty.spi.render.RenderFont;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -27,7 +28,13 @@ public class TextFieldLogic {
    * The text that was typed into the input area by the user.
    */
   @Nonnull
-  private final StringBuilder text;
+  private final GapBuffer text;
+
+  /**
+   * The font the advances stored in the text buffer have been measured with.
+   */
+  @Nullable
+  private RenderFont advanceFont;
 
   /**
    * the current cursor position in the string.
@@ -130,7 +137,7 @@ public class TextFieldLogic {
 
     format = DEFAULT_FORMAT;
 
-    text = new StringBuilder(100);
+    text = new GapBuffer(100);
   }
 
   /**
@@ -149,9 +156,9 @@ public class TextFieldLogic {
   }
 
   public void setText(@Nullable final CharSequence newText) {
-    text.setLength(0);
+    text.clear();
     if (newText != null) {
-      text.append(newText);
+      text.insert(0, newText);
     }
     cursorPosition = 0;
     resetSelection();
@@ -191,6 +198,7 @@ public class TextFieldLogic {
    */
   public void setFormat(@Nullable final TextFieldDisplayFormat newFormat) {
     format = (newFormat == null) ? DEFAULT_FORMAT : newFormat;
+    text.invalidateAdvances();
   }
 
   /**
@@ -383,6 +391,18 @@ public class TextFieldLogic {
     return format.getDisplaySequence(text, 0, text.length());
   }
 
+  /**
+   * Get a part of the text that is supposed to be displayed to the user.
+   *
+   * @param start the index of the first character
+   * @param end   the index behind the last character
+   * @return the part of the text that is to be displayed to the user
+   */
+  @Nonnull
+  public CharSequence getDisplayedText(final int start, final int end) {
+    return format.getDisplaySequence(text, start, end);
+  }
+
   /**
    * Get the real text that is stored in this text field.
    *
@@ -569,7 +589,7 @@ public class TextFieldLogic {
 
     if (maxLength != TextField.UNLIMITED_LENGTH) {
       if (text.length() > maxLen) {
-        text.setLength(maxLen);
+        text.delete(maxLen, text.length());
         setCursorPosition(Math.min(cursorPosition, text.length()));
         view.textChangeEvent(text.toString());
       }
@@ -613,6 +633,35 @@ public class TextFieldLogic {
     setCursorPosition(Integer.MAX_VALUE);
   }
 
+  /**
+   * Get the advance of the displayed character at the given index. The advances are stored together with the
+   * characters of the text, so each character is only measured again after it or the character following it changed.
+   *
+   * @param index the index of the character
+   * @param font  the font that is used to display the text
+   * @return the advance of the displayed character in pixels
+   */
+  public int getDisplayedCharacterAdvance(final int index, @Nonnull final RenderFont font) {
+    if (font != advanceFont) {
+      text.invalidateAdvances();
+      advanceFont = font;
+    }
+    int advance = text.getAdvance(index);
+    if (advance == GapBuffer.UNKNOWN_ADVANCE) {
+      final char next = (index + 1 < text.length()) ? getDisplayedCharacter(index + 1) : 0;
+      advance = Math.max(0, font.getCharacterAdvance(getDisplayedCharacter(index), next, 1.0f));
+      text.setAdvance(index, advance);
+    }
+    return advance;
+  }
+
+  private char getDisplayedCharacter(final int index) {
+    if (format instanceof FormatPlain) {
+      return text.charAt(index);
+    }
+    return format.getDisplaySequence(text, index, index + 1).charAt(0);
+  }
+
   private CharSequence filterNewLines(@Nonnull final String input) {
     return input.replaceAll("\\r\\n|\\r|\\n", "");
   }
@@ -14,6 +14,8 @@ import de.lessvoid.nifty.screen.Screen;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Logger;
 
 /**
@@ -117,9 +119,36 @@ public final class TreeBoxControl<T> extends ListBoxControl<TreeItem<T>> impleme
     final ListBox<TreeItem<T>> list = getListBox();
     list.clear();
 
-    for (final TreeItem<T> item : treeRoot) {
-      addListItem(list, item, 0);
+    final List<TreeItem<T>> visibleItems = new ArrayList<TreeItem<T>>();
+    collectVisibleChildren(visibleItems, treeRoot, 0);
+    list.addAllItems(visibleItems);
+  }
+
+  @Override
+  public void setExpanded(@Nonnull final TreeItem<T> item, final boolean expanded) {
+    if (item.isExpanded() == expanded) {
+      return;
     }
+    final ListBox<TreeItem<T>> list = getListBox();
+    final int itemIndex = list.getItems().indexOf(item);
+    if (itemIndex == -1) {
+      // the item is not displayed right now so there is nothing to update in the list
+      item.setExpanded(expanded);
+      return;
+    }
+
+    if (expanded) {
+      final List<TreeItem<T>> children = new ArrayList<TreeItem<T>>();
+      item.setExpanded(true);
+      collectVisibleChildren(children, item, item.getIndent() + indentWidth);
+      list.insertAllItems(children, itemIndex + 1);
+    } else {
+      // the visible children are displayed right behind the item, so they can be removed as one range
+      final int childCount = countVisibleChildren(item);
+      item.setExpanded(false);
+      list.removeItemRangeByIndex(itemIndex + 1, itemIndex + childCount);
+    }
+    list.selectItem(item);
   }
 
   @Override
@@ -134,22 +163,38 @@ public final class TreeBoxControl<T> extends ListBoxControl<TreeItem<T>> impleme
   }
 
   /**
-   * Add a tree item to the list box and also insert all its children. This function is made for recursive calls in
-   * order to update the current indent value.
+   * Collect the children of a tree item and the children of all expanded items below it in the order they are
+   * displayed. This function is made for recursive calls in order to update the current indent value. Children that
+   * are not loaded yet are loaded for expanded items.
    *
-   * @param list          the {@link ListBox} that is filled with entries
-   * @param currentItem   the current item that is supposed to be added to the list
-   * @param currentIndent the indent of the current item
+   * @param result        the list that is filled with the items
+   * @param parentItem    the item whose children are collected
+   * @param currentIndent the indent of the children
+   */
+  /**
+   * Count the items that are displayed below an item: its children if it's expanded and their visible children.
    */
-  private void addListItem(
-      @Nonnull final ListBox<TreeItem<T>> list,
-      @Nonnull final TreeItem<T> currentItem,
+  private int countVisibleChildren(@Nonnull final TreeItem<T> parentItem) {
+    if (!parentItem.isExpanded()) {
+      return 0;
+    }
+    int count = 0;
+    for (final TreeItem<T> item : parentItem) {
+      count += 1 + countVisibleChildren(item);
+    }
+    return count;
+  }
+
+  private void collectVisibleChildren(
+      @Nonnull final List<TreeItem<T>> result,
+      @Nonnull final TreeItem<T> parentItem,
       final int currentIndent) {
-    list.addItem(currentItem);
-    currentItem.setIndent(currentIndent);
-    if (currentItem.isExpanded()) {
-      for (final TreeItem<T> item : currentItem) {
-        addListItem(list, item, currentIndent + indentWidth);
+    parentItem.ensureChildrenLoaded();
+    for (final TreeItem<T> item : parentItem) {
+      result.add(item);
+      item.setIndent(currentIndent);
+      if (item.isExpanded()) {
+        collectVisibleChildren(result, item, currentIndent + indentWidth);
       }
     }
   }
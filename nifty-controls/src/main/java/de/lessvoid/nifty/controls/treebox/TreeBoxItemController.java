@@ -42,7 +42,6 @@ public class TreeBoxItemController<T> extends ListBoxItemController<TreeItem<T>>
     if (item == null || item.isLeaf()) {
       return;
     }
-    item.setExpanded(!item.isExpanded());
-    parentControl.updateList(item);
+    parentControl.setExpanded(item, !item.isExpanded());
   }
 }
@@ -0,0 +1,237 @@
+package de.lessvoid.nifty.controls.listbox;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.controls.ListBox.SelectionMode;
+import de.lessvoid.nifty.controls.ListBoxDataProvider;
+import de.lessvoid.nifty.controls.ListBoxSelectionChangedEvent;
+
+public class ListBoxDataProviderTest {
+  private ListBoxImpl<TestItem> listBox = new ListBoxImpl<TestItem>(null);
+  private ItemProvider provider = new ItemProvider(1000000);
+  private RecordingView view = new RecordingView();
+
+  @Before
+  public void before() {
+    listBox.bindToView(view, 3);
+    listBox.setDataProvider(provider);
+  }
+
+  @Test
+  public void testItemCount() {
+    assertEquals(1000000, listBox.itemCount());
+    assertEquals(1000000, view.totalCount);
+  }
+
+  @Test
+  public void testOnlyDisplayedItemsAreRequested() {
+    provider.requested.clear();
+    listBox.showItemByIndex(500000);
+    assertEquals(Arrays.asList("500000", "500001", "500002"), view.displayedLabels());
+    assertTrue(provider.requested.size() <= 6);
+  }
+
+  @Test
+  public void testRangeSelection() {
+    listBox.changeSelectionMode(SelectionMode.Multiple, false);
+    listBox.selectItemRangeByIndex(10, 20);
+    assertEquals(11, listBox.getSelectedIndices().size());
+    assertEquals(Integer.valueOf(10), listBox.getSelectedIndices().get(0));
+    assertEquals(Integer.valueOf(20), listBox.getSelectedIndices().get(10));
+    assertEquals(20, listBox.getFocusItemIndex());
+  }
+
+  @Test
+  public void testRangeSelectionInSingleSelectionMode() {
+    listBox.selectItemRangeByIndex(10, 20);
+    assertEquals(Arrays.asList(20), listBox.getSelectedIndices());
+    assertEquals("20", listBox.getSelection().get(0).getLabel());
+  }
+
+  @Test
+  public void testReversedRangeSelectionInSingleSelectionMode() {
+    listBox.selectItemRangeByIndex(20, 10);
+    assertEquals(Arrays.asList(10), listBox.getSelectedIndices());
+    assertEquals(10, listBox.getFocusItemIndex());
+  }
+
+  @Test
+  public void testReversedRangeSelection() {
+    listBox.changeSelectionMode(SelectionMode.Multiple, false);
+    listBox.selectItemRangeByIndex(20, 10);
+    assertEquals(11, listBox.getSelectedIndices().size());
+    assertEquals(10, listBox.getFocusItemIndex());
+  }
+
+  @Test
+  public void testSelectionChangedEventResolvesItemsLazily() {
+    listBox.changeSelectionMode(SelectionMode.Multiple, false);
+    provider.requested.clear();
+    listBox.selectItemRangeByIndex(0, 99999);
+    ListBoxSelectionChangedEvent<TestItem> event = view.event;
+    assertTrue(provider.requested.size() <= 6);
+    assertEquals(100000, event.getSelectionIndices().size());
+    assertEquals(Integer.valueOf(99999), event.getSelectionIndices().get(99999));
+    assertEquals("500", event.getSelection().get(500).getLabel());
+  }
+
+  @Test
+  public void testSelectItemUsesIndexOfOfDataProvider() {
+    provider.requested.clear();
+    listBox.selectItem(new TestItem("500000"));
+    assertEquals(Arrays.asList(500000), listBox.getSelectedIndices());
+    assertTrue(provider.requested.size() <= 6);
+  }
+
+  @Test
+  public void testSelectNext() {
+    listBox.selectItemByIndex(5);
+    listBox.selectNext();
+    assertEquals(Arrays.asList(6), listBox.getSelectedIndices());
+  }
+
+  @Test
+  public void testDeselect() {
+    listBox.changeSelectionMode(SelectionMode.Multiple, false);
+    listBox.selectItemRangeByIndex(0, 2);
+    listBox.deselectItemByIndex(1);
+    assertEquals(Arrays.asList(0, 2), listBox.getSelectedIndices());
+  }
+
+  @Test
+  public void testDisplayedSelection() {
+    listBox.changeSelectionMode(SelectionMode.Multiple, false);
+    listBox.selectItemRangeByIndex(1, 5);
+    listBox.showItemByIndex(0);
+    assertEquals(Arrays.asList(1, 2), view.selection);
+  }
+
+  @Test
+  public void testDataProviderChangedRemovesInvalidSelection() {
+    listBox.changeSelectionMode(SelectionMode.Multiple, false);
+    listBox.selectItemRangeByIndex(5, 15);
+    provider.size = 10;
+    listBox.dataProviderChanged();
+    assertEquals(Arrays.asList(5, 6, 7, 8, 9), listBox.getSelectedIndices());
+    assertEquals(10, view.totalCount);
+  }
+
+  @Test
+  public void testAddItemIsIgnored() {
+    listBox.addItem(new TestItem("7"));
+    assertEquals(1000000, listBox.itemCount());
+  }
+
+  @Test
+  public void testWidthEstimate() {
+    provider.widthEstimate = 250;
+    listBox.dataProviderChanged();
+    assertEquals(250, view.totalWidth);
+  }
+
+  @Test
+  public void testWidthOfDisplayedItems() {
+    listBox.showItemByIndex(99);
+    assertEquals(102, view.totalWidth);
+  }
+
+  @Test
+  public void testClearRemovesDataProvider() {
+    listBox.clear();
+    assertEquals(0, listBox.itemCount());
+    listBox.addItem(new TestItem("7"));
+    assertEquals(1, listBox.itemCount());
+  }
+
+  private static class ItemProvider implements ListBoxDataProvider<TestItem> {
+    private final List<Integer> requested = new ArrayList<Integer>();
+    private int size;
+    private int widthEstimate = -1;
+
+    private ItemProvider(final int size) {
+      this.size = size;
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Nonnull
+    @Override
+    public TestItem get(final int index) {
+      requested.add(index);
+      return new TestItem(String.valueOf(index));
+    }
+
+    @Override
+    public int indexOf(@Nonnull final TestItem item) {
+      int index = Integer.parseInt(item.getLabel());
+      return index < size ? index : -1;
+    }
+
+    @Override
+    public int getWidthEstimate() {
+      return widthEstimate;
+    }
+  }
+
+  private static class RecordingView implements ListBoxView<TestItem> {
+    private List<TestItem> captions = new ArrayList<TestItem>();
+    private List<Integer> selection = new ArrayList<Integer>();
+    private int totalCount;
+    private int totalWidth;
+    private ListBoxSelectionChangedEvent<TestItem> event;
+
+    @Override
+    public void display(
+        @Nonnull final List<TestItem> captions,
+        final int focusElementIndex,
+        @Nonnull final List<Integer> selectionElements) {
+      this.captions = new ArrayList<TestItem>(captions);
+      this.selection = new ArrayList<Integer>(selectionElements);
+    }
+
+    @Override
+    public void updateTotalCount(final int newCount) {
+      totalCount = newCount;
+    }
+
+    @Override
+    public void updateTotalWidth(final int newWidth) {
+      totalWidth = newWidth;
+    }
+
+    @Override
+    public void scrollTo(final int newPosition) {
+    }
+
+    @Override
+    public void publish(@Nonnull final ListBoxSelectionChangedEvent<TestItem> event) {
+      this.event = event;
+    }
+
+    @Override
+    public int getWidth(final TestItem item) {
+      return Integer.parseInt(item.getLabel()) + 1;
+    }
+
+    private List<String> displayedLabels() {
+      List<String> result = new ArrayList<String>();
+      for (TestItem item : captions) {
+        result.add(item.getLabel());
+      }
+      return result;
+    }
+  }
+}
@@ -51,6 +51,15 @@ public class ListBoxSingleSelectionTest {
     selectionCheck.assertSelectionIndices(0);
   }
 
+  @Test
+  public void testSelectReversedRangeSelectsLastIndex() {
+    listBox.addItem(o1);
+    listBox.addItem(o2);
+    listBox.selectItemRangeByIndex(1, 0);
+    selectionCheck.assertSelection(o1);
+    selectionCheck.assertSelectionIndices(0);
+  }
+
   @Test
   public void testSelectFirstItem() {
     listBox.addItem(o1);
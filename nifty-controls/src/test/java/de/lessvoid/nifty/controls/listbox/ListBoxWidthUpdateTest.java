@@ -0,0 +1,109 @@
+package de.lessvoid.nifty.controls.listbox;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ListBoxWidthUpdateTest {
+  private ListBoxImpl<TestItem> listBox = new ListBoxImpl<TestItem>(null);
+  private TestItem o1 = new TestItem("o1");
+  private TestItem o2 = new TestItem("o2");
+  private TestItem o3 = new TestItem("o3");
+  private ListBoxView<TestItem> view;
+
+  @Before
+  public void before() {
+    view = createNiceMock(ListBoxView.class);
+    listBox.bindToView(view, 2);
+    expect(view.getWidth(o1)).andReturn(100);
+    expect(view.getWidth(o2)).andReturn(200);
+    expect(view.getWidth(o3)).andReturn(150);
+  }
+
+  @After
+  public void after() {
+    verify(view);
+  }
+
+  @Test
+  public void testAddAllItemsUpdatesWidthOnce() {
+    view.updateTotalWidth(200);
+    replay(view);
+
+    listBox.addAllItems(createItems(o1, o2, o3));
+  }
+
+  @Test
+  public void testRemoveWidestItem() {
+    view.updateTotalWidth(200);
+    view.updateTotalWidth(150);
+    replay(view);
+
+    listBox.addAllItems(createItems(o1, o2, o3));
+    listBox.removeItem(o2);
+  }
+
+  @Test
+  public void testRemoveAllItemsKeepsRemainingWidth() {
+    view.updateTotalWidth(200);
+    view.updateTotalWidth(100);
+    replay(view);
+
+    listBox.addAllItems(createItems(o1, o2, o3));
+    listBox.removeAllItems(createItems(o2, o3));
+  }
+
+  @Test
+  public void testWidthsFollowSortedItems() {
+    view.updateTotalWidth(200);
+    view.updateTotalWidth(150);
+    replay(view);
+
+    listBox.addAllItems(createItems(o3, o2, o1));
+    listBox.sortItems(null);
+    listBox.removeItemByIndex(1);
+  }
+
+  @Test
+  public void testUpdateItemWidthsMeasuresAllItemsAgain() {
+    view.updateTotalWidth(200);
+    expect(view.getWidth(o1)).andReturn(300);
+    expect(view.getWidth(o2)).andReturn(50);
+    expect(view.getWidth(o3)).andReturn(50);
+    view.updateTotalWidth(300);
+    replay(view);
+
+    listBox.addAllItems(createItems(o1, o2, o3));
+    listBox.updateItemWidths();
+  }
+
+  @Test
+  public void testFixedItemWidth() {
+    view.updateTotalWidth(200);
+    view.updateTotalWidth(500);
+    view.updateTotalWidth(400);
+    view.updateTotalWidth(0);
+    replay(view);
+
+    listBox.addAllItems(createItems(o1, o2, o3));
+    listBox.setFixedItemWidth(500);
+    listBox.setFixedItemWidth(400);
+    listBox.removeAllItems(createItems(o1, o2, o3));
+  }
+
+  private List<TestItem> createItems(final TestItem... items) {
+    List<TestItem> result = new ArrayList<TestItem>();
+    for (TestItem item : items) {
+      result.add(item);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,76 @@
+package de.lessvoid.nifty.controls.table;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.controls.Table.TableCellConverterSimple;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.elements.render.TextRenderer;
+
+public class TableCellConverterSimpleTest {
+  private TableCellConverterSimple<Object> converter = new TableCellConverterSimple<Object>();
+  private Element cell;
+  private TextRenderer textRenderer;
+
+  @Before
+  public void before() {
+    cell = createMock(Element.class);
+    textRenderer = createMock(TextRenderer.class);
+    expect(cell.getRenderer(TextRenderer.class)).andReturn(textRenderer);
+    replay(cell);
+  }
+
+  @After
+  public void after() {
+    verify(cell);
+    verify(textRenderer);
+  }
+
+  @Test
+  public void testArrayItem() {
+    textRenderer.setText("b");
+    replay(textRenderer);
+
+    converter.display(cell, new String[]{"a", "b"}, 1);
+  }
+
+  @Test
+  public void testArrayItemWithMissingColumn() {
+    textRenderer.setText("");
+    replay(textRenderer);
+
+    converter.display(cell, new String[]{"a", "b"}, 2);
+  }
+
+  @Test
+  public void testListItem() {
+    textRenderer.setText("2");
+    replay(textRenderer);
+
+    converter.display(cell, Arrays.asList(1, 2, 3), 1);
+  }
+
+  @Test
+  public void testOtherItemInFirstColumn() {
+    textRenderer.setText("item");
+    replay(textRenderer);
+
+    converter.display(cell, "item", 0);
+  }
+
+  @Test
+  public void testOtherItemInOtherColumn() {
+    textRenderer.setText("");
+    replay(textRenderer);
+
+    converter.display(cell, "item", 1);
+  }
+}
@@ -0,0 +1,114 @@
+package de.lessvoid.nifty.controls.textfield;
+
+import junit.framework.TestCase;
+
+public class GapBufferTest extends TestCase {
+  private GapBuffer buffer;
+
+  @Override
+  public void setUp() {
+    buffer = new GapBuffer(4);
+  }
+
+  public void testEmpty() {
+    assertEquals(0, buffer.length());
+    assertEquals("", buffer.toString());
+  }
+
+  public void testInsertAtEnd() {
+    buffer.insert(0, "hello");
+    buffer.insert(5, '!');
+    assertEquals("hello!", buffer.toString());
+  }
+
+  public void testInsertInFrontAndInTheMiddle() {
+    buffer.insert(0, "world");
+    buffer.insert(0, "hello");
+    buffer.insert(5, ' ');
+    assertEquals("hello world", buffer.toString());
+    assertEquals('w', buffer.charAt(6));
+  }
+
+  public void testGrowsBeyondCapacity() {
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      char c = (char) ('a' + (i % 26));
+      buffer.insert(i / 2, c);
+      expected.insert(i / 2, c);
+    }
+    assertEquals(expected.toString(), buffer.toString());
+  }
+
+  public void testDelete() {
+    buffer.insert(0, "hello world");
+    buffer.delete(5, 11);
+    assertEquals("hello", buffer.toString());
+    buffer.delete(0, 1);
+    assertEquals("ello", buffer.toString());
+  }
+
+  public void testSubSequenceAcrossGap() {
+    buffer.insert(0, "helloworld");
+    buffer.insert(5, ' ');
+    buffer.insert(3, 'X');
+    assertEquals("lo w", buffer.subSequence(4, 8).toString());
+  }
+
+  public void testClear() {
+    buffer.insert(0, "hello");
+    buffer.clear();
+    assertEquals(0, buffer.length());
+    assertEquals("", buffer.toString());
+  }
+
+  public void testToStringIsUpdatedAfterChange() {
+    buffer.insert(0, "ab");
+    assertEquals("ab", buffer.toString());
+    buffer.insert(1, 'x');
+    assertEquals("axb", buffer.toString());
+  }
+
+  public void testAdvancesMoveWithCharacters() {
+    buffer.insert(0, "abc");
+    buffer.setAdvance(0, 1);
+    buffer.setAdvance(1, 2);
+    buffer.setAdvance(2, 3);
+    buffer.insert(0, 'x');
+    assertEquals(GapBuffer.UNKNOWN_ADVANCE, buffer.getAdvance(0));
+    assertEquals(1, buffer.getAdvance(1));
+    assertEquals(2, buffer.getAdvance(2));
+    assertEquals(3, buffer.getAdvance(3));
+  }
+
+  public void testInsertInvalidatesAdvanceOfPreviousCharacter() {
+    buffer.insert(0, "abc");
+    buffer.setAdvance(0, 1);
+    buffer.setAdvance(1, 2);
+    buffer.setAdvance(2, 3);
+    buffer.insert(2, 'x');
+    assertEquals(1, buffer.getAdvance(0));
+    assertEquals(GapBuffer.UNKNOWN_ADVANCE, buffer.getAdvance(1));
+    assertEquals(GapBuffer.UNKNOWN_ADVANCE, buffer.getAdvance(2));
+    assertEquals(3, buffer.getAdvance(3));
+  }
+
+  public void testDeleteInvalidatesAdvanceOfPreviousCharacter() {
+    buffer.insert(0, "abc");
+    buffer.setAdvance(0, 1);
+    buffer.setAdvance(1, 2);
+    buffer.setAdvance(2, 3);
+    buffer.delete(1, 2);
+    assertEquals(GapBuffer.UNKNOWN_ADVANCE, buffer.getAdvance(0));
+    assertEquals(3, buffer.getAdvance(1));
+  }
+
+  public void testIndexOutOfBounds() {
+    buffer.insert(0, "abc");
+    try {
+      buffer.charAt(3);
+      fail("expected IndexOutOfBoundsException");
+    } catch (IndexOutOfBoundsException e) {
+      // expected
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package de.lessvoid.nifty.controls.textfield;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.eq;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import junit.framework.TestCase;
+import de.lessvoid.nifty.Clipboard;
+import de.lessvoid.nifty.controls.textfield.format.FormatPassword;
+import de.lessvoid.nifty.spi.render.RenderFont;
+
+public class TextFieldAdvanceTest extends TestCase {
+  private TextFieldLogic textField;
+  private RenderFont font;
+
+  @Override
+  public void setUp() {
+    textField = new TextFieldLogic("ab", createMock(Clipboard.class), new EmptyTextFieldView());
+    font = createMock(RenderFont.class);
+  }
+
+  public void testAdvanceIsMeasuredOnlyOnce() {
+    expect(font.getCharacterAdvance(eq('a'), eq('b'), eq(1.0f))).andReturn(5).once();
+    replay(font);
+
+    assertEquals(5, textField.getDisplayedCharacterAdvance(0, font));
+    assertEquals(5, textField.getDisplayedCharacterAdvance(0, font));
+    verify(font);
+  }
+
+  public void testInsertMeasuresOnlyChangedCharacters() {
+    expect(font.getCharacterAdvance(eq('a'), eq('b'), eq(1.0f))).andReturn(5).once();
+    expect(font.getCharacterAdvance(eq('b'), eq((char) 0), eq(1.0f))).andReturn(6).once();
+    expect(font.getCharacterAdvance(eq('b'), eq('c'), eq(1.0f))).andReturn(7).once();
+    expect(font.getCharacterAdvance(eq('c'), eq((char) 0), eq(1.0f))).andReturn(8).once();
+    replay(font);
+
+    assertEquals(5, textField.getDisplayedCharacterAdvance(0, font));
+    assertEquals(6, textField.getDisplayedCharacterAdvance(1, font));
+    textField.toLastPosition();
+    textField.insert('c');
+    assertEquals(5, textField.getDisplayedCharacterAdvance(0, font));
+    assertEquals(7, textField.getDisplayedCharacterAdvance(1, font));
+    assertEquals(8, textField.getDisplayedCharacterAdvance(2, font));
+    verify(font);
+  }
+
+  public void testFormatChangeMeasuresDisplayedCharacters() {
+    expect(font.getCharacterAdvance(eq('a'), eq('b'), eq(1.0f))).andReturn(5).once();
+    expect(font.getCharacterAdvance(eq('*'), eq('*'), eq(1.0f))).andReturn(3).once();
+    replay(font);
+
+    assertEquals(5, textField.getDisplayedCharacterAdvance(0, font));
+    textField.setFormat(new FormatPassword('*'));
+    assertEquals(3, textField.getDisplayedCharacterAdvance(0, font));
+    verify(font);
+  }
+}
@@ -0,0 +1,134 @@
+package de.lessvoid.nifty.controls.treebox;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.controls.TreeItem;
+
+@SuppressWarnings("deprecation")
+public class TreeBoxControlExpandTest {
+  private TreeBoxControl<String> treeBox;
+  private TreeItem<String> root;
+  private TreeItem<String> a;
+  private TreeItem<String> a1;
+  private TreeItem<String> a2;
+  private TreeItem<String> b;
+  private int loadCount;
+
+  @Before
+  public void before() {
+    root = new TreeItem<String>("root");
+    a = new TreeItem<String>("a");
+    a1 = new TreeItem<String>("a1");
+    a2 = new TreeItem<String>("a2");
+    b = new TreeItem<String>("b");
+    a.addTreeItem(a1);
+    a.addTreeItem(a2);
+    root.addTreeItem(a);
+    root.addTreeItem(b);
+
+    treeBox = new TreeBoxControl<String>();
+    treeBox.setTree(root);
+  }
+
+  @Test
+  public void testCollapsedTree() {
+    assertDisplayed("a", "b");
+  }
+
+  @Test
+  public void testExpand() {
+    treeBox.setExpanded(a, true);
+    assertTrue(a.isExpanded());
+    assertDisplayed("a", "a1", "a2", "b");
+    assertEquals(Arrays.asList(a), treeBox.getSelection());
+  }
+
+  @Test
+  public void testCollapse() {
+    treeBox.setExpanded(a, true);
+    treeBox.setExpanded(a, false);
+    assertFalse(a.isExpanded());
+    assertDisplayed("a", "b");
+  }
+
+  @Test
+  public void testCollapseRemovesExpandedGrandChildren() {
+    a1.addTreeItem(new TreeItem<String>("a1x"));
+    treeBox.setExpanded(a, true);
+    treeBox.setExpanded(a1, true);
+    assertDisplayed("a", "a1", "a1x", "a2", "b");
+    treeBox.setExpanded(a, false);
+    assertDisplayed("a", "b");
+    treeBox.setExpanded(a, true);
+    assertDisplayed("a", "a1", "a1x", "a2", "b");
+  }
+
+  @Test
+  public void testCollapseKeepsFollowingItems() {
+    b.addTreeItem(new TreeItem<String>("b1"));
+    treeBox.setExpanded(a, true);
+    treeBox.setExpanded(b, true);
+    treeBox.selectItem(a2);
+    treeBox.setExpanded(a, false);
+    assertDisplayed("a", "b", "b1");
+    assertEquals(Arrays.asList(a), treeBox.getSelection());
+  }
+
+  @Test
+  public void testExpandHiddenItemOnlyChangesState() {
+    treeBox.setExpanded(a1, true);
+    assertTrue(a1.isExpanded());
+    assertDisplayed("a", "b");
+  }
+
+  @Test
+  public void testLazyChildren() {
+    b.setChildLoader(new TreeItem.ChildLoader<String>() {
+      @Override
+      public void loadChildren(@Nonnull final TreeItem<String> item) {
+        loadCount++;
+        item.addTreeItem(new TreeItem<String>("b1"));
+      }
+    });
+    assertFalse(b.isLeaf());
+    assertEquals(0, loadCount);
+
+    treeBox.setExpanded(b, true);
+    assertDisplayed("a", "b", "b1");
+    treeBox.setExpanded(b, false);
+    treeBox.setExpanded(b, true);
+    assertDisplayed("a", "b", "b1");
+    assertEquals(1, loadCount);
+  }
+
+  @Test
+  public void testLazyChildrenWithoutResult() {
+    b.setChildLoader(new TreeItem.ChildLoader<String>() {
+      @Override
+      public void loadChildren(@Nonnull final TreeItem<String> item) {
+        loadCount++;
+      }
+    });
+    treeBox.setExpanded(b, true);
+    assertTrue(b.isLeaf());
+    assertDisplayed("a", "b");
+  }
+
+  private void assertDisplayed(final String... expected) {
+    List<TreeItem<String>> items = treeBox.getItems();
+    assertEquals(expected.length, items.size());
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i], items.get(i).getValue());
+    }
+  }
+}
@@ -7,6 +7,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
@@ -14,6 +16,9 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -26,14 +31,15 @@ import org.bushe.swing.event.EventServiceExistsException;
 import org.bushe.swing.event.EventServiceLocator;
 import org.bushe.swing.event.EventTopicSubscriber;
 import org.bushe.swing.event.ProxySubscriber;
-import org.bushe.swing.event.ThreadSafeEventService;
 import org.bushe.swing.event.annotation.ReferenceStrength;
 
 import de.lessvoid.nifty.controls.StandardControl;
+import de.lessvoid.nifty.effects.EffectDefinitionCache;
 import de.lessvoid.nifty.effects.EffectEventId;
 import de.lessvoid.nifty.elements.Action;
 import de.lessvoid.nifty.elements.Element;
 import de.lessvoid.nifty.elements.ElementMoveAction;
+import de.lessvoid.nifty.elements.ElementRecycleAction;
 import de.lessvoid.nifty.elements.ElementRemoveAction;
 import de.lessvoid.nifty.elements.EndOfFrameElementAction;
 import de.lessvoid.nifty.input.NiftyInputMapping;
@@ -44,9 +50,11 @@ import de.lessvoid.nifty.layout.Box;
 import de.lessvoid.nifty.layout.BoxConstraints;
 import de.lessvoid.nifty.layout.LayoutPart;
 import de.lessvoid.nifty.loaderv2.ControllerFactory;
+import de.lessvoid.nifty.loaderv2.CompiledNiftyXml;
 import de.lessvoid.nifty.loaderv2.NiftyLoader;
 import de.lessvoid.nifty.loaderv2.RootLayerFactory;
 import de.lessvoid.nifty.loaderv2.types.ControlDefinitionType;
+import de.lessvoid.nifty.loaderv2.types.ControlPrototypeCache;
 import de.lessvoid.nifty.loaderv2.types.ElementType;
 import de.lessvoid.nifty.loaderv2.types.LayerType;
 import de.lessvoid.nifty.loaderv2.types.NiftyType;
@@ -54,6 +62,7 @@ import de.lessvoid.nifty.loaderv2.types.PopupType;
 import de.lessvoid.nifty.loaderv2.types.RegisterEffectType;
 import de.lessvoid.nifty.loaderv2.types.RegisterMusicType;
 import de.lessvoid.nifty.loaderv2.types.RegisterSoundType;
+import de.lessvoid.nifty.loaderv2.types.ScreenType;
 import de.lessvoid.nifty.loaderv2.types.ResourceBundleType;
 import de.lessvoid.nifty.loaderv2.types.StyleType;
 import de.lessvoid.nifty.loaderv2.types.resolver.style.StyleResolver;
@@ -64,6 +73,7 @@ import de.lessvoid.nifty.render.NiftyRenderEngine;
 import de.lessvoid.nifty.render.NiftyRenderEngineImpl;
 import de.lessvoid.nifty.screen.Screen;
 import de.lessvoid.nifty.screen.ScreenController;
+import de.lessvoid.nifty.screen.ScreenDematerializeHandler;
 import de.lessvoid.nifty.sound.SoundSystem;
 import de.lessvoid.nifty.spi.input.InputSystem;
 import de.lessvoid.nifty.spi.render.RenderDevice;
@@ -101,6 +111,8 @@ public class Nifty {
   private final NiftyResourceLoader resourceLoader;
   @Nonnull
   private final NiftyLoader loader;
+  @Nullable
+  private ExecutorService loaderExecutor;
   @Nonnull
   private final NiftyMouseImpl niftyMouse;
   @Nonnull
@@ -108,6 +120,28 @@ public class Nifty {
 
   @Nonnull
   private final Map<String, Screen> screens;
+
+  /**
+   * The definitions of the lazy screens. A lazy screen is only created when it's used for the first time.
+   */
+  @Nonnull
+  private final Map<String, ScreenType> lazyScreenTypes = new HashMap<String, ScreenType>();
+
+  /**
+   * The controllers of the lazy screens. They are kept when a screen is dropped from the cache.
+   */
+  @Nonnull
+  private final Map<String, ScreenController> lazyScreenControllers = new HashMap<String, ScreenController>();
+
+  /**
+   * The element count of all created lazy screens, least recently used first.
+   */
+  @Nonnull
+  private final LinkedHashMap<String, Integer> materializedLazyScreens =
+      new LinkedHashMap<String, Integer>(16, 0.75f, true);
+  private int materializedElementCount;
+  private int screenCacheBudget = Integer.MAX_VALUE;
+  private boolean lazyScreens;
   @Nonnull
   private final Map<String, PopupType> popupTypes;
   @Nonnull
@@ -130,6 +164,12 @@ public class Nifty {
   @Nonnull
   private final Map<String, RegisterEffectType> registeredEffects;
   @Nonnull
+  private final EffectDefinitionCache effectDefinitionCache;
+  @Nonnull
+  private final ControlPrototypeCache controlPrototypeCache;
+  @Nonnull
+  private final StyleResolverDefault defaultStyleResolver;
+  @Nonnull
   private final Map<String, ScreenController> registeredScreenControllers;
   @Nonnull
   private final ControllerFactory controllerFactory;
@@ -138,6 +178,10 @@ public class Nifty {
   private final FlipFlop<List<DelayedMethodInvoke>> delayedMethodInvokes;
   @Nonnull
   private final FlipFlop<List<EndOfFrameElementAction>> endOfFrameElementActions;
+  @Nonnull
+  private final NiftyUpdateQueue updateQueue;
+  @Nonnull
+  private final NiftyRefreshRegistry refreshRegistry = new NiftyRefreshRegistry();
 
   @Nonnull
   private Locale locale;
@@ -198,8 +242,11 @@ public class Nifty {
     popupTypes = new HashMap<String, PopupType>();
     popups = new HashMap<String, Element>();
     styles = new HashMap<String, StyleType>();
+    defaultStyleResolver = new StyleResolverDefault(styles);
     controlDefinitions = new HashMap<String, ControlDefinitionType>();
     registeredEffects = new HashMap<String, RegisterEffectType>();
+    effectDefinitionCache = new EffectDefinitionCache();
+    controlPrototypeCache = new ControlPrototypeCache();
     registeredScreenControllers = new HashMap<String, ScreenController>();
     controllerFactory = new ControllerFactory();
     controlStylesChanged = new HashSet<String>();
@@ -223,6 +270,7 @@ public class Nifty {
     mouseInputEventProcessor = new MouseInputEventProcessor();
     niftyMouse = new NiftyMouseImpl(newRenderDevice, newInputSystem, newTimeProvider);
     loader = new NiftyLoader(this, timeProvider);
+    updateQueue = new NiftyUpdateQueue(timeProvider);
 
     locale = Locale.getDefault();
 
@@ -290,7 +338,7 @@ public class Nifty {
   private void initializeEventBus() {
     try {
       if (EventServiceLocator.getEventService("NiftyEventBus") == null) {
-        EventServiceLocator.setEventService("NiftyEventBus", new ThreadSafeEventService());
+        EventServiceLocator.setEventService("NiftyEventBus", new NiftyEventBus());
       }
     } catch (EventServiceExistsException e) {
       log.log(Level.SEVERE, "Initialization failure. EventBus failed to initialize.", e);
@@ -363,6 +411,7 @@ public class Nifty {
    * @return true when nifty has finished processing the screen and false when rendering should continue.
    */
   public boolean update() {
+    updateQueue.execute();
     if (currentScreen != null) {
       mouseInputEventProcessor.begin();
       inputSystem.forwardEvents(niftyInputConsumer);
@@ -612,6 +661,78 @@ public class Nifty {
     loadFromStream(stream);
   }
 
+  /**
+   * Use the XML files that have been compiled with the {@link de.lessvoid.nifty.loaderv2.NiftyXmlCompiler} into the
+   * given file. Later calls to {@link #fromXml(String, String)}, {@link #addXml(String)}, {@link
+   * #loadStyleFile(String)} and {@link #loadControlFile(String)} will use the compiled version of a file instead of
+   * parsing the XML as long as the XML file has not been changed since it has been compiled.
+   *
+   * @param filename the file that contains the compiled XML files
+   * @return true when the compiled files have been added and false when the file could not be read
+   */
+  public boolean addCompiledXml(@Nonnull final String filename) {
+    InputStream stream = getResourceAsStream(filename);
+    if (stream == null) {
+      log.warning("compiled xml file [" + filename + "] not found");
+      return false;
+    }
+    try {
+      loader.addCompiledXml(CompiledNiftyXml.read(stream));
+      return true;
+    } catch (IOException e) {
+      log.log(Level.WARNING, "Failed to read compiled xml file [" + filename + "]", e);
+      return false;
+    } finally {
+      try {
+        stream.close();
+      } catch (IOException ignored) {
+      }
+    }
+  }
+
+  /**
+   * Enable or disable the parallel loading of XML files. When enabled all files that are loaded by their name are
+   * parsed on a pool of background threads together with all the style and control files they use. Styles, controls
+   * and screens are still registered on the calling thread and in the same order as without parallel loading.
+   *
+   * @param parallelLoading true to parse the files in parallel
+   */
+  public void setParallelLoading(final boolean parallelLoading) {
+    if (parallelLoading == (loaderExecutor != null)) {
+      return;
+    }
+    if (parallelLoading) {
+      loaderExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+        @Nonnull
+        @Override
+        public Thread newThread(@Nonnull final Runnable runnable) {
+          Thread thread = new Thread(runnable, "nifty-loader");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+      loader.setExecutor(loaderExecutor);
+    } else {
+      loader.setExecutor(null);
+      loaderExecutor.shutdown();
+      loaderExecutor = null;
+    }
+  }
+
+  /**
+   * Start parsing the given Nifty XML files and all the style and control files they use in the background. A later
+   * call to {@link #fromXml(String, String)} or {@link #addXml(String)} with one of the files will use the result.
+   * This does nothing when parallel loading is disabled.
+   *
+   * @param filenames the Nifty XML files
+   * @see #setParallelLoading(boolean)
+   */
+  public void prefetchXml(@Nonnull final String... filenames) {
+    for (String filename : filenames) {
+      loader.prefetch("nifty.nxs", filename);
+    }
+  }
+
   /**
    * Load and validate the given filename. If the file is valid, nothing happens. If it
    * is invalid you'll get an exception explaining the error.
@@ -648,11 +769,7 @@ public class Nifty {
 
     try {
       long start = timeProvider.getMsTime();
-      final InputStream stream = getResourceAsStream(filename);
-      if (stream == null) {
-        throw new IOException("Failed to open stream to resource \"" + filename + "\" for loading.");
-      }
-      NiftyType niftyType = loader.loadNiftyXml("nifty.nxs", stream);
+      NiftyType niftyType = loader.loadNiftyXml("nifty.nxs", filename);
       niftyType.create(this, timeProvider);
       if (log.isLoggable(Level.FINE)) {
         log.fine(niftyType.output());
@@ -694,6 +811,10 @@ public class Nifty {
   void prepareScreens(@Nonnull final String xmlId) {
     renderEngine.screensClear(screens.values());
     screens.clear();
+    lazyScreenTypes.clear();
+    lazyScreenControllers.clear();
+    materializedLazyScreens.clear();
+    materializedElementCount = 0;
 
     // this.currentScreen = null;
     this.currentLoaded = xmlId;
@@ -752,7 +873,7 @@ public class Nifty {
       }
     }
 
-    currentScreen = screens.get(id);
+    currentScreen = findScreen(id);
     if (currentScreen == null) {
       log.warning("screen [" + id + "] not found");
       gotoScreenInProgress = false;
@@ -795,10 +916,24 @@ public class Nifty {
     for (Screen screen : screens.values()) {
       sn.add(screen.getScreenId());
     }
+    for (String lazyScreenId : lazyScreenTypes.keySet()) {
+      if (!screens.containsKey(lazyScreenId)) {
+        sn.add(lazyScreenId);
+      }
+    }
     return sn;
   }
 
   public void removeScreen(@Nonnull final String id) {
+    boolean lazyScreen = lazyScreenTypes.remove(id) != null;
+    lazyScreenControllers.remove(id);
+    Integer elementCount = materializedLazyScreens.remove(id);
+    if (elementCount != null) {
+      materializedElementCount -= elementCount;
+    }
+    if (lazyScreen && !screens.containsKey(id)) {
+      return;
+    }
     if (currentScreen != null) {
       if (currentScreen.getScreenId().equals(id)) {
         currentScreen.endScreen(new EndNotify() {
@@ -902,7 +1037,7 @@ public class Nifty {
    */
   @Nullable
   public Screen getScreen(@Nonnull final String id) {
-    Screen screen = screens.get(id);
+    Screen screen = findScreen(id);
     if (screen == null) {
       log.warning("screen [" + id + "] not found");
       return null;
@@ -1238,7 +1373,12 @@ public class Nifty {
     element.startEffect(EffectEventId.onEndScreen, new EndNotify() {
       @Override
       public void perform() {
-        scheduleEndOfFrameElementAction(new ElementRemoveAction(screen, element), endNotify);
+        Object poolKey = element.getPoolKey();
+        if (poolKey != null && !screen.getElementPool().isFull()) {
+          scheduleEndOfFrameElementAction(new ElementRecycleAction(screen, element, poolKey), endNotify);
+        } else {
+          scheduleEndOfFrameElementAction(new ElementRemoveAction(screen, element), endNotify);
+        }
       }
     });
   }
@@ -1371,9 +1511,141 @@ public class Nifty {
     renderEngine.screenAdded(screen);
   }
 
+  /**
+   * Enable or disable lazy screens. When enabled the screens of XML files that are loaded afterwards are not created
+   * right away. Nifty keeps only their definition and creates a screen the first time it's used with {@link
+   * #gotoScreen(String)} or {@link #getScreen(String)}. Created lazy screens are dropped again, least recently used
+   * first, when they need more elements than the {@link #setScreenCacheBudget(int) screen cache budget} allows.
+   *
+   * @param lazyScreens true to create screens when they are used
+   */
+  public void setLazyScreens(final boolean lazyScreens) {
+    this.lazyScreens = lazyScreens;
+  }
+
+  public boolean isLazyScreens() {
+    return lazyScreens;
+  }
+
+  /**
+   * Set the number of elements all created lazy screens together may use. When a lazy screen is created and the
+   * budget is exceeded the least recently used lazy screens are removed until the budget fits again. The current
+   * screen is never removed. The default is no limit.
+   *
+   * @param maxElements the maximum number of elements of all created lazy screens
+   */
+  public void setScreenCacheBudget(final int maxElements) {
+    screenCacheBudget = maxElements;
+    enforceScreenCacheBudget(null);
+  }
+
+  /**
+   * Add the definition of a lazy screen. The screen is created the first time it's used.
+   *
+   * @param id         the id of the screen
+   * @param screenType the definition of the screen
+   */
+  public void addLazyScreen(@Nonnull final String id, @Nonnull final ScreenType screenType) {
+    Screen replaced = screens.remove(id);
+    if (replaced != null) {
+      renderEngine.screenRemoved(replaced);
+    }
+    Integer elementCount = materializedLazyScreens.remove(id);
+    if (elementCount != null) {
+      materializedElementCount -= elementCount;
+    }
+    lazyScreenTypes.put(id, screenType);
+    lazyScreenControllers.remove(id);
+  }
+
+  /**
+   * Check if the screen with the given id exists right now. Lazy screens that have not been used yet or that have
+   * been dropped from the screen cache don't exist.
+   *
+   * @param id the id of the screen
+   * @return true when the screen has been created
+   */
+  public boolean isScreenMaterialized(@Nonnull final String id) {
+    return screens.containsKey(id);
+  }
+
+  @Nullable
+  private Screen findScreen(@Nonnull final String id) {
+    Screen screen = screens.get(id);
+    if (screen != null) {
+      // mark as recently used
+      materializedLazyScreens.get(id);
+      return screen;
+    }
+    ScreenType screenType = lazyScreenTypes.get(id);
+    if (screenType == null) {
+      return null;
+    }
+    return materializeScreen(id, screenType);
+  }
+
+  @Nonnull
+  private Screen materializeScreen(@Nonnull final String id, @Nonnull final ScreenType screenType) {
+    long start = timeProvider.getMsTime();
+    ScreenType copy = new ScreenType(screenType);
+    copy.translateSpecialValues(this, null);
+    Screen screen = copy.createScreen(this, timeProvider, lazyScreenControllers.get(id));
+    lazyScreenControllers.put(id, screen.getScreenController());
+    if (alternateKey != null) {
+      screen.setAlternateKey(alternateKey);
+    }
+    addScreen(id, screen);
+
+    int elementCount = countElements(screen.getLayerElements());
+    materializedLazyScreens.put(id, elementCount);
+    materializedElementCount += elementCount;
+    log.fine("materialized lazy screen [" + id + "] with [" + elementCount + "] elements took [" +
+        (timeProvider.getMsTime() - start) + " ms]");
+
+    enforceScreenCacheBudget(id);
+    return screen;
+  }
+
+  private void enforceScreenCacheBudget(@Nullable final String keepScreenId) {
+    Iterator<Map.Entry<String, Integer>> it = materializedLazyScreens.entrySet().iterator();
+    while (materializedElementCount > screenCacheBudget && it.hasNext()) {
+      Map.Entry<String, Integer> entry = it.next();
+      String id = entry.getKey();
+      if (id.equals(keepScreenId) || (currentScreen != null && currentScreen.getScreenId().equals(id))) {
+        continue;
+      }
+      it.remove();
+      materializedElementCount -= entry.getValue();
+      dematerializeScreen(id);
+    }
+  }
+
+  private void dematerializeScreen(@Nonnull final String id) {
+    Screen screen = screens.get(id);
+    if (screen == null) {
+      return;
+    }
+    log.fine("dematerializing lazy screen [" + id + "]");
+    ScreenController screenController = screen.getScreenController();
+    if (screenController instanceof ScreenDematerializeHandler) {
+      ((ScreenDematerializeHandler) screenController).onDematerialize(screen);
+    }
+    removeScreenInternal(id);
+  }
+
+  private static int countElements(@Nonnull final List<Element> elements) {
+    int count = elements.size();
+    for (int i = 0; i < elements.size(); i++) {
+      count += countElements(elements.get(i).getChildren());
+    }
+    return count;
+  }
+
   public void registerStyle(@Nonnull final StyleType style) {
     final String styleId = style.getStyleId();
     log.fine("registerStyle " + styleId);
+    controlPrototypeCache.clear();
+    defaultStyleResolver.clearFlattenedStyles();
 
     // Handle the simple, normal case.
     // This is a new style, register it and return early.
@@ -1402,18 +1674,42 @@ public class Nifty {
       controlStylesChanged.add(simpleId);
     } else {
       // This is a regular style, so just fire the event now.
+      refreshRegistry.styleChanged(styleId);
       getEventService().publish("style-refresh:" + styleId, styleId);
     }
   }
 
   public void registerControlDefintion(@Nonnull final ControlDefinitionType controlDefinition) {
     controlDefinitions.put(controlDefinition.getName(), controlDefinition);
+    controlPrototypeCache.clear();
     // TODO: add the same behaviour of register style and try to updating 
     // already registered control defintions.
   }
 
   public void registerEffect(@Nonnull final RegisterEffectType registerEffectType) {
     registeredEffects.put(registerEffectType.getName(), registerEffectType);
+    effectDefinitionCache.clear();
+  }
+
+  /**
+   * Get the cache of the compiled effect definitions that are shared between all elements using the same effects.
+   *
+   * @return the EffectDefinitionCache
+   */
+  @Nonnull
+  public EffectDefinitionCache getEffectDefinitionCache() {
+    return effectDefinitionCache;
+  }
+
+  /**
+   * Get the cache of the compiled control definitions. Controls that use the same controlDefinition and the same
+   * style are created from a copy of the same compiled prototype.
+   *
+   * @return the ControlPrototypeCache
+   */
+  @Nonnull
+  public ControlPrototypeCache getControlPrototypeCache() {
+    return controlPrototypeCache;
   }
 
   @Nullable
@@ -1434,7 +1730,7 @@ public class Nifty {
 
   @Nonnull
   public StyleResolver getDefaultStyleResolver() {
-    return new StyleResolverDefault(styles);
+    return defaultStyleResolver;
   }
 
   @Nullable
@@ -1442,6 +1738,64 @@ public class Nifty {
     return alternateKey;
   }
 
+  /**
+   * Run the task at the start of the next {@link #update()} call. Unlike {@link #delayedMethodInvoke} this can be
+   * called from any thread, so this is the way for other threads to change elements.
+   *
+   * @param task the task to run on the thread that calls update()
+   */
+  public void post(@Nonnull final Runnable task) {
+    updateQueue.post(task);
+  }
+
+  /**
+   * Run the task at the start of the next {@link #update()} call. A task posted with the same key that did not run
+   * yet is dropped, so only the latest task per key is executed (one value for a health bar per frame for instance).
+   * This can be called from any thread.
+   *
+   * @param key  the coalescing key
+   * @param task the task to run on the thread that calls update()
+   */
+  public void post(@Nonnull final Object key, @Nonnull final Runnable task) {
+    updateQueue.post(key, task);
+  }
+
+  /**
+   * Publish the event on the Nifty event service at the start of the next {@link #update()} call. This can be called
+   * from any thread.
+   *
+   * @param topic the topic to publish to
+   * @param data  the event data
+   */
+  public void postEvent(@Nonnull final String topic, @Nonnull final Object data) {
+    updateQueue.post(new Runnable() {
+      @Override
+      public void run() {
+        getEventService().publish(topic, data);
+      }
+    });
+  }
+
+  /**
+   * Limit the time update() spends on tasks posted with {@link #post(Runnable)}. Tasks that don't fit into the
+   * budget are executed in the next frame.
+   *
+   * @param maxMs the time in ms or 0 to run all posted tasks in each frame (default)
+   */
+  public void setPostedTaskBudget(final long maxMs) {
+    updateQueue.setTimeBudget(maxMs);
+  }
+
+  /**
+   * Get the registry of the TextRenderers and elements that are updated when the locale or a style changes.
+   *
+   * @return the refresh registry
+   */
+  @Nonnull
+  public NiftyRefreshRegistry getRefreshRegistry() {
+    return refreshRegistry;
+  }
+
   public void delayedMethodInvoke(@Nonnull final NiftyDelayedMethodInvoke method, @Nonnull final Object... params) {
     delayedMethodInvokes.getFirst().add(new DelayedMethodInvoke(method, params));
   }
@@ -1484,6 +1838,7 @@ public class Nifty {
 
   public void setLocale(@Nonnull final Locale locale) {
     this.locale = locale;
+    refreshRegistry.localeChanged();
     getEventService().publish(new NiftyLocaleChangedEvent(locale));
 
     if (resourceBundles.size() > 0) {
@@ -1537,6 +1892,7 @@ public class Nifty {
         log.fine(niftyType.output());
       }
       for (String id : controlStylesChanged) {
+        refreshRegistry.styleChanged(id);
         getEventService().publish("style-refresh:" + id, id);
       }
       controlStylesChanged.clear();
@@ -1820,6 +2176,54 @@ public class Nifty {
     return createElementFromTypeInternal(screen, parent, type, new LayoutPart(), parent.getChildren().size());
   }
 
+  /**
+   * Creates an element from its type and keeps it in the ElementPool of the screen when it's removed. When the pool
+   * already contains an element that has been created from the same type this element is reused.
+   *
+   * @return the Element created or reused
+   */
+  @Nonnull
+  public Element createPooledElement(
+      @Nonnull final Screen screen,
+      @Nonnull final Element parent,
+      @Nonnull final ElementType type) {
+    Element element = obtainPooledElement(screen, parent, type);
+    if (element == null) {
+      element = createElementFromType(screen, parent, type);
+      element.setPoolKey(type);
+    }
+    return element;
+  }
+
+  /**
+   * Take an element with the given pool key out of the ElementPool of the screen and add it as last child to the
+   * parent. The element is bound to the screen again, just like a new element, so its controls are bound and
+   * initialized again and subscribe to their events again.
+   *
+   * @return the reused element or null when there is no element with this key in the pool
+   */
+  @Nullable
+  public Element obtainPooledElement(
+      @Nonnull final Screen screen,
+      @Nonnull final Element parent,
+      @Nonnull final Object poolKey) {
+    Element element = screen.getElementPool().poll(poolKey);
+    if (element == null) {
+      return null;
+    }
+    element.setParent(parent);
+    parent.addChild(element);
+    element.resetForReuse();
+    if (screen.isBound()) {
+      element.bindControls(screen);
+      element.initControls(false);
+      element.startEffect(EffectEventId.onStartScreen);
+      element.startEffect(EffectEventId.onActive);
+      element.onStartScreen();
+    }
+    return element;
+  }
+
   @Nonnull
   private Element createElementFromTypeInternal(
       @Nonnull final Screen screen, @Nonnull final Element parent,
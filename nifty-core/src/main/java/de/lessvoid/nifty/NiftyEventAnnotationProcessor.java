@@ -1,7 +1,13 @@
 package de.lessvoid.nifty;
 
+import java.lang.ref.SoftReference;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
@@ -16,6 +22,16 @@ import org.bushe.swing.event.EventTopicSubscriber;
 public class NiftyEventAnnotationProcessor {
   private static final Logger log = Logger.getLogger(NiftyEventAnnotationProcessor.class.getName());
 
+  /**
+   * The NiftyEventSubscriber methods of each class that has been processed so far. Controls of the same class are
+   * bound again and again so the methods and annotations of a class are only looked at once. The classes are weak keys
+   * and the methods, which reference their class, are kept by a soft reference so the cache doesn't prevent classes
+   * from being unloaded.
+   */
+  @Nonnull
+  private static final Map<Class<?>, SoftReference<Subscription[]>> subscriptionCache =
+      Collections.synchronizedMap(new WeakHashMap<Class<?>, SoftReference<Subscription[]>>());
+
   public static void process(final Object obj) {
     processOrUnprocess(obj, true);
   }
@@ -28,34 +44,76 @@ public class NiftyEventAnnotationProcessor {
     if (obj == null) {
       return;
     }
-    Class<?> cl = obj.getClass();
+    Subscription[] subscriptions = getSubscriptions(obj.getClass());
+    if (subscriptions.length == 0) {
+      return;
+    }
+    EventService eventService = getEventService();
+    for (Subscription subscription : subscriptions) {
+      if (subscription.pattern == null) {
+        idProcess(obj, subscription.method, add, subscription.id, subscription.eventClass, eventService);
+      } else {
+        patternProcess(obj, subscription.method, add, subscription.pattern, subscription.eventClass, eventService);
+      }
+    }
+  }
+
+  /**
+   * Forget the NiftyEventSubscriber methods found so far. Only required when classes are reloaded.
+   */
+  public static void clearCache() {
+    subscriptionCache.clear();
+  }
+
+  @Nonnull
+  private static Subscription[] getSubscriptions(@Nonnull final Class<?> cl) {
+    SoftReference<Subscription[]> cached = subscriptionCache.get(cl);
+    Subscription[] subscriptions = cached == null ? null : cached.get();
+    if (subscriptions == null) {
+      subscriptions = findSubscriptions(cl);
+      subscriptionCache.put(cl, new SoftReference<Subscription[]>(subscriptions));
+    }
+    return subscriptions;
+  }
+
+  @Nonnull
+  private static Subscription[] findSubscriptions(@Nonnull final Class<?> cl) {
     Method[] methods = cl.getMethods();
     if (log.isLoggable(Level.FINE)) {
       log.fine("Looking for EventBus annotations for class " + cl + ", methods:" + Arrays.toString(methods));
     }
+    List<Subscription> result = new ArrayList<Subscription>();
     for (Method method : methods) {
       NiftyEventSubscriber niftyEventSubscriber = method.getAnnotation(NiftyEventSubscriber.class);
       if (niftyEventSubscriber != null) {
         if (log.isLoggable(Level.FINE)) {
           log.fine("Found NiftyEventSubscriber:" + niftyEventSubscriber + " on method:" + method);
         }
-        process(niftyEventSubscriber, obj, method, add);
+        result.add(createSubscription(niftyEventSubscriber, method));
       }
     }
+    return result.toArray(new Subscription[result.size()]);
   }
 
-  private static void process(@Nonnull final NiftyEventSubscriber annotation, final Object obj, @Nonnull final Method method, final boolean add) {
+  @Nonnull
+  private static Subscription createSubscription(
+      @Nonnull final NiftyEventSubscriber annotation,
+      @Nonnull final Method method) {
     String id = annotation.id();
     String pattern = annotation.pattern();
     ensureNotNull(id, pattern);
-    ensureMethodParamCount(method.getParameterTypes());
-    EventService eventService = getEventService();
-    Class<?> eventClass = method.getParameterTypes()[1];
+    Class<?>[] parameterTypes = method.getParameterTypes();
+    ensureMethodParamCount(parameterTypes);
+    try {
+      // skip the access check on every event, this matters for public methods of non-public controller classes
+      method.setAccessible(true);
+    } catch (SecurityException e) {
+      log.log(Level.FINE, "unable to suppress access checks for method [" + method + "]", e);
+    }
     if (isSet(id)) {
-      idProcess(obj, method, add, id, eventClass, eventService);
-    } else {
-      patternProcess(obj, method, add, pattern, eventClass, eventService);
+      return new Subscription(method, parameterTypes[1], id, null);
     }
+    return new Subscription(method, parameterTypes[1], null, Pattern.compile(pattern));
   }
 
   private static boolean isSet(@Nullable final String value) {
@@ -74,8 +132,7 @@ public class NiftyEventAnnotationProcessor {
     }
   }
 
-  private static void patternProcess(final Object obj, final Method method, final boolean add, @Nonnull final String topicPattern, final Class<?> eventClass, @Nonnull final EventService eventService) {
-    Pattern pattern = Pattern.compile(topicPattern);
+  private static void patternProcess(final Object obj, final Method method, final boolean add, @Nonnull final Pattern pattern, final Class<?> eventClass, @Nonnull final EventService eventService) {
     Subscriber subscriber = new Subscriber(obj, method, eventClass);
     StringBuilder sb = new StringBuilder(" [{0}] -> [{1}]");
     if (add) {      
@@ -115,6 +172,28 @@ public class NiftyEventAnnotationProcessor {
     return EventServiceLocator.getEventService("NiftyEventBus");
   }
 
+  private static class Subscription {
+    @Nonnull
+    private final Method method;
+    @Nonnull
+    private final Class<?> eventClass;
+    @Nullable
+    private final String id;
+    @Nullable
+    private final Pattern pattern;
+
+    private Subscription(
+        @Nonnull final Method method,
+        @Nonnull final Class<?> eventClass,
+        @Nullable final String id,
+        @Nullable final Pattern pattern) {
+      this.method = method;
+      this.eventClass = eventClass;
+      this.id = id;
+      this.pattern = pattern;
+    }
+  }
+
   private static class Subscriber implements EventTopicSubscriber<Object> {
     private final Object obj;
     private final Method method;
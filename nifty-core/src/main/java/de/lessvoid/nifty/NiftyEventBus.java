@@ -0,0 +1,468 @@
+package de.lessvoid.nifty;
+
+import org.bushe.swing.event.EventTopicSubscriber;
+import org.bushe.swing.event.Prioritized;
+import org.bushe.swing.event.ProxySubscriber;
+import org.bushe.swing.event.PublicationStatusTracker;
+import org.bushe.swing.event.ThreadSafeEventService;
+import org.bushe.swing.event.annotation.ReferenceStrength;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * The event service Nifty uses for its topic events (element ids, "style-refresh:" topics and so on).
+ * <p/>
+ * Strong subscriptions to a plain topic are kept in per-topic copy-on-write arrays so publishing to a topic is a
+ * single map lookup and a loop over an array, without taking a lock or building a snapshot list. Strong subscriptions
+ * to a topic pattern are kept in a copy-on-write list that is checked after the topic subscribers. Everything else -
+ * weak or prioritized subscribers, veto listeners and event caches - is handed to the {@link ThreadSafeEventService}
+ * this class extends. As long as one of those is used for a topic the complete ThreadSafeEventService publishing is
+ * used again, so the behaviour of the EventService interface does not change.
+ *
+ * @author void
+ */
+// ThreadSafeEventService implements the generic getCachedEvents() and getLastEvent() of EventService with raw types
+@SuppressWarnings("unchecked")
+public class NiftyEventBus extends ThreadSafeEventService {
+  @Nonnull
+  private final Map<String, EventTopicSubscriber<?>[]> topicSubscribers =
+      new ConcurrentHashMap<String, EventTopicSubscriber<?>[]>();
+
+  @Nonnull
+  private final List<PatternSubscription> patternSubscriptions = new CopyOnWriteArrayList<PatternSubscription>();
+
+  @Nonnull
+  private final Object topicSubscribersLock = new Object();
+
+  /**
+   * The number of topic and pattern subscriptions (including veto listeners) handed to the ThreadSafeEventService.
+   */
+  @Nonnull
+  private final AtomicInteger delegatedSubscriptions = new AtomicInteger();
+
+  /**
+   * The topics and the patterns that have an event cache.
+   */
+  @Nonnull
+  private final Set<String> cachedTopics = new HashSet<String>();
+  @Nonnull
+  private final Set<String> cachedPatterns = new HashSet<String>();
+  private int defaultCacheSize;
+
+  /**
+   * Set while any event cache is active that only the ThreadSafeEventService knows how to fill.
+   */
+  private volatile boolean cacheDelegation;
+
+  @SuppressWarnings("rawtypes")
+  @Override
+  public boolean subscribeStrongly(@Nullable final String topic, @Nullable final EventTopicSubscriber subscriber) {
+    if (topic == null) {
+      throw new IllegalArgumentException("Can't subscribe to null.");
+    }
+    if (subscriber == null) {
+      throw new IllegalArgumentException("Subscriber cannot be null.");
+    }
+    if (subscriber instanceof Prioritized || isWeakProxySubscriber(subscriber)) {
+      return super.subscribeStrongly(topic, subscriber);
+    }
+    synchronized (topicSubscribersLock) {
+      EventTopicSubscriber<?>[] current = topicSubscribers.get(topic);
+      if (current == null) {
+        topicSubscribers.put(topic, new EventTopicSubscriber<?>[]{subscriber});
+        return true;
+      }
+
+      // a subscriber that is already registered is moved to the end of the list, like ThreadSafeEventService does
+      int index = indexOf(current, subscriber);
+      EventTopicSubscriber<?>[] changed;
+      if (index < 0) {
+        changed = new EventTopicSubscriber<?>[current.length + 1];
+        System.arraycopy(current, 0, changed, 0, current.length);
+      } else {
+        changed = new EventTopicSubscriber<?>[current.length];
+        System.arraycopy(current, 0, changed, 0, index);
+        System.arraycopy(current, index + 1, changed, index, current.length - index - 1);
+      }
+      changed[changed.length - 1] = subscriber;
+      topicSubscribers.put(topic, changed);
+      return index < 0;
+    }
+  }
+
+  @SuppressWarnings("rawtypes")
+  @Override
+  public boolean unsubscribe(@Nullable final String topic, @Nullable final EventTopicSubscriber subscriber) {
+    if (topic == null) {
+      throw new IllegalArgumentException("Can't unsubscribe to null.");
+    }
+    if (subscriber == null) {
+      throw new IllegalArgumentException("Can't unsubscribe null subscriber to " + topic);
+    }
+    EventTopicSubscriber<?> removed = null;
+    synchronized (topicSubscribersLock) {
+      EventTopicSubscriber<?>[] current = topicSubscribers.get(topic);
+      if (current != null) {
+        int index = indexOf(current, subscriber);
+        if (index < 0) {
+          index = indexOfProxied(current, subscriber);
+        }
+        if (index >= 0) {
+          removed = current[index];
+          if (current.length == 1) {
+            topicSubscribers.remove(topic);
+          } else {
+            EventTopicSubscriber<?>[] changed = new EventTopicSubscriber<?>[current.length - 1];
+            System.arraycopy(current, 0, changed, 0, index);
+            System.arraycopy(current, index + 1, changed, index, current.length - index - 1);
+            topicSubscribers.put(topic, changed);
+          }
+        }
+      }
+    }
+    if (removed == null) {
+      return super.unsubscribe(topic, subscriber);
+    }
+    if (removed instanceof ProxySubscriber) {
+      ((ProxySubscriber) removed).proxyUnsubscribed();
+    }
+    return true;
+  }
+
+  @SuppressWarnings("rawtypes")
+  @Override
+  public boolean subscribeStrongly(@Nullable final Pattern pattern, @Nullable final EventTopicSubscriber subscriber) {
+    if (pattern == null) {
+      throw new IllegalArgumentException("Pattern must not be null");
+    }
+    if (subscriber == null) {
+      throw new IllegalArgumentException("Event subscriber must not be null");
+    }
+    if (subscriber instanceof Prioritized || isWeakProxySubscriber(subscriber)) {
+      return super.subscribeStrongly(pattern, subscriber);
+    }
+    synchronized (topicSubscribersLock) {
+      // a subscriber that is already registered is moved to the end of the list, like ThreadSafeEventService does
+      int index = indexOf(pattern, subscriber, false);
+      if (index >= 0) {
+        patternSubscriptions.remove(index);
+      }
+      patternSubscriptions.add(new PatternSubscription(pattern, subscriber));
+      return index < 0;
+    }
+  }
+
+  @SuppressWarnings("rawtypes")
+  @Override
+  public boolean unsubscribe(@Nullable final Pattern pattern, @Nullable final EventTopicSubscriber subscriber) {
+    if (pattern == null) {
+      throw new IllegalArgumentException("Can't unsubscribe to null.");
+    }
+    if (subscriber == null) {
+      throw new IllegalArgumentException("Can't unsubscribe null subscriber to " + pattern);
+    }
+    PatternSubscription removed = null;
+    synchronized (topicSubscribersLock) {
+      int index = indexOf(pattern, subscriber, false);
+      if (index < 0) {
+        index = indexOf(pattern, subscriber, true);
+      }
+      if (index >= 0) {
+        removed = patternSubscriptions.remove(index);
+      }
+    }
+    if (removed == null) {
+      return super.unsubscribe(pattern, subscriber);
+    }
+    if (removed.subscriber instanceof ProxySubscriber) {
+      ((ProxySubscriber) removed.subscriber).proxyUnsubscribed();
+    }
+    return true;
+  }
+
+  @Override
+  public void publish(@Nullable final String topic, @Nullable final Object data) {
+    if (isTopicDelegation() || data instanceof PublicationStatusTracker) {
+      super.publish(topic, data);
+      return;
+    }
+    if (topic == null) {
+      throw new IllegalArgumentException("Can't publish to null topic.");
+    }
+    EventTopicSubscriber<?>[] subscribers = topicSubscribers.get(topic);
+    if (subscribers != null) {
+      for (EventTopicSubscriber<?> subscriber : subscribers) {
+        try {
+          ((EventTopicSubscriber<Object>) subscriber).onEvent(topic, data);
+        } catch (Throwable e) {
+          onEventException(topic, data, e, null, subscriber);
+        }
+      }
+    }
+    for (PatternSubscription subscription : patternSubscriptions) {
+      if (subscription.matches(topic)) {
+        try {
+          ((EventTopicSubscriber<Object>) subscription.subscriber).onEvent(topic, data);
+        } catch (Throwable e) {
+          onEventException(topic, data, e, null, subscription.subscriber);
+        }
+      }
+    }
+  }
+
+  /**
+   * ThreadSafeEventService uses this for {@link #getSubscribers(String)} as well, so the subscribers of the copy-on-write
+   * arrays show up there and in delegated publishes too.
+   */
+  @Override
+  public <T> List<T> getSubscribersToTopic(@Nullable final String topic) {
+    List<T> result = new ArrayList<T>((List<T>) getFastSubscribers(topic));
+    List<T> delegated = super.getSubscribersToTopic(topic);
+    if (delegated != null) {
+      result.addAll(delegated);
+    }
+    return result;
+  }
+
+  /**
+   * ThreadSafeEventService uses this for {@link #getSubscribers(String)} as well, so the pattern subscribers kept here
+   * show up there and in delegated publishes too.
+   */
+  @Override
+  public <T> List<T> getSubscribersByPattern(@Nullable final String topic) {
+    List<T> result = new ArrayList<T>();
+    if (topic != null) {
+      for (PatternSubscription subscription : patternSubscriptions) {
+        if (subscription.matches(topic)) {
+          result.add((T) subscription.subscriber);
+        }
+      }
+    }
+    List<T> delegated = super.getSubscribersByPattern(topic);
+    if (delegated != null) {
+      result.addAll(delegated);
+    }
+    return result;
+  }
+
+  @Override
+  public <T> List<T> getSubscribers(@Nullable final Pattern pattern) {
+    return getSubscribersToPattern(pattern);
+  }
+
+  @Override
+  protected <T> List<T> getSubscribersToPattern(@Nullable final Pattern pattern) {
+    List<T> result = new ArrayList<T>();
+    if (pattern != null) {
+      for (PatternSubscription subscription : patternSubscriptions) {
+        if (subscription.hasPattern(pattern)) {
+          result.add((T) subscription.subscriber);
+        }
+      }
+    }
+    List<T> delegated = super.getSubscribersToPattern(pattern);
+    if (delegated != null) {
+      result.addAll(delegated);
+    }
+    return result;
+  }
+
+  @Override
+  public void clearAllSubscribers() {
+    super.clearAllSubscribers();
+    List<EventTopicSubscriber<?>> removed = new ArrayList<EventTopicSubscriber<?>>();
+    synchronized (topicSubscribersLock) {
+      for (EventTopicSubscriber<?>[] subscribers : topicSubscribers.values()) {
+        removed.addAll(Arrays.asList(subscribers));
+      }
+      for (PatternSubscription subscription : patternSubscriptions) {
+        removed.add(subscription.subscriber);
+      }
+      topicSubscribers.clear();
+      patternSubscriptions.clear();
+    }
+    for (EventTopicSubscriber<?> subscriber : removed) {
+      if (subscriber instanceof ProxySubscriber) {
+        ((ProxySubscriber) subscriber).proxyUnsubscribed();
+      }
+    }
+  }
+
+  @Override
+  public void setDefaultCacheSizePerClassOrTopic(final int defaultCacheSizePerClassOrTopic) {
+    super.setDefaultCacheSizePerClassOrTopic(defaultCacheSizePerClassOrTopic);
+    synchronized (cachedTopics) {
+      defaultCacheSize = defaultCacheSizePerClassOrTopic;
+      updateCacheDelegation();
+    }
+  }
+
+  @Override
+  public void setCacheSizeForTopic(@Nonnull final String topicName, final int cacheSize) {
+    super.setCacheSizeForTopic(topicName, cacheSize);
+    synchronized (cachedTopics) {
+      if (cacheSize > 0) {
+        cachedTopics.add(topicName);
+      } else {
+        cachedTopics.remove(topicName);
+      }
+      updateCacheDelegation();
+    }
+  }
+
+  @Override
+  public void setCacheSizeForTopic(@Nonnull final Pattern pattern, final int cacheSize) {
+    super.setCacheSizeForTopic(pattern, cacheSize);
+    synchronized (cachedTopics) {
+      if (cacheSize > 0) {
+        cachedPatterns.add(pattern.pattern());
+      } else {
+        cachedPatterns.remove(pattern.pattern());
+      }
+      updateCacheDelegation();
+    }
+  }
+
+  /**
+   * All subscriptions and veto subscriptions handed to the ThreadSafeEventService end up here. Topic and pattern
+   * subscriptions are counted, so the ThreadSafeEventService publishing is only used while there are any.
+   */
+  @Override
+  protected boolean subscribe(
+      final Object classTopicOrPatternWrapper,
+      final Map<Object, Object> subscriberMap,
+      final Object subscriber) {
+    if (classTopicOrPatternWrapper instanceof Type) {
+      return super.subscribe(classTopicOrPatternWrapper, subscriberMap, subscriber);
+    }
+    // counted before, so a concurrent publish already uses the ThreadSafeEventService
+    delegatedSubscriptions.incrementAndGet();
+    boolean subscribed = false;
+    try {
+      subscribed = super.subscribe(classTopicOrPatternWrapper, subscriberMap, subscriber);
+      return subscribed;
+    } finally {
+      if (!subscribed) {
+        delegatedSubscriptions.decrementAndGet();
+      }
+    }
+  }
+
+  @SuppressWarnings("rawtypes")
+  @Override
+  protected boolean unsubscribe(final Object o, final Map subscriberMap, final Object subscriber) {
+    boolean unsubscribed = super.unsubscribe(o, subscriberMap, subscriber);
+    if (unsubscribed && !(o instanceof Type)) {
+      delegatedSubscriptions.decrementAndGet();
+    }
+    return unsubscribed;
+  }
+
+  @SuppressWarnings("rawtypes")
+  @Override
+  protected boolean unsubscribeVetoListener(final Object o, final Map vetoListenerMap, final Object vl) {
+    boolean unsubscribed = super.unsubscribeVetoListener(o, vetoListenerMap, vl);
+    if (unsubscribed && !(o instanceof Type)) {
+      delegatedSubscriptions.decrementAndGet();
+    }
+    return unsubscribed;
+  }
+
+  /**
+   * @return true while topic events need to be published by the ThreadSafeEventService
+   */
+  boolean isTopicDelegation() {
+    return cacheDelegation || delegatedSubscriptions.get() > 0;
+  }
+
+  private void updateCacheDelegation() {
+    cacheDelegation = defaultCacheSize > 0 || !cachedTopics.isEmpty() || !cachedPatterns.isEmpty();
+  }
+
+  @Nonnull
+  private List<?> getFastSubscribers(@Nullable final String topic) {
+    EventTopicSubscriber<?>[] subscribers = topic == null ? null : topicSubscribers.get(topic);
+    if (subscribers == null) {
+      return Collections.emptyList();
+    }
+    return Arrays.asList(subscribers);
+  }
+
+  private static boolean isWeakProxySubscriber(@Nonnull final Object subscriber) {
+    return subscriber instanceof ProxySubscriber &&
+        ((ProxySubscriber) subscriber).getReferenceStrength() == ReferenceStrength.WEAK;
+  }
+
+  private static int indexOf(@Nonnull final EventTopicSubscriber<?>[] subscribers, @Nonnull final Object subscriber) {
+    for (int i = 0; i < subscribers.length; i++) {
+      if (subscriber.equals(subscribers[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private int indexOf(
+      @Nonnull final Pattern pattern,
+      @Nonnull final Object subscriber,
+      final boolean proxied) {
+    for (int i = 0; i < patternSubscriptions.size(); i++) {
+      PatternSubscription subscription = patternSubscriptions.get(i);
+      if (subscription.hasPattern(pattern) && (proxied
+          ? subscription.subscriber instanceof ProxySubscriber &&
+            ((ProxySubscriber) subscription.subscriber).getProxiedSubscriber() == subscriber
+          : subscriber.equals(subscription.subscriber))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static int indexOfProxied(
+      @Nonnull final EventTopicSubscriber<?>[] subscribers,
+      @Nonnull final Object subscriber) {
+    for (int i = 0; i < subscribers.length; i++) {
+      if (subscribers[i] instanceof ProxySubscriber &&
+          ((ProxySubscriber) subscribers[i]).getProxiedSubscriber() == subscriber) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static final class PatternSubscription {
+    @Nonnull
+    private final Pattern pattern;
+    @Nonnull
+    private final EventTopicSubscriber<?> subscriber;
+
+    private PatternSubscription(@Nonnull final Pattern pattern, @Nonnull final EventTopicSubscriber<?> subscriber) {
+      this.pattern = pattern;
+      this.subscriber = subscriber;
+    }
+
+    private boolean matches(@Nonnull final String topic) {
+      return pattern.matcher(topic).matches();
+    }
+
+    /**
+     * Patterns are compared by their expression, like ThreadSafeEventService does.
+     */
+    private boolean hasPattern(@Nonnull final Pattern other) {
+      return pattern.pattern().equals(other.pattern());
+    }
+  }
+}
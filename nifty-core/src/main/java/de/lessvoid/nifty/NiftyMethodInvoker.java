@@ -93,12 +93,14 @@ public class NiftyMethodInvoker implements NiftyDelayedMethodInvoke {
           //        if this is not possible we fall back to 2b)
           //    2b) just call the method without any parameters
           Object methodResult;
-          Object[] invokeParameters = MethodResolver.extractParameters(methodWithName);
+          Object[] invokeParameters = MethodResolver.getParameters(methodWithName);
           if (invokeParameters.length > 0) {
             // does the method supports the parameters?
             // TODO: not only check for the count but check the type too
             if (getMethodParameterCount(method) == invokeParameters.length) {
-              log.fine("invoking method '" + methodWithName + "' with (" + debugParaString(invokeParameters) + ")");
+              if (log.isLoggable(Level.FINE)) {
+                log.fine("invoking method '" + methodWithName + "' with (" + debugParaString(invokeParameters) + ")");
+              }
               methodResult = callMethod(object, method, invokeParameters);
             } else {
               log.fine("invoking method '" + methodWithName + "' (note: given invokeParameters have been ignored)");
@@ -108,7 +110,9 @@ public class NiftyMethodInvoker implements NiftyDelayedMethodInvoke {
             // no invokeParameters encoded. this means we can call the method as is or with the invokeParametersParam
             if (invokeParametersParam.length > 0) {
               if (getMethodParameterCount(method) == invokeParametersParam.length) {
-                log.fine("invoking method '" + methodWithName + "' with the actual parameters (" + debugParaString(invokeParametersParam) + ")");
+                if (log.isLoggable(Level.FINE)) {
+                  log.fine("invoking method '" + methodWithName + "' with the actual parameters (" + debugParaString(invokeParametersParam) + ")");
+                }
                 methodResult = callMethod(object, method, invokeParametersParam);
               } else {
                 log.fine("invoking method '" + methodWithName + "' without parameters (invokeParametersParam mismatch)");
@@ -148,11 +152,13 @@ public class NiftyMethodInvoker implements NiftyDelayedMethodInvoke {
       @Nonnull final Method method,
       @Nonnull final Object... invokeParameters) {
     try {
-      log.fine("method: " + method + "on targetObject: " + targetObject + ", parameters: " + Arrays.toString
-          (invokeParameters));
-      log.fine(method.getName());
-      for (Object o : invokeParameters) {
-        log.fine("parameter: " + o);
+      if (log.isLoggable(Level.FINE)) {
+        log.fine("method: " + method + "on targetObject: " + targetObject + ", parameters: " + Arrays.toString
+            (invokeParameters));
+        log.fine(method.getName());
+        for (Object o : invokeParameters) {
+          log.fine("parameter: " + o);
+        }
       }
       return method.invoke(targetObject, invokeParameters);
     } catch (RuntimeException e) {
@@ -0,0 +1,198 @@
+package de.lessvoid.nifty;
+
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.elements.render.TextRenderer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps track of the things that need to be updated when the locale or a style changes: the TextRenderers with a
+ * text that contains "${...}" values and the elements that use a style.
+ * <p/>
+ * Each registered object owns its {@link Registration}, which is a node of a linked list. Adding and removing is
+ * therefore O(1) and a locale or style change only visits the registered objects. The registrations only hold weak
+ * references, so an element that is dropped without unregistering is not kept alive and is removed from the list
+ * the next time the list is visited.
+ * <p/>
+ * This is not thread-safe, it is only used from the thread that calls {@link Nifty#update()}.
+ *
+ * @author void
+ */
+public class NiftyRefreshRegistry {
+  @Nonnull
+  private final RegistrationList<TextRenderer> localizedTexts = new RegistrationList<TextRenderer>(null);
+  @Nonnull
+  private final Map<String, RegistrationList<Element>> styledElements = new HashMap<String, RegistrationList<Element>>();
+
+  /**
+   * Register a TextRenderer that needs to replace its "${...}" values again when the locale changes.
+   *
+   * @param renderer the renderer
+   * @return the registration to remove the renderer again
+   */
+  @Nonnull
+  public Registration registerLocalizedText(@Nonnull final TextRenderer renderer) {
+    return localizedTexts.add(renderer);
+  }
+
+  /**
+   * Register an element that needs to apply its style again when the style is registered again.
+   *
+   * @param styleId the style the element uses
+   * @param element the element
+   * @return the registration to remove the element again
+   */
+  @Nonnull
+  public Registration registerStyledElement(@Nonnull final String styleId, @Nonnull final Element element) {
+    RegistrationList<Element> list = styledElements.get(styleId);
+    if (list == null) {
+      list = new RegistrationList<Element>(styleId);
+      styledElements.put(styleId, list);
+    }
+    return list.add(element);
+  }
+
+  /**
+   * The locale has changed. Updates the text of all registered TextRenderers.
+   */
+  public void localeChanged() {
+    for (TextRenderer renderer : localizedTexts.getTargets()) {
+      renderer.refreshText();
+    }
+  }
+
+  /**
+   * The style with the given id has been registered again. Applies the style again to all elements using it.
+   *
+   * @param styleId the id of the style
+   */
+  public void styleChanged(@Nonnull final String styleId) {
+    RegistrationList<Element> list = styledElements.get(styleId);
+    if (list == null) {
+      return;
+    }
+    String simpleStyleId = styleId.split("#")[0];
+    for (Element element : list.getTargets()) {
+      element.setStyle(simpleStyleId);
+    }
+  }
+
+  public int getLocalizedTextCount() {
+    return localizedTexts.size;
+  }
+
+  public int getStyledElementCount(@Nonnull final String styleId) {
+    RegistrationList<Element> list = styledElements.get(styleId);
+    return list == null ? 0 : list.size;
+  }
+
+  private void listEmpty(@Nonnull final RegistrationList<?> list) {
+    if (list.key != null && styledElements.get(list.key) == list) {
+      styledElements.remove(list.key);
+    }
+  }
+
+  /**
+   * A registered object. The owner keeps this and calls {@link #remove()} when it does not need the updates anymore.
+   */
+  public static final class Registration {
+    @Nonnull
+    private final WeakReference<Object> target;
+    @Nullable
+    private RegistrationList<?> list;
+    @Nullable
+    private Registration previous;
+    @Nullable
+    private Registration next;
+
+    private Registration(@Nonnull final Object target, @Nonnull final RegistrationList<?> list) {
+      this.target = new WeakReference<Object>(target);
+      this.list = list;
+    }
+
+    /**
+     * Remove the registration. Calling this more than once has no effect.
+     */
+    public void remove() {
+      if (list != null) {
+        list.unlink(this);
+      }
+    }
+  }
+
+  private final class RegistrationList<T> {
+    @Nullable
+    private final String key;
+    @Nullable
+    private Registration head;
+    @Nullable
+    private Registration tail;
+    private int size;
+
+    private RegistrationList(@Nullable final String key) {
+      this.key = key;
+    }
+
+    @Nonnull
+    private Registration add(@Nonnull final T target) {
+      Registration registration = new Registration(target, this);
+      registration.previous = tail;
+      if (tail == null) {
+        head = registration;
+      } else {
+        tail.next = registration;
+      }
+      tail = registration;
+      size++;
+      return registration;
+    }
+
+    private void unlink(@Nonnull final Registration registration) {
+      if (registration.previous == null) {
+        head = registration.next;
+      } else {
+        registration.previous.next = registration.next;
+      }
+      if (registration.next == null) {
+        tail = registration.previous;
+      } else {
+        registration.next.previous = registration.previous;
+      }
+      registration.previous = null;
+      registration.next = null;
+      registration.list = null;
+      size--;
+      if (size == 0) {
+        listEmpty(this);
+      }
+    }
+
+    /**
+     * Get the live targets and drop the registrations of the targets that were garbage collected. This returns a
+     * copy so the targets can register and remove themselves while the caller works through the list.
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    private List<T> getTargets() {
+      List<T> result = new ArrayList<T>(size);
+      Registration registration = head;
+      while (registration != null) {
+        Registration next = registration.next;
+        Object target = registration.target.get();
+        if (target == null) {
+          unlink(registration);
+        } else {
+          result.add((T) target);
+        }
+        registration = next;
+      }
+      return result;
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package de.lessvoid.nifty;
+
+import de.lessvoid.nifty.spi.time.TimeProvider;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tasks that other threads want to run on the thread that calls {@link Nifty#update()}. Any thread can post, only
+ * the update thread executes the tasks in {@link #execute()}.
+ * <p/>
+ * A task that is posted with a coalescing key replaces a task with the same key that has not been executed yet. The
+ * task keeps the place in the queue of the first task posted with this key.
+ *
+ * @author void
+ * @see Nifty#post(Runnable)
+ */
+public class NiftyUpdateQueue {
+  @Nonnull
+  private static final Runnable EXECUTED = new Runnable() {
+    @Override
+    public void run() {
+    }
+  };
+
+  @Nonnull
+  private final Queue<Entry> queue = new ConcurrentLinkedQueue<Entry>();
+  @Nonnull
+  private final ConcurrentMap<Object, Entry> pendingByKey = new ConcurrentHashMap<Object, Entry>();
+  @Nonnull
+  private final AtomicLong sequence = new AtomicLong();
+  @Nonnull
+  private final TimeProvider timeProvider;
+
+  /**
+   * Time in ms that {@link #execute()} may spend per call, 0 means no limit.
+   */
+  private volatile long timeBudget;
+
+  public NiftyUpdateQueue(@Nonnull final TimeProvider timeProvider) {
+    this.timeProvider = timeProvider;
+  }
+
+  /**
+   * Post a task. This can be called from any thread.
+   *
+   * @param task the task to run on the update thread
+   */
+  public void post(@Nonnull final Runnable task) {
+    queue.add(new Entry(null, task, sequence.incrementAndGet()));
+  }
+
+  /**
+   * Post a task that replaces any task posted with the same key that has not been executed yet. This can be called
+   * from any thread.
+   *
+   * @param key  the coalescing key (for instance the id of the element the task updates)
+   * @param task the task to run on the update thread
+   */
+  public void post(@Nonnull final Object key, @Nonnull final Runnable task) {
+    while (true) {
+      Entry pending = pendingByKey.get(key);
+      if (pending != null && pending.replace(task)) {
+        return;
+      }
+      Entry entry = new Entry(key, task, sequence.incrementAndGet());
+      boolean added = pending == null
+          ? pendingByKey.putIfAbsent(key, entry) == null
+          : pendingByKey.replace(key, pending, entry);
+      if (added) {
+        queue.add(entry);
+        return;
+      }
+    }
+  }
+
+  /**
+   * Set the time in ms that a single {@link #execute()} call may spend. Tasks that don't fit are executed the next
+   * time. The budget is checked after each task, so at least one task is executed per call.
+   *
+   * @param timeBudget the time budget in ms or 0 to run all tasks
+   */
+  public void setTimeBudget(final long timeBudget) {
+    this.timeBudget = timeBudget;
+  }
+
+  public boolean isEmpty() {
+    return queue.isEmpty();
+  }
+
+  /**
+   * Execute the tasks that were posted before this call, as long as the time budget allows. Must only be called from
+   * the update thread.
+   */
+  public void execute() {
+    Entry entry = queue.peek();
+    if (entry == null) {
+      return;
+    }
+    long lastSequence = sequence.get();
+    long budget = timeBudget;
+    long start = budget > 0 ? timeProvider.getMsTime() : 0;
+    while (entry != null && entry.sequence <= lastSequence) {
+      queue.poll();
+      Runnable task = entry.take();
+      if (entry.key != null) {
+        pendingByKey.remove(entry.key, entry);
+      }
+      task.run();
+      if (budget > 0 && timeProvider.getMsTime() - start >= budget) {
+        return;
+      }
+      entry = queue.peek();
+    }
+  }
+
+  private static class Entry {
+    @Nullable
+    private final Object key;
+    @Nonnull
+    private final AtomicReference<Runnable> task;
+    private final long sequence;
+
+    private Entry(@Nullable final Object key, @Nonnull final Runnable task, final long sequence) {
+      this.key = key;
+      this.task = new AtomicReference<Runnable>(task);
+      this.sequence = sequence;
+    }
+
+    private boolean replace(@Nonnull final Runnable newTask) {
+      while (true) {
+        Runnable current = task.get();
+        if (current == EXECUTED) {
+          return false;
+        }
+        if (task.compareAndSet(current, newTask)) {
+          return true;
+        }
+      }
+    }
+
+    @Nonnull
+    private Runnable take() {
+      return task.getAndSet(EXECUTED);
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package de.lessvoid.nifty.builder;
+
+import de.lessvoid.nifty.controls.dynamic.TextViewCreator;
+
+import javax.annotation.Nonnull;
+
+public class TextViewBuilder extends ElementBuilder {
+  @Nonnull
+  private final TextViewCreator creator;
+
+  private TextViewBuilder(@Nonnull final TextViewCreator creator) {
+    super(creator);
+    this.creator = creator;
+  }
+
+  public TextViewBuilder() {
+    this(new TextViewCreator());
+  }
+
+  public TextViewBuilder(@Nonnull final String id) {
+    this();
+    this.id(id);
+  }
+
+  public void maxLines(final int maxLines) {
+    creator.setMaxLines(maxLines);
+  }
+}
@@ -0,0 +1,48 @@
+package de.lessvoid.nifty.controls.dynamic;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.controls.StandardControl;
+import de.lessvoid.nifty.controls.dynamic.attributes.ControlAttributes;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.loaderv2.types.ElementType;
+import de.lessvoid.nifty.loaderv2.types.TextViewType;
+import de.lessvoid.nifty.screen.Screen;
+
+import javax.annotation.Nonnull;
+
+public class TextViewCreator extends ControlAttributes {
+  public TextViewCreator() {
+    setAutoId();
+  }
+
+  public TextViewCreator(@Nonnull final String id) {
+    setId(id);
+  }
+
+  @Nonnull
+  public Element create(
+      @Nonnull final Nifty nifty,
+      @Nonnull final Screen screen,
+      @Nonnull final Element parent) {
+    return nifty.addControl(screen, parent, new StandardControl() {
+      @Nonnull
+      @Override
+      public Element createControl(
+          @Nonnull final Nifty nifty,
+          @Nonnull final Screen screen,
+          @Nonnull final Element parent) {
+        return createTextView(nifty, screen, parent);
+      }
+    });
+  }
+
+  @Nonnull
+  @Override
+  public ElementType createType() {
+    return new TextViewType(getAttributes());
+  }
+
+  public void setMaxLines(final int maxLines) {
+    getAttributes().set("maxLines", String.valueOf(maxLines));
+  }
+}
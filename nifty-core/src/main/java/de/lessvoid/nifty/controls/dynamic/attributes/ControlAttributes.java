@@ -361,6 +361,15 @@ public class ControlAttributes {
     return buildControl(nifty, screen, parent, textType, new LayoutPart());
   }
 
+  @Nonnull
+  protected Element createTextView(
+      @Nonnull final Nifty nifty,
+      @Nonnull final Screen screen,
+      @Nonnull final Element parent) {
+    TextViewType textViewType = new TextViewType(attributes);
+    return buildControl(nifty, screen, parent, textViewType, new LayoutPart());
+  }
+
   @Nonnull
   protected Element createPanel(
       @Nonnull final Nifty nifty,
@@ -31,7 +31,13 @@ public class Effect {
   @Nonnull
   private final EffectImpl effectImpl;
   @Nonnull
-  private final EffectProperties parameter;
+  private EffectProperties parameter;
+
+  /**
+   * When this is true the parameter is shared with other Effects (because they were all created from the same
+   * EffectDefinition). It is read only and copied before it is handed out for modification.
+   */
+  private boolean sharedParameter;
   @Nonnull
   private final Object[] controllerArray;
   private final boolean post;
@@ -90,13 +96,48 @@ public class Effect {
     this.element = element;
     this.effectImpl = effectImpl;
     this.parameter = parameter;
-    parameter.put("effectEventId", effectEventId);
+    if (parameter.get("effectEventId") != effectEventId) {
+      parameter.put("effectEventId", effectEventId);
+    }
     timeInterpolator = new TimeInterpolator(parameter, timeProvider, infiniteEffect);
     controllerArray = controllers.toArray();
-    effectEvents.init(nifty, controllerArray, parameter);
+    // only the method names are read here, so the (possibly shared) parameter does not escape this Effect
+    effectEvents.init(
+        nifty, controllerArray, parameter.getProperty("onStartEffect"), parameter.getProperty("onEndEffect"));
     customFlag = false;
   }
 
+  /**
+   * Create a new Effect from a shared EffectDefinition. The read only EffectProperties of the definition, including
+   * their parsed values, are shared with all other Effects created from the same definition until someone requests
+   * them for modification by calling getParameters().
+   */
+  public Effect(
+      @Nonnull final Nifty nifty,
+      @Nonnull final EffectDefinition definition,
+      @Nonnull final EffectEventId effectEventId,
+      @Nonnull final Element element,
+      @Nonnull final EffectImpl effectImpl,
+      @Nonnull final TimeProvider timeProvider,
+      @Nonnull final Collection<Object> controllers) {
+    this(
+        nifty,
+        definition.isInherit(),
+        definition.isPost(),
+        definition.isOverlay(),
+        definition.getAlternateEnable(),
+        definition.getAlternateDisable(),
+        definition.getCustomKey(),
+        definition.isNeverStopRendering(),
+        effectEventId,
+        element,
+        effectImpl,
+        definition.getParameter(),
+        timeProvider,
+        controllers);
+    sharedParameter = true;
+  }
+
   public void enableHover(final Falloff falloffParameter) {
     hoverEffect = true;
     falloff = falloffParameter;
@@ -143,6 +184,8 @@ public class Effect {
   private void internalStart() {
     active = true;
     timeInterpolator.start();
+
+    // shared parameters are read only, so the parsed values are shared as well and only the EffectImpl keeps state
     effectEvents.onStartEffect(parameter);
     effectImpl.activate(nifty, element, parameter);
   }
@@ -224,6 +267,16 @@ public class Effect {
     }
   }
 
+  /**
+   * Returns true when this is a hover effect with a falloff constraint. Such an effect can be active even when the
+   * mouse is outside of the element.
+   *
+   * @return true if the active state of this effect depends on the mouse position
+   */
+  public boolean isPositionDependentHover() {
+    return hoverEffect && falloff != null && falloff.getFalloffConstraint() != HoverFalloffConstraint.none;
+  }
+
   public boolean isInsideFalloff(final int x, final int y) {
     if (falloff != null && falloff.getFalloffConstraint() != HoverFalloffConstraint.none) {
       return falloff.isInside(element, x, y);
@@ -240,8 +293,18 @@ public class Effect {
     return neverStopRendering;
   }
 
+  /**
+   * Get the parameters of this effect. The returned EffectProperties belong to this Effect only and can be modified.
+   * Call updateParameters() after modifying them.
+   *
+   * @return the parameters of this effect
+   */
   @Nonnull
   public EffectProperties getParameters() {
+    if (sharedParameter) {
+      parameter = new EffectProperties(parameter);
+      sharedParameter = false;
+    }
     return parameter;
   }
 
@@ -0,0 +1,101 @@
+package de.lessvoid.nifty.effects;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The compiled form of an effect definition from the XML (or the builder). It keeps all the values of an effect that
+ * don't change between the elements that use the same effect: the effect class, the flags and the EffectProperties
+ * with their already parsed values. An EffectDefinition is shared by all Effect instances that have been created from
+ * the same definition and must therefore not be modified. Per element state (the TimeInterpolator, the active flags
+ * and the EffectImpl instance) stays in the Effect class.
+ *
+ * @author void
+ */
+public class EffectDefinition {
+  @Nonnull
+  private final Class<?> effectClass;
+  @Nonnull
+  private final EffectProperties parameter;
+  private final boolean inherit;
+  private final boolean post;
+  private final boolean overlay;
+  @Nullable
+  private final String alternateEnable;
+  @Nullable
+  private final String alternateDisable;
+  @Nullable
+  private final String customKey;
+  private final boolean neverStopRendering;
+
+  public EffectDefinition(
+      @Nonnull final Class<?> effectClass,
+      @Nonnull final EffectEventId effectEventId,
+      @Nonnull final EffectProperties parameter,
+      final boolean inherit,
+      final boolean post,
+      final boolean overlay,
+      @Nullable final String alternateEnable,
+      @Nullable final String alternateDisable,
+      @Nullable final String customKey,
+      final boolean neverStopRendering) {
+    this.effectClass = effectClass;
+    this.parameter = parameter;
+    this.inherit = inherit;
+    this.post = post;
+    this.overlay = overlay;
+    this.alternateEnable = alternateEnable;
+    this.alternateDisable = alternateDisable;
+    this.customKey = customKey;
+    this.neverStopRendering = neverStopRendering;
+    parameter.put("effectEventId", effectEventId);
+    parameter.setReadOnly();
+  }
+
+  @Nonnull
+  public Class<?> getEffectClass() {
+    return effectClass;
+  }
+
+  /**
+   * The shared EffectProperties of this definition. They are read only, Effect makes a copy when someone requests the
+   * parameters for modification.
+   *
+   * @return the shared EffectProperties
+   */
+  @Nonnull
+  public EffectProperties getParameter() {
+    return parameter;
+  }
+
+  public boolean isInherit() {
+    return inherit;
+  }
+
+  public boolean isPost() {
+    return post;
+  }
+
+  public boolean isOverlay() {
+    return overlay;
+  }
+
+  @Nullable
+  public String getAlternateEnable() {
+    return alternateEnable;
+  }
+
+  @Nullable
+  public String getAlternateDisable() {
+    return alternateDisable;
+  }
+
+  @Nullable
+  public String getCustomKey() {
+    return customKey;
+  }
+
+  public boolean isNeverStopRendering() {
+    return neverStopRendering;
+  }
+}
@@ -0,0 +1,145 @@
+package de.lessvoid.nifty.effects;
+
+import de.lessvoid.xml.xpp3.Attributes;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache for the compiled EffectDefinitions. Effects are looked up by the effect event id, their resolved attributes
+ * and the attributes of their effect values. All elements that use the same effect (usually because they use the same
+ * style or control) will share the same EffectDefinition this way. The cache has a size limit and will drop the least
+ * recently used definitions when the limit is reached.
+ * <p/>
+ * The keys are created with {@link Attributes#createKey()}, so the attributes are not copied for a lookup.
+ *
+ * @author void
+ */
+public class EffectDefinitionCache {
+  private static final int DEFAULT_MAX_SIZE = 2048;
+
+  @Nonnull
+  private final Map<Key, EffectDefinition> definitions;
+  private int hits;
+  private int misses;
+
+  public EffectDefinitionCache() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  public EffectDefinitionCache(final int maxSize) {
+    definitions = new LinkedHashMap<Key, EffectDefinition>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<Key, EffectDefinition> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * Lookup a compiled EffectDefinition.
+   *
+   * @param effectEventId the effect event id
+   * @param attributes the resolved effect attributes
+   * @param effectValues the attributes of the effect values
+   * @return the EffectDefinition or null if there is none cached
+   */
+  @Nullable
+  public EffectDefinition get(
+      @Nonnull final EffectEventId effectEventId,
+      @Nonnull final Attributes attributes,
+      @Nonnull final List<Attributes> effectValues) {
+    EffectDefinition definition = definitions.get(new Key(effectEventId, attributes, effectValues));
+    if (definition == null) {
+      misses++;
+    } else {
+      hits++;
+    }
+    return definition;
+  }
+
+  /**
+   * Add a compiled EffectDefinition. Later changes of the given attributes don't modify the cache key.
+   *
+   * @param effectEventId the effect event id
+   * @param attributes the resolved effect attributes
+   * @param effectValues the attributes of the effect values
+   * @param definition the EffectDefinition to add
+   */
+  public void put(
+      @Nonnull final EffectEventId effectEventId,
+      @Nonnull final Attributes attributes,
+      @Nonnull final List<Attributes> effectValues,
+      @Nonnull final EffectDefinition definition) {
+    definitions.put(new Key(effectEventId, attributes, effectValues), definition);
+  }
+
+  /**
+   * Remove all cached definitions. This is necessary when an effect is registered again with a different class.
+   */
+  public void clear() {
+    definitions.clear();
+  }
+
+  public int size() {
+    return definitions.size();
+  }
+
+  public int getHits() {
+    return hits;
+  }
+
+  public int getMisses() {
+    return misses;
+  }
+
+  private static class Key {
+    @Nonnull
+    private final EffectEventId effectEventId;
+    @Nonnull
+    private final Object attributes;
+    @Nonnull
+    private final Object[] effectValues;
+    private final int hashCode;
+
+    private Key(
+        @Nonnull final EffectEventId effectEventId,
+        @Nonnull final Attributes attributes,
+        @Nonnull final List<Attributes> effectValues) {
+      this.effectEventId = effectEventId;
+      this.attributes = attributes.createKey();
+      this.effectValues = new Object[effectValues.size()];
+      for (int i = 0; i < this.effectValues.length; i++) {
+        this.effectValues[i] = effectValues.get(i).createKey();
+      }
+      this.hashCode = 31 * (31 * effectEventId.hashCode() + this.attributes.hashCode()) +
+          Arrays.hashCode(this.effectValues);
+    }
+
+    @Override
+    public boolean equals(@Nullable final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return hashCode == other.hashCode &&
+          effectEventId == other.effectEventId &&
+          attributes.equals(other.attributes) &&
+          Arrays.equals(effectValues, other.effectValues);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
@@ -4,6 +4,7 @@ import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.NiftyMethodInvoker;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.Properties;
 
 public class EffectEvents {
@@ -11,11 +12,17 @@ public class EffectEvents {
   private NiftyMethodInvoker onEndEffect;
 
   public void init(final Nifty nifty, final Object[] controllers, @Nonnull final Properties parameter) {
-    String onStartEffectString = parameter.getProperty("onStartEffect");
+    init(nifty, controllers, parameter.getProperty("onStartEffect"), parameter.getProperty("onEndEffect"));
+  }
+
+  public void init(
+      final Nifty nifty,
+      final Object[] controllers,
+      @Nullable final String onStartEffectString,
+      @Nullable final String onEndEffectString) {
     if (onStartEffectString != null) {
       onStartEffect = new NiftyMethodInvoker(nifty, onStartEffectString, controllers);
     }
-    String onEndEffectString = parameter.getProperty("onEndEffect");
     if (onEndEffectString != null) {
       onEndEffect = new NiftyMethodInvoker(nifty, onEndEffectString, controllers);
     }
@@ -71,6 +71,7 @@ public class EffectManager {
   @Nullable
   private String alternateKey;
   private boolean isEmpty = true;
+  private boolean positionDependentHover = false;
   @Nonnull
   private final Notify notify;
 
@@ -105,6 +106,7 @@ public class EffectManager {
     }
     processor.registerEffect(e);
     isEmpty = false;
+    positionDependentHover |= e.isPositionDependentHover();
   }
 
   /**
@@ -316,6 +318,16 @@ public class EffectManager {
       effectProcessorList.get(i).removeAllEffects();
     }
     isEmpty = true;
+    positionDependentHover = false;
+  }
+
+  /**
+   * Returns true when at least one of the registered effects is a hover effect with a falloff constraint.
+   *
+   * @return true if the hover effects need to be processed for every mouse event
+   */
+  public boolean hasPositionDependentHoverEffects() {
+    return positionDependentHover;
   }
 
   public boolean isEmpty() {
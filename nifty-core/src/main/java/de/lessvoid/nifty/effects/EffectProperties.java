@@ -1,16 +1,34 @@
 package de.lessvoid.nifty.effects;
 
+import de.lessvoid.nifty.tools.Color;
 import de.lessvoid.nifty.tools.LinearInterpolator;
+import de.lessvoid.nifty.tools.SizeValue;
 import de.lessvoid.xml.xpp3.Attributes;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
 
+/**
+ * The properties of an effect. Besides the plain String properties this class keeps the parsed values of the typed
+ * getters (getColor(), getSizeValue(), ...) so that the String parsing only happens once per property and not every
+ * time an effect is activated. The parsed values are shared and must be treated as read only. A parsed value remembers
+ * the String it was parsed from, so changing a property only parses this property again.
+ * <p/>
+ * The EffectProperties of an {@link EffectDefinition} are shared by all elements using the definition and are read
+ * only. Modifying them throws an UnsupportedOperationException, {@link Effect#getParameters()} returns a modifiable
+ * copy instead.
+ *
+ * @author void
+ */
 public class EffectProperties extends Properties {
   private static final long serialVersionUID = 1L;
   private EffectPropertiesValues effectValues;
+  @Nullable
+  private transient Map<String, ParsedValue> parsedValues;
+  private volatile boolean readOnly;
 
   public EffectProperties(@Nonnull final Properties createProperties) {
     super();
@@ -20,7 +38,198 @@ public class EffectProperties extends Properties {
     }
   }
 
+  /**
+   * Create a modifiable copy of the given EffectProperties including the effect values. The values already parsed by
+   * the source are kept, so the copy does not parse them again.
+   *
+   * @param source the EffectProperties to copy
+   */
+  public EffectProperties(@Nonnull final EffectProperties source) {
+    this((Properties) source);
+    if (source.effectValues != null) {
+      for (Attributes value : source.effectValues.getValues()) {
+        getEffectPropertiesValueLazy().add(value);
+      }
+    }
+    synchronized (source) {
+      if (source.parsedValues != null) {
+        parsedValues = new HashMap<String, ParsedValue>(source.parsedValues);
+      }
+    }
+  }
+
+  /**
+   * Make these EffectProperties read only, because they are shared from now on.
+   */
+  void setReadOnly() {
+    readOnly = true;
+  }
+
+  public boolean isReadOnly() {
+    return readOnly;
+  }
+
+  @Override
+  public synchronized Object put(final Object key, final Object value) {
+    checkModifiable();
+    return super.put(key, value);
+  }
+
+  @Override
+  public synchronized Object remove(final Object key) {
+    checkModifiable();
+    return super.remove(key);
+  }
+
+  @Override
+  public synchronized void putAll(final Map<?, ?> t) {
+    checkModifiable();
+    super.putAll(t);
+  }
+
+  @Override
+  public synchronized void clear() {
+    checkModifiable();
+    parsedValues = null;
+    super.clear();
+  }
+
+  /**
+   * Get the property with the given key as a Color. The returned Color is shared and must not be modified.
+   *
+   * @param key the property key
+   * @param defaultValue the color String to use when the property is not set
+   * @return the parsed Color
+   */
+  @Nonnull
+  public Color getColor(@Nonnull final String key, @Nonnull final String defaultValue) {
+    String value = getProperty(key, defaultValue);
+    Object parsed = getParsedValue(key, value);
+    if (parsed instanceof Color) {
+      return (Color) parsed;
+    }
+    Color color = new Color(value);
+    setParsedValue(key, value, color);
+    return color;
+  }
+
+  /**
+   * Get the property with the given key as a SizeValue.
+   *
+   * @param key the property key
+   * @param defaultValue the size String to use when the property is not set
+   * @return the parsed SizeValue
+   */
+  @Nonnull
+  public SizeValue getSizeValue(@Nonnull final String key, @Nullable final String defaultValue) {
+    String value = getProperty(key, defaultValue);
+    Object parsed = getParsedValue(key, value);
+    if (parsed instanceof SizeValue) {
+      return (SizeValue) parsed;
+    }
+    SizeValue sizeValue = new SizeValue(value);
+    setParsedValue(key, value, sizeValue);
+    return sizeValue;
+  }
+
+  public boolean getBoolean(@Nonnull final String key, final boolean defaultValue) {
+    String value = getProperty(key);
+    if (value == null) {
+      return defaultValue;
+    }
+    Object parsed = getParsedValue(key, value);
+    if (parsed instanceof Boolean) {
+      return (Boolean) parsed;
+    }
+    Boolean result = Boolean.valueOf(value);
+    setParsedValue(key, value, result);
+    return result;
+  }
+
+  public int getInt(@Nonnull final String key, final int defaultValue) {
+    String value = getProperty(key);
+    if (value == null) {
+      return defaultValue;
+    }
+    Object parsed = getParsedValue(key, value);
+    if (parsed instanceof Integer) {
+      return (Integer) parsed;
+    }
+    Integer result = Integer.valueOf(value);
+    setParsedValue(key, value, result);
+    return result;
+  }
+
+  /**
+   * Get the property with the given key as a constant of the given enum. The property must match the name of the
+   * constant.
+   *
+   * @param key the property key
+   * @param enumClass the enum
+   * @param defaultValue the value to use when the property is not set or does not match a constant
+   * @return the enum constant
+   */
+  @Nullable
+  public <E extends Enum<E>> E getEnum(
+      @Nonnull final String key,
+      @Nonnull final Class<E> enumClass,
+      @Nullable final E defaultValue) {
+    String value = getProperty(key);
+    if (value == null) {
+      return defaultValue;
+    }
+    Object parsed = getParsedValue(key, value);
+    if (enumClass.isInstance(parsed)) {
+      return enumClass.cast(parsed);
+    }
+    E result;
+    try {
+      result = Enum.valueOf(enumClass, value);
+    } catch (IllegalArgumentException e) {
+      return defaultValue;
+    }
+    setParsedValue(key, value, result);
+    return result;
+  }
+
+  public float getFloat(@Nonnull final String key, final float defaultValue) {
+    String value = getProperty(key);
+    if (value == null) {
+      return defaultValue;
+    }
+    Object parsed = getParsedValue(key, value);
+    if (parsed instanceof Float) {
+      return (Float) parsed;
+    }
+    Float result = Float.valueOf(value);
+    setParsedValue(key, value, result);
+    return result;
+  }
+
+  @Nullable
+  private synchronized Object getParsedValue(@Nonnull final String key, @Nullable final String source) {
+    if (parsedValues == null) {
+      return null;
+    }
+    ParsedValue parsedValue = parsedValues.get(key);
+    if (parsedValue == null || !parsedValue.isParsedFrom(source)) {
+      return null;
+    }
+    return parsedValue.value;
+  }
+
+  private synchronized void setParsedValue(
+      @Nonnull final String key,
+      @Nullable final String source,
+      @Nonnull final Object value) {
+    if (parsedValues == null) {
+      parsedValues = new HashMap<String, ParsedValue>();
+    }
+    parsedValues.put(key, new ParsedValue(source, value));
+  }
+
   public void addEffectValue(final Attributes effectProperties) {
+    checkModifiable();
     getEffectPropertiesValueLazy().add(effectProperties);
   }
 
@@ -45,6 +254,13 @@ public class EffectProperties extends Properties {
     return interpolator;
   }
 
+  private void checkModifiable() {
+    if (readOnly) {
+      throw new UnsupportedOperationException("The EffectProperties are shared and can't be modified, use " +
+          "Effect.getParameters() to get a modifiable copy.");
+    }
+  }
+
   private EffectPropertiesValues getEffectPropertiesValueLazy() {
     if (effectValues != null) {
       return effectValues;
@@ -52,4 +268,20 @@ public class EffectProperties extends Properties {
     effectValues = new EffectPropertiesValues();
     return effectValues;
   }
+
+  private static class ParsedValue {
+    @Nullable
+    private final String source;
+    @Nonnull
+    private final Object value;
+
+    private ParsedValue(@Nullable final String source, @Nonnull final Object value) {
+      this.source = source;
+      this.value = value;
+    }
+
+    private boolean isParsedFrom(@Nullable final String otherSource) {
+      return source == null ? otherSource == null : source.equals(otherSource);
+    }
+  }
 }
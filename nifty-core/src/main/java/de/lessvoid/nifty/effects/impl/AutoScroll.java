@@ -20,8 +20,8 @@ public class AutoScroll implements EffectImpl {
       @Nonnull final Nifty nifty,
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
-    int startValue = Integer.parseInt(parameter.getProperty("start", "0"));
-    int endValue = Integer.parseInt(parameter.getProperty("end", "0"));
+    int startValue = parameter.getInt("start", 0);
+    int endValue = parameter.getInt("end", 0);
     distance = endValue - startValue;
     start = startValue;
   }
@@ -43,8 +43,8 @@ public class ColorBar implements EffectImpl {
       @Nonnull final Nifty nifty,
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
-    color = new Color(parameter.getProperty("color", "#ffffffff"));
-    width = new SizeValue(parameter.getProperty("width"));
+    color = parameter.getColor("color", "#ffffffff");
+    width = parameter.getSizeValue("width", null);
     try {
       PaddingAttributeParser parser = new PaddingAttributeParser(parameter.getProperty("inset", "0px"));
       insetLeft = new SizeValue(parser.getLeft());
@@ -34,8 +34,8 @@ public class FollowMouse implements EffectImpl {
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
     this.nifty = nifty;
-    this.offsetX = Integer.valueOf(parameter.getProperty("offsetX", "20"));
-    this.offsetY = Integer.valueOf(parameter.getProperty("offsetY", "20"));
+    this.offsetX = parameter.getInt("offsetX", 20);
+    this.offsetY = parameter.getInt("offsetY", 20);
   }
 
   @Override
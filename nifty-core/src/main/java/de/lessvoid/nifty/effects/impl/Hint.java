@@ -17,6 +17,7 @@ import de.lessvoid.nifty.effects.EffectImpl;
 import de.lessvoid.nifty.effects.EffectProperties;
 import de.lessvoid.nifty.effects.Falloff;
 import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.elements.render.TextRenderer;
 import de.lessvoid.nifty.render.NiftyRenderEngine;
 import de.lessvoid.nifty.screen.Screen;
 import de.lessvoid.nifty.tools.SizeValue;
@@ -36,6 +37,8 @@ public class Hint implements EffectImpl {
   private static final Logger log = Logger.getLogger(Hint.class.getName());
   @Nonnull
   private static final String HINT_LAYER_ID = "niftyHintLayer";
+  @Nonnull
+  private static final String HINT_TEXT_ID = "#hint-text";
   @Nullable
   private Nifty nifty;
   @Nullable
@@ -66,19 +69,59 @@ public class Hint implements EffectImpl {
     final String hintControl = parameter.getProperty("hintControl", "nifty-default-hint");
     final String hintStyle = parameter.getProperty("hintStyle", null);
     final String hintText = parameter.getProperty("hintText", "hint: add a 'hintText' attribute to the hint effect :)");
-    hintDelay = Integer.valueOf(parameter.getProperty("hintDelay", "0"));
+    hintDelay = parameter.getInt("hintDelay", 0);
     offsetX = parameter.getProperty("offsetX", "0");
     offsetY = parameter.getProperty("offsetY", "0");
 
     Element hintLayer = getHintLayer();
     hintLayer.setVisible(false);
 
+    // hints of the same control and style are reused, only the text needs to be changed
+    String poolKey = HINT_LAYER_ID + "#" + hintControl + "#" + hintStyle;
+    Element pooledPanel = nifty.obtainPooledElement(screen, hintLayer, poolKey);
+    if (pooledPanel != null) {
+      hintPanel = pooledPanel;
+      updateHintText(pooledPanel, hintText);
+      hintLayer.layoutElements();
+      return;
+    }
+
     ControlBuilder builder = new ControlBuilder(NiftyIdCreator.generate(), hintControl);
     builder.parameter("hintText", hintText);
     if (hintStyle != null) {
       builder.style(hintStyle);
     }
     hintPanel = builder.build(nifty, screen, hintLayer);
+    if (getHintTextElement(hintPanel) != null) {
+      hintPanel.setPoolKey(poolKey);
+    }
+  }
+
+  @Nullable
+  private Element getHintTextElement(@Nonnull final Element panel) {
+    Element text = panel.findElementById(HINT_TEXT_ID);
+    if (text == null || text.getRenderer(TextRenderer.class) == null) {
+      return null;
+    }
+    return text;
+  }
+
+  private void updateHintText(@Nonnull final Element panel, @Nonnull final String hintText) {
+    Element text = getHintTextElement(panel);
+    if (text == null) {
+      return;
+    }
+    TextRenderer textRenderer = text.getRenderer(TextRenderer.class);
+    if (textRenderer == null) {
+      return;
+    }
+    textRenderer.setText(hintText);
+    if (text.getConstraintWidth().hasDefault()) {
+      text.setConstraintWidth(SizeValue.def(textRenderer.getTextWidth()));
+    }
+    if (text.getConstraintHeight().hasDefault()) {
+      text.setConstraintHeight(SizeValue.def(textRenderer.getTextHeight()));
+    }
   }
 
   @Nonnull
@@ -60,12 +60,12 @@ public class ImageOverlay implements EffectImpl {
     }
 
     alpha = new Alpha(parameter.getProperty("alpha", "#f"));
-    inset = new SizeValue(parameter.getProperty("inset", "0px"));
+    inset = parameter.getSizeValue("inset", "0px");
     width = new SizeValue(parameter.getProperty("width", element.getWidth() + "px"));
     height = new SizeValue(parameter.getProperty("height", element.getHeight() + "px"));
-    center = Boolean.valueOf(parameter.getProperty("center", "false"));
-    hideIfNotEnoughSpace = Boolean.valueOf(parameter.getProperty("hideIfNotEnoughSpace", "false"));
-    activeBeforeStartDelay = Boolean.valueOf(parameter.getProperty("activeBeforeStartDelay", "false"));
+    center = parameter.getBoolean("center", false);
+    hideIfNotEnoughSpace = parameter.getBoolean("hideIfNotEnoughSpace", false);
+    activeBeforeStartDelay = parameter.getBoolean("activeBeforeStartDelay", false);
   }
 
   @Override
@@ -33,8 +33,8 @@ public class ImageSize implements EffectImpl {
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
     // for normal mode
-    startSize = Float.parseFloat(parameter.getProperty("startSize", "1.0"));
-    endSize = Float.parseFloat(parameter.getProperty("endSize", "2.0"));
+    startSize = parameter.getFloat("startSize", 1.0f);
+    endSize = parameter.getFloat("endSize", 2.0f);
 
     // for hover mode only
     String maxSizeString = parameter.getProperty("maxSize");
@@ -22,12 +22,22 @@ public class Move implements EffectImpl {
 
   private static final Logger log = Logger.getLogger(Move.class.getName());
 
-  private static final String LEFT = "left";
-  private static final String RIGHT = "right";
-  private static final String TOP = "top";
-  private static final String BOTTOM = "bottom";
+  /**
+   * The values of the "mode" parameter.
+   */
+  private enum Mode {
+    in, out, fromPosition, toPosition, fromOffset, toOffset
+  }
+
+  /**
+   * The values of the "direction" parameter.
+   */
+  private enum Direction {
+    left, right, top, bottom
+  }
 
-  private String direction;
+  @Nullable
+  private Direction direction;
   private long offset = 0;
   private long startOffset = 0;
   private int offsetDir = 0;
@@ -44,44 +54,51 @@ public class Move implements EffectImpl {
       @Nonnull final Nifty nifty,
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
-    String mode = parameter.getProperty("mode");
-    direction = parameter.getProperty("direction");
-    if (LEFT.equals(direction)) {
-      offset = element.getX() + element.getWidth();
-    } else if (RIGHT.equals(direction)) {
-      offset = nifty.getRenderEngine().getWidth() - element.getX();
-    } else if (TOP.equals(direction)) {
-      offset = element.getY() + element.getHeight();
-    } else if (BOTTOM.equals(direction)) {
-      offset = nifty.getRenderEngine().getHeight() - element.getY();
-    } else {
+    Mode mode = parameter.getEnum("mode", Mode.class, null);
+    direction = parameter.getEnum("direction", Direction.class, null);
+    if (direction == null) {
       offset = 0;
+    } else {
+      switch (direction) {
+        case left:
+          offset = element.getX() + element.getWidth();
+          break;
+        case right:
+          offset = nifty.getRenderEngine().getWidth() - element.getX();
+          break;
+        case top:
+          offset = element.getY() + element.getHeight();
+          break;
+        case bottom:
+          offset = nifty.getRenderEngine().getHeight() - element.getY();
+          break;
+      }
     }
 
-    if ("out".equals(mode)) {
+    if (mode == Mode.out) {
       startOffset = 0;
       offsetDir = -1;
       withTarget = false;
-    } else if ("in".equals(mode)) {
+    } else if (mode == Mode.in) {
       startOffset = offset;
       offsetDir = 1;
       withTarget = false;
-    } else if ("fromPosition".equals(mode)) {
+    } else if (mode == Mode.fromPosition) {
       withTarget = true;
-    } else if ("toPosition".equals(mode)) {
+    } else if (mode == Mode.toPosition) {
       withTarget = true;
-    } else if ("fromOffset".equals(mode)) {
+    } else if (mode == Mode.fromOffset) {
       fromOffset = true;
-      startOffsetX = Integer.valueOf(parameter.getProperty("offsetX", "0"));
-      startOffsetY = Integer.valueOf(parameter.getProperty("offsetY", "0"));
+      startOffsetX = parameter.getInt("offsetX", 0);
+      startOffsetY = parameter.getInt("offsetY", 0);
       offsetX = startOffsetX * -1;
       offsetY = startOffsetY * -1;
-    } else if ("toOffset".equals(mode)) {
+    } else if (mode == Mode.toOffset) {
       toOffset = true;
       startOffsetX = 0;
       startOffsetY = 0;
-      offsetX = Integer.valueOf(parameter.getProperty("offsetX", "0"));
-      offsetY = Integer.valueOf(parameter.getProperty("offsetY", "0"));
+      offsetX = parameter.getInt("offsetX", 0);
+      offsetY = parameter.getInt("offsetY", 0);
     }
 
     String target = parameter.getProperty("targetElement");
@@ -95,12 +112,12 @@ public class Move implements EffectImpl {
         return;
       }
 
-      if ("fromPosition".equals(mode)) {
+      if (mode == Mode.fromPosition) {
         startOffsetX = targetElement.getX() - element.getX();
         startOffsetY = targetElement.getY() - element.getY();
         offsetX = -(targetElement.getX() - element.getX());
         offsetY = -(targetElement.getY() - element.getY());
-      } else if ("toPosition".equals(mode)) {
+      } else if (mode == Mode.toPosition) {
         startOffsetX = 0;
         startOffsetY = 0;
         offsetX = (targetElement.getX() - element.getX());
@@ -123,15 +140,20 @@ public class Move implements EffectImpl {
       float moveToX = startOffsetX + normalizedTime * offsetX;
       float moveToY = startOffsetY + normalizedTime * offsetY;
       r.moveTo(moveToX, moveToY);
-    } else {
-      if (LEFT.equals(direction)) {
-        r.moveTo(-startOffset + offsetDir * normalizedTime * offset, 0);
-      } else if (RIGHT.equals(direction)) {
-        r.moveTo(startOffset - offsetDir * normalizedTime * offset, 0);
-      } else if (TOP.equals(direction)) {
-        r.moveTo(0, -startOffset + offsetDir * normalizedTime * offset);
-      } else if (BOTTOM.equals(direction)) {
-        r.moveTo(0, startOffset - offsetDir * normalizedTime * offset);
+    } else if (direction != null) {
+      switch (direction) {
+        case left:
+          r.moveTo(-startOffset + offsetDir * normalizedTime * offset, 0);
+          break;
+        case right:
+          r.moveTo(startOffset - offsetDir * normalizedTime * offset, 0);
+          break;
+        case top:
+          r.moveTo(0, -startOffset + offsetDir * normalizedTime * offset);
+          break;
+        case bottom:
+          r.moveTo(0, startOffset - offsetDir * normalizedTime * offset);
+          break;
       }
     }
   }
@@ -31,7 +31,7 @@ public class PlayMusic implements EffectImpl {
       @Nonnull final EffectProperties parameter) {
     this.nifty = nifty;
     musicHandle = nifty.getSoundSystem().getMusic(parameter.getProperty("music"));
-    repeat = Boolean.valueOf(parameter.getProperty("repeat", "false"));
+    repeat = parameter.getBoolean("repeat", false);
     done = false;
   }
 
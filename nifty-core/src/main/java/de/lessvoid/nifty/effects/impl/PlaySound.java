@@ -31,7 +31,7 @@ public class PlaySound implements EffectImpl {
       @Nonnull final EffectProperties parameter) {
     this.nifty = nifty;
     soundHandle = nifty.getSoundSystem().getSound(parameter.getProperty("sound"));
-    repeat = Boolean.valueOf(parameter.getProperty("repeat", "false"));
+    repeat = parameter.getBoolean("repeat", false);
     done = false;
   }
 
@@ -33,9 +33,9 @@ public class RenderQuad implements EffectImpl {
       @Nonnull final Nifty nifty,
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
-    startColor = new Color(parameter.getProperty("startColor", "#0000"));
-    endColor = new Color(parameter.getProperty("endColor", "#ffff"));
-    width = new SizeValue(parameter.getProperty("width"));
+    startColor = parameter.getColor("startColor", "#0000");
+    endColor = parameter.getColor("endColor", "#ffff");
+    width = parameter.getSizeValue("width", null);
   }
 
   @Override
@@ -26,7 +26,7 @@ public class Shake implements EffectImpl {
       @Nonnull final Nifty nifty,
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
-    distance = Float.parseFloat(parameter.getProperty("distance", "10.0"));
+    distance = parameter.getFloat("distance", 10.0f);
     global = "true".equals(parameter.getProperty("global", "true").toLowerCase());
   }
 
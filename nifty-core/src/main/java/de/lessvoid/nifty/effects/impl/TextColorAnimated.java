@@ -30,8 +30,8 @@ public class TextColorAnimated implements EffectImpl {
       @Nonnull final Nifty nifty,
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
-    startColor = new Color(parameter.getProperty("startColor", "#0000"));
-    endColor = new Color(parameter.getProperty("endColor", "#ffff"));
+    startColor = parameter.getColor("startColor", "#0000");
+    endColor = parameter.getColor("endColor", "#ffff");
   }
 
   @Override
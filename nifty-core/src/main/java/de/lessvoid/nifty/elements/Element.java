@@ -19,6 +19,7 @@ import de.lessvoid.nifty.EndNotify;
 import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.NiftyEvent;
 import de.lessvoid.nifty.NiftyMethodInvoker;
+import de.lessvoid.nifty.NiftyRefreshRegistry;
 import de.lessvoid.nifty.controls.Controller;
 import de.lessvoid.nifty.controls.FocusHandler;
 import de.lessvoid.nifty.controls.NiftyControl;
@@ -37,6 +38,7 @@ import de.lessvoid.nifty.elements.render.ElementRenderer;
 import de.lessvoid.nifty.elements.render.ImageRenderer;
 import de.lessvoid.nifty.elements.render.PanelRenderer;
 import de.lessvoid.nifty.elements.render.TextRenderer;
+import de.lessvoid.nifty.elements.render.TextViewRenderer;
 import de.lessvoid.nifty.elements.tools.ElementTreeTraverser;
 import de.lessvoid.nifty.input.NiftyMouseInputEvent;
 import de.lessvoid.nifty.input.keyboard.KeyboardInputEvent;
@@ -48,6 +50,7 @@ import de.lessvoid.nifty.layout.manager.LayoutManager;
 import de.lessvoid.nifty.loaderv2.types.ElementType;
 import de.lessvoid.nifty.loaderv2.types.PopupType;
 import de.lessvoid.nifty.loaderv2.types.apply.ApplyRenderText;
+import de.lessvoid.nifty.loaderv2.types.apply.ApplyRenderTextView;
 import de.lessvoid.nifty.loaderv2.types.apply.ApplyRenderer;
 import de.lessvoid.nifty.loaderv2.types.apply.ApplyRendererImage;
 import de.lessvoid.nifty.loaderv2.types.apply.ApplyRendererPanel;
@@ -61,7 +64,6 @@ import de.lessvoid.nifty.spi.time.TimeProvider;
 import de.lessvoid.nifty.tools.SizeValue;
 import de.lessvoid.xml.xpp3.Attributes;
 import java.util.regex.Pattern;
-import org.bushe.swing.event.EventTopicSubscriber;
 
 /**
  * @author void
@@ -176,6 +178,24 @@ public class Element implements NiftyEvent, EffectManager.Notify {
 
   private boolean clipChildren;
 
+  /**
+   * When true children of this element that are completely outside of this element are not rendered and are not
+   * checked for mouse events. This only works together with clipChildren.
+   */
+  private boolean cullChildren;
+
+  /**
+   * When true children of this element that are completely outside of this element will not layout their own children.
+   * This only works together with cullChildren.
+   */
+  private boolean cullChildrenLayout;
+
+  /**
+   * When this is set the element is kept in the ElementPool of the screen when it's removed.
+   */
+  @Nullable
+  private Object poolKey;
+
   /**
    * The attached control when this element is a control.
    */
@@ -211,10 +231,17 @@ public class Element implements NiftyEvent, EffectManager.Notify {
   @Nonnull
   private final StringBuilder elementDebug = new StringBuilder();
   private boolean parentClipArea = false;
+
+  /**
+   * Set when this element has been culled in the last call to buildMouseOverElements().
+   */
+  private boolean mouseCulled;
   private int parentClipX;
   private int parentClipY;
   private int parentClipWidth;
   private int parentClipHeight;
+  private boolean parentClipCull;
+  private boolean parentClipCullLayout;
 
   // this will be set to true when constraints, padding, margin and so on have been changed and this change should
   // publish an event on the event bus later
@@ -239,13 +266,19 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     convert = new Convert();
     rendererApplier = new HashMap<Class<? extends ElementRenderer>, ApplyRenderer>();
     rendererApplier.put(TextRenderer.class, new ApplyRenderText(convert));
+    rendererApplier.put(TextViewRenderer.class, new ApplyRenderTextView(convert));
     rendererApplier.put(ImageRenderer.class, new ApplyRendererImage(convert));
     rendererApplier.put(PanelRenderer.class, new ApplyRendererPanel(convert));
   }
 
   @Nullable
   private Map<String, Object> userData;
-  private final StyleRefresh styleListener = new StyleRefresh();
+
+  /**
+   * Registration with the NiftyRefreshRegistry for the current style, so the style is applied again when it changes.
+   */
+  @Nullable
+  private NiftyRefreshRegistry.Registration styleRegistration;
 
   public Element(
       @Nonnull final Nifty nifty,
@@ -375,8 +408,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
       ApplyRenderer rendererApply = rendererApplier.get(renderer.getClass());
       rendererApply.apply(targetScreen, this, attributes, renderEngine);
     }
-    //Subscribe for a style refresh
-    nifty.getEventService().subscribeStrongly("style-refresh:" + getStyle(), styleListener);
+    registerStyleRefresh();
   }
 
   public void initializeFromPostAttributes(@Nonnull final Attributes attributes) {
@@ -412,7 +444,8 @@ public class Element implements NiftyEvent, EffectManager.Notify {
 
     // This element has a new parent. Check the parent's clip area and update this element accordingly.
     if (parentHasClipArea()) {
-      setParentClipArea(parentClipX, parentClipY, parentClipWidth, parentClipHeight);
+      setParentClipArea(parentClipX, parentClipY, parentClipWidth, parentClipHeight, parent.parentClipCull,
+          parent.parentClipCullLayout);
       publishEvent();
     } else {
       parentClipArea = false;
@@ -685,7 +718,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
   }
 
   public void render(@Nonnull final NiftyRenderEngine r) {
-    if (visible) {
+    if (visible && !isCulled()) {
       if (effectManager.isEmpty()) {
         r.saveStates();
         renderElement(r);
@@ -954,6 +987,10 @@ public class Element implements NiftyEvent, EffectManager.Notify {
   }
 
   private void processLayout() {
+    if (parentClipCullLayout && isCulled()) {
+      // we're not visible, our children will be layouted when we're scrolled back into the clip area
+      return;
+    }
     processLayoutInternal();
 
     if (layoutManager != null) {
@@ -993,7 +1030,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
       final int childrenCount = children.size();
       for (int i = 0; i < childrenCount; i++) {
         Element w = children.get(i);
-        w.setParentClipArea(getX(), getY(), getWidth(), getHeight());
+        w.setParentClipArea(getX(), getY(), getWidth(), getHeight(), cullChildren, cullChildren && cullChildrenLayout);
       }
     }
   }
@@ -1028,22 +1065,47 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     preProcessConstraintHeight();
   }
 
-  private void setParentClipArea(final int x, final int y, final int width, final int height) {
+  private void setParentClipArea(
+      final int x,
+      final int y,
+      final int width,
+      final int height,
+      final boolean cull,
+      final boolean cullLayout) {
     parentClipArea = true;
     parentClipX = x;
     parentClipY = y;
     parentClipWidth = width;
     parentClipHeight = height;
+    parentClipCull = cull;
+    parentClipCullLayout = cullLayout;
 
     if (children != null) {
       final int childrenCount = children.size();
       for (int i = 0; i < childrenCount; i++) {
         Element w = children.get(i);
-        w.setParentClipArea(parentClipX, parentClipY, parentClipWidth, parentClipHeight);
+        w.setParentClipArea(parentClipX, parentClipY, parentClipWidth, parentClipHeight, cull, cullLayout);
       }
     }
   }
 
+  /**
+   * Checks if this element is culled. An element is culled when one of its parents has enabled culling and the element
+   * is completely outside of the clip area of that parent. We assume that children are always inside of their parent
+   * so a culled element hides its whole subtree.
+   *
+   * @return true when this element (and all of its children) can't be seen
+   */
+  public boolean isCulled() {
+    if (!parentClipArea || !parentClipCull) {
+      return false;
+    }
+    return getX() >= parentClipX + parentClipWidth ||
+        getX() + getWidth() <= parentClipX ||
+        getY() >= parentClipY + parentClipHeight ||
+        getY() + getHeight() <= parentClipY;
+  }
+
   public void resetEffects() {
     effectManager.reset();
     if (children != null) {
@@ -1686,6 +1748,15 @@ public class Element implements NiftyEvent, EffectManager.Notify {
       @Nonnull final NiftyMouseInputEvent mouseEvent,
       final long eventTime,
       @Nonnull final MouseOverHandler mouseOverHandler) {
+    if (isCulled()) {
+      if (mouseCulled) {
+        return;
+      }
+      // the first time we're culled we still process the mouse so that active hover effects are ended
+      mouseCulled = true;
+    } else {
+      mouseCulled = false;
+    }
     boolean isInside = isInside(mouseEvent);
     if (canHandleMouseEvents()) {
       if (isInside) {
@@ -1720,15 +1791,42 @@ public class Element implements NiftyEvent, EffectManager.Notify {
    */
   public boolean mouseEvent(@Nonnull final NiftyMouseInputEvent mouseEvent, final long eventTime) {
     mouseEventHover(mouseEvent);
-    return interaction.process(mouseEvent, eventTime, isInside(mouseEvent), canHandleInteraction(),
-        focusHandler.hasExclusiveMouseFocus(this));
+    return mouseEventInteraction(mouseEvent, eventTime);
   }
 
-  private void mouseEventHover(@Nonnull final NiftyMouseInputEvent mouseEvent) {
+  /**
+   * Process the hover effects (onHover, onStartHover and onEndHover) of this element for the given mouse event.
+   *
+   * @param mouseEvent the mouse event
+   */
+  public void mouseEventHover(@Nonnull final NiftyMouseInputEvent mouseEvent) {
     effectManager.handleHover(this, mouseEvent.getMouseX(), mouseEvent.getMouseY());
     effectManager.handleHoverStartAndEnd(this, mouseEvent.getMouseX(), mouseEvent.getMouseY());
   }
 
+  /**
+   * Process the interaction (click, release, ...) of this element for the given mouse event without touching any
+   * hover effects.
+   *
+   * @param mouseEvent the mouse event
+   * @param eventTime is the current time in milliseconds
+   * @return True if the event has been processed
+   */
+  public boolean mouseEventInteraction(@Nonnull final NiftyMouseInputEvent mouseEvent, final long eventTime) {
+    return interaction.process(mouseEvent, eventTime, isInside(mouseEvent), canHandleInteraction(),
+        focusHandler.hasExclusiveMouseFocus(this));
+  }
+
+  /**
+   * Returns true when this element has hover effects that use a falloff with a hover constraint. The active state of
+   * these effects depends on the mouse position and not only on the mouse being inside of the element or not.
+   *
+   * @return true when the hover effects of this element need to be processed for every mouse event
+   */
+  public boolean hasPositionDependentHoverEffects() {
+    return effectManager.hasPositionDependentHoverEffects();
+  }
+
   /**
    * Handles the MouseOverEvent. Must not call child elements. This is handled by the caller.
    *
@@ -2088,6 +2186,28 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     return this.clipChildren;
   }
 
+  /**
+   * Enable culling of children that are completely outside of this element. Culled children (including all of their
+   * children) are not rendered and not checked for mouse events. Culling only works when clipChildren is enabled as
+   * well and it requires a layout to become active. Use this for elements that show only a small part of a large
+   * number of children, like a scroll panel.
+   *
+   * @param cullChildrenParam true to enable culling
+   * @param cullChildrenLayoutParam true to skip the layout of the children of culled elements as well
+   */
+  public void setCullChildren(final boolean cullChildrenParam, final boolean cullChildrenLayoutParam) {
+    this.cullChildren = cullChildrenParam;
+    this.cullChildrenLayout = cullChildrenLayoutParam;
+  }
+
+  public boolean isCullChildren() {
+    return this.cullChildren;
+  }
+
+  public boolean isCullChildrenLayout() {
+    return this.cullChildrenLayout;
+  }
+
   public void setRenderOrder(final int renderOrder) {
     this.renderOrder = renderOrder;
     if (parent != null) {
@@ -2161,20 +2281,6 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     }
   }
   
-  /**
-  * An internal class that handles a possible style changing.
-  * @see Nifty#registerStyle(de.lessvoid.nifty.loaderv2.types.StyleType)
-  */
-  private class StyleRefresh implements EventTopicSubscriber {
-    @Override
-    public void onEvent(final String string, final Object style) {
-      log.fine("Rereshing style of " + Element.this.getId());
-      String styleid = style.toString();
-      String simplyStyle = styleid.split("#")[0];
-      Element.this.setStyle(simplyStyle);
-    }
-  }
-
   /**
    * @author void
    */
@@ -2314,7 +2420,6 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     final String oldStyle = getStyle();
     if (oldStyle != null) {
       removeStyle(oldStyle);
-      nifty.getEventService().unsubscribe("style-refresh:" + oldStyle, styleListener);
     }
     elementType.getAttributes().set("style", newStyle);
     elementType.applyStyles(nifty.getDefaultStyleResolver());
@@ -2327,9 +2432,26 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     }
     layoutElements();
     log.fine("after setStyle [" + newStyle + "]\n" + elementType.output(0));
+    registerStyleRefresh();
     publishEvent();
   }
 
+  /**
+   * Make sure the current style is applied again when it is changed.
+   *
+   * @see Nifty#registerStyle(de.lessvoid.nifty.loaderv2.types.StyleType)
+   */
+  private void registerStyleRefresh() {
+    if (styleRegistration != null) {
+      styleRegistration.remove();
+      styleRegistration = null;
+    }
+    String style = getStyle();
+    if (style != null) {
+      styleRegistration = nifty.getRefreshRegistry().registerStyledElement(style, this);
+    }
+  }
+
   @Nullable
   public String getStyle() {
     return elementType.getAttributes().get("style");
@@ -2593,6 +2715,39 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     }
   }
 
+  /**
+   * Set the key that is used to keep this element in the {@link ElementPool} of the screen when it is removed. When
+   * the key is null (which is the default) the element is discarded on removal.
+   *
+   * @param poolKey the pool key or null
+   */
+  public void setPoolKey(@Nullable final Object poolKey) {
+    this.poolKey = poolKey;
+  }
+
+  @Nullable
+  public Object getPoolKey() {
+    return poolKey;
+  }
+
+  /**
+   * Prepare this element and all of its children to be added to the screen again after it has been kept in the
+   * ElementPool. The state that the removal left behind is reset and the element is no longer bound to a screen, so
+   * {@link #bindControls(Screen)} registers the ids and binds the controls again. Removing the element ended all of
+   * its event subscriptions, binding the controls again lets them subscribe again.
+   */
+  public void resetForReuse() {
+    screen = null;
+    done = false;
+    interactionBlocked = false;
+    if (children != null) {
+      final int childrenCount = children.size();
+      for (int i = 0; i < childrenCount; i++) {
+        children.get(i).resetForReuse();
+      }
+    }
+  }
+
   public void reactivate() {
     done = false;
     if (children != null) {
@@ -0,0 +1,160 @@
+package de.lessvoid.nifty.elements;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ElementPool keeps removed elements for reuse. Each pooled element is stored together with a key, usually the
+ * ElementType the element has been created from or any other object that identifies elements that can replace each
+ * other. Creating an element from the pool skips the creation of the whole element tree including all the effects,
+ * renderers and controls.
+ * <p/>
+ * Only elements that have a pool key (see {@link Element#setPoolKey(Object)}) are put into the pool when they are
+ * removed. The pool never keeps more than maxSize elements. When the pool is full removed elements are discarded as
+ * usual.
+ *
+ * @author void
+ */
+public class ElementPool {
+  /**
+   * The default number of elements the pool keeps.
+   */
+  public static final int DEFAULT_MAX_SIZE = 64;
+
+  @Nonnull
+  private final Map<Object, List<Element>> pooledElements = new HashMap<Object, List<Element>>();
+  private int maxSize;
+  private int size;
+  private int hitCount;
+  private int missCount;
+  private int discardCount;
+
+  public ElementPool() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  public ElementPool(final int maxSize) {
+    this.maxSize = Math.max(0, maxSize);
+  }
+
+  /**
+   * Take an element with the given key out of the pool.
+   *
+   * @param key the pool key
+   * @return the element or null when there is no element with this key in the pool
+   */
+  @Nullable
+  public Element poll(@Nonnull final Object key) {
+    List<Element> elements = pooledElements.get(key);
+    if (elements == null || elements.isEmpty()) {
+      missCount++;
+      return null;
+    }
+    hitCount++;
+    size--;
+    return elements.remove(elements.size() - 1);
+  }
+
+  /**
+   * Put an element into the pool.
+   *
+   * @param key     the pool key
+   * @param element the removed element
+   * @return true when the element has been added and false when the pool is full
+   */
+  public boolean offer(@Nonnull final Object key, @Nonnull final Element element) {
+    if (isFull()) {
+      discardCount++;
+      return false;
+    }
+    List<Element> elements = pooledElements.get(key);
+    if (elements == null) {
+      elements = new ArrayList<Element>();
+      pooledElements.put(key, elements);
+    }
+    elements.add(element);
+    size++;
+    return true;
+  }
+
+  public boolean isFull() {
+    return size >= maxSize;
+  }
+
+  /**
+   * Remove all elements from the pool.
+   */
+  public void clear() {
+    pooledElements.clear();
+    size = 0;
+  }
+
+  /**
+   * Change the maximum number of elements in the pool. When the pool contains more elements they are dropped.
+   *
+   * @param newMaxSize the new maximum number of elements
+   */
+  public void setMaxSize(final int newMaxSize) {
+    maxSize = Math.max(0, newMaxSize);
+    Iterator<List<Element>> it = pooledElements.values().iterator();
+    while (size > maxSize && it.hasNext()) {
+      List<Element> elements = it.next();
+      while (size > maxSize && !elements.isEmpty()) {
+        elements.remove(elements.size() - 1);
+        size--;
+        discardCount++;
+      }
+      if (elements.isEmpty()) {
+        it.remove();
+      }
+    }
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * @return the number of elements currently kept in the pool
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * @return how often an element could be taken out of the pool
+   */
+  public int getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * @return how often there was no element with the requested key in the pool
+   */
+  public int getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * @return how often an element could not be added because the pool was full
+   */
+  public int getDiscardCount() {
+    return discardCount;
+  }
+
+  /**
+   * Get current state as a String supposed for debug output.
+   *
+   * @return info
+   */
+  @Nonnull
+  public String getInfoString() {
+    return "element pool: size [" + size + "/" + maxSize + "] hits [" + hitCount + "] misses [" + missCount + "] " +
+        "discarded [" + discardCount + "]";
+  }
+}
@@ -0,0 +1,47 @@
+package de.lessvoid.nifty.elements;
+
+import de.lessvoid.nifty.screen.Screen;
+
+import javax.annotation.Nonnull;
+
+/**
+ * This is the action to remove a element from the screen and keep it in the ElementPool of the screen. Other than the
+ * ElementRemoveAction this keeps the children of the element so that the whole element tree can be reused. When the
+ * pool is full the element is removed just like the ElementRemoveAction does.
+ *
+ * @author void
+ */
+public class ElementRecycleAction implements Action {
+  @Nonnull
+  private final Screen screen;
+  @Nonnull
+  private final Element recycledElement;
+  @Nonnull
+  private final Object poolKey;
+
+  public ElementRecycleAction(
+      @Nonnull final Screen screen,
+      @Nonnull final Element recycledElement,
+      @Nonnull final Object poolKey) {
+    this.screen = screen;
+    this.recycledElement = recycledElement;
+    this.poolKey = poolKey;
+  }
+
+  @Override
+  public void perform() {
+    recycledElement.removeFromFocusHandler();
+    recycledElement.resetAllEffects();
+    recycledElement.onEndScreen(screen);
+
+    if (!recycledElement.hasParent() || !screen.getElementPool().offer(poolKey, recycledElement)) {
+      recycledElement.internalRemoveElementWithChildren();
+    }
+    if (recycledElement.hasParent()) {
+      recycledElement.getParent().internalRemoveElement(recycledElement);
+      recycledElement.getParent().layoutElements();
+    } else {
+      screen.removeLayerElement(recycledElement);
+    }
+  }
+}
@@ -6,16 +6,15 @@ import java.util.List;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-import org.bushe.swing.event.EventSubscriber;
-
 import de.lessvoid.nifty.Nifty;
-import de.lessvoid.nifty.NiftyLocaleChangedEvent;
+import de.lessvoid.nifty.NiftyRefreshRegistry;
 import de.lessvoid.nifty.elements.Element;
 import de.lessvoid.nifty.elements.tools.FontHelper;
 import de.lessvoid.nifty.elements.tools.TextBreak;
 import de.lessvoid.nifty.layout.align.HorizontalAlign;
 import de.lessvoid.nifty.layout.align.VerticalAlign;
 import de.lessvoid.nifty.render.NiftyRenderEngine;
+import de.lessvoid.nifty.render.TextRuns;
 import de.lessvoid.nifty.spi.render.RenderFont;
 import de.lessvoid.nifty.tools.Color;
 import de.lessvoid.nifty.tools.SizeValue;
@@ -25,7 +24,7 @@ import de.lessvoid.nifty.tools.SizeValue;
  *
  * @author void
  */
-public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocaleChangedEvent> {
+public class TextRenderer implements ElementRenderer {
   /**
    * The default color used by the renderer.
    */
@@ -50,6 +49,12 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
   @Nullable
   private String[] textLines;
 
+  /**
+   * the text to output with the color markup already parsed (one TextRuns for each of the textLines).
+   */
+  @Nullable
+  private TextRuns[] textLineRuns;
+
   /**
    * max width of all text strings.
    */
@@ -134,12 +139,56 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
 
   private String originalTextBeforeSpecialValues;
 
+  /**
+   * Set as long as the text contains "${...}" values that need to be replaced again when the locale changes.
+   */
+  @Nullable
+  private NiftyRefreshRegistry.Registration localizedTextRegistration;
+
+  /*
+   * Measurement cache. The width of every line in textLines is measured only once with the font that is used for
+   * rendering. The x offsets for the horizontal alignment are kept as long as the width of the element and the
+   * alignment don't change. This way rendering a text that has not been changed does no font measurement at all.
+   * The cache is dropped when the text or the font changes.
+   */
+  @Nullable
+  private RenderFont measuredFont;
+  @Nullable
+  private int[] lineWidths;
+  @Nullable
+  private int[] lineAlignOffsets;
+  private int alignedElementWidth;
+  @Nullable
+  private HorizontalAlign alignedHAlign;
+
+  /*
+   * Cache for the xOffsetHack rendering: the part of each line that is still visible, the x offset of that part and
+   * the number of characters that have been cut from the start of the line.
+   */
+  @Nullable
+  private String[] offsetHackLines;
+  @Nullable
+  private int[] offsetHackXOffsets;
+  @Nullable
+  private int[] offsetHackCutCharacters;
+  private int offsetHackValue;
+
+  /*
+   * Cache for the line wrapping. We remember the text, font and width that has been used to calculate wrappedLines.
+   */
+  @Nullable
+  private String[] wrappedLines;
+  @Nullable
+  private String wrappedText;
+  @Nullable
+  private RenderFont wrappedFont;
+  private int wrappedWidth;
+
   /**
    * default constructor.
    */
   public TextRenderer(@Nonnull final Nifty nifty) {
     this.nifty = nifty;
-    this.nifty.getEventService().subscribe(NiftyLocaleChangedEvent.class, this);
     originalText = "";
   }
 
@@ -151,7 +200,6 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
    */
   public TextRenderer(@Nonnull final Nifty nifty, @Nonnull final RenderFont newFont, @Nullable final String newText) {
     this.nifty = nifty;
-    this.nifty.getEventService().subscribe(NiftyLocaleChangedEvent.class, this);
     init(newFont, newText);
   }
 
@@ -180,6 +228,7 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
    */
   private void initText(@Nullable final String text, final boolean changeExistingText) {
     this.originalTextBeforeSpecialValues = text;
+    updateLocalizedTextRegistration(text);
 
     String newText = nifty.specialValuesReplace(text);
     if (lineWrapping && isCalculatedLineWrapping) {
@@ -187,23 +236,101 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
     }
 
     this.originalText = newText;
-    this.textLines = newText.split("\n", -1);
+    setTextLines(newText.split("\n", -1));
     if (changeExistingText && hasBeenLayoutedElement != null) {
       hasBeenLayoutedElement.getParent().layoutElements();
     }
 
     maxWidth = 0;
     if (font != null) {
-      for (int i = 0; i < textLines.length; i++) {
-        String line = textLines[i];
-        int lineWidth = font.getWidth(line);
-        if (lineWidth > maxWidth) {
-          maxWidth = lineWidth;
+      int[] widths = ensureLineWidths(font);
+      for (int i = 0; i < widths.length; i++) {
+        if (widths[i] > maxWidth) {
+          maxWidth = widths[i];
         }
       }
     }
   }
 
+  private void setTextLines(@Nonnull final String[] newTextLines) {
+    textLines = newTextLines;
+    textLineRuns = new TextRuns[newTextLines.length];
+    for (int i = 0; i < newTextLines.length; i++) {
+      textLineRuns[i] = TextRuns.parse(newTextLines[i]);
+    }
+    invalidateMeasurements();
+  }
+
+  private void invalidateMeasurements() {
+    measuredFont = null;
+    lineWidths = null;
+    lineAlignOffsets = null;
+    offsetHackLines = null;
+    offsetHackXOffsets = null;
+    offsetHackCutCharacters = null;
+  }
+
+  /**
+   * Make sure that the lineWidths are measured with the given font.
+   *
+   * @param renderFont the font used for rendering
+   * @return the width of each line of textLines
+   */
+  @Nonnull
+  private int[] ensureLineWidths(@Nonnull final RenderFont renderFont) {
+    if (lineWidths != null && measuredFont == renderFont) {
+      return lineWidths;
+    }
+    invalidateMeasurements();
+    TextRuns[] lines = textLineRuns;
+    int[] widths = new int[lines == null ? 0 : lines.length];
+    for (int i = 0; i < widths.length; i++) {
+      widths[i] = renderFont.getWidth(lines[i].getText());
+    }
+    measuredFont = renderFont;
+    lineWidths = widths;
+    return widths;
+  }
+
+  @Nonnull
+  private int[] ensureLineAlignOffsets(@Nonnull final RenderFont renderFont, final int elementWidth) {
+    int[] widths = ensureLineWidths(renderFont);
+    if (lineAlignOffsets != null && alignedElementWidth == elementWidth && alignedHAlign == textHAlign) {
+      return lineAlignOffsets;
+    }
+    int[] offsets = new int[widths.length];
+    for (int i = 0; i < widths.length; i++) {
+      offsets[i] = getStartXWithHorizontalAlign(widths[i], elementWidth, textHAlign);
+    }
+    alignedElementWidth = elementWidth;
+    alignedHAlign = textHAlign;
+    lineAlignOffsets = offsets;
+    return offsets;
+  }
+
+  private void ensureOffsetHack(@Nonnull final RenderFont renderFont) {
+    ensureLineWidths(renderFont);
+    if (offsetHackLines != null && offsetHackValue == xOffsetHack) {
+      return;
+    }
+    String[] lines = textLines;
+    int count = lines == null ? 0 : lines.length;
+    String[] visibleLines = new String[count];
+    int[] xOffsets = new int[count];
+    int[] cutCharacters = new int[count];
+    for (int i = 0; i < count; i++) {
+      String line = lines[i];
+      int fittingOffset = FontHelper.getVisibleCharactersFromStart(renderFont, line, Math.abs(xOffsetHack), 1.0f);
+      cutCharacters[i] = fittingOffset;
+      xOffsets[i] = renderFont.getWidth(line.substring(0, fittingOffset));
+      visibleLines[i] = line.substring(fittingOffset, line.length());
+    }
+    offsetHackValue = xOffsetHack;
+    offsetHackLines = visibleLines;
+    offsetHackXOffsets = xOffsets;
+    offsetHackCutCharacters = cutCharacters;
+  }
+
   /**
    * render the stuff.
    *
@@ -212,13 +339,17 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
    */
   @Override
   public void render(@Nonnull final Element w, @Nonnull final NiftyRenderEngine r) {
-    if (textLines == null) {
+    if (textLines == null || textLineRuns == null) {
       return;
     }
-    renderLines(w, r, textLines);
+    renderLines(w, r, textLines, textLineRuns);
   }
 
-  private void renderLines(@Nonnull final Element w, @Nonnull final NiftyRenderEngine r, @Nonnull String... lines) {
+  private void renderLines(
+      @Nonnull final Element w,
+      @Nonnull final NiftyRenderEngine r,
+      @Nonnull final String[] lines,
+      @Nonnull final TextRuns[] lineRuns) {
     RenderFont font = ensureFont(r);
 
     if (font == null) {
@@ -228,19 +359,29 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
     boolean stateSaved = prepareRenderEngine(r, font);
 
     int y = getStartYWithVerticalAlign(lines.length * font.getHeight(), w.getHeight(), textVAlign);
-    for (String line : lines) {
-      int yy = w.getY() + y;
-      if (Math.abs(xOffsetHack) > 0) {
-        int fittingOffset = FontHelper.getVisibleCharactersFromStart(font, line, Math.abs(xOffsetHack), 1.0f);
-        String cut = line.substring(0, fittingOffset);
-        String substring = line.substring(fittingOffset, line.length());
-        int xx = w.getX() + xOffsetHack + font.getWidth(cut);
-        renderLine(xx, yy, substring, r, selectionStart - fittingOffset, selectionEnd - fittingOffset);
-      } else {
-        int xx = w.getX() + getStartXWithHorizontalAlign(font.getWidth(line), w.getWidth(), textHAlign);
-        renderLine(xx, yy, line, r, selectionStart, selectionEnd);
+    if (Math.abs(xOffsetHack) > 0) {
+      ensureOffsetHack(font);
+      String[] visibleLines = offsetHackLines;
+      int[] xOffsets = offsetHackXOffsets;
+      int[] cutCharacters = offsetHackCutCharacters;
+      for (int i = 0; i < lines.length; i++) {
+        int yy = w.getY() + y;
+        int xx = w.getX() + xOffsetHack + xOffsets[i];
+        renderLine(xx, yy, visibleLines[i], r, selectionStart - cutCharacters[i], selectionEnd - cutCharacters[i]);
+        y += font.getHeight();
+      }
+    } else {
+      int[] alignOffsets = ensureLineAlignOffsets(font, w.getWidth());
+      for (int i = 0; i < lines.length; i++) {
+        int yy = w.getY() + y;
+        int xx = w.getX() + alignOffsets[i];
+        if (isSelection()) {
+          renderLine(xx, yy, lines[i], r, selectionStart, selectionEnd);
+        } else {
+          r.renderTextRuns(lineRuns[i], xx, yy);
+        }
+        y += font.getHeight();
       }
-      y += font.getHeight();
     }
 
     restoreRenderEngine(r, stateSaved);
@@ -325,6 +466,10 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
     }
   }
 
+  private boolean isSelection() {
+    return !(selectionStart == -1 && selectionEnd == -1);
+  }
+
   /**
    * render line.
    *
@@ -414,6 +559,9 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
    * @param fontParam the font or {@code null} in case the font of the render engine is supposed to be used
    */
   public void setFont(@Nullable final RenderFont fontParam) {
+    if (this.font != fontParam) {
+      invalidateMeasurements();
+    }
     this.font = fontParam;
   }
 
@@ -484,13 +632,16 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
   }
 
   @Nonnull
-  private String[] wrapText(final int width, @Nonnull final NiftyRenderEngine r, @Nonnull final String... textLines) {
+  private String[] wrapText(final int width, @Nonnull final NiftyRenderEngine r) {
     RenderFont font = ensureFont(r);
     if (font == null) {
-      return textLines;
+      return originalText.split("\n", -1);
+    }
+    if (wrappedLines != null && wrappedFont == font && wrappedWidth == width && originalText.equals(wrappedText)) {
+      return wrappedLines;
     }
     List<String> lines = new ArrayList<String>();
-    for (String line : textLines) {
+    for (String line : originalText.split("\n", -1)) {
       int lineLengthInPixel = font.getWidth(line);
       if (lineLengthInPixel > width) {
         lines.addAll(new TextBreak(line, width, font).split());
@@ -498,7 +649,11 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
         lines.add(line);
       }
     }
-    return lines.toArray(new String[lines.size()]);
+    wrappedLines = lines.toArray(new String[lines.size()]);
+    wrappedText = originalText;
+    wrappedFont = font;
+    wrappedWidth = width;
+    return wrappedLines;
   }
 
   public void setWidthConstraint(
@@ -522,7 +677,10 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
     // remember some values so that we can correctly do auto word wrapping when someone changes the text
     this.hasBeenLayoutedElement = element;
 
-    this.textLines = wrapText(valueAsInt, renderEngine, originalText.split("\n", -1));
+    String[] lines = wrapText(valueAsInt, renderEngine);
+    if (lines != textLines) {
+      setTextLines(lines);
+    }
 
     maxWidth = valueAsInt;
 
@@ -576,8 +734,20 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
     return textSelectionColor;
   }
 
-  @Override
-  public void onEvent(final NiftyLocaleChangedEvent event) {
+  /**
+   * Replace the "${...}" values of the text again. Nifty calls this when the locale changes.
+   */
+  public void refreshText() {
     setText(originalTextBeforeSpecialValues);
   }
+
+  private void updateLocalizedTextRegistration(@Nullable final String text) {
+    boolean localized = text != null && text.contains("${");
+    if (localized && localizedTextRegistration == null) {
+      localizedTextRegistration = nifty.getRefreshRegistry().registerLocalizedText(this);
+    } else if (!localized && localizedTextRegistration != null) {
+      localizedTextRegistration.remove();
+      localizedTextRegistration = null;
+    }
+  }
 }
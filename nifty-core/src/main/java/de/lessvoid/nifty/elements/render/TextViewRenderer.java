@@ -0,0 +1,218 @@
+package de.lessvoid.nifty.elements.render;
+
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.elements.tools.TextLineStore;
+import de.lessvoid.nifty.render.NiftyRenderEngine;
+import de.lessvoid.nifty.render.TextRuns;
+import de.lessvoid.nifty.spi.render.RenderFont;
+import de.lessvoid.nifty.tools.Color;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The TextViewRenderer renders a potentially very large number of text lines, for instance the output of a log or a
+ * console. Other than the TextRenderer it doesn't keep all the lines as Strings but stores them in a TextLineStore.
+ * Only the lines that are visible inside of the element are rendered and scrolling just changes the index of the first
+ * visible line.
+ *
+ * @author void
+ */
+public class TextViewRenderer implements ElementRenderer {
+  @Nonnull
+  private final TextLineStore lineStore = new TextLineStore();
+
+  @Nullable
+  private RenderFont font;
+
+  @Nonnull
+  private Color color = TextRenderer.DEFAULT_COLOR;
+
+  /**
+   * the index of the first line to render when we're not following the end of the text.
+   */
+  private int firstLine;
+
+  /**
+   * when true the view always shows the last lines of the text.
+   */
+  private boolean followTail = true;
+
+  /**
+   * The TextRuns of the lines that have been rendered recently. A line with the index i is stored at the position
+   * i % cachedRuns.length.
+   */
+  @Nonnull
+  private TextRuns[] cachedRuns = new TextRuns[0];
+  @Nonnull
+  private int[] cachedRunsLine = new int[0];
+  private int cachedRunsVersion;
+
+  @Override
+  public void render(@Nonnull final Element w, @Nonnull final NiftyRenderEngine r) {
+    RenderFont renderFont = font == null ? r.getFont() : font;
+    if (renderFont == null || lineStore.getLineCount() == 0) {
+      return;
+    }
+    int lineHeight = renderFont.getHeight();
+    if (lineHeight <= 0) {
+      return;
+    }
+
+    int visibleLineCount = getVisibleLineCount(w.getHeight(), lineHeight);
+    int first = getFirstVisibleLine(visibleLineCount);
+    int last = Math.min(lineStore.getLineCount(), first + visibleLineCount);
+    ensureRunsCache(visibleLineCount);
+
+    if (!r.isColorChanged()) {
+      if (r.isColorAlphaChanged()) {
+        r.setColorIgnoreAlpha(color);
+      } else {
+        r.setColor(color);
+      }
+    }
+    boolean stateSaved = false;
+    if (r.getFont() == null) {
+      r.saveStates();
+      r.setFont(renderFont);
+      stateSaved = true;
+    }
+
+    int y = w.getY();
+    for (int i = first; i < last; i++) {
+      r.renderTextRuns(getRuns(i), w.getX(), y);
+      y += lineHeight;
+    }
+
+    if (stateSaved) {
+      r.restoreStates();
+    }
+  }
+
+  /**
+   * Access the lines of this TextViewRenderer. You can add, remove or change lines directly in the TextLineStore.
+   *
+   * @return the TextLineStore
+   */
+  @Nonnull
+  public TextLineStore getLineStore() {
+    return lineStore;
+  }
+
+  /**
+   * Append text to the end. The text is split into lines at each '\n'.
+   *
+   * @param text the text to append
+   */
+  public void append(@Nonnull final String text) {
+    lineStore.append(text);
+  }
+
+  /**
+   * Remove all lines.
+   */
+  public void clear() {
+    lineStore.clear();
+    firstLine = 0;
+  }
+
+  /**
+   * Scroll so that the line with the given index is the first visible line. This stops following the end of the
+   * text.
+   *
+   * @param line the index of the first line to show
+   */
+  public void scrollTo(final int line) {
+    firstLine = Math.max(0, line);
+    followTail = false;
+  }
+
+  /**
+   * Scroll to the end of the text and keep showing the last lines when new lines are added.
+   */
+  public void scrollToEnd() {
+    followTail = true;
+  }
+
+  public boolean isFollowTail() {
+    return followTail;
+  }
+
+  /**
+   * Get the index of the first line that is visible in the given element.
+   *
+   * @param element the element this renderer is attached to
+   * @return the index of the first visible line
+   */
+  public int getFirstVisibleLine(@Nonnull final Element element) {
+    RenderFont renderFont = font;
+    if (renderFont == null || renderFont.getHeight() <= 0) {
+      return followTail ? 0 : firstLine;
+    }
+    return getFirstVisibleLine(getVisibleLineCount(element.getHeight(), renderFont.getHeight()));
+  }
+
+  /**
+   * Get the number of lines that fit into the given element. A line that is only partly visible is counted too.
+   *
+   * @param element the element this renderer is attached to
+   * @return the number of visible lines or 0 when the font is not known yet
+   */
+  public int getVisibleLineCount(@Nonnull final Element element) {
+    RenderFont renderFont = font;
+    if (renderFont == null || renderFont.getHeight() <= 0) {
+      return 0;
+    }
+    return getVisibleLineCount(element.getHeight(), renderFont.getHeight());
+  }
+
+  @Nullable
+  public RenderFont getFont() {
+    return font;
+  }
+
+  public void setFont(@Nullable final RenderFont font) {
+    this.font = font;
+  }
+
+  @Nonnull
+  public Color getColor() {
+    return color;
+  }
+
+  public void setColor(@Nonnull final Color color) {
+    this.color = color;
+  }
+
+  private int getVisibleLineCount(final int elementHeight, final int lineHeight) {
+    return Math.max(0, (elementHeight + lineHeight - 1) / lineHeight);
+  }
+
+  private int getFirstVisibleLine(final int visibleLineCount) {
+    int maxFirstLine = Math.max(0, lineStore.getLineCount() - visibleLineCount);
+    if (followTail) {
+      return maxFirstLine;
+    }
+    return Math.min(firstLine, maxFirstLine);
+  }
+
+  private void ensureRunsCache(final int visibleLineCount) {
+    if (cachedRuns.length != visibleLineCount || cachedRunsVersion != lineStore.getVersion()) {
+      cachedRuns = new TextRuns[visibleLineCount];
+      cachedRunsLine = new int[visibleLineCount];
+      cachedRunsVersion = lineStore.getVersion();
+    }
+  }
+
+  @Nonnull
+  private TextRuns getRuns(final int line) {
+    int slot = line % cachedRuns.length;
+    TextRuns runs = cachedRuns[slot];
+    if (runs == null || cachedRunsLine[slot] != line) {
+      runs = TextRuns.parse(lineStore.getLine(line));
+      cachedRuns[slot] = runs;
+      cachedRunsLine[slot] = line;
+    }
+    return runs;
+  }
+}
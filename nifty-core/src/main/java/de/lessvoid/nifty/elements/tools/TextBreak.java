@@ -1,5 +1,6 @@
 package de.lessvoid.nifty.elements.tools;
 
+import de.lessvoid.nifty.render.TextRuns;
 import de.lessvoid.nifty.spi.render.RenderFont;
 
 import javax.annotation.Nonnull;
@@ -7,113 +8,153 @@ import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Breaks a single line of text into several lines that fit into the given width.
+ * <p/>
+ * The advances of all characters of the line are measured only once and summed up into a prefix width array. The
+ * width of every part of the line is then just the difference of two array entries and the position where a line needs
+ * to be broken can be found with a binary search. Substrings are only created for the resulting lines. Color markup
+ * ({@code \#rrggbb#}) has no width and the color that is active at the start of a broken line is prepended to it.
+ */
 public class TextBreak {
   @Nonnull
-  private final String[] words;
+  private final String line;
   private final int width;
   private final RenderFont font;
 
+  /**
+   * prefixWidth[i] is the width of all the characters before index i.
+   */
+  private int[] prefixWidth;
+
+  /**
+   * colorStart[i] is the index of the last color markup that starts before index i or -1 if there is none. colorEnd[i]
+   * is the index right behind the end of that markup.
+   */
+  private int[] colorStart;
+  private int[] colorEnd;
+
   public TextBreak(@Nonnull final String line, final int width, final RenderFont font) {
-    this.words = line.split(" ", -1);
+    this.line = line;
     this.width = width;
     this.font = font;
   }
 
   @Nonnull
   public List<String> split() {
-    if (isSingleLine()) {
-      return singleResult();
-    }
-    return processWords();
-  }
-
-  @Nonnull
-  private List<String> singleResult() {
+    measure();
     List<String> result = new ArrayList<String>();
-    result.add(words[0]);
-    return result;
-  }
+    int length = line.length();
+    if (length == 0 || isBelowLimit(prefixWidth[length])) {
+      result.add(line);
+      return result;
+    }
 
-  @Nonnull
-  private List<String> processWords() {
-    List<String> result = new ArrayList<String>();
-    int i = 0, length;
-    String currentWord = "";
-    String lastColorValue = null;
-    StringBuilder currentLine = new StringBuilder();
-    while (isValidIndex(i)) {
-      //Empty StringBuffer
-      currentLine.setLength(0);
-      length = 0;
-      while (isBelowLimit(length) && isValidIndex(i)) {
-        currentWord = getWord(i, length == 0);
-        String colorValue = extractColorValue(currentWord);
-        if (colorValue != null) {
-          lastColorValue = colorValue;
-        }
-        length += font.getWidth(currentWord);
-        if (isBelowLimit(length)) {
-          currentLine.append(currentWord);
-          i++;
-        }
+    int start = 0;
+    while (start < length) {
+      int end = findLastFittingEnd(start);
+      if (end >= length) {
+        addResult(result, start, length);
+        break;
       }
-      if (currentLine.length() > 0) {
-        addResult(result, lastColorValue, currentLine.toString());
-      } else { //If we get here the word itself is longer than the wrapping width
-        //We break it up
-        String wordPart = currentWord;
-        int p;
-        do {
-          p = 0;
-          while (!isBelowLimit(font.getWidth(wordPart)) && wordPart.length() > 0) {
-            //Remove one character from the end and see if the new word fits
-            wordPart = wordPart.substring(0, wordPart.length() - 1);
-            p++;
-          }
-          addResult(result, lastColorValue, wordPart);
-          //Set the new word part to the rest of the word
-          wordPart = currentWord.substring(currentWord.length() - p);
-          String colorValue = extractColorValue(wordPart);
-          if (colorValue != null) {
-            lastColorValue = colorValue;
-          }
-        } while (p > 0);
-        i++;
+      int space = findBreakingSpace(start, end);
+      if (space != -1) {
+        addResult(result, start, space);
+        start = space + 1;
+      } else {
+        // the word itself is longer than the wrapping width so we break it up
+        addResult(result, start, end);
+        start = end;
       }
     }
     return result;
   }
 
-  private void addResult(
-      @Nonnull final List<String> result,
-      @Nullable final String lastColorValue,
-      final String currentLine) {
-    if (lastColorValue != null) {
-      result.add(lastColorValue + currentLine);
-    } else {
-      result.add(currentLine);
+  /**
+   * Measure the whole line once. This calculates the prefix width array and remembers the color markup positions.
+   */
+  private void measure() {
+    int length = line.length();
+    prefixWidth = new int[length + 1];
+    colorStart = new int[length + 1];
+    colorEnd = new int[length + 1];
+
+    int lastColorStart = -1;
+    int lastColorEnd = -1;
+    int i = 0;
+    while (i < length) {
+      int markupEnd = TextRuns.getColorMarkupEnd(line, i);
+      if (markupEnd != -1) {
+        for (int j = i; j < markupEnd; j++) {
+          prefixWidth[j + 1] = prefixWidth[j];
+          colorStart[j] = lastColorStart;
+          colorEnd[j] = lastColorEnd;
+        }
+        lastColorStart = i;
+        lastColorEnd = markupEnd;
+        i = markupEnd;
+        continue;
+      }
+
+      char current = line.charAt(i);
+      char next = i + 1 < length ? line.charAt(i + 1) : 0;
+      int advance = font.getCharacterAdvance(current, next, 1.0f);
+      prefixWidth[i + 1] = prefixWidth[i] + (advance > 0 ? advance : 0);
+      colorStart[i] = lastColorStart;
+      colorEnd[i] = lastColorEnd;
+      i++;
     }
+    colorStart[length] = lastColorStart;
+    colorEnd[length] = lastColorEnd;
   }
 
-  private boolean isValidIndex(final int i) {
-    return i < words.length;
+  /**
+   * Find the greatest end index so that the part of the line from start to this index still fits into the width. At
+   * least one character is always taken so that a very small width can't stop the line breaking.
+   */
+  private int findLastFittingEnd(final int start) {
+    int low = start + 1;
+    int high = line.length();
+    int limit = prefixWidth[start] + width;
+    if (prefixWidth[low] >= limit) {
+      int markupEnd = TextRuns.getColorMarkupEnd(line, start);
+      return markupEnd != -1 ? markupEnd : low;
+    }
+    while (low < high) {
+      int mid = (low + high + 1) >>> 1;
+      if (prefixWidth[mid] < limit) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return low;
   }
 
-  private boolean isBelowLimit(final int currentLineLength) {
-    return currentLineLength < width;
+  /**
+   * Find the last space that can be used to break the line between start and end. The character at end itself is a
+   * candidate too because in that case the whole word in front of it still fits.
+   */
+  private int findBreakingSpace(final int start, final int end) {
+    for (int i = end; i > start; i--) {
+      if (line.charAt(i) == ' ') {
+        return i;
+      }
+    }
+    return -1;
   }
 
-  private String getWord(final int i, final boolean newLine) {
-    String currentWord = words[i];
-    if (i > 0 && !newLine) {
-      currentWord = " " + currentWord;
+  private void addResult(@Nonnull final List<String> result, final int start, final int end) {
+    int lastColorStart = colorStart[start];
+    if (lastColorStart != -1 && TextRuns.getColorMarkupEnd(line, start) == -1) {
+      result.add(line.substring(lastColorStart, colorEnd[start]) + line.substring(start, end));
+    } else {
+      result.add(line.substring(start, end));
     }
-    return currentWord;
   }
 
-  private boolean isSingleLine() {
-    //Check if there is only one word and it fits in one line
-    return (words.length == 1 && isBelowLimit(font.getWidth(words[0])));
+  private boolean isBelowLimit(final int currentLineLength) {
+    return currentLineLength < width;
   }
 
   @Nullable
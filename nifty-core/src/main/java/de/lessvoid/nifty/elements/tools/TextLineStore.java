@@ -0,0 +1,206 @@
+package de.lessvoid.nifty.elements.tools;
+
+import de.lessvoid.nifty.spi.render.RenderFont;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores a (possibly very large) number of text lines for the TextViewRenderer.
+ * <p/>
+ * The lines are kept in chunks of CHUNK_SIZE lines. Each chunk stores the characters of all of its lines in a single
+ * StringBuilder together with an array of the line start offsets. Accessing a line by index, appending a line and
+ * removing the oldest line (when the maximum number of lines is reached) are all O(1). The width of a line is only
+ * measured when it is requested for the first time.
+ *
+ * @author void
+ */
+public class TextLineStore {
+  private static final int CHUNK_SIZE = 1024;
+  private static final int NOT_MEASURED = -1;
+
+  @Nonnull
+  private final List<Chunk> chunks = new ArrayList<Chunk>();
+
+  /**
+   * Number of lines that have been removed from the front of the first chunk.
+   */
+  private int firstLineOffset;
+  private int lineCount;
+  private int maxLines;
+
+  /**
+   * This is increased every time the index of the existing lines change (when lines are removed).
+   */
+  private int version;
+
+  @Nullable
+  private RenderFont measuredFont;
+  private int measureGeneration;
+
+  /**
+   * Append text to the store. The text is split into separate lines at each '\n'.
+   *
+   * @param text the text to append
+   */
+  public void append(@Nonnull final String text) {
+    int start = 0;
+    int end = text.indexOf('\n');
+    while (end != -1) {
+      addLine(text, start, end);
+      start = end + 1;
+      end = text.indexOf('\n', start);
+    }
+    addLine(text, start, text.length());
+  }
+
+  /**
+   * Add a single line to the store. The line should not contain any '\n' characters.
+   *
+   * @param line the line to add
+   */
+  public void addLine(@Nonnull final String line) {
+    addLine(line, 0, line.length());
+  }
+
+  private void addLine(@Nonnull final CharSequence text, final int start, final int end) {
+    Chunk chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+    if (chunk == null || chunk.lineCount == CHUNK_SIZE) {
+      chunk = new Chunk();
+      chunks.add(chunk);
+    }
+    chunk.add(text, start, end);
+    lineCount++;
+
+    if (maxLines > 0 && lineCount > maxLines) {
+      removeFirstLine();
+    }
+  }
+
+  private void removeFirstLine() {
+    firstLineOffset++;
+    lineCount--;
+    version++;
+    if (firstLineOffset == CHUNK_SIZE) {
+      chunks.remove(0);
+      firstLineOffset = 0;
+    }
+  }
+
+  /**
+   * Remove all lines.
+   */
+  public void clear() {
+    chunks.clear();
+    firstLineOffset = 0;
+    lineCount = 0;
+    version++;
+  }
+
+  public int getLineCount() {
+    return lineCount;
+  }
+
+  /**
+   * Get the line with the given index.
+   *
+   * @param index the index of the line (0 is the oldest line currently stored)
+   * @return the line
+   */
+  @Nonnull
+  public String getLine(final int index) {
+    checkIndex(index);
+    int global = index + firstLineOffset;
+    return chunks.get(global / CHUNK_SIZE).getLine(global % CHUNK_SIZE);
+  }
+
+  /**
+   * Get the width of the line with the given index when rendered with the given font. The width is measured when this
+   * method is called for the first time for a line and is remembered until a different font is used.
+   *
+   * @param index the index of the line
+   * @param font the font to measure the line with
+   * @return the width of the line
+   */
+  public int getLineWidth(final int index, @Nonnull final RenderFont font) {
+    checkIndex(index);
+    if (font != measuredFont) {
+      measuredFont = font;
+      measureGeneration++;
+    }
+    int global = index + firstLineOffset;
+    return chunks.get(global / CHUNK_SIZE).getLineWidth(global % CHUNK_SIZE, font, measureGeneration);
+  }
+
+  /**
+   * Set the maximum number of lines to keep. When more lines are added the oldest lines are removed.
+   *
+   * @param maxLines the maximum number of lines or 0 for no limit
+   */
+  public void setMaxLines(final int maxLines) {
+    this.maxLines = maxLines;
+    if (maxLines > 0) {
+      while (lineCount > maxLines) {
+        removeFirstLine();
+      }
+    }
+  }
+
+  public int getMaxLines() {
+    return maxLines;
+  }
+
+  /**
+   * The version changes every time lines are removed and therefore every time the index of an existing line changes.
+   * Adding new lines doesn't change the version.
+   *
+   * @return the current version
+   */
+  public int getVersion() {
+    return version;
+  }
+
+  private void checkIndex(final int index) {
+    if (index < 0 || index >= lineCount) {
+      throw new IndexOutOfBoundsException("line index " + index + " out of bounds [0, " + lineCount + ")");
+    }
+  }
+
+  private static class Chunk {
+    @Nonnull
+    private final StringBuilder text = new StringBuilder();
+    @Nonnull
+    private final int[] lineStarts = new int[CHUNK_SIZE + 1];
+    @Nonnull
+    private final int[] lineWidths = new int[CHUNK_SIZE];
+    private int lineCount;
+    private int measureGeneration;
+
+    private void add(@Nonnull final CharSequence line, final int start, final int end) {
+      text.append(line, start, end);
+      lineWidths[lineCount] = NOT_MEASURED;
+      lineCount++;
+      lineStarts[lineCount] = text.length();
+    }
+
+    @Nonnull
+    private String getLine(final int index) {
+      return text.substring(lineStarts[index], lineStarts[index + 1]);
+    }
+
+    private int getLineWidth(final int index, @Nonnull final RenderFont font, final int generation) {
+      if (measureGeneration != generation) {
+        for (int i = 0; i < lineCount; i++) {
+          lineWidths[i] = NOT_MEASURED;
+        }
+        measureGeneration = generation;
+      }
+      if (lineWidths[index] == NOT_MEASURED) {
+        lineWidths[index] = font.getWidth(getLine(index));
+      }
+      return lineWidths[index];
+    }
+  }
+}
@@ -0,0 +1,195 @@
+package de.lessvoid.nifty.loaderv2;
+
+import de.lessvoid.xml.lwxs.CompiledXml;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.WillNotClose;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * A set of Nifty XML files (screens, styles and controls) that have been compiled into a binary format by the
+ * {@link NiftyXmlCompiler}. The NiftyLoader uses the compiled files instead of parsing the XML when they are added
+ * with {@link de.lessvoid.nifty.Nifty#addCompiledXml(String)}.
+ * <p/>
+ * The XML files stay the source of truth: each compiled file keeps the checksum of its XML source. When the XML file
+ * is available and its checksum has changed the compiled version is ignored and the XML is loaded as usual.
+ *
+ * @author void
+ */
+public class CompiledNiftyXml {
+  /**
+   * The first bytes of each compiled file ("NFTY").
+   */
+  public static final int MAGIC = 0x4E465459;
+
+  /**
+   * The version of the binary format. Files with a different version are rejected.
+   */
+  public static final int FORMAT_VERSION = 1;
+
+  @Nonnull
+  private final Map<String, Document> documents = new LinkedHashMap<String, Document>();
+
+  /**
+   * Add a compiled XML file.
+   *
+   * @param document the compiled file
+   */
+  public void add(@Nonnull final Document document) {
+    documents.put(getKey(document.getSchemaId(), document.getFilename()), document);
+  }
+
+  /**
+   * Get a compiled XML file.
+   *
+   * @param schemaId the schema the file has been compiled with
+   * @param filename the name of the XML file
+   * @return the compiled file or null when the file has not been compiled
+   */
+  @Nullable
+  public Document get(@Nonnull final String schemaId, @Nonnull final String filename) {
+    return documents.get(getKey(schemaId, filename));
+  }
+
+  @Nonnull
+  public Collection<Document> getDocuments() {
+    return documents.values();
+  }
+
+  public void addAll(@Nonnull final CompiledNiftyXml other) {
+    documents.putAll(other.documents);
+  }
+
+  @Nonnull
+  private static String getKey(@Nonnull final String schemaId, @Nonnull final String filename) {
+    return schemaId + ':' + filename;
+  }
+
+  /**
+   * Write all compiled files.
+   *
+   * @param outputStream the stream to write to (the stream is not closed)
+   * @throws IOException on write errors
+   */
+  public void write(@Nonnull @WillNotClose final OutputStream outputStream) throws IOException {
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+    CompiledXml.StringTableOutput strings = new CompiledXml.StringTableOutput();
+    out.writeInt(MAGIC);
+    out.writeInt(FORMAT_VERSION);
+    out.writeInt(documents.size());
+    for (Document document : documents.values()) {
+      strings.write(out, document.getSchemaId());
+      strings.write(out, document.getFilename());
+      out.writeLong(document.getChecksum());
+      document.getCompiledXml().write(out, strings);
+    }
+    out.flush();
+  }
+
+  /**
+   * Read compiled files written with {@link #write(OutputStream)}.
+   *
+   * @param inputStream the stream to read from (the stream is not closed)
+   * @return the compiled files
+   * @throws IOException on read errors or when the data has not been written by this version of the format
+   */
+  @Nonnull
+  public static CompiledNiftyXml read(@Nonnull @WillNotClose final InputStream inputStream) throws IOException {
+    DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+    if (in.readInt() != MAGIC) {
+      throw new IOException("This is not a compiled Nifty XML file.");
+    }
+    int version = in.readInt();
+    if (version != FORMAT_VERSION) {
+      throw new IOException("Unsupported compiled Nifty XML version [" + version + "]. Expected version [" +
+          FORMAT_VERSION + "]. Please compile the XML files again.");
+    }
+    CompiledXml.StringTableInput strings = new CompiledXml.StringTableInput();
+    CompiledNiftyXml result = new CompiledNiftyXml();
+    int count = in.readInt();
+    for (int i = 0; i < count; i++) {
+      String schemaId = strings.read(in);
+      String filename = strings.read(in);
+      if (schemaId == null || filename == null) {
+        throw new IOException("Missing schema or filename of a compiled Nifty XML file.");
+      }
+      long checksum = in.readLong();
+      result.add(new Document(schemaId, filename, checksum, CompiledXml.read(in, strings)));
+    }
+    return result;
+  }
+
+  /**
+   * Calculate the checksum of a XML source file.
+   *
+   * @param inputStream the content of the XML file (the stream is not closed)
+   * @return the checksum
+   * @throws IOException on read errors
+   */
+  public static long checksum(@Nonnull @WillNotClose final InputStream inputStream) throws IOException {
+    CRC32 crc = new CRC32();
+    byte[] buffer = new byte[4096];
+    int read;
+    while ((read = inputStream.read(buffer)) != -1) {
+      crc.update(buffer, 0, read);
+    }
+    return crc.getValue();
+  }
+
+  /**
+   * A single compiled XML file.
+   */
+  public static class Document {
+    @Nonnull
+    private final String schemaId;
+    @Nonnull
+    private final String filename;
+    private final long checksum;
+    @Nonnull
+    private final CompiledXml compiledXml;
+
+    public Document(
+        @Nonnull final String schemaId,
+        @Nonnull final String filename,
+        final long checksum,
+        @Nonnull final CompiledXml compiledXml) {
+      this.schemaId = schemaId;
+      this.filename = filename;
+      this.checksum = checksum;
+      this.compiledXml = compiledXml;
+    }
+
+    @Nonnull
+    public String getSchemaId() {
+      return schemaId;
+    }
+
+    @Nonnull
+    public String getFilename() {
+      return filename;
+    }
+
+    /**
+     * @return the checksum of the XML source this document has been compiled from
+     */
+    public long getChecksum() {
+      return checksum;
+    }
+
+    @Nonnull
+    public CompiledXml getCompiledXml() {
+      return compiledXml;
+    }
+  }
+}
@@ -4,8 +4,11 @@ import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.loaderv2.types.NiftyControlsType;
 import de.lessvoid.nifty.loaderv2.types.NiftyStylesType;
 import de.lessvoid.nifty.loaderv2.types.NiftyType;
+import de.lessvoid.nifty.loaderv2.types.UseControlsType;
+import de.lessvoid.nifty.loaderv2.types.UseStylesType;
 import de.lessvoid.nifty.spi.time.TimeProvider;
 import de.lessvoid.xml.lwxs.Schema;
+import de.lessvoid.xml.lwxs.XmlType;
 import de.lessvoid.xml.xpp3.XmlParser;
 import org.w3c.dom.Document;
 import org.xmlpull.v1.XmlPullParserException;
@@ -24,8 +27,15 @@ import javax.xml.validation.SchemaFactory;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 
 /**
@@ -66,6 +76,31 @@ public class NiftyLoader {
   @Nonnull
   private final XmlPullParserFactory parserFactory;
 
+  /**
+   * The compiled XML files that are used instead of parsing the XML files.
+   */
+  @Nonnull
+  private final CompiledNiftyXml compiledXml = new CompiledNiftyXml();
+
+  /**
+   * The executor that parses files in the background or null when all files are parsed on the caller thread.
+   */
+  @Nullable
+  private ExecutorService executor;
+
+  /**
+   * The files that are parsed in the background, accessed with the schemaId and the filename.
+   */
+  @Nonnull
+  private final Map<String, Future<XmlType>> prefetched = new HashMap<String, Future<XmlType>>();
+
+  /**
+   * The keys of the prefetched files that have not been requested with {@link #prefetch(String, String)} but are
+   * only used by other files. These are dropped when loading a file is done, because nothing will ask for them later.
+   */
+  @Nonnull
+  private final Set<String> referencedPrefetches = new HashSet<String>();
+
   /**
    * Create a new instance of the Nifty-Loader.
    *
@@ -106,6 +141,7 @@ public class NiftyLoader {
       parser.read(inputStreamXml);
 
       NiftyType niftyType = (NiftyType) getSchema(schemaId).loadXml(parser);
+      prefetchReferencedFiles(niftyType);
       niftyType.loadStyles(this, nifty);
       niftyType.loadControls(this);
 
@@ -114,10 +150,243 @@ public class NiftyLoader {
 
       return niftyType;
     } finally {
+      dropReferencedPrefetches();
       closeSilently(inputStreamXml);
     }
   }
 
+  /**
+   * Load a Nifty-GUI XML file by its name. When a compiled version of the file is available and up to date it's used
+   * instead of parsing the XML file.
+   *
+   * @param schemaId the name of the schema that should be used to validate the XML file
+   * @param filename the name of the XML file
+   * @return the NiftyType that was load from the XML file
+   * @throws Exception in case the loading fails at any point
+   */
+  @Nonnull
+  public NiftyType loadNiftyXml(@Nonnull final String schemaId, @Nonnull final String filename) throws Exception {
+    long start = timeProvider.getMsTime();
+    log.fine("loading nifty xml file [" + filename + "] with schemaId [" + schemaId + "]");
+
+    try {
+      NiftyType niftyType = (NiftyType) loadXmlType(schemaId, filename);
+      niftyType.loadStyles(this, nifty);
+      niftyType.loadControls(this);
+
+      long end = timeProvider.getMsTime();
+      log.fine("loaded nifty xml file [" + filename + "] took [" + (end - start) + " ms]");
+      return niftyType;
+    } finally {
+      dropReferencedPrefetches();
+    }
+  }
+
+  /**
+   * Set the executor that is used to parse files in the background. When an executor is set each file that is
+   * loaded by its name is parsed on the executor together with all the style and control files it uses. Only the
+   * registration of the styles, controls and screens is done on the caller thread in the same order as without an
+   * executor.
+   *
+   * @param executor the executor or null to parse all files on the caller thread
+   */
+  public void setExecutor(@Nullable final ExecutorService executor) {
+    synchronized (prefetched) {
+      this.executor = executor;
+      for (Future<XmlType> future : prefetched.values()) {
+        future.cancel(false);
+      }
+      prefetched.clear();
+      referencedPrefetches.clear();
+    }
+  }
+
+  /**
+   * Start parsing the given file (and all the files it uses) in the background. The result is used when the file is
+   * loaded later. Nothing happens when no executor is set. The result is kept until the file is loaded or the
+   * executor is changed.
+   *
+   * @param schemaId the name of the schema of the file
+   * @param filename the name of the file
+   */
+  public void prefetch(@Nonnull final String schemaId, @Nonnull final String filename) {
+    prefetch(schemaId, filename, false);
+  }
+
+  private void prefetch(@Nonnull final String schemaId, @Nonnull final String filename, final boolean referenced) {
+    synchronized (prefetched) {
+      if (executor == null) {
+        return;
+      }
+      String key = getKey(schemaId, filename);
+      if (prefetched.containsKey(key)) {
+        if (!referenced) {
+          referencedPrefetches.remove(key);
+        }
+        return;
+      }
+      if (referenced) {
+        referencedPrefetches.add(key);
+      }
+      prefetched.put(key, executor.submit(new Callable<XmlType>() {
+        @Override
+        public XmlType call() throws Exception {
+          XmlType xmlType = parseXmlType(schemaId, filename);
+          prefetchReferencedFiles(xmlType);
+          return xmlType;
+        }
+      }));
+    }
+  }
+
+  private void prefetchReferencedFiles(@Nonnull final XmlType xmlType) {
+    if (executor == null) {
+      return;
+    }
+    if (xmlType instanceof NiftyType) {
+      prefetchStyles(((NiftyType) xmlType).getUseStyles());
+      prefetchControls(((NiftyType) xmlType).getUseControls());
+    } else if (xmlType instanceof NiftyStylesType) {
+      prefetchStyles(((NiftyStylesType) xmlType).getUseStyles());
+    } else if (xmlType instanceof NiftyControlsType) {
+      prefetchControls(((NiftyControlsType) xmlType).getUseControls());
+    }
+  }
+
+  private void prefetchStyles(@Nonnull final Collection<UseStylesType> useStyles) {
+    for (UseStylesType useStyle : useStyles) {
+      String filename = useStyle.getFilename();
+      if (filename != null) {
+        prefetch(NiftyXmlCompiler.SCHEMA_STYLES, filename, true);
+      }
+    }
+  }
+
+  private void prefetchControls(@Nonnull final Collection<UseControlsType> useControls) {
+    for (UseControlsType useControl : useControls) {
+      String filename = useControl.getFilename();
+      if (filename != null) {
+        prefetch(NiftyXmlCompiler.SCHEMA_CONTROLS, filename, true);
+      }
+    }
+  }
+
+  /**
+   * Get the XmlType of a file. This is the prefetched result when the file has been prefetched or the file is parsed
+   * on the caller thread.
+   */
+  @Nonnull
+  private XmlType loadXmlType(@Nonnull final String schemaId, @Nonnull final String filename) throws Exception {
+    Future<XmlType> future;
+    synchronized (prefetched) {
+      String key = getKey(schemaId, filename);
+      future = prefetched.remove(key);
+      referencedPrefetches.remove(key);
+    }
+    if (future != null) {
+      try {
+        return future.get();
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof Exception) {
+          throw (Exception) cause;
+        }
+        throw e;
+      }
+    }
+    XmlType xmlType = parseXmlType(schemaId, filename);
+    prefetchReferencedFiles(xmlType);
+    return xmlType;
+  }
+
+  /**
+   * Parse a file or create it from its compiled version. This may be called on any thread.
+   */
+  @Nonnull
+  private XmlType parseXmlType(@Nonnull final String schemaId, @Nonnull final String filename) throws Exception {
+    XmlType compiled = loadCompiledXml(schemaId, filename);
+    if (compiled != null) {
+      return compiled;
+    }
+    InputStream stream = nifty.getResourceAsStream(filename);
+    if (stream == null) {
+      throw new IOException("Failed to load xml. Resource \"" + filename + "\" not found");
+    }
+    try {
+      XmlParser parser = new XmlParser(parserFactory.newPullParser());
+      parser.read(stream);
+      return getSchema(schemaId).loadXml(parser);
+    } finally {
+      closeSilently(stream);
+    }
+  }
+
+  /**
+   * Cancel and forget the prefetched files that were only prefetched because another file uses them. After a file has
+   * been loaded these are either consumed already or not needed anymore, for instance because the loading failed.
+   */
+  private void dropReferencedPrefetches() {
+    synchronized (prefetched) {
+      for (String key : referencedPrefetches) {
+        Future<XmlType> future = prefetched.remove(key);
+        if (future != null) {
+          future.cancel(false);
+        }
+      }
+      referencedPrefetches.clear();
+    }
+  }
+
+  /**
+   * @return the number of prefetched files that have not been loaded yet
+   */
+  int getPrefetchedCount() {
+    synchronized (prefetched) {
+      return prefetched.size();
+    }
+  }
+
+  @Nonnull
+  private static String getKey(@Nonnull final String schemaId, @Nonnull final String filename) {
+    return schemaId + ':' + filename;
+  }
+
+  /**
+   * Add compiled XML files. Each time one of these files is loaded the compiled version is used as long as the
+   * XML file has not been changed since it has been compiled.
+   *
+   * @param compiledNiftyXml the compiled files
+   */
+  public void addCompiledXml(@Nonnull final CompiledNiftyXml compiledNiftyXml) {
+    compiledXml.addAll(compiledNiftyXml);
+  }
+
+  /**
+   * Create the XmlType of a compiled XML file.
+   *
+   * @return the XmlType or null when the file has not been compiled or the compiled version is outdated
+   */
+  @Nullable
+  private XmlType loadCompiledXml(@Nonnull final String schemaId, @Nonnull final String filename) throws Exception {
+    CompiledNiftyXml.Document document = compiledXml.get(schemaId, filename);
+    if (document == null) {
+      return null;
+    }
+    InputStream source = nifty.getResourceAsStream(filename);
+    if (source != null) {
+      try {
+        if (CompiledNiftyXml.checksum(source) != document.getChecksum()) {
+          log.warning("compiled version of [" + filename + "] is outdated. Loading the XML file instead.");
+          return null;
+        }
+      } finally {
+        closeSilently(source);
+      }
+    }
+    log.fine("using compiled version of [" + filename + "] with schemaId [" + schemaId + "]");
+    return document.getCompiledXml().create();
+  }
+
   @Deprecated
   public boolean validateNiftyXml(@Nonnull @WillClose final InputStream inputStreamXml) throws Exception {
     return validateNiftyXml("nifty.xsd", inputStreamXml);
@@ -167,40 +436,18 @@ public class NiftyLoader {
       @Nonnull final Nifty nifty) throws Exception {
     log.fine("loading new nifty style xml file [" + styleFilename + "] with schemaId [" + schemaId + "]");
 
-    XmlParser parser = new XmlParser(parserFactory.newPullParser());
-    InputStream stream = null;
-    try {
-      stream = nifty.getResourceAsStream(styleFilename);
-      if (stream == null) {
-        throw new IOException("Failed to load style. Resource \"" + styleFilename + "\" not found");
-      }
-      parser.read(stream);
-      NiftyStylesType niftyStylesType = (NiftyStylesType) getSchema(schemaId).loadXml(parser);
-      niftyStylesType.loadStyles(this, niftyType, nifty, log);
-    } finally {
-      closeSilently(stream);
-    }
+    NiftyStylesType niftyStylesType = (NiftyStylesType) loadXmlType(schemaId, styleFilename);
+    niftyStylesType.loadStyles(this, niftyType, nifty, log);
   }
-  
+
   public void loadControlFile(
       @Nonnull final String schemaId,
       @Nonnull final String controlFilename,
       @Nonnull final NiftyType niftyType) throws Exception {
     log.fine("loading new nifty controls xml file [" + controlFilename + "] with schemaId [" + schemaId + "]");
 
-    XmlParser parser = new XmlParser(parserFactory.newPullParser());
-    InputStream stream = null;
-    try {
-      stream = nifty.getResourceAsStream(controlFilename);
-      if (stream == null) {
-        throw new IOException("Failed to load control. Resource \"" + controlFilename + "\" not found");
-      }
-      parser.read(stream);
-      NiftyControlsType niftyControlsType = (NiftyControlsType) getSchema(schemaId).loadXml(parser);
-      niftyControlsType.loadControls(this, niftyType);
-    } finally {
-      closeSilently(stream);
-    }
+    NiftyControlsType niftyControlsType = (NiftyControlsType) loadXmlType(schemaId, controlFilename);
+    niftyControlsType.loadControls(this, niftyType);
   }
 
   public void registerSchema(
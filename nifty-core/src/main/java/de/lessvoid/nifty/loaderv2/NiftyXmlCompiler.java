@@ -0,0 +1,195 @@
+package de.lessvoid.nifty.loaderv2;
+
+import de.lessvoid.nifty.loaderv2.types.UseControlsType;
+import de.lessvoid.nifty.loaderv2.types.UseStylesType;
+import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
+import de.lessvoid.xml.lwxs.CompiledXml;
+import de.lessvoid.xml.lwxs.RecordingXmlParser;
+import de.lessvoid.xml.lwxs.Schema;
+import de.lessvoid.xml.xpp3.XmlParser;
+import org.xmlpull.v1.XmlPullParserFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Compiles Nifty XML files into the binary format of {@link CompiledNiftyXml}. All style and control files that are
+ * referenced with useStyles and useControls are compiled too.
+ * <p/>
+ * The compiler can be used from the command line (or from a build with the exec-maven-plugin):
+ * <pre>
+ * java de.lessvoid.nifty.loaderv2.NiftyXmlCompiler &lt;output file&gt; &lt;nifty xml&gt; [&lt;nifty xml&gt; ...]
+ * </pre>
+ * The XML files are looked up with a default {@link NiftyResourceLoader} (classpath and the current directory).
+ *
+ * @author void
+ */
+public class NiftyXmlCompiler {
+  @Nonnull
+  private static final Logger log = Logger.getLogger(NiftyXmlCompiler.class.getName());
+
+  public static final String SCHEMA_NIFTY = "nifty.nxs";
+  public static final String SCHEMA_STYLES = "nifty-styles.nxs";
+  public static final String SCHEMA_CONTROLS = "nifty-controls.nxs";
+
+  @Nonnull
+  private final NiftyResourceLoader resourceLoader;
+  @Nonnull
+  private final XmlPullParserFactory parserFactory;
+  @Nonnull
+  private final Map<String, Schema> schemes = new HashMap<String, Schema>();
+
+  public NiftyXmlCompiler(@Nonnull final NiftyResourceLoader resourceLoader) throws Exception {
+    this.resourceLoader = resourceLoader;
+    parserFactory = XmlPullParserFactory.newInstance();
+    parserFactory.setValidating(false);
+    parserFactory.setNamespaceAware(true);
+    registerSchema(SCHEMA_NIFTY);
+    registerSchema(SCHEMA_STYLES);
+    registerSchema(SCHEMA_CONTROLS);
+  }
+
+  /**
+   * Compile a Nifty XML file and all the style and control files it uses.
+   *
+   * @param filename the Nifty XML file
+   * @return the compiled files
+   * @throws Exception when one of the files can't be read or is invalid
+   */
+  @Nonnull
+  public CompiledNiftyXml compile(@Nonnull final String filename) throws Exception {
+    CompiledNiftyXml result = new CompiledNiftyXml();
+    compile(result, SCHEMA_NIFTY, filename);
+    return result;
+  }
+
+  /**
+   * Compile a single XML file with the given schema into the result. Files that are already part of the result are
+   * skipped.
+   *
+   * @param result   the compiled files
+   * @param schemaId the schema of the file
+   * @param filename the XML file
+   * @throws Exception when one of the files can't be read or is invalid
+   */
+  public void compile(
+      @Nonnull final CompiledNiftyXml result,
+      @Nonnull final String schemaId,
+      @Nonnull final String filename) throws Exception {
+    if (result.get(schemaId, filename) != null) {
+      return;
+    }
+    log.fine("compiling [" + filename + "] with schemaId [" + schemaId + "]");
+
+    byte[] data = readFully(filename);
+    long checksum = CompiledNiftyXml.checksum(new ByteArrayInputStream(data));
+
+    RecordingXmlParser parser = new RecordingXmlParser(parserFactory.newPullParser());
+    parser.read(new ByteArrayInputStream(data));
+    getSchema(schemaId).loadXml(parser);
+
+    CompiledXml compiledXml = parser.getCompiledXml();
+    result.add(new CompiledNiftyXml.Document(schemaId, filename, checksum, compiledXml));
+    compileReferencedFiles(result, compiledXml);
+  }
+
+  private void compileReferencedFiles(
+      @Nonnull final CompiledNiftyXml result,
+      @Nonnull final CompiledXml compiledXml) throws Exception {
+    for (CompiledXml.Node child : compiledXml.getRoot().getChildren()) {
+      String referencedFile = child.getAttribute("filename");
+      if (referencedFile == null) {
+        continue;
+      }
+      if (UseStylesType.class.getName().equals(child.getClassName())) {
+        compile(result, SCHEMA_STYLES, referencedFile);
+      } else if (UseControlsType.class.getName().equals(child.getClassName())) {
+        compile(result, SCHEMA_CONTROLS, referencedFile);
+      }
+    }
+  }
+
+  private void registerSchema(@Nonnull final String schemaId) throws Exception {
+    InputStream stream = resourceLoader.getResourceAsStream(schemaId);
+    if (stream == null) {
+      throw new IOException("Failed to open stream to schema resource \"" + schemaId + "\".");
+    }
+    try {
+      Schema schema = new Schema(parserFactory, resourceLoader);
+      XmlParser parser = new XmlParser(parserFactory.newPullParser());
+      parser.read(stream);
+      parser.nextTag();
+      parser.required("nxs", schema);
+      schemes.put(schemaId, schema);
+    } finally {
+      closeSilently(stream);
+    }
+  }
+
+  @Nonnull
+  private Schema getSchema(@Nonnull final String schemaId) throws Exception {
+    Schema schema = schemes.get(schemaId);
+    if (schema == null) {
+      throw new Exception("unknown schemaId [" + schemaId + "]");
+    }
+    return schema;
+  }
+
+  @Nonnull
+  private byte[] readFully(@Nonnull final String filename) throws IOException {
+    InputStream stream = resourceLoader.getResourceAsStream(filename);
+    if (stream == null) {
+      throw new IOException("Failed to open stream to resource \"" + filename + "\" for compiling.");
+    }
+    try {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[4096];
+      int read;
+      while ((read = stream.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+      return out.toByteArray();
+    } finally {
+      closeSilently(stream);
+    }
+  }
+
+  private static void closeSilently(@Nullable final Closeable closeable) {
+    if (closeable != null) {
+      try {
+        closeable.close();
+      } catch (IOException ignored) {
+      }
+    }
+  }
+
+  public static void main(@Nonnull final String[] args) throws Exception {
+    if (args.length < 2) {
+      System.err.println("usage: NiftyXmlCompiler <output file> <nifty xml> [<nifty xml> ...]");
+      System.exit(1);
+      return;
+    }
+    NiftyXmlCompiler compiler = new NiftyXmlCompiler(new NiftyResourceLoader());
+    CompiledNiftyXml result = new CompiledNiftyXml();
+    for (int i = 1; i < args.length; i++) {
+      compiler.compile(result, SCHEMA_NIFTY, args[i]);
+    }
+    OutputStream out = new FileOutputStream(args[0]);
+    try {
+      result.write(out);
+    } finally {
+      closeSilently(out);
+    }
+    log.info("compiled [" + result.getDocuments().size() + "] files into [" + args[0] + "]");
+  }
+}
@@ -0,0 +1,122 @@
+package de.lessvoid.nifty.loaderv2.types;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.loaderv2.types.resolver.style.StyleResolverControlDefinintion;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache for the compiled children of control definitions. When a control is used the children of its
+ * controlDefinition are copied into the control, all nested controls are applied and all styles are resolved. For a
+ * given controlDefinition and control style the result of this is always the same. This cache does this work once
+ * for each combination and later uses of the control only copy the compiled children (the prototype).
+ * <p/>
+ * The elements of a prototype are marked as compiled so that ElementType.prepare() skips them when it applies
+ * controls and styles. Parameters, special values, ids and controllers are still resolved for each control instance.
+ * <p/>
+ * Prototypes depend on the registered styles and control definitions. The cache needs to be cleared each time one of
+ * them is registered.
+ *
+ * @author void
+ */
+public class ControlPrototypeCache {
+  @Nonnull
+  private final Map<ControlDefinitionType, Map<String, List<ElementType>>> prototypes =
+      new IdentityHashMap<ControlDefinitionType, Map<String, List<ElementType>>>();
+  private int hits;
+  private int misses;
+
+  /**
+   * Only controls with a regular style can be compiled. Without a style or with a sub style ("#something") the result
+   * depends on the styles of the parent control.
+   *
+   * @param style the style of the control
+   * @return true when the control can be created from a prototype
+   */
+  public static boolean isCacheable(@Nullable final String style) {
+    return style != null && !style.startsWith("#");
+  }
+
+  /**
+   * Get copies of the compiled children of the given controlDefinition with the given style applied. The prototype
+   * is compiled when it's requested for the first time.
+   *
+   * @param nifty the Nifty instance used to resolve nested controls and styles
+   * @param controlDefinition the controlDefinition
+   * @param style the style of the control (must be cacheable)
+   * @return new copies of the compiled children
+   */
+  @Nonnull
+  public List<ElementType> createChildren(
+      @Nonnull final Nifty nifty,
+      @Nonnull final ControlDefinitionType controlDefinition,
+      @Nonnull final String style) {
+    Map<String, List<ElementType>> byStyle = prototypes.get(controlDefinition);
+    if (byStyle == null) {
+      byStyle = new HashMap<String, List<ElementType>>();
+      prototypes.put(controlDefinition, byStyle);
+    }
+    List<ElementType> prototype = byStyle.get(style);
+    if (prototype == null) {
+      misses++;
+      prototype = compile(nifty, controlDefinition, style);
+      byStyle.put(style, prototype);
+    } else {
+      hits++;
+    }
+    List<ElementType> result = new ArrayList<ElementType>(prototype.size());
+    for (int i = 0; i < prototype.size(); i++) {
+      result.add(prototype.get(i).copy());
+    }
+    return result;
+  }
+
+  /**
+   * Remove all prototypes. This is necessary when a style or a controlDefinition has been registered.
+   */
+  public void clear() {
+    prototypes.clear();
+  }
+
+  public int size() {
+    int size = 0;
+    for (Map<String, List<ElementType>> byStyle : prototypes.values()) {
+      size += byStyle.size();
+    }
+    return size;
+  }
+
+  public int getHits() {
+    return hits;
+  }
+
+  public int getMisses() {
+    return misses;
+  }
+
+  @Nonnull
+  private List<ElementType> compile(
+      @Nonnull final Nifty nifty,
+      @Nonnull final ControlDefinitionType controlDefinition,
+      @Nonnull final String style) {
+    List<ElementType> children = new ArrayList<ElementType>(controlDefinition.elements.size());
+    for (ElementType element : controlDefinition.elements) {
+      children.add(element.copy());
+    }
+    StyleResolverControlDefinintion styleResolver =
+        new StyleResolverControlDefinintion(nifty.getDefaultStyleResolver(), style);
+    for (int i = 0; i < children.size(); i++) {
+      ElementType child = children.get(i);
+      child.applyControls(nifty);
+      child.applyStyles(styleResolver);
+      child.setCompiled(true);
+    }
+    return children;
+  }
+}
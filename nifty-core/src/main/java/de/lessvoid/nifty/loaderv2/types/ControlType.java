@@ -60,7 +60,14 @@ public class ControlType extends ElementType {
     Collection<ElementType> childCopy = new ArrayList<ElementType>();
     childCopy.addAll(elements);
 
-    mergeFromElementType(controlDefinition);
+    mergeFromElementTypeWithoutElements(controlDefinition);
+    String style = getAttributes().get("style");
+    elements.clear();
+    if (ControlPrototypeCache.isCacheable(style)) {
+      elements.addAll(nifty.getControlPrototypeCache().createChildren(nifty, controlDefinition, style));
+    } else {
+      copyElements(controlDefinition);
+    }
 
     String childRootId = getAttributes().get("childRootId");
     if (childRootId != null) {
@@ -3,11 +3,14 @@ package de.lessvoid.nifty.loaderv2.types;
 import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.controls.dynamic.attributes.ControlEffectAttributes;
 import de.lessvoid.nifty.effects.Effect;
+import de.lessvoid.nifty.effects.EffectDefinition;
+import de.lessvoid.nifty.effects.EffectDefinitionCache;
 import de.lessvoid.nifty.effects.EffectEventId;
 import de.lessvoid.nifty.effects.EffectImpl;
 import de.lessvoid.nifty.effects.EffectProperties;
 import de.lessvoid.nifty.elements.Element;
 import de.lessvoid.nifty.tools.LinearInterpolator;
+import de.lessvoid.xml.tools.ClassHelper;
 import de.lessvoid.xml.xpp3.Attributes;
 
 import javax.annotation.Nonnull;
@@ -72,34 +75,19 @@ public class EffectType extends XmlBaseType implements Cloneable {
     Attributes effectAttributes = new Attributes(getAttributes());
     effectAttributes.merge(effectsTypeAttributes);
 
-    RegisterEffectType registerEffectType = getRegisteredEffectType(nifty, effectAttributes);
-    if (registerEffectType == null) {
+    EffectDefinition definition = resolveEffectDefinition(nifty, effectEventId, effectAttributes);
+    if (definition == null) {
       return;
     }
 
-    Class<?> effectClass = registerEffectType.getEffectClass();
-    if (effectClass == null) {
-      return;
-    }
-
-    EffectProperties effectProperties = new EffectProperties(effectAttributes.createProperties());
-    applyEffectValues(effectProperties);
-
-    EffectImpl effectImpl = createEffectImpl(effectClass);
+    EffectImpl effectImpl = createEffectImpl(definition.getEffectClass());
     if (effectImpl != null) {
       Effect effect = new Effect(
           nifty,
-          getInherit(effectAttributes),
-          getPost(effectAttributes),
-          getOverlay(effectAttributes),
-          getAlternateEnable(effectAttributes),
-          getAlternateDisable(effectAttributes),
-          getCustomKey(effectAttributes),
-          getNeverStopRendering(effectAttributes),
+          definition,
           effectEventId,
           element,
           effectImpl,
-          effectProperties,
           nifty.getTimeProvider(),
           controllers);
       initializeEffect(effect, effectEventId);
@@ -108,6 +96,54 @@ public class EffectType extends XmlBaseType implements Cloneable {
     }
   }
 
+  /**
+   * Lookup the compiled EffectDefinition for the given attributes in the EffectDefinitionCache of Nifty and create
+   * and cache a new one if there is none available yet.
+   */
+  @Nullable
+  private EffectDefinition resolveEffectDefinition(
+      @Nonnull final Nifty nifty,
+      @Nonnull final EffectEventId effectEventId,
+      @Nonnull final Attributes effectAttributes) {
+    List<Attributes> effectValueAttributes = new ArrayList<Attributes>(effectValues.size());
+    for (int i = 0; i < effectValues.size(); i++) {
+      effectValueAttributes.add(effectValues.get(i).getAttributes());
+    }
+
+    EffectDefinitionCache cache = nifty.getEffectDefinitionCache();
+    EffectDefinition definition = cache.get(effectEventId, effectAttributes, effectValueAttributes);
+    if (definition != null) {
+      return definition;
+    }
+
+    RegisterEffectType registerEffectType = getRegisteredEffectType(nifty, effectAttributes);
+    if (registerEffectType == null) {
+      return null;
+    }
+
+    Class<?> effectClass = registerEffectType.getEffectClass();
+    if (effectClass == null) {
+      return null;
+    }
+
+    EffectProperties effectProperties = new EffectProperties(effectAttributes.createProperties());
+    applyEffectValues(effectProperties);
+
+    definition = new EffectDefinition(
+        effectClass,
+        effectEventId,
+        effectProperties,
+        getInherit(effectAttributes),
+        getPost(effectAttributes),
+        getOverlay(effectAttributes),
+        getAlternateEnable(effectAttributes),
+        getAlternateDisable(effectAttributes),
+        getCustomKey(effectAttributes),
+        getNeverStopRendering(effectAttributes));
+    cache.put(effectEventId, effectAttributes, effectValueAttributes, definition);
+    return definition;
+  }
+
   @Nullable
   private RegisterEffectType getRegisteredEffectType(@Nonnull final Nifty nifty, @Nonnull final Attributes attributes) {
     String name = getEffectName(attributes);
@@ -163,7 +199,7 @@ public class EffectType extends XmlBaseType implements Cloneable {
   private EffectImpl createEffectImpl(@Nonnull final Class<?> effectClass) {
     try {
       if (EffectImpl.class.isAssignableFrom(effectClass)) {
-        return (EffectImpl) effectClass.newInstance();
+        return (EffectImpl) ClassHelper.newInstance(effectClass);
       } else {
         logger.warning("given effect class ["
             + effectClass.getName()
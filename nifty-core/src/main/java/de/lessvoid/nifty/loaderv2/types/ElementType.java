@@ -40,6 +40,12 @@ public class ElementType extends XmlBaseType {
   @Nullable
   protected Controller controller;
 
+  /**
+   * This is true for elements that are part of a compiled control prototype (see {@link ControlPrototypeCache}).
+   * Controls and styles are already applied to these elements.
+   */
+  private boolean compiled;
+
   public ElementType() {
     super();
   }
@@ -50,6 +56,7 @@ public class ElementType extends XmlBaseType {
     elementRendererCreator = src.elementRendererCreator;
     interact = new InteractType(src.interact);
     effects = new EffectsType(src.effects);
+    compiled = src.compiled;
     copyElements(src);
   }
 
@@ -58,12 +65,16 @@ public class ElementType extends XmlBaseType {
   }
 
   void mergeFromElementType(@Nonnull final ElementType src) {
+    mergeFromElementTypeWithoutElements(src);
+    copyElements(src);
+  }
+
+  void mergeFromElementTypeWithoutElements(@Nonnull final ElementType src) {
     tagName = src.tagName;
     elementRendererCreator = src.elementRendererCreator;
     mergeFromAttributes(src.getAttributes());
     interact.mergeFromInteractType(src.getInteract());
     effects.mergeFromEffectsType(src.getEffects());
-    copyElements(src);
   }
 
   void copyElements(@Nonnull final ElementType src) {
@@ -120,6 +131,10 @@ public class ElementType extends XmlBaseType {
     elements.add(text);
   }
 
+  public void addTextView(@Nonnull final ElementType textView) {
+    elements.add(textView);
+  }
+
   public void addControl(@Nonnull final ElementType text) {
     elements.add(text);
   }
@@ -324,6 +339,7 @@ public class ElementType extends XmlBaseType {
     makeFlat();
     applyControls(nifty);
     applyStyles(nifty.getDefaultStyleResolver());
+    setCompiled(false);
 
     // github issue #109: https://github.com/void256/nifty-gui/issues/109
     // resolveParameters() needs to be called before makeFlatControls() in case someone tries to change the id of
@@ -364,7 +380,9 @@ public class ElementType extends XmlBaseType {
   }
 
   void applyControls(@Nonnull final Nifty nifty) {
-    internalApplyControl(nifty);
+    if (!compiled) {
+      internalApplyControl(nifty);
+    }
     for (int i = 0; i < elements.size(); i++) {
       elements.get(i).applyControls(nifty);
     }
@@ -384,7 +402,9 @@ public class ElementType extends XmlBaseType {
   }
 
   public void applyStyles(@Nonnull final StyleResolver styleResolver) {
-    StyleResolver childStyleResolver = applyStyleInternal(styleResolver);
+    StyleResolver childStyleResolver = compiled ?
+        getChildStyleResolver(styleResolver, getAttributes().get("style")) :
+        applyStyleInternal(styleResolver);
     for (ElementType elementType : elements) {
       elementType.applyStyles(childStyleResolver);
     }
@@ -398,13 +418,36 @@ public class ElementType extends XmlBaseType {
       if (styleType != null) {
         styleType.applyTo(this, styleResolver);
       }
-      if (!style.startsWith("#")) {
-        return new StyleResolverControlDefinintion(styleResolver, style);
+    }
+    return getChildStyleResolver(styleResolver, style);
+  }
+
+  @Nonnull
+  private StyleResolver getChildStyleResolver(
+      @Nonnull final StyleResolver styleResolver,
+      @Nullable final String style) {
+    if (style != null && !style.startsWith("#")) {
+      // nested control definitions don't need to be wrapped: "#sub" is always resolved with the innermost style
+      if (styleResolver instanceof StyleResolverControlDefinintion) {
+        return new StyleResolverControlDefinintion(
+            ((StyleResolverControlDefinintion) styleResolver).getBaseStyleResolver(), style);
       }
+      return new StyleResolverControlDefinintion(styleResolver, style);
     }
     return styleResolver;
   }
 
+  void setCompiled(final boolean compiledParam) {
+    compiled = compiledParam;
+    for (int i = 0; i < elements.size(); i++) {
+      elements.get(i).setCompiled(compiledParam);
+    }
+  }
+
+  boolean isCompiled() {
+    return compiled;
+  }
+
   void resolveControllers(@Nonnull final Nifty nifty, @Nonnull final Collection<Object> controllerParam) {
     controllers = new LinkedList<Object>(controllerParam);
     controller = nifty.getControllerFactory().create(getAttributes().get("controller"));
@@ -0,0 +1,70 @@
+package de.lessvoid.nifty.loaderv2.types;
+
+import de.lessvoid.nifty.loaderv2.types.resolver.style.StyleResolver;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A style together with all of its base styles resolved into a single set of attributes, effects and interact
+ * attributes. Applying a FlattenedStyle to an element is a single merge instead of walking the base style chain
+ * again for each element.
+ * <p/>
+ * The result of flattening depends on the registered styles. FlattenedStyles are cached by the
+ * {@link de.lessvoid.nifty.loaderv2.types.resolver.style.StyleResolverDefault} and dropped when a style is
+ * registered.
+ *
+ * @author void
+ */
+public class FlattenedStyle {
+  @Nonnull
+  private final List<String> styleIds = new ArrayList<String>();
+  @Nonnull
+  private final ElementType resolved = new ElementType();
+
+  /**
+   * Flatten the given style.
+   *
+   * @param style the style to flatten
+   * @param styleResolver the StyleResolver used to lookup the base styles
+   */
+  public FlattenedStyle(@Nonnull final StyleType style, @Nonnull final StyleResolver styleResolver) {
+    List<StyleType> chain = new ArrayList<StyleType>();
+    collectChain(style, styleResolver, chain);
+    for (int i = 0; i < chain.size(); i++) {
+      StyleType styleType = chain.get(i);
+      String styleId = styleType.getStyleId();
+      if (styleId != null) {
+        styleIds.add(styleId);
+        styleType.applyToInternal(resolved);
+      }
+    }
+  }
+
+  private static void collectChain(
+      @Nonnull final StyleType style,
+      @Nonnull final StyleResolver styleResolver,
+      @Nonnull final List<StyleType> chain) {
+    StyleType baseStyle = styleResolver.resolve(style.getBaseStyleId());
+    if (baseStyle != null) {
+      collectChain(baseStyle, styleResolver, chain);
+    }
+    chain.add(style);
+  }
+
+  /**
+   * Apply the flattened style to the given ElementType. Everything that has been applied before by one of the styles
+   * of the chain is removed first.
+   *
+   * @param elementType the ElementType to apply this style to
+   */
+  public void applyTo(@Nonnull final ElementType elementType) {
+    for (int i = 0; i < styleIds.size(); i++) {
+      elementType.removeWithTag(styleIds.get(i));
+    }
+    elementType.getAttributes().merge(resolved.getAttributes());
+    elementType.getInteract().getAttributes().merge(resolved.getInteract().getAttributes());
+    elementType.getEffects().mergeFromEffectsType(resolved.getEffects());
+  }
+}
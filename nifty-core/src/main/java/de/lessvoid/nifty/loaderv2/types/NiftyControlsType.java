@@ -25,6 +25,11 @@ public class NiftyControlsType extends XmlBaseType {
     useControls.add(useControlsType);
   }
 
+  @Nonnull
+  public Collection<UseControlsType> getUseControls() {
+    return useControls;
+  }
+
   public void addPopup(final PopupType popupType) {
     popups.add(popupType);
   }
@@ -33,6 +33,11 @@ public class NiftyStylesType extends XmlBaseType {
     useStyles.add(newStyle);
   }
   
+  @Nonnull
+  public Collection<UseStylesType> getUseStyles() {
+    return useStyles;
+  }
+
   public void addregisterSound(RegisterSoundType newSound){
       registeredSounds.add(newSound);
   }
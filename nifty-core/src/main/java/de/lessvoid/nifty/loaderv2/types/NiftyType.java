@@ -49,6 +49,16 @@ public class NiftyType extends XmlBaseType {
     useControls.add(useControl);
   }
 
+  @Nonnull
+  public Collection<UseStylesType> getUseStyles() {
+    return useStyles;
+  }
+
+  @Nonnull
+  public Collection<UseControlsType> getUseControls() {
+    return useControls;
+  }
+
   public void addRegisterSound(final RegisterSoundType registerSound) {
     registeredSounds.add(registerSound);
   }
@@ -145,8 +155,13 @@ public class NiftyType extends XmlBaseType {
 
     stopWatch.start();
     for (ScreenType screen : screens) {
-      screen.translateSpecialValues(nifty, null);
-      screen.create(nifty, this, timeProvider);
+      String screenId = screen.getAttributes().get("id");
+      if (nifty.isLazyScreens() && screenId != null) {
+        nifty.addLazyScreen(screenId, screen);
+      } else {
+        screen.translateSpecialValues(nifty, null);
+        screen.create(nifty, this, timeProvider);
+      }
     }
     log.fine("create Screens [" + stopWatch.stop() + "]");
   }
@@ -27,6 +27,22 @@ public class ScreenType extends XmlBaseType {
   @Nonnull
   private final Collection<LayerType> layers = new ArrayList<LayerType>();
 
+  public ScreenType() {
+  }
+
+  /**
+   * Create a deep copy of the given screen type. Creating a screen changes the layers so a copy is needed to create
+   * the same screen more than once.
+   *
+   * @param src the screen type to copy
+   */
+  public ScreenType(@Nonnull final ScreenType src) {
+    super(src);
+    for (LayerType layer : src.layers) {
+      layers.add(layer.copy());
+    }
+  }
+
   public void addLayer(final LayerType layer) {
     layers.add(layer);
   }
@@ -45,8 +61,27 @@ public class ScreenType extends XmlBaseType {
       @Nonnull final Nifty nifty,
       @Nonnull final NiftyType niftyType,
       @Nonnull final TimeProvider timeProvider) {
+    Screen screen = createScreen(nifty, timeProvider, null);
+    nifty.addScreen(screen.getScreenId(), screen);
+  }
+
+  /**
+   * Create the screen without adding it to Nifty.
+   *
+   * @param nifty                    the Nifty instance
+   * @param timeProvider             the time provider of the screen
+   * @param existingScreenController the controller to use or null to resolve the controller from the controller attribute
+   * @return the new screen
+   */
+  @Nonnull
+  public Screen createScreen(
+      @Nonnull final Nifty nifty,
+      @Nonnull final TimeProvider timeProvider,
+      @Nullable final ScreenController existingScreenController) {
     String controller = getAttributes().get("controller");
-    ScreenController screenController = resolveScreenController(nifty, controller);
+    ScreenController screenController = existingScreenController != null ?
+        existingScreenController :
+        resolveScreenController(nifty, controller);
     String id = getAttributes().get("id");
 
     if (id == null) {
@@ -112,7 +147,7 @@ public class ScreenType extends XmlBaseType {
         "]");
 
     screen.processAddAndRemoveLayerElements();
-    nifty.addScreen(id, screen);
+    return screen;
   }
 
   @Nullable
@@ -1,6 +1,8 @@
 package de.lessvoid.nifty.loaderv2.types;
 
 import de.lessvoid.nifty.loaderv2.types.resolver.style.StyleResolver;
+import de.lessvoid.nifty.loaderv2.types.resolver.style.StyleResolverControlDefinintion;
+import de.lessvoid.nifty.loaderv2.types.resolver.style.StyleResolverDefault;
 import de.lessvoid.nifty.tools.StringHelper;
 import de.lessvoid.xml.xpp3.Attributes;
 
@@ -61,6 +63,18 @@ public class StyleType extends XmlBaseType {
   }
 
   public void applyTo(@Nonnull final ElementType elementType, @Nonnull final StyleResolver styleResolver) {
+    StyleResolver baseStyleResolver = styleResolver;
+    String controlStyleId = null;
+    if (styleResolver instanceof StyleResolverControlDefinintion) {
+      baseStyleResolver = ((StyleResolverControlDefinintion) styleResolver).getBaseStyleResolver();
+      controlStyleId = ((StyleResolverControlDefinintion) styleResolver).getBaseStyleId();
+    }
+    if (baseStyleResolver instanceof StyleResolverDefault) {
+      ((StyleResolverDefault) baseStyleResolver)
+          .getFlattenedStyle(this, controlStyleId, styleResolver)
+          .applyTo(elementType);
+      return;
+    }
     applyToBaseStyleInternal(styleResolver, elementType);
     applyToInternal(elementType);
   }
@@ -0,0 +1,46 @@
+package de.lessvoid.nifty.loaderv2.types;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.elements.render.ElementRenderer;
+import de.lessvoid.nifty.elements.render.TextViewRenderer;
+import de.lessvoid.nifty.loaderv2.types.helper.ElementRendererCreator;
+import de.lessvoid.xml.xpp3.Attributes;
+
+import javax.annotation.Nonnull;
+
+public class TextViewType extends ElementType {
+  public TextViewType() {
+    super();
+  }
+
+  public TextViewType(@Nonnull final TextViewType src) {
+    super(src);
+  }
+
+  @Override
+  @Nonnull
+  public TextViewType copy() {
+    return new TextViewType(this);
+  }
+
+  public TextViewType(@Nonnull final Attributes attributes) {
+    super(attributes);
+  }
+
+  @Override
+  protected void makeFlat() {
+    super.makeFlat();
+    setTagName("<textView>");
+    setElementRendererCreator(new ElementRendererCreator() {
+      @Override
+      @Nonnull
+      public ElementRenderer[] createElementRenderer(@Nonnull final Nifty nifty) {
+        ElementRenderer[] panelRenderer = nifty.getRootLayerFactory().createPanelRenderer();
+        ElementRenderer[] renderer = new ElementRenderer[panelRenderer.length + 1];
+        System.arraycopy(panelRenderer, 0, renderer, 0, panelRenderer.length);
+        renderer[panelRenderer.length] = new TextViewRenderer();
+        return renderer;
+      }
+    });
+  }
+}
@@ -4,6 +4,7 @@ import de.lessvoid.nifty.loaderv2.NiftyLoader;
 import de.lessvoid.nifty.tools.StringHelper;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.logging.Logger;
 
 public class UseControlsType extends XmlBaseType {
@@ -15,8 +16,13 @@ public class UseControlsType extends XmlBaseType {
     return StringHelper.whitespace(offset) + "<useControls> " + super.output(offset);
   }
 
+  @Nullable
+  public String getFilename() {
+    return getAttributes().get("filename");
+  }
+
   public void loadControl(@Nonnull final NiftyLoader niftyLoader, @Nonnull final NiftyType niftyType) throws Exception {
-    final String filename = getAttributes().get("filename");
+    final String filename = getFilename();
     if (filename == null) {
       log.severe("Missing filename attribute for control");
     } else {
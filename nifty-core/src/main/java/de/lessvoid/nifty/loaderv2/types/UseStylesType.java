@@ -5,6 +5,7 @@ import de.lessvoid.nifty.loaderv2.NiftyLoader;
 import de.lessvoid.nifty.tools.StringHelper;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -18,11 +19,16 @@ public class UseStylesType extends XmlBaseType {
     return StringHelper.whitespace(offset) + "<useStyle> " + super.output(offset);
   }
 
+  @Nullable
+  public String getFilename() {
+    return getAttributes().get("filename");
+  }
+
   public void loadStyle(
       @Nonnull final NiftyLoader niftyLoader,
       @Nonnull final NiftyType niftyType,
       @Nonnull final Nifty nifty) throws Exception {
-    final String filename = getAttributes().get("filename");
+    final String filename = getFilename();
     if (filename == null) {
       log.log(Level.SEVERE, "Missing filename attribute for style!");
     } else {
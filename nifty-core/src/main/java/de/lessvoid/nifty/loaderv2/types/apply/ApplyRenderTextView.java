@@ -0,0 +1,32 @@
+package de.lessvoid.nifty.loaderv2.types.apply;
+
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.elements.render.TextViewRenderer;
+import de.lessvoid.nifty.render.NiftyRenderEngine;
+import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.xml.xpp3.Attributes;
+
+import javax.annotation.Nonnull;
+
+public class ApplyRenderTextView implements ApplyRenderer {
+  private final Convert convert;
+
+  public ApplyRenderTextView(final Convert convertParam) {
+    convert = convertParam;
+  }
+
+  @Override
+  public void apply(
+      @Nonnull final Screen screen,
+      @Nonnull final Element element,
+      @Nonnull final Attributes attributes,
+      @Nonnull final NiftyRenderEngine renderEngine) {
+    TextViewRenderer textViewRenderer = element.getRenderer(TextViewRenderer.class);
+    if (textViewRenderer == null) {
+      return;
+    }
+    textViewRenderer.setFont(convert.font(renderEngine, attributes.get("font")));
+    textViewRenderer.setColor(convert.color(attributes.get("color"), textViewRenderer.getColor()));
+    textViewRenderer.getLineStore().setMaxLines(attributes.getAsInteger("maxLines", 0));
+  }
+}
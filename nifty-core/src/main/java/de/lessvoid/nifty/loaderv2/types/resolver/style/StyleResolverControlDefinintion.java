@@ -30,4 +30,12 @@ public class StyleResolverControlDefinintion implements StyleResolver {
       return baseStyleResolver.resolve(styleId);
     }
   }
+
+  public StyleResolver getBaseStyleResolver() {
+    return baseStyleResolver;
+  }
+
+  public String getBaseStyleId() {
+    return baseStyleId;
+  }
 }
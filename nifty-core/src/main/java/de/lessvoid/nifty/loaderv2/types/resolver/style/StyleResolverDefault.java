@@ -1,13 +1,25 @@
 package de.lessvoid.nifty.loaderv2.types.resolver.style;
 
+import de.lessvoid.nifty.loaderv2.types.FlattenedStyle;
 import de.lessvoid.nifty.loaderv2.types.StyleType;
 
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 public class StyleResolverDefault implements StyleResolver {
   private final Map<String, StyleType> styles;
 
+  /**
+   * The flattened styles for each control style context (the style of the control definition the style is used in
+   * or null outside of controls).
+   */
+  @Nonnull
+  private final Map<String, Map<StyleType, FlattenedStyle>> flattenedStyles =
+      new HashMap<String, Map<StyleType, FlattenedStyle>>();
+
   public StyleResolverDefault(final Map<String, StyleType> stylesParam) {
     styles = stylesParam;
   }
@@ -20,4 +32,38 @@ public class StyleResolverDefault implements StyleResolver {
     }
     return styles.get(styleId);
   }
+
+  /**
+   * Get the given style with all of its base styles flattened. The result is cached until
+   * {@link #clearFlattenedStyles()} is called.
+   *
+   * @param style the style
+   * @param controlStyleId the style of the control definition the style is used in or null
+   * @param styleResolver the StyleResolver that resolves the base styles in this context
+   * @return the FlattenedStyle
+   */
+  @Nonnull
+  public FlattenedStyle getFlattenedStyle(
+      @Nonnull final StyleType style,
+      @Nullable final String controlStyleId,
+      @Nonnull final StyleResolver styleResolver) {
+    Map<StyleType, FlattenedStyle> forContext = flattenedStyles.get(controlStyleId);
+    if (forContext == null) {
+      forContext = new IdentityHashMap<StyleType, FlattenedStyle>();
+      flattenedStyles.put(controlStyleId, forContext);
+    }
+    FlattenedStyle flattenedStyle = forContext.get(style);
+    if (flattenedStyle == null) {
+      flattenedStyle = new FlattenedStyle(style, styleResolver);
+      forContext.put(style, flattenedStyle);
+    }
+    return flattenedStyle;
+  }
+
+  /**
+   * Drop all flattened styles. This needs to be called each time a style is registered.
+   */
+  public void clearFlattenedStyles() {
+    flattenedStyles.clear();
+  }
 }
@@ -140,6 +140,16 @@ public interface NiftyRenderEngine {
       int selectionEnd,
       @Nonnull Color textSelectionColor);
 
+  /**
+   * Render text that has its color markup already parsed into TextRuns. This is the same as calling renderText()
+   * without a selection but the color markup of the text doesn't need to be parsed again.
+   *
+   * @param runs the TextRuns to render
+   * @param x    x
+   * @param y    y
+   */
+  void renderTextRuns(@Nonnull TextRuns runs, int x, int y);
+
   /**
    * Set the font that is supposed to be used to render a text.
    * <p/>
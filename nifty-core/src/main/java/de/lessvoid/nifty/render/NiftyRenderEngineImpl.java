@@ -31,7 +31,7 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
    * RenderDevice.
    */
   @Nonnull
-  private final RenderDevice renderDevice;
+  private final ScalingRenderDevice renderDevice;
 
   /**
    * Display width and height. This is always the base resolution (when scaling is enabled).
@@ -297,6 +297,15 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
     }
   }
 
+  @Override
+  public void renderTextRuns(@Nonnull final TextRuns runs, final int x, final int y) {
+    if (font == null) {
+      log.warning("missing font in renderTextRuns!");
+      return;
+    }
+    renderDevice.renderTextRuns(font, runs, x + getX(), y + getY(), color, textScale, textScale);
+  }
+
   /**
    * Render a Text with some text selected.
    *
@@ -4,13 +4,14 @@ import de.lessvoid.nifty.spi.render.MouseCursor;
 import de.lessvoid.nifty.spi.render.RenderDevice;
 import de.lessvoid.nifty.spi.render.RenderFont;
 import de.lessvoid.nifty.spi.render.RenderImage;
+import de.lessvoid.nifty.spi.render.TextRunRenderDevice;
 import de.lessvoid.nifty.tools.Color;
 import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
 
-public class ScalingRenderDevice implements RenderDevice {
+public class ScalingRenderDevice implements TextRunRenderDevice {
   private final NiftyRenderEngine renderEngine;
   private final RenderDevice internal;
 
@@ -130,6 +131,24 @@ public class ScalingRenderDevice implements RenderDevice {
         renderEngine.convertToNativeTextSizeX(sizeX), renderEngine.convertToNativeTextSizeY(sizeY));
   }
 
+  @Override
+  public void renderTextRuns(
+      @Nonnull RenderFont font,
+      @Nonnull TextRuns runs,
+      int x,
+      int y,
+      @Nonnull Color fontColor,
+      float sizeX,
+      float sizeY) {
+    if (internal instanceof TextRunRenderDevice) {
+      ((TextRunRenderDevice) internal).renderTextRuns(font, runs, renderEngine.convertToNativeX(x),
+          renderEngine.convertToNativeY(y), fontColor, renderEngine.convertToNativeTextSizeX(sizeX),
+          renderEngine.convertToNativeTextSizeY(sizeY));
+    } else {
+      renderFont(font, runs.getOriginalText(), x, y, fontColor, sizeX, sizeY);
+    }
+  }
+
   @Override
   public void enableClip(int x0, int y0, int x1, int y1) {
     internal.enableClip(renderEngine.convertToNativeX(x0), renderEngine.convertToNativeY(y0),
@@ -0,0 +1,194 @@
+package de.lessvoid.nifty.render;
+
+import de.lessvoid.nifty.tools.Color;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A line of text with the inline color markup ({@code \#rrggbb#}) already parsed. The text is split into runs that
+ * share the same color and the markup itself is removed from the text. This way the color markup of a text is only
+ * parsed once when the text is set and not for every character each time the text is rendered.
+ * <p/>
+ * TextRuns are immutable.
+ *
+ * @author void
+ */
+public class TextRuns {
+  private static final int MAX_COLOR_MARKUP_LENGTH = "\\#rrggbbaa#".length();
+
+  @Nonnull
+  private final String originalText;
+  @Nonnull
+  private final String text;
+  @Nonnull
+  private final int[] runStarts;
+  @Nonnull
+  private final Color[] runColors;
+
+  private TextRuns(
+      @Nonnull final String originalText,
+      @Nonnull final String text,
+      @Nonnull final int[] runStarts,
+      @Nonnull final Color[] runColors) {
+    this.originalText = originalText;
+    this.text = text;
+    this.runStarts = runStarts;
+    this.runColors = runColors;
+  }
+
+  /**
+   * Parse the color markup of the given text.
+   *
+   * @param originalText the text with color markup
+   * @return the TextRuns of the text
+   */
+  @Nonnull
+  public static TextRuns parse(@Nonnull final String originalText) {
+    int markupStart = originalText.indexOf('\\');
+    if (markupStart == -1) {
+      return new TextRuns(originalText, originalText, new int[]{0}, new Color[1]);
+    }
+
+    StringBuilder text = new StringBuilder(originalText.length());
+    List<Integer> runStarts = new ArrayList<Integer>();
+    List<Color> runColors = new ArrayList<Color>();
+    runStarts.add(0);
+    runColors.add(null);
+
+    int copyStart = 0;
+    int i = markupStart;
+    while (i != -1 && i < originalText.length()) {
+      int markupEnd = getColorMarkupEnd(originalText, i);
+      if (markupEnd == -1) {
+        i = originalText.indexOf('\\', i + 1);
+        continue;
+      }
+      text.append(originalText, copyStart, i);
+      Color color = new Color(originalText.substring(i + 1, markupEnd - 1));
+      int last = runStarts.size() - 1;
+      if (runStarts.get(last) == text.length()) {
+        runColors.set(last, color);
+      } else {
+        runStarts.add(text.length());
+        runColors.add(color);
+      }
+      copyStart = markupEnd;
+      i = originalText.indexOf('\\', markupEnd);
+    }
+    if (copyStart == 0) {
+      return new TextRuns(originalText, originalText, new int[]{0}, new Color[1]);
+    }
+    text.append(originalText, copyStart, originalText.length());
+
+    int[] starts = new int[runStarts.size()];
+    for (int j = 0; j < starts.length; j++) {
+      starts[j] = runStarts.get(j);
+    }
+    return new TextRuns(originalText, text.toString(), starts, runColors.toArray(new Color[runColors.size()]));
+  }
+
+  /**
+   * Check if there is a valid color markup starting at the given index of the text.
+   *
+   * @param text the text to check
+   * @param index the index where the markup should start
+   * @return the index right behind the end of the markup or -1 if there is no color markup at index
+   */
+  public static int getColorMarkupEnd(@Nonnull final String text, final int index) {
+    if (text.charAt(index) != '\\' || !text.startsWith("\\#", index)) {
+      return -1;
+    }
+    int max = Math.min(text.length(), index + MAX_COLOR_MARKUP_LENGTH);
+    for (int i = index + 2; i < max; i++) {
+      if (text.charAt(i) == '#') {
+        if (Color.check(text.substring(index + 1, i))) {
+          return i + 1;
+        }
+        return -1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * The text including the color markup. This can be used to render the text with a RenderDevice that does not support
+   * TextRuns.
+   *
+   * @return the original text
+   */
+  @Nonnull
+  public String getOriginalText() {
+    return originalText;
+  }
+
+  /**
+   * The text without any color markup.
+   *
+   * @return the text
+   */
+  @Nonnull
+  public String getText() {
+    return text;
+  }
+
+  public boolean hasColorMarkup() {
+    return originalText != text;
+  }
+
+  public int getRunCount() {
+    return runStarts.length;
+  }
+
+  /**
+   * @param run the index of the run
+   * @return the index of the first character of the run in getText()
+   */
+  public int getRunStart(final int run) {
+    return runStarts[run];
+  }
+
+  /**
+   * @param run the index of the run
+   * @return the index behind the last character of the run in getText()
+   */
+  public int getRunEnd(final int run) {
+    return run + 1 < runStarts.length ? runStarts[run + 1] : text.length();
+  }
+
+  /**
+   * The color of the run. Only the red, green and blue components of the color should be used. The alpha value is
+   * always taken from the font color.
+   *
+   * @param run the index of the run
+   * @return the color of the run or null when the run should use the font color
+   */
+  @Nullable
+  public Color getRunColor(final int run) {
+    return runColors[run];
+  }
+
+  @Override
+  public boolean equals(@Nullable final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof TextRuns)) {
+      return false;
+    }
+    return originalText.equals(((TextRuns) o).originalText);
+  }
+
+  @Override
+  public int hashCode() {
+    return originalText.hashCode();
+  }
+
+  @Nonnull
+  @Override
+  public String toString() {
+    return originalText;
+  }
+}
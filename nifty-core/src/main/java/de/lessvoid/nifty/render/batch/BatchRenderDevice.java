@@ -2,10 +2,12 @@ package de.lessvoid.nifty.render.batch;
 
 import de.lessvoid.nifty.render.batch.spi.BatchRenderBackend;
 import de.lessvoid.nifty.render.BlendMode;
+import de.lessvoid.nifty.render.TextRuns;
 import de.lessvoid.nifty.spi.render.MouseCursor;
 import de.lessvoid.nifty.spi.render.RenderDevice;
 import de.lessvoid.nifty.spi.render.RenderFont;
 import de.lessvoid.nifty.spi.render.RenderImage;
+import de.lessvoid.nifty.spi.render.TextRunRenderDevice;
 import de.lessvoid.nifty.spi.time.TimeProvider;
 import de.lessvoid.nifty.spi.time.impl.AccurateTimeProvider;
 import de.lessvoid.nifty.tools.Color;
@@ -27,6 +29,7 @@ import java.util.logging.Logger;
 import javax.annotation.Nullable;
 import javax.annotation.Nonnull;
 
+import org.jglfont.JGLFont;
 import org.jglfont.JGLFontFactory;
 import org.jglfont.spi.JGLFontRenderer;
 import org.jglfont.spi.ResourceLoader;
@@ -61,7 +64,7 @@ import org.jglfont.spi.ResourceLoader;
  * @author void
  * @author Aaron Mahan &lt;aaron@forerunnergames.com&gt;
  */
-public class BatchRenderDevice implements RenderDevice {
+public class BatchRenderDevice implements TextRunRenderDevice {
   @Nonnull
   private static Logger log = Logger.getLogger(BatchRenderDevice.class.getName());
   @Nonnull
@@ -453,6 +456,39 @@ public class BatchRenderDevice implements RenderDevice {
         color.getAlpha());
   }
 
+  @Override
+  public void renderTextRuns(
+      @Nonnull final RenderFont font,
+      @Nonnull final TextRuns runs,
+      final int x,
+      final int y,
+      @Nonnull final Color color,
+      final float sizeX,
+      final float sizeY) {
+    log.finest("renderTextRuns()");
+    JGLFont bitmapFont = ((BatchRenderFont) font).getBitmapFont();
+    String text = runs.getText();
+    int xPos = x;
+    for (int i = 0; i < runs.getRunCount(); i++) {
+      Color runColor = runs.getRunColor(i);
+      if (runColor == null) {
+        runColor = color;
+      }
+      xPos = bitmapFont.renderTextRun(
+          xPos,
+          y,
+          text,
+          runs.getRunStart(i),
+          runs.getRunEnd(i),
+          sizeX,
+          sizeY,
+          runColor.getRed(),
+          runColor.getGreen(),
+          runColor.getBlue(),
+          color.getAlpha());
+    }
+  }
+
   @Override
   public void enableClip(final int x0, final int y0, final int x1, final int y1) {
     log.finest("enableClip()");
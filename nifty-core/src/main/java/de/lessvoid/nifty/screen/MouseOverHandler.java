@@ -5,6 +5,9 @@ import de.lessvoid.nifty.input.NiftyMouseInputEvent;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 /**
  * The MouseOverHandler manages mouse over elements.
@@ -25,6 +28,28 @@ public class MouseOverHandler {
   @Nonnull
   private final ArrayList<Element> mouseElements = new ArrayList<Element>();
 
+  /**
+   * Elements of the mouseElements list that need hover processing for the current mouse event. These are elements
+   * that have not been part of the mouseElements of the previous mouse event (so they've just lost the mouse over or
+   * just became able to handle mouse events) and elements with hover effects that depend on the mouse position.
+   */
+  @Nonnull
+  private final ArrayList<Element> hoverChangedElements = new ArrayList<Element>();
+
+  /**
+   * The mouseElements of the current mouse event as an identity set.
+   */
+  @Nonnull
+  private Set<Element> currentMouseElements = createIdentitySet();
+
+  /**
+   * The mouseElements of the previous mouse event as an identity set. Elements that have been in this set before
+   * can't have any active hover effects left (they've already been deactivated when the element lost the mouse over)
+   * and so we can skip the hover processing for them.
+   */
+  @Nonnull
+  private Set<Element> previousMouseElements = createIdentitySet();
+
   /**
    * This is set to true when there is at least a single element that can handle mouse events but is at the moment
    * temporarily not able to do so due to a onStartScreen/onEndScreen/blockedInteration flag. This is treated
@@ -37,8 +62,14 @@ public class MouseOverHandler {
    * Reset mouse over elements.
    */
   public void reset() {
+    Set<Element> swap = previousMouseElements;
+    previousMouseElements = currentMouseElements;
+    currentMouseElements = swap;
+    currentMouseElements.clear();
+
     mouseOverElements.clear();
     mouseElements.clear();
+    hoverChangedElements.clear();
     interactElementInTransitAvailable = false;
   }
 
@@ -53,6 +84,10 @@ public class MouseOverHandler {
 
   public void addMouseElement(final Element element) {
     mouseElements.add(element);
+    currentMouseElements.add(element);
+    if (!previousMouseElements.contains(element) || element.hasPositionDependentHoverEffects()) {
+      hoverChangedElements.add(element);
+    }
   }
 
   /**
@@ -67,6 +102,8 @@ public class MouseOverHandler {
     outputElements(result, mouseOverElements);
     result.append(" mouse elements: ");
     outputElements(result, mouseElements);
+    result.append(" hover changed elements: ");
+    outputElements(result, hoverChangedElements);
     return result.toString();
   }
 
@@ -101,8 +138,11 @@ public class MouseOverHandler {
     // work correctly when you quickly changed hover from one element to another it was possible
     // that the hover effect for the new element started before the old one was deactivated so
     // the reset of the mousecursor (see ChangeMouseCursor effect) did not worked correctly.
-    for (int i = mouseElements.size() - 1; i >= 0; i--) {
-      Element element = mouseElements.get(i);
+    //
+    // Note: Only elements that changed their hover state since the last mouse event are processed here. All other
+    // mouse elements have already been processed when they've lost the mouse over.
+    for (int i = hoverChangedElements.size() - 1; i >= 0; i--) {
+      Element element = hoverChangedElements.get(i);
       element.mouseEventHoverPreprocess(mouseEvent, eventTime);
     }
 
@@ -121,7 +161,10 @@ public class MouseOverHandler {
     //       changed order of effect processing and/or event handling has unwanted side effects.
     for (int i = mouseElements.size() - 1; i >= 0; i--) {
       Element element = mouseElements.get(i);
-      if (element.mouseEvent(mouseEvent, eventTime)) {
+      if (needsHoverProcessing(element)) {
+        element.mouseEventHover(mouseEvent);
+      }
+      if (element.mouseEventInteraction(mouseEvent, eventTime)) {
         break;
       }
     }
@@ -157,4 +200,13 @@ public class MouseOverHandler {
   public void canTheoreticallyHandleMouse(final Element element) {
     interactElementInTransitAvailable = true;
   }
+
+  private boolean needsHoverProcessing(@Nonnull final Element element) {
+    return !previousMouseElements.contains(element) || element.hasPositionDependentHoverEffects();
+  }
+
+  @Nonnull
+  private static Set<Element> createIdentitySet() {
+    return Collections.newSetFromMap(new IdentityHashMap<Element, Boolean>());
+  }
 }
@@ -8,6 +8,7 @@ import de.lessvoid.nifty.controls.FocusHandler;
 import de.lessvoid.nifty.controls.NiftyControl;
 import de.lessvoid.nifty.effects.EffectEventId;
 import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.elements.ElementPool;
 import de.lessvoid.nifty.input.NiftyInputEvent;
 import de.lessvoid.nifty.input.NiftyInputMapping;
 import de.lessvoid.nifty.input.NiftyMouseInputEvent;
@@ -63,6 +64,8 @@ public class Screen {
   @Nonnull
   private final MouseOverHandler mouseOverHandler;
   @Nonnull
+  private final ElementPool elementPool = new ElementPool();
+  @Nonnull
   private final Nifty nifty;
   @Nonnull
   private final List<InputHandlerWithMapping> postInputHandlers = new ArrayList<InputHandlerWithMapping>();
@@ -631,6 +634,16 @@ public class Screen {
     return focusHandler;
   }
 
+  /**
+   * Get the pool of removed elements of this screen that are kept for reuse.
+   *
+   * @return the element pool
+   */
+  @Nonnull
+  public ElementPool getElementPool() {
+    return elementPool;
+  }
+
   /**
    * Get RootElement.
    *
@@ -858,6 +871,9 @@ public class Screen {
     for (int i = 0; i < layerElements.size(); i++) {
       layerElements.get(i).onEndScreen(this);
     }
+
+    // the pooled elements are not part of the screen anymore, don't keep them alive after the screen has ended
+    elementPool.clear();
     nifty.getRenderEngine().screenEnded(this);
   }
 
@@ -0,0 +1,22 @@
+package de.lessvoid.nifty.screen;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A ScreenController that implements this interface is told when its lazy screen is dropped from the screen cache.
+ * The controller instance is kept and bound to the new Screen when the screen is needed again, so this is the place
+ * to save state that only lives in the elements of the screen (text field contents and so on).
+ *
+ * @author void
+ * @see de.lessvoid.nifty.Nifty#setLazyScreens(boolean)
+ */
+public interface ScreenDematerializeHandler {
+
+  /**
+   * The screen is about to be removed from Nifty. It will be created again from its XML definition the next time it
+   * is used.
+   *
+   * @param screen the screen that is removed
+   */
+  void onDematerialize(@Nonnull Screen screen);
+}
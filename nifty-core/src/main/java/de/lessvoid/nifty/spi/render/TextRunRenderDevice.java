@@ -0,0 +1,28 @@
+package de.lessvoid.nifty.spi.render;
+
+import de.lessvoid.nifty.render.TextRuns;
+import de.lessvoid.nifty.tools.Color;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Optional extension of the RenderDevice for RenderDevices that can render text that has its color markup already
+ * parsed into TextRuns. RenderDevices that don't implement this interface will get the original text with the color
+ * markup passed to {@link RenderDevice#renderFont(RenderFont, String, int, int, Color, float, float)} instead.
+ *
+ * @author void
+ */
+public interface TextRunRenderDevice extends RenderDevice {
+  /**
+   * Render the given TextRuns at the given position. Each run is rendered with the red, green and blue components of
+   * its color or with the fontColor when the run has no color. The alpha value of the fontColor is always used.
+   */
+  void renderTextRuns(
+      @Nonnull RenderFont font,
+      @Nonnull TextRuns runs,
+      int x,
+      int y,
+      @Nonnull Color fontColor,
+      float sizeX,
+      float sizeY);
+}
@@ -0,0 +1,120 @@
+package de.lessvoid.nifty.tools.resourceloader;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.WillNotClose;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A resource location for a directory that does not change while the application is running (the asset directory of
+ * a game for instance). The files in the directory are listed once, unlike {@link FileSystemLocation} that checks the
+ * file system for every resource. Call {@link #refresh()} when the content of the directory has changed.
+ *
+ * @author void
+ */
+public class DirectoryLocation implements IndexedResourceLocation {
+  @Nonnull
+  private final File root;
+  @Nonnull
+  private volatile Set<String> files;
+  @Nonnull
+  private final List<Runnable> refreshListeners = new CopyOnWriteArrayList<Runnable>();
+
+  /**
+   * Create a new resource location for the directory.
+   *
+   * @param root the directory
+   */
+  public DirectoryLocation(@Nonnull final File root) {
+    this.root = root;
+    files = listFiles(root);
+  }
+
+  /**
+   * List the files of the directory again. The {@link NiftyResourceLoader}s this location was added to drop their
+   * cached resources.
+   */
+  public void refresh() {
+    files = listFiles(root);
+    for (Runnable listener : refreshListeners) {
+      listener.run();
+    }
+  }
+
+  void addRefreshListener(@Nonnull final Runnable listener) {
+    refreshListeners.add(listener);
+  }
+
+  void removeRefreshListener(@Nonnull final Runnable listener) {
+    refreshListeners.remove(listener);
+  }
+
+  @Override
+  public boolean hasResource(@Nonnull final String ref) {
+    return files.contains(getFileName(ref));
+  }
+
+  @Nullable
+  @Override
+  @WillNotClose
+  public InputStream getResourceAsStream(@Nonnull final String ref) {
+    String name = getFileName(ref);
+    if (!files.contains(name)) {
+      return null;
+    }
+    try {
+      return new FileInputStream(new File(root, name));
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  @Nullable
+  @Override
+  public URL getResource(@Nonnull final String ref) {
+    String name = getFileName(ref);
+    if (!files.contains(name)) {
+      return null;
+    }
+    try {
+      return new File(root, name).toURI().toURL();
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  @Nonnull
+  private static Set<String> listFiles(@Nonnull final File root) {
+    Set<String> result = new HashSet<String>();
+    listFiles(root, "", result);
+    return result;
+  }
+
+  private static void listFiles(@Nonnull final File directory, @Nonnull final String prefix,
+                                @Nonnull final Set<String> result) {
+    File[] children = directory.listFiles();
+    if (children == null) {
+      return;
+    }
+    for (File child : children) {
+      if (child.isDirectory()) {
+        listFiles(child, prefix + child.getName() + "/", result);
+      } else {
+        result.add(prefix + child.getName());
+      }
+    }
+  }
+
+  @Nonnull
+  private static String getFileName(@Nonnull final String ref) {
+    return ResourceNames.normalize(ref);
+  }
+}
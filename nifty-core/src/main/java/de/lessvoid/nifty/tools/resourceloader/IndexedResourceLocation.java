@@ -0,0 +1,20 @@
+package de.lessvoid.nifty.tools.resourceloader;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A resource location that knows all of its resources up front. The {@link NiftyResourceLoader} asks the index first
+ * and skips the location for a resource it does not contain, so a miss does not cost a file system or class loader
+ * lookup.
+ *
+ * @author void
+ */
+public interface IndexedResourceLocation extends ResourceLocation {
+  /**
+   * Check if the resource is part of this location. This must be answered from the index.
+   *
+   * @param ref The reference to the resource
+   * @return {@code true} in case the resource can be loaded from this location
+   */
+  boolean hasResource(@Nonnull String ref);
+}
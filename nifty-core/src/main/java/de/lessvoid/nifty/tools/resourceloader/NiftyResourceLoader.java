@@ -3,11 +3,25 @@ package de.lessvoid.nifty.tools.resourceloader;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.io.SequenceInputStream;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * A simple wrapper around resource loading should anyone decide to change their minds how this is meant to work in
@@ -17,12 +31,63 @@ import java.util.List;
  * @author void (made it a none static class)
  */
 public class NiftyResourceLoader {
+  @Nonnull
+  private static final Logger log = Logger.getLogger(NiftyResourceLoader.class.getName());
+
+  /**
+   * Files that are at least this large are memory mapped by {@link #getResourceAsBuffer(String)}.
+   */
+  private static final long MAPPED_FILE_THRESHOLD = 64 * 1024;
+
+  /**
+   * The number of references that were not found that are remembered.
+   */
+  private static final int MAX_MISSING_RESOURCES = 256;
+
   /**
    * The list of locations to be searched
    */
   @Nonnull
   private final List<ResourceLocation> locations;
 
+  /**
+   * Content of the resources that have been read, the least recently used resources are dropped first.
+   */
+  @Nonnull
+  private final Map<String, byte[]> cache = new LinkedHashMap<String, byte[]>(16, 0.75f, true);
+
+  /**
+   * References that were not found in any location while the cache was enabled, so the locations are not searched
+   * again. Guarded by {@link #cache} and cleared together with it, the least recently used references are dropped
+   * first.
+   */
+  @Nonnull
+  private final Map<String, Boolean> missing = new LinkedHashMap<String, Boolean>(16, 0.75f, true);
+
+  /**
+   * Incremented by {@link #clearCache()}. A resource that was looked up before the cache was cleared is not cached.
+   */
+  private long cacheGeneration;
+  private long cacheSize;
+  private long maxCacheSize;
+  private int maxCachedResourceSize;
+
+  @Nonnull
+  private final AtomicLong cacheHits = new AtomicLong();
+  @Nonnull
+  private final AtomicLong cacheMisses = new AtomicLong();
+
+  /**
+   * Registered with the {@link DirectoryLocation}s, their content has changed when they are refreshed.
+   */
+  @Nonnull
+  private final Runnable clearCacheListener = new Runnable() {
+    @Override
+    public void run() {
+      clearCache();
+    }
+  };
+
   public NiftyResourceLoader() {
     locations = new ArrayList<ResourceLocation>();
     locations.add(new ClasspathLocation());
@@ -36,6 +101,10 @@ public class NiftyResourceLoader {
    */
   public void addResourceLocation(@Nonnull final ResourceLocation location) {
     locations.add(location);
+    if (location instanceof DirectoryLocation) {
+      ((DirectoryLocation) location).addRefreshListener(clearCacheListener);
+    }
+    clearCache();
   }
 
   /**
@@ -44,14 +113,76 @@ public class NiftyResourceLoader {
    * @param location The location that will be removed from the search list
    */
   public void removeResourceLocation(@Nonnull final ResourceLocation location) {
-    locations.remove(location);
+    if (locations.remove(location) && location instanceof DirectoryLocation) {
+      ((DirectoryLocation) location).removeRefreshListener(clearCacheListener);
+    }
+    clearCache();
   }
 
   /**
    * Remove all the locations, no resources will be found until new locations have been added
    */
   public void removeAllResourceLocations() {
+    for (ResourceLocation location : locations) {
+      if (location instanceof DirectoryLocation) {
+        ((DirectoryLocation) location).removeRefreshListener(clearCacheListener);
+      }
+    }
     locations.clear();
+    clearCache();
+  }
+
+  /**
+   * Keep the content of the resources that have been read in memory, so the same fonts, images and xml files are
+   * not read again. References that were not found are remembered too. The cache is disabled by default.
+   *
+   * @param maxCacheSize     the maximum number of bytes kept in the cache, 0 disables the cache
+   * @param maxResourceSize  resources larger than this number of bytes are not cached
+   */
+  public void setCacheSize(final long maxCacheSize, final int maxResourceSize) {
+    synchronized (cache) {
+      this.maxCacheSize = maxCacheSize;
+      this.maxCachedResourceSize = maxResourceSize;
+      shrinkCache();
+      if (maxCacheSize <= 0) {
+        missing.clear();
+      }
+    }
+  }
+
+  /**
+   * Remove all resources from the cache. The statistics are kept.
+   */
+  public void clearCache() {
+    synchronized (cache) {
+      cache.clear();
+      missing.clear();
+      cacheSize = 0;
+      cacheGeneration++;
+    }
+  }
+
+  /**
+   * @return the number of resources that were taken from the cache
+   */
+  public long getCacheHits() {
+    return cacheHits.get();
+  }
+
+  /**
+   * @return the number of resources that were requested while the cache was enabled but had to be read
+   */
+  public long getCacheMisses() {
+    return cacheMisses.get();
+  }
+
+  /**
+   * @return the number of bytes currently kept in the cache
+   */
+  public long getCachedBytes() {
+    synchronized (cache) {
+      return cacheSize;
+    }
   }
 
   /**
@@ -62,10 +193,26 @@ public class NiftyResourceLoader {
    */
   @Nullable
   public InputStream getResourceAsStream(@Nonnull final String ref) {
+    long generation;
+    byte[] cached;
+    synchronized (cache) {
+      if (isMissing(ref)) {
+        return null;
+      }
+      generation = cacheGeneration;
+      cached = getCached(ref);
+    }
+    if (cached != null) {
+      return new ByteArrayInputStream(cached);
+    }
+
     InputStream in = null;
 
     for (int i = 0; i < locations.size(); i++) {
       ResourceLocation location = locations.get(i);
+      if (isNotInIndex(location, ref)) {
+        continue;
+      }
       in = location.getResourceAsStream(ref);
       if (in != null) {
         break;
@@ -73,12 +220,53 @@ public class NiftyResourceLoader {
     }
 
     if (in == null) {
+      addMissing(ref, generation);
       return null;
     }
 
+    if (isCacheEnabled()) {
+      return readAndCache(ref, in, generation);
+    }
     return new BufferedInputStream(in);
   }
 
+  /**
+   * Get the content of a resource. Large files are memory mapped, everything else is read into memory.
+   *
+   * @param ref The reference to the resource to retrieve
+   * @return a read-only buffer with the content of the resource or {@code null} in case the resource was not found
+   * @throws IOException in case reading the resource fails
+   */
+  @Nullable
+  public ByteBuffer getResourceAsBuffer(@Nonnull final String ref) throws IOException {
+    File file = getFile(getResource(ref));
+    if (file != null && file.length() >= MAPPED_FILE_THRESHOLD) {
+      RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+      try {
+        FileChannel channel = randomAccessFile.getChannel();
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      } finally {
+        randomAccessFile.close();
+      }
+    }
+
+    InputStream in = getResourceAsStream(ref);
+    if (in == null) {
+      return null;
+    }
+    try {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = in.read(buffer)) >= 0) {
+        out.write(buffer, 0, read);
+      }
+      return ByteBuffer.wrap(out.toByteArray()).asReadOnlyBuffer();
+    } finally {
+      in.close();
+    }
+  }
+
   /**
    * Get a resource as a URL
    *
@@ -87,16 +275,149 @@ public class NiftyResourceLoader {
    */
   @Nullable
   public URL getResource(@Nonnull final String ref) {
+    long generation;
+    synchronized (cache) {
+      if (isMissing(ref)) {
+        return null;
+      }
+      generation = cacheGeneration;
+    }
     URL url = null;
 
     for (int i = 0; i < locations.size(); i++) {
       ResourceLocation location = locations.get(i);
+      if (isNotInIndex(location, ref)) {
+        continue;
+      }
       url = location.getResource(ref);
       if (url != null) {
         break;
       }
     }
 
+    if (url == null) {
+      addMissing(ref, generation);
+    }
     return url;
   }
+
+  private static boolean isNotInIndex(@Nonnull final ResourceLocation location, @Nonnull final String ref) {
+    return location instanceof IndexedResourceLocation && !((IndexedResourceLocation) location).hasResource(ref);
+  }
+
+  private boolean isCacheEnabled() {
+    synchronized (cache) {
+      return maxCacheSize > 0;
+    }
+  }
+
+  private boolean isMissing(@Nonnull final String ref) {
+    synchronized (cache) {
+      return maxCacheSize > 0 && missing.containsKey(ref);
+    }
+  }
+
+  /**
+   * Remember a reference that was not found, unless the cache was cleared since it was looked up.
+   */
+  private void addMissing(@Nonnull final String ref, final long generation) {
+    synchronized (cache) {
+      if (maxCacheSize <= 0 || generation != cacheGeneration) {
+        return;
+      }
+      missing.put(ref, Boolean.TRUE);
+      Iterator<String> iterator = missing.keySet().iterator();
+      while (missing.size() > MAX_MISSING_RESOURCES && iterator.hasNext()) {
+        iterator.next();
+        iterator.remove();
+      }
+    }
+  }
+
+  @Nullable
+  private byte[] getCached(@Nonnull final String ref) {
+    synchronized (cache) {
+      if (maxCacheSize <= 0) {
+        return null;
+      }
+      byte[] cached = cache.get(ref);
+      if (cached == null) {
+        cacheMisses.incrementAndGet();
+      } else {
+        cacheHits.incrementAndGet();
+      }
+      return cached;
+    }
+  }
+
+  /**
+   * Read the resource into the cache. In case the resource is too large for the cache the part that was read already
+   * is handed out followed by the rest of the stream. The content is not cached when the cache was cleared since the
+   * resource was looked up, it might have been read from a location that was changed or removed in the meantime.
+   */
+  @Nonnull
+  private InputStream readAndCache(
+      @Nonnull final String ref,
+      @Nonnull final InputStream in,
+      final long generation) {
+    int maxResourceSize;
+    synchronized (cache) {
+      maxResourceSize = maxCachedResourceSize;
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    try {
+      int read;
+      while ((read = in.read(buffer)) >= 0) {
+        out.write(buffer, 0, read);
+        if (out.size() > maxResourceSize) {
+          return new SequenceInputStream(new ByteArrayInputStream(out.toByteArray()), new BufferedInputStream(in));
+        }
+      }
+    } catch (IOException e) {
+      // the caller will get the same exception when reading the rest of the stream
+      return new SequenceInputStream(new ByteArrayInputStream(out.toByteArray()), new BufferedInputStream(in));
+    }
+    try {
+      in.close();
+    } catch (IOException e) {
+      log.log(Level.FINE, "Failed to close the stream of [" + ref + "]", e);
+    }
+
+    byte[] content = out.toByteArray();
+    synchronized (cache) {
+      if (generation != cacheGeneration) {
+        return new ByteArrayInputStream(content);
+      }
+      byte[] replaced = cache.put(ref, content);
+      if (replaced != null) {
+        cacheSize -= replaced.length;
+      }
+      cacheSize += content.length;
+      shrinkCache();
+    }
+    return new ByteArrayInputStream(content);
+  }
+
+  private void shrinkCache() {
+    Iterator<byte[]> iterator = cache.values().iterator();
+    while (cacheSize > maxCacheSize && iterator.hasNext()) {
+      cacheSize -= iterator.next().length;
+      iterator.remove();
+    }
+  }
+
+  @Nullable
+  private static File getFile(@Nullable final URL url) {
+    if (url == null || !"file".equals(url.getProtocol())) {
+      return null;
+    }
+    try {
+      return new File(url.toURI());
+    } catch (URISyntaxException e) {
+      return null;
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
 }
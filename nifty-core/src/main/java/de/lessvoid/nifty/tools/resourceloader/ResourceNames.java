@@ -0,0 +1,34 @@
+package de.lessvoid.nifty.tools.resourceloader;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Turns a resource reference into the name an {@link IndexedResourceLocation} uses for its index, so all of them
+ * accept the same references.
+ *
+ * @author void
+ */
+final class ResourceNames {
+  private ResourceNames() {
+  }
+
+  /**
+   * Use "/" as separator and remove any leading "/" and "./" from the reference.
+   *
+   * @param ref the reference to the resource
+   * @return the name relative to the root of the location
+   */
+  @Nonnull
+  static String normalize(@Nonnull final String ref) {
+    String name = ref.replace('\\', '/');
+    while (true) {
+      if (name.startsWith("/")) {
+        name = name.substring(1);
+      } else if (name.startsWith("./")) {
+        name = name.substring(2);
+      } else {
+        return name;
+      }
+    }
+  }
+}
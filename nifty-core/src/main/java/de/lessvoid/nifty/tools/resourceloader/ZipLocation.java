@@ -0,0 +1,102 @@
+package de.lessvoid.nifty.tools.resourceloader;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.WillNotClose;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A resource location that loads the resources from a zip or jar file. The central directory of the file is read
+ * once when the location is created.
+ *
+ * @author void
+ */
+public class ZipLocation implements IndexedResourceLocation {
+  @Nonnull
+  private static final Logger log = Logger.getLogger(ZipLocation.class.getName());
+
+  @Nonnull
+  private final File file;
+  @Nonnull
+  private final ZipFile zipFile;
+  @Nonnull
+  private final Map<String, ZipEntry> entries = new HashMap<String, ZipEntry>();
+
+  /**
+   * Create a new resource location for a zip file.
+   *
+   * @param file the zip or jar file
+   * @throws IOException in case the file can't be opened
+   */
+  public ZipLocation(@Nonnull final File file) throws IOException {
+    this.file = file;
+    zipFile = new ZipFile(file);
+    Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+    while (zipEntries.hasMoreElements()) {
+      ZipEntry entry = zipEntries.nextElement();
+      if (!entry.isDirectory()) {
+        entries.put(entry.getName(), entry);
+      }
+    }
+  }
+
+  @Override
+  public boolean hasResource(@Nonnull final String ref) {
+    return entries.containsKey(getEntryName(ref));
+  }
+
+  @Nullable
+  @Override
+  @WillNotClose
+  public InputStream getResourceAsStream(@Nonnull final String ref) {
+    ZipEntry entry = entries.get(getEntryName(ref));
+    if (entry == null) {
+      return null;
+    }
+    try {
+      return zipFile.getInputStream(entry);
+    } catch (IOException e) {
+      log.log(Level.WARNING, "Failed to read [" + ref + "] from [" + file + "]", e);
+      return null;
+    }
+  }
+
+  @Nullable
+  @Override
+  public URL getResource(@Nonnull final String ref) {
+    String name = getEntryName(ref);
+    if (!entries.containsKey(name)) {
+      return null;
+    }
+    try {
+      return new URL("jar:" + file.toURI().toURL() + "!/" + name);
+    } catch (MalformedURLException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Close the zip file. Resources can't be loaded from this location anymore after this was called.
+   *
+   * @throws IOException in case closing the file fails
+   */
+  public void close() throws IOException {
+    zipFile.close();
+  }
+
+  @Nonnull
+  private static String getEntryName(@Nonnull final String ref) {
+    return ResourceNames.normalize(ref);
+  }
+}
@@ -0,0 +1,223 @@
+package de.lessvoid.xml.lwxs;
+
+import de.lessvoid.xml.tools.ClassHelper;
+import de.lessvoid.xml.tools.MethodInvoker;
+import de.lessvoid.xml.xpp3.Attributes;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A XML file that has been processed by a {@link Schema} once and that can be turned into the same XmlType tree again
+ * without parsing the XML. Each node stores the class of the XmlType, the attributes of the XML element and the name
+ * of the method that links the XmlType to its parent. This is all the Schema does with a XML file.
+ * <p/>
+ * A CompiledXml is recorded with a {@link RecordingXmlParser} and can be written to and read from a binary stream.
+ *
+ * @author void
+ */
+public class CompiledXml {
+  @Nonnull
+  private final Node root;
+
+  public CompiledXml(@Nonnull final Node root) {
+    this.root = root;
+  }
+
+  @Nonnull
+  public Node getRoot() {
+    return root;
+  }
+
+  /**
+   * Create the XmlType tree.
+   *
+   * @return the XmlType of the root element
+   * @throws Exception when one of the XmlType classes can't be instantiated
+   */
+  @Nonnull
+  public XmlType create() throws Exception {
+    return root.create(null);
+  }
+
+  /**
+   * Write this CompiledXml.
+   *
+   * @param out     the output
+   * @param strings the string table shared by all CompiledXml written to the same output
+   * @throws IOException on write errors
+   */
+  public void write(@Nonnull final DataOutput out, @Nonnull final StringTableOutput strings) throws IOException {
+    root.write(out, strings);
+  }
+
+  /**
+   * Read a CompiledXml that has been written with {@link #write(DataOutput, StringTableOutput)}.
+   *
+   * @param in      the input
+   * @param strings the string table shared by all CompiledXml read from the same input
+   * @return the CompiledXml
+   * @throws IOException on read errors
+   */
+  @Nonnull
+  public static CompiledXml read(@Nonnull final DataInput in, @Nonnull final StringTableInput strings)
+      throws IOException {
+    return new CompiledXml(Node.read(in, strings));
+  }
+
+  /**
+   * A single XmlType of the tree.
+   */
+  public static class Node {
+    @Nonnull
+    private final String className;
+    @Nullable
+    private final String link;
+    @Nonnull
+    private final String[] attributes;
+    @Nonnull
+    private final List<Node> children = new ArrayList<Node>();
+
+    /**
+     * Create a node.
+     *
+     * @param className  the full class name of the XmlType
+     * @param link       the method of the parent XmlType that is called with this XmlType ("addPanel") or null
+     * @param attributes the attribute names and values of the XML element, alternating
+     */
+    public Node(@Nonnull final String className, @Nullable final String link, @Nonnull final String[] attributes) {
+      this.className = className;
+      this.link = link;
+      this.attributes = attributes;
+    }
+
+    public void addChild(@Nonnull final Node child) {
+      children.add(child);
+    }
+
+    @Nonnull
+    public List<Node> getChildren() {
+      return children;
+    }
+
+    @Nonnull
+    public String getClassName() {
+      return className;
+    }
+
+    @Nullable
+    public String getAttribute(@Nonnull final String name) {
+      for (int i = 0; i < attributes.length; i += 2) {
+        if (name.equals(attributes[i])) {
+          return attributes[i + 1];
+        }
+      }
+      return null;
+    }
+
+    @Nonnull
+    private XmlType create(@Nullable final XmlType parent) throws Exception {
+      XmlType xmlType = ClassHelper.getInstance(className, XmlType.class);
+      if (xmlType == null) {
+        throw new Exception("Failed to create XML type. Requested class " + className + " failed to locate.");
+      }
+      xmlType.applyAttributes(new Attributes(attributes));
+      if (parent != null && link != null) {
+        new MethodInvoker(link + "()", parent).invoke(xmlType);
+      }
+      for (int i = 0; i < children.size(); i++) {
+        children.get(i).create(xmlType);
+      }
+      return xmlType;
+    }
+
+    private void write(@Nonnull final DataOutput out, @Nonnull final StringTableOutput strings) throws IOException {
+      strings.write(out, className);
+      strings.write(out, link);
+      out.writeShort(attributes.length / 2);
+      for (String value : attributes) {
+        strings.write(out, value);
+      }
+      out.writeInt(children.size());
+      for (int i = 0; i < children.size(); i++) {
+        children.get(i).write(out, strings);
+      }
+    }
+
+    @Nonnull
+    private static Node read(@Nonnull final DataInput in, @Nonnull final StringTableInput strings)
+        throws IOException {
+      String className = strings.read(in);
+      if (className == null) {
+        throw new IOException("Missing class name of compiled XML node.");
+      }
+      String link = strings.read(in);
+      String[] attributes = new String[in.readUnsignedShort() * 2];
+      for (int i = 0; i < attributes.length; i++) {
+        attributes[i] = strings.read(in);
+      }
+      Node node = new Node(className, link, attributes);
+      int childCount = in.readInt();
+      for (int i = 0; i < childCount; i++) {
+        node.addChild(read(in, strings));
+      }
+      return node;
+    }
+  }
+
+  /**
+   * Writes each distinct string only once. Later occurrences are written as an index.
+   */
+  public static class StringTableOutput {
+    @Nonnull
+    private final Map<String, Integer> indices = new HashMap<String, Integer>();
+
+    public void write(@Nonnull final DataOutput out, @Nullable final String value) throws IOException {
+      if (value == null) {
+        out.writeInt(-1);
+        return;
+      }
+      Integer index = indices.get(value);
+      if (index != null) {
+        out.writeInt(index);
+        return;
+      }
+      index = indices.size();
+      indices.put(value, index);
+      out.writeInt(index);
+      out.writeUTF(value);
+    }
+  }
+
+  /**
+   * Reads the strings written by a {@link StringTableOutput}.
+   */
+  public static class StringTableInput {
+    @Nonnull
+    private final List<String> values = new ArrayList<String>();
+
+    @Nullable
+    public String read(@Nonnull final DataInput in) throws IOException {
+      int index = in.readInt();
+      if (index == -1) {
+        return null;
+      }
+      if (index == values.size()) {
+        String value = in.readUTF();
+        values.add(value);
+        return value;
+      }
+      if (index < 0 || index > values.size()) {
+        throw new IOException("Invalid string index [" + index + "] in compiled XML.");
+      }
+      return values.get(index);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package de.lessvoid.xml.lwxs;
+
+import de.lessvoid.xml.lwxs.elements.XmlProcessorType;
+import de.lessvoid.xml.xpp3.Attributes;
+import de.lessvoid.xml.xpp3.XmlParser;
+import org.xmlpull.v1.XmlPullParser;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A XmlParser that records the XmlTypes the {@link Schema} creates while it processes the XML. The result is a
+ * {@link CompiledXml} that creates the same XmlTypes again without parsing the XML.
+ *
+ * @author void
+ */
+public class RecordingXmlParser extends XmlParser {
+  @Nonnull
+  private final List<CompiledXml.Node> openNodes = new ArrayList<CompiledXml.Node>();
+  @Nullable
+  private CompiledXml.Node root;
+
+  public RecordingXmlParser(@Nonnull final XmlPullParser xppParam) {
+    super(xppParam);
+  }
+
+  /**
+   * Called by the {@link XmlProcessorType} when it has created a new XmlType.
+   *
+   * @param className  the full class name of the XmlType
+   * @param link       the method of the parent XmlType the new XmlType is linked with or null
+   * @param attributes the attributes of the XML element
+   */
+  public void startType(
+      @Nonnull final String className,
+      @Nullable final String link,
+      @Nonnull final Attributes attributes) {
+    Map<String, String> values = attributes.getAttributes();
+    String[] attributeArray = new String[values.size() * 2];
+    int i = 0;
+    for (Map.Entry<String, String> entry : values.entrySet()) {
+      attributeArray[i++] = entry.getKey();
+      attributeArray[i++] = entry.getValue();
+    }
+    CompiledXml.Node node = new CompiledXml.Node(className, link, attributeArray);
+    if (openNodes.isEmpty()) {
+      root = node;
+    } else {
+      openNodes.get(openNodes.size() - 1).addChild(node);
+    }
+    openNodes.add(node);
+  }
+
+  /**
+   * Called by the {@link XmlProcessorType} when all children of the XmlType have been processed.
+   */
+  public void endType() {
+    openNodes.remove(openNodes.size() - 1);
+  }
+
+  /**
+   * Get the recorded XmlTypes.
+   *
+   * @return the CompiledXml
+   * @throws Exception when nothing has been recorded
+   */
+  @Nonnull
+  public CompiledXml getCompiledXml() throws Exception {
+    if (root == null) {
+      throw new Exception("Nothing has been recorded.");
+    }
+    return new CompiledXml(root);
+  }
+}
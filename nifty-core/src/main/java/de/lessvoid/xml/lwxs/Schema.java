@@ -61,12 +61,12 @@ public class Schema implements XmlProcessor {
           .add("type", new TypeProcessor(this)));
   }
 
-  public void addType(@Nonnull final String name, @Nonnull final Type typeParam) {
+  public synchronized void addType(@Nonnull final String name, @Nonnull final Type typeParam) {
     types.put(name, typeParam);
   }
 
   @Nonnull
-  public Type getType(@Nonnull final String name) throws Exception {
+  public synchronized Type getType(@Nonnull final String name) throws Exception {
     Type t = types.get(name);
     if (t == null) {
       log.warning("Type [" + name + "] not found. Creating new one on the fly");
@@ -76,7 +76,7 @@ public class Schema implements XmlProcessor {
     return t;
   }
 
-  public boolean isTypeAvailable(@Nonnull final String name) {
+  public synchronized boolean isTypeAvailable(@Nonnull final String name) {
     return types.containsKey(name);
   }
 
@@ -1,5 +1,6 @@
 package de.lessvoid.xml.lwxs.elements;
 
+import de.lessvoid.xml.lwxs.RecordingXmlParser;
 import de.lessvoid.xml.lwxs.XmlType;
 import de.lessvoid.xml.tools.ClassHelper;
 import de.lessvoid.xml.tools.MethodInvoker;
@@ -50,6 +51,11 @@ public class XmlProcessorType implements XmlProcessor {
     if (xmlType == null) {
       log.log(Level.SEVERE, "Failed to process XML. Requested class " + fullClassName + " failed to locate.");
     } else {
+      RecordingXmlParser recorder = null;
+      if (xmlParser instanceof RecordingXmlParser) {
+        recorder = (RecordingXmlParser) xmlParser;
+        recorder.startType(fullClassName, getLink(), attributes);
+      }
       xmlType.applyAttributes(attributes);
       if (xmlTypeParentSingle != null) {
         invoke(xmlType, xmlTypeParentSingle, "set");
@@ -64,6 +70,9 @@ public class XmlProcessorType implements XmlProcessor {
       for (XmlProcessorSubstituitionGroup subst : substGroups) {
         xmlParser.zeroOrMore(subst.getSubstGroup(xmlType));
       }
+      if (recorder != null) {
+        recorder.endType();
+      }
     }
   }
 
@@ -72,6 +81,16 @@ public class XmlProcessorType implements XmlProcessor {
     return xmlType;
   }
 
+  @Nullable
+  private String getLink() {
+    if (xmlTypeParentSingle != null) {
+      return "set" + xmlTypeParentName;
+    } else if (xmlTypeParentMultiple != null) {
+      return "add" + xmlTypeParentName;
+    }
+    return null;
+  }
+
   private void invoke(@Nonnull final XmlType child, @Nonnull final XmlType parent, @Nonnull final String qualifier) {
     MethodInvoker methodInvoker = new MethodInvoker(qualifier + xmlTypeParentName + "()", parent);
     methodInvoker.invoke(child);
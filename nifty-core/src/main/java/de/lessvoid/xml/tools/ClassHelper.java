@@ -2,10 +2,22 @@ package de.lessvoid.xml.tools;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.lang.ref.SoftReference;
+import java.lang.reflect.Constructor;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Logger;
 
 /**
  * Helper to get Class from class name.
+ * <p/>
+ * Loaded classes (per context class loader) and their default constructors are cached since the same classes are
+ * instantiated again and again while screens and controls are created. The class loaders and classes are only weakly
+ * referenced by the cache keys and the cached values are soft references, because a class references its class loader
+ * and a constructor its class. This way the cache does not prevent classes from being unloaded.
  * @author void
  */
 public final class ClassHelper {
@@ -15,6 +27,14 @@ public final class ClassHelper {
    */
   private static final Logger log = Logger.getLogger(ClassHelper.class.getName());
 
+  @Nonnull
+  private static final Map<ClassLoader, ConcurrentMap<String, SoftReference<Class<?>>>> classCache =
+      Collections.synchronizedMap(new WeakHashMap<ClassLoader, ConcurrentMap<String, SoftReference<Class<?>>>>());
+
+  @Nonnull
+  private static final Map<Class<?>, SoftReference<Constructor<?>>> constructorCache =
+      Collections.synchronizedMap(new WeakHashMap<Class<?>, SoftReference<Constructor<?>>>());
+
   /**
    * You can't initialize this class.
    */
@@ -29,8 +49,7 @@ public final class ClassHelper {
   @Nullable
   public static Class<?> loadClass(@Nonnull final String className) {
     try {
-		return Thread.currentThread().getContextClassLoader().loadClass(className);
-//      return Class.forName(className);
+      return loadCachedClass(className);
     } catch (Exception e) {
       log.warning("class [" + className + "] could not be found (" + e.getMessage() + ")");
     }
@@ -47,13 +66,12 @@ public final class ClassHelper {
   @Nullable
   public static <T> T getInstance(@Nonnull final String className, @Nonnull final Class<T> type) {
     try {
-		Class<?> cls = Thread.currentThread().getContextClassLoader().loadClass(className);
-//	  Class<?> cls = Class.forName(className);
-	  if (type.isAssignableFrom(cls)) {
-	    return type.cast(cls.newInstance());
-	  } else {
-	    log.warning("given class [" + className + "] does not implement [" + type.getName() + "]");
-	  }
+      Class<?> cls = loadCachedClass(className);
+      if (type.isAssignableFrom(cls)) {
+        return type.cast(newInstance(cls));
+      } else {
+        log.warning("given class [" + className + "] does not implement [" + type.getName() + "]");
+      }
     } catch (Exception e) {
       log.warning("class [" + className + "] could not be instantiated (" + e.toString() + ")");
     }
@@ -63,11 +81,62 @@ public final class ClassHelper {
   @Nullable
   public static <T> T getInstance(@Nonnull final Class<T> clazz) {
     try {
-      return clazz.newInstance();
+      return newInstance(clazz);
     } catch (Exception e) {
       log.warning("class [" + clazz.getName() + "] could not be instantiated");
     }
     return null;
   }
+
+  /**
+   * Create a new instance of the given class with its default constructor. The constructor is looked up only once.
+   * @param clazz the class
+   * @param <T> class
+   * @return the new instance
+   * @throws Exception when the instance can't be created
+   */
+  @Nonnull
+  public static <T> T newInstance(@Nonnull final Class<T> clazz) throws Exception {
+    SoftReference<Constructor<?>> cached = constructorCache.get(clazz);
+    Constructor<?> constructor = cached == null ? null : cached.get();
+    if (constructor == null) {
+      try {
+        constructor = clazz.getConstructor();
+      } catch (NoSuchMethodException e) {
+        // no public default constructor, let the class decide if it can be instantiated from here
+        return clazz.newInstance();
+      }
+      constructorCache.put(clazz, new SoftReference<Constructor<?>>(constructor));
+    }
+    return clazz.cast(constructor.newInstance());
+  }
+
+  /**
+   * Forget all classes and constructors that have been cached. Only needed when classes are reloaded.
+   */
+  public static void clearCache() {
+    classCache.clear();
+    constructorCache.clear();
+  }
+
+  @Nonnull
+  private static Class<?> loadCachedClass(@Nonnull final String className) throws ClassNotFoundException {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    ConcurrentMap<String, SoftReference<Class<?>>> classes;
+    synchronized (classCache) {
+      classes = classCache.get(classLoader);
+      if (classes == null) {
+        classes = new ConcurrentHashMap<String, SoftReference<Class<?>>>();
+        classCache.put(classLoader, classes);
+      }
+    }
+    SoftReference<Class<?>> cached = classes.get(className);
+    Class<?> cls = cached == null ? null : cached.get();
+    if (cls == null) {
+      cls = classLoader.loadClass(className);
+      classes.put(className, new SoftReference<Class<?>>(cls));
+    }
+    return cls;
+  }
 }
 
@@ -2,17 +2,61 @@ package de.lessvoid.xml.tools;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.lang.ref.SoftReference;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Logger;
 
 /**
  * MethodResolver helper class.
+ * <p/>
+ * The methods found by {@link #findMethod(Class, String)} and the parameters parsed by {@link
+ * #getParameters(String)} are cached because they are looked up again for every interaction callback. The classes are
+ * only weakly referenced by the cache so they can still be unloaded.
  * @author void
  */
 public class MethodResolver {
   private static final Logger log = Logger.getLogger(MethodResolver.class.getName());
 
+  /**
+   * Marks a method that does not exist in the method cache.
+   */
+  @Nonnull
+  private static final Object NOT_FOUND = new Object();
+
+  /**
+   * The maximum number of method strings the parameter cache keeps.
+   */
+  private static final int MAX_PARAMETER_CACHE_SIZE = 1024;
+
+  /**
+   * The result of findMethod() per class and method string. The value is a SoftReference to the Method or NOT_FOUND.
+   * A Method references its class, so it can't be kept strongly in a map with weak class keys.
+   */
+  @Nonnull
+  private static final Map<Class<?>, ConcurrentMap<String, Object>> methodCache =
+      Collections.synchronizedMap(new WeakHashMap<Class<?>, ConcurrentMap<String, Object>>());
+
+  /**
+   * The parameters encoded in a method string. The least recently used entries are dropped when the cache is full.
+   */
+  @Nonnull
+  private static final Map<String, String[]> parameterCache = Collections.synchronizedMap(
+      new LinkedHashMap<String, String[]>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, String[]> eldest) {
+          return size() > MAX_PARAMETER_CACHE_SIZE;
+        }
+      });
+
   /**
    * you can't instantiate this class it's a helper class.
    */
@@ -27,6 +71,39 @@ public class MethodResolver {
    */
   @Nullable
   public static Method findMethod(@Nullable final Class < ? > c, @Nonnull final String methodName) {
+    if (c == null) {
+      return null;
+    }
+    ConcurrentMap<String, Object> methods;
+    synchronized (methodCache) {
+      methods = methodCache.get(c);
+      if (methods == null) {
+        methods = new ConcurrentHashMap<String, Object>();
+        methodCache.put(c, methods);
+      }
+    }
+    Object cached = methods.get(methodName);
+    if (cached == NOT_FOUND) {
+      return null;
+    }
+    Method method = cached == null ? null : ((MethodReference) cached).get();
+    if (method == null) {
+      method = lookupMethod(c, methodName);
+      methods.put(methodName, method == null ? NOT_FOUND : new MethodReference(method));
+    }
+    return method;
+  }
+
+  /**
+   * Forget all methods and parameters that have been cached. Only needed when classes are reloaded.
+   */
+  public static void clearCache() {
+    methodCache.clear();
+    parameterCache.clear();
+  }
+
+  @Nullable
+  private static Method lookupMethod(@Nullable final Class < ? > c, @Nonnull final String methodName) {
     if (c == null) {
       return null;
     }
@@ -41,7 +118,7 @@ public class MethodResolver {
         return m;
       }
     }
-    return findMethod(c.getSuperclass(), methodName);
+    return lookupMethod(c.getSuperclass(), methodName);
   }
 
   @Nullable
@@ -65,6 +142,22 @@ public class MethodResolver {
     return null;
   }
 
+  /**
+   * Get the parameters encoded in the given method string. This is the same as {@link #extractParameters(String)}
+   * but the result is cached and shared with all callers so it must not be changed.
+   * @param methodName method
+   * @return array of strings with actual parameters or empty array
+   */
+  @Nonnull
+  public static String[] getParameters(@Nonnull final String methodName) {
+    String[] parameters = parameterCache.get(methodName);
+    if (parameters == null) {
+      parameters = extractParameters(methodName);
+      parameterCache.put(methodName, parameters);
+    }
+    return parameters;
+  }
+
   /**
    * extract array of strings encoding in the given method string.
    * @param methodName method
@@ -106,4 +199,10 @@ public class MethodResolver {
     }
     return methodName.substring(0, methodName.indexOf('('));
   }
+
+  private static final class MethodReference extends SoftReference<Method> {
+    private MethodReference(@Nonnull final Method method) {
+      super(method);
+    }
+  }
 }
@@ -1,11 +1,17 @@
 package de.lessvoid.xml.xpp3;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Properties;
 import java.util.Set;
 
@@ -21,28 +27,39 @@ import de.lessvoid.xml.tools.SpecialValuesReplace;
 
 /**
  * XPP Attributes in a nicer form.
+ * <p/>
+ * The attributes are stored in plain arrays in the order they have been added. Each attribute has a bit mask of the
+ * tags (style ids) it has been tagged with, a store with more than 64 tags keeps the others in a BitSet. Copies share
+ * the arrays with their source until one of them is changed (copy on write) so copying the attributes of an element
+ * type is cheap.
  * @author void
  */
-// TODO: This class should be modified to implement the Map<String, String> interface (renaming all concerned method),
-// and should not expose its attributes member anymore.
 public class Attributes {
   private static final String ORIGINAL_VALUE_MARKER = "$$$originalValue->";
 
   private final static ControlParameter controlParameter = new ControlParameter();
   @Nonnull
-  private final Map<String, String> attributes;
-  @Nonnull
-  private final Map<String, Set<String>> taggedAttributes;
+  private Store store;
+
+  /**
+   * True when the store might be used by another Attributes instance too and needs to be copied before it's changed.
+   */
+  private boolean shared;
+
+  /**
+   * Read only view of the attributes, created on first use.
+   */
+  @Nullable
+  private Map<String, String> view;
 
   public Attributes() {
-    attributes = new HashMap<String, String>();
-    taggedAttributes = new HashMap<String, Set<String>>();
+    store = new Store();
   }
 
   public Attributes(@Nonnull final String ... values) {
     this();
     for (int i = 0; i < values.length / 2; i++) {
-      attributes.put(values[i * 2], values[i * 2 + 1]);
+      setAttribute(values[i * 2].intern(), values[i * 2 + 1]);
     }
   }
 
@@ -56,7 +73,7 @@ public class Attributes {
     for (int i = 0; i < count; i++) {
       String key = xpp.getAttributeName(i);
       String value = xpp.getAttributeValue(i);
-      attributes.put(key, value);
+      setAttribute(key.intern(), value);
     }
   }
 
@@ -65,9 +82,9 @@ public class Attributes {
    * @param source source
    */
   public Attributes(@Nonnull final Attributes source) {
-    this();
-    attributes.putAll(source.attributes);
-    taggedAttributes.putAll(source.taggedAttributes);
+    store = source.store;
+    shared = true;
+    source.shared = true;
   }
 
   public void translateSpecialValues(
@@ -75,11 +92,11 @@ public class Attributes {
       @Nullable final ScreenController screenController,
       @Nullable final Properties globalProperties,
       @Nullable final Locale loc) {
-    Map<String, String> replacedAttributes = new HashMap<String, String>();
+    Map<String, String> replacedAttributes = new LinkedHashMap<String, String>();
 
-    for (Map.Entry<String, String> entry : attributes.entrySet()) {
-      String key = entry.getKey();
-      String value = entry.getValue();
+    for (int i = 0; i < store.size; i++) {
+      String key = store.keys[i];
+      String value = store.values[i];
 
       // skip original values - they don't need to be translated or added again
       if (key.startsWith(ORIGINAL_VALUE_MARKER)) {
@@ -92,7 +109,9 @@ public class Attributes {
       replacedAttributes.put(ORIGINAL_VALUE_MARKER + key, value);
     }
 
-    attributes.putAll(replacedAttributes);
+    for (Map.Entry<String, String> entry : replacedAttributes.entrySet()) {
+      setAttribute(entry.getKey(), entry.getValue());
+    }
   }
 
   /**
@@ -112,7 +131,8 @@ public class Attributes {
    */
   @Nullable
   public String get(@Nonnull final String name) {
-    return attributes.get(name);
+    int index = store.indexOf(name);
+    return index == -1 ? null : store.values[index];
   }
 
   @Nonnull
@@ -132,7 +152,9 @@ public class Attributes {
   @Nonnull
   public Properties createProperties() {
     Properties props = new Properties();
-    props.putAll(attributes);
+    for (int i = 0; i < store.size; i++) {
+      props.put(store.keys[i], store.values[i]);
+    }
     return props;
   }
 
@@ -249,88 +271,88 @@ public class Attributes {
   }
 
   public void overwrite(@Nonnull final Attributes src) {
-    attributes.clear();
-    taggedAttributes.clear();
-    attributes.putAll(src.attributes);
-    taggedAttributes.putAll(src.taggedAttributes);
+    store = src.store;
+    shared = true;
+    src.shared = true;
   }
 
   public void merge(@Nonnull final Attributes src) {
-    Map<String, String> srcAttributes = src.attributes;
-
-    for (Map.Entry<String, String> srcAttribute : srcAttributes.entrySet()) {
-      String srcKey = srcAttribute.getKey();
-      if (!attributes.containsKey(srcKey)) {
-        attributes.put(srcKey, srcAttribute.getValue());
-
-        for (Map.Entry<String, Set<String>> tag : src.taggedAttributes.entrySet()) {
-          if (tag.getValue().contains(srcKey)) {
-            Set<String> attribForTag = taggedAttributes.get(tag.getKey());
-            if (attribForTag == null) {
-              attribForTag = new HashSet<String>();
-              taggedAttributes.put(tag.getKey(), attribForTag);
-            }
-            attribForTag.add(srcKey);
-          }
+    Store srcStore = src.store;
+    for (int i = 0; i < srcStore.size; i++) {
+      String srcKey = srcStore.keys[i];
+      if (store.indexOf(srcKey) == -1) {
+        Store target = getWritableStore();
+        int index = target.add(srcKey, srcStore.values[i]);
+        for (int tag = srcStore.nextTag(i, 0); tag != -1; tag = srcStore.nextTag(i, tag + 1)) {
+          target.addTag(index, target.tagIndex(srcStore.tags[tag]));
         }
       }
     }
   }
 
   public void mergeAndTag(@Nonnull final Attributes src, @Nonnull final String tag) {
-    for (Map.Entry<String, String> entry : src.attributes.entrySet()) {
-      String srcKey = entry.getKey();
+    Store srcStore = src.store;
+    int tagIndex = -1;
+    for (int i = 0; i < srcStore.size; i++) {
+      String srcKey = srcStore.keys[i];
 
       // you can only overwrite keys when they don't exist yet
-      if (!attributes.containsKey(srcKey)) {
-        setAttribute(srcKey, entry.getValue());
-        tagAttribute(srcKey, tag);
+      if (store.indexOf(srcKey) == -1) {
+        Store target = getWritableStore();
+        if (tagIndex == -1) {
+          tagIndex = target.tagIndex(tag);
+        }
+        target.addTag(target.add(srcKey, srcStore.values[i]), tagIndex);
       }
     }
   }
 
-  private void tagAttribute(@Nonnull final String srcKey, @Nonnull final String tag) {
-    Set<String> attribForTag = taggedAttributes.get(tag);
-    if (attribForTag == null) {
-      attribForTag = new HashSet<String>();
-      taggedAttributes.put(tag, attribForTag);
-    }
-    attribForTag.add(srcKey);
-  }
-
   public void refreshFromAttributes(@Nonnull final Attributes src) {
-    Map<String, String> srcAttributes = src.attributes;
-    for (Map.Entry<String, String> srcAttribute : srcAttributes.entrySet()) {
-      String srcKey = srcAttribute.getKey();
-      String srcValue = srcAttribute.getValue();
+    Store srcStore = src.store;
+    for (int i = 0; i < srcStore.size; i++) {
+      String srcKey = srcStore.keys[i];
+      String srcValue = srcStore.values[i];
       if (srcValue.equals("")) {
         // this key should be replaced
-        attributes.remove(srcKey);
+        remove(srcKey);
       } else {
-        attributes.put(srcKey, srcAttributes.get(srcKey));
+        setAttribute(srcKey, srcValue);
       }
     }
   }
 
-  private void setAttribute(final String key, final String value) {
-    attributes.put(key, value);
+  private void setAttribute(@Nonnull final String key, @Nonnull final String value) {
+    int index = store.indexOf(key);
+    if (index == -1) {
+      getWritableStore().add(key, value);
+    } else if (!value.equals(store.values[index])) {
+      getWritableStore().values[index] = value;
+    }
+  }
+
+  /**
+   * Get the store to change it. The store is copied first when it might be used by another instance too.
+   */
+  @Nonnull
+  private Store getWritableStore() {
+    if (shared) {
+      store = new Store(store);
+      shared = false;
+    }
+    return store;
   }
 
   @Override
   @Nonnull
   public String toString() {
     StringBuilder result = new StringBuilder();
-    boolean first = true;
-    for (String key : attributes.keySet()) {
-      if (!first) {
+    for (int i = 0; i < store.size; i++) {
+      if (i > 0) {
         result.append(", ");
       }
-      if (first) {
-        first = false;
-      }
-      result.append(key).append(" => ").append(attributes.get(key));
+      result.append(store.keys[i]).append(" => ").append(store.values[i]);
 
-      String tag = resolveTag(key);
+      String tag = store.firstTag(i);
       if (tag != null) {
         result.append(" {").append(tag).append("}");
       }
@@ -338,16 +360,6 @@ public class Attributes {
     return result.toString();
   }
 
-  @Nullable
-  private String resolveTag(final String key) {
-    for (Map.Entry < String, Set < String >> tag : taggedAttributes.entrySet()) {
-      if (tag.getValue().contains(key)) {
-        return tag.getKey();
-      }
-    }
-    return null;
-  }
-
   public static class Parameter {
     private final String originalValue;
     private final String key;
@@ -376,9 +388,9 @@ public class Attributes {
   public List<Parameter> extractParameters() {
     List<Parameter> parameters = new ArrayList<Parameter>();
 
-    for (Map.Entry < String, String > entry : attributes.entrySet()) {
-      String key = entry.getKey(); // like key="$value"
-      String value = entry.getValue();
+    for (int i = 0; i < store.size; i++) {
+      String key = store.keys[i]; // like key="$value"
+      String value = store.values[i];
       if (isParameterDefinition(value)) {
         parameters.add(new Parameter(value, controlParameter.extractParameter(value), key));
       }
@@ -391,25 +403,50 @@ public class Attributes {
     return controlParameter.isParameter(value);
   }
 
+  /**
+   * Get all attributes in the order they have been added.
+   *
+   * @return a read only view of the attributes that follows later changes
+   */
   @Nonnull
   public Map < String, String > getAttributes() {
-    return attributes;
+    if (view == null) {
+      view = new AttributeMap();
+    }
+    return view;
+  }
+
+  /**
+   * Get a key for the current attributes that can be used in hash maps. Two keys are equal when they contain the same
+   * attributes in any order, tags are ignored. The key shares the arrays of these attributes, nothing is copied. When
+   * the attributes are changed later they are copied first, so the key never changes.
+   *
+   * @return the key
+   */
+  @Nonnull
+  public Object createKey() {
+    shared = true;
+    return new Key(store);
   }
 
   public void remove(final String key) {
-    attributes.remove(key);
+    int index = store.indexOf(key);
+    if (index != -1) {
+      getWritableStore().remove(index);
+    }
   }
 
   @Nullable
   public String getWithTag(final String name, final String tag) {
-    Set < String > attributesWithTag = taggedAttributes.get(tag);
-    if (attributesWithTag == null) {
+    int tagIndex = store.findTag(tag);
+    if (tagIndex == -1) {
       return null;
     }
-    if (!attributesWithTag.contains(name)) {
+    int index = store.indexOf(name);
+    if (index == -1 || !store.hasTag(index, tagIndex)) {
       return null;
     }
-    return attributes.get(name);
+    return store.values[index];
   }
 
   @SuppressWarnings("ConstantConditions")
@@ -436,11 +473,9 @@ public class Attributes {
   }
 
   public void removeWithTag(final String tag) {
-    Set < String > tagged = taggedAttributes.get(tag);
-    if (tagged != null) {
-      for (String key : tagged) {
-        remove(key);
-      }
+    int tagIndex = store.findTag(tag);
+    if (tagIndex != -1) {
+      getWritableStore().removeTagged(tagIndex);
     }
   }
 
@@ -456,4 +491,385 @@ public class Attributes {
     }
     return get(key);
   }
+
+  /**
+   * Map view of the current store, nothing is copied. Changes can't be made through it.
+   */
+  private final class AttributeMap extends AbstractMap<String, String> {
+    @Nonnull
+    private final Set<Entry<String, String>> entries = new AbstractSet<Entry<String, String>>() {
+      @Nonnull
+      @Override
+      public Iterator<Entry<String, String>> iterator() {
+        return new Iterator<Entry<String, String>>() {
+          @Nonnull
+          private final Store iterated = store;
+          private int next;
+
+          @Override
+          public boolean hasNext() {
+            return next < iterated.size;
+          }
+
+          @Nonnull
+          @Override
+          public Entry<String, String> next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            Entry<String, String> entry = new SimpleImmutableEntry<String, String>(
+                iterated.keys[next], iterated.values[next]);
+            next++;
+            return entry;
+          }
+
+          @Override
+          public void remove() {
+            throw new UnsupportedOperationException();
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return store.size;
+      }
+    };
+
+    @Nonnull
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+      return entries;
+    }
+
+    @Override
+    public int size() {
+      return store.size;
+    }
+
+    @Override
+    public boolean containsKey(@Nullable final Object key) {
+      return key instanceof String && store.indexOf((String) key) != -1;
+    }
+
+    @Nullable
+    @Override
+    public String get(@Nullable final Object key) {
+      return key instanceof String ? Attributes.this.get((String) key) : null;
+    }
+  }
+
+  /**
+   * Hash map key of the attributes that compares the attributes only, see {@link #createKey()}.
+   */
+  private static final class Key {
+    @Nonnull
+    private final Store store;
+    private final int hashCode;
+
+    private Key(@Nonnull final Store store) {
+      this.store = store;
+      // same as the hash code of a Map, so it doesn't depend on the order of the attributes
+      int hash = 0;
+      for (int i = 0; i < store.size; i++) {
+        hash += store.keys[i].hashCode() ^ store.values[i].hashCode();
+      }
+      hashCode = hash;
+    }
+
+    @Override
+    public boolean equals(@Nullable final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      if (store == other.store) {
+        return true;
+      }
+      if (hashCode != other.hashCode || store.size != other.store.size) {
+        return false;
+      }
+      for (int i = 0; i < store.size; i++) {
+        int otherIndex = other.store.indexOf(store.keys[i]);
+        if (otherIndex == -1 || !store.values[i].equals(other.store.values[otherIndex])) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  /**
+   * The actual attribute data. Small arrays are searched linearly; keys are usually interned so the identity check
+   * finds them. Large stores get a hash index on demand.
+   */
+  private static final class Store {
+    /**
+     * The number of tags that have a bit in the tag mask of an attribute. Any further tags use the slower BitSet.
+     */
+    private static final int MASK_TAGS = 64;
+    private static final int INDEX_THRESHOLD = 16;
+    @Nonnull
+    private static final String[] EMPTY = new String[0];
+    @Nonnull
+    private static final long[] EMPTY_MASKS = new long[0];
+
+    @Nonnull
+    private String[] keys;
+    @Nonnull
+    private String[] values;
+    @Nonnull
+    private long[] tagMasks;
+    /**
+     * The tags from {@link #MASK_TAGS} on of each attribute, null until a store uses that many tags.
+     */
+    @Nullable
+    private BitSet[] extraTagMasks;
+    private int size;
+    @Nonnull
+    private String[] tags;
+    @Nullable
+    private Map<String, Integer> index;
+
+    Store() {
+      keys = EMPTY;
+      values = EMPTY;
+      tagMasks = EMPTY_MASKS;
+      tags = EMPTY;
+    }
+
+    Store(@Nonnull final Store source) {
+      keys = Arrays.copyOf(source.keys, source.size);
+      values = Arrays.copyOf(source.values, source.size);
+      tagMasks = Arrays.copyOf(source.tagMasks, source.size);
+      if (source.extraTagMasks != null) {
+        extraTagMasks = new BitSet[source.size];
+        for (int i = 0; i < source.size; i++) {
+          BitSet extra = source.extraTagMasks[i];
+          extraTagMasks[i] = extra == null ? null : (BitSet) extra.clone();
+        }
+      }
+      size = source.size;
+      tags = source.tags.length == 0 ? EMPTY : source.tags.clone();
+      updateIndex();
+    }
+
+    int indexOf(@Nonnull final String key) {
+      for (int i = 0; i < size && i < INDEX_THRESHOLD; i++) {
+        if (keys[i] == key) {
+          return i;
+        }
+      }
+      if (index != null) {
+        Integer result = index.get(key);
+        return result == null ? -1 : result;
+      }
+      for (int i = 0; i < size; i++) {
+        if (keys[i].equals(key)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * Add a new attribute without any tags.
+     *
+     * @return the index of the attribute
+     */
+    int add(@Nonnull final String key, @Nonnull final String value) {
+      if (size == keys.length) {
+        int capacity = Math.max(4, size * 2);
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+        tagMasks = Arrays.copyOf(tagMasks, capacity);
+        if (extraTagMasks != null) {
+          extraTagMasks = Arrays.copyOf(extraTagMasks, capacity);
+        }
+      }
+      keys[size] = key;
+      values[size] = value;
+      tagMasks[size] = 0;
+      size++;
+      if (index != null) {
+        index.put(key, size - 1);
+      } else {
+        updateIndex();
+      }
+      return size - 1;
+    }
+
+    void addTag(final int attributeIndex, final int tagIndex) {
+      if (tagIndex < MASK_TAGS) {
+        tagMasks[attributeIndex] |= 1L << tagIndex;
+        return;
+      }
+      if (extraTagMasks == null) {
+        extraTagMasks = new BitSet[keys.length];
+      }
+      if (extraTagMasks[attributeIndex] == null) {
+        extraTagMasks[attributeIndex] = new BitSet();
+      }
+      extraTagMasks[attributeIndex].set(tagIndex - MASK_TAGS);
+    }
+
+    boolean hasTag(final int attributeIndex, final int tagIndex) {
+      if (tagIndex < MASK_TAGS) {
+        return (tagMasks[attributeIndex] & (1L << tagIndex)) != 0;
+      }
+      if (extraTagMasks == null || extraTagMasks[attributeIndex] == null) {
+        return false;
+      }
+      return extraTagMasks[attributeIndex].get(tagIndex - MASK_TAGS);
+    }
+
+    /**
+     * Get the first tag of the attribute at or after the given tag index.
+     *
+     * @return the tag index or -1 when there is none
+     */
+    int nextTag(final int attributeIndex, final int fromTagIndex) {
+      if (fromTagIndex < MASK_TAGS) {
+        long mask = tagMasks[attributeIndex] & (-1L << fromTagIndex);
+        if (mask != 0) {
+          return Long.numberOfTrailingZeros(mask);
+        }
+      }
+      if (extraTagMasks == null || extraTagMasks[attributeIndex] == null) {
+        return -1;
+      }
+      int extra = extraTagMasks[attributeIndex].nextSetBit(Math.max(0, fromTagIndex - MASK_TAGS));
+      return extra == -1 ? -1 : MASK_TAGS + extra;
+    }
+
+    void remove(final int removeIndex) {
+      int moved = size - removeIndex - 1;
+      System.arraycopy(keys, removeIndex + 1, keys, removeIndex, moved);
+      System.arraycopy(values, removeIndex + 1, values, removeIndex, moved);
+      System.arraycopy(tagMasks, removeIndex + 1, tagMasks, removeIndex, moved);
+      if (extraTagMasks != null) {
+        System.arraycopy(extraTagMasks, removeIndex + 1, extraTagMasks, removeIndex, moved);
+      }
+      size--;
+      keys[size] = null;
+      values[size] = null;
+      if (extraTagMasks != null) {
+        extraTagMasks[size] = null;
+      }
+      index = null;
+      updateIndex();
+    }
+
+    void removeTagged(final int tagIndex) {
+      int target = 0;
+      for (int i = 0; i < size; i++) {
+        if (!hasTag(i, tagIndex)) {
+          keys[target] = keys[i];
+          values[target] = values[i];
+          tagMasks[target] = tagMasks[i];
+          if (extraTagMasks != null) {
+            extraTagMasks[target] = extraTagMasks[i];
+          }
+          target++;
+        }
+      }
+      for (int i = target; i < size; i++) {
+        keys[i] = null;
+        values[i] = null;
+        if (extraTagMasks != null) {
+          extraTagMasks[i] = null;
+        }
+      }
+      if (target != size) {
+        size = target;
+        index = null;
+        updateIndex();
+      }
+      // no attribute is tagged with it anymore, the slot can be used by another tag
+      tags[tagIndex] = null;
+    }
+
+    /**
+     * Create the hash index when the store got too large to be searched linearly. The index is never created lazily
+     * while reading so a store that is not changed anymore can be read from multiple threads.
+     */
+    private void updateIndex() {
+      if (index != null || size <= INDEX_THRESHOLD) {
+        return;
+      }
+      index = new HashMap<String, Integer>(size * 2);
+      for (int i = 0; i < size; i++) {
+        index.put(keys[i], i);
+      }
+    }
+
+    int findTag(@Nonnull final String tag) {
+      for (int i = 0; i < tags.length; i++) {
+        if (tag.equals(tags[i])) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * Get the index of the given tag. A free slot is used for new tags.
+     */
+    int tagIndex(@Nonnull final String tag) {
+      int result = findTag(tag);
+      if (result != -1) {
+        return result;
+      }
+      int free = findFreeTag();
+      if (free == -1) {
+        releaseUnusedTags();
+        free = findFreeTag();
+      }
+      if (free == -1) {
+        free = tags.length;
+        tags = Arrays.copyOf(tags, Math.max(2, tags.length * 2));
+      }
+      tags[free] = tag;
+      return free;
+    }
+
+    private int findFreeTag() {
+      for (int i = 0; i < tags.length; i++) {
+        if (tags[i] == null) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private void releaseUnusedTags() {
+      long used = 0;
+      BitSet extraUsed = new BitSet();
+      for (int i = 0; i < size; i++) {
+        used |= tagMasks[i];
+        if (extraTagMasks != null && extraTagMasks[i] != null) {
+          extraUsed.or(extraTagMasks[i]);
+        }
+      }
+      for (int i = 0; i < tags.length; i++) {
+        if (i < MASK_TAGS ? (used & (1L << i)) == 0 : !extraUsed.get(i - MASK_TAGS)) {
+          tags[i] = null;
+        }
+      }
+    }
+
+    @Nullable
+    String firstTag(final int attributeIndex) {
+      int tagIndex = nextTag(attributeIndex, 0);
+      return tagIndex == -1 ? null : tags[tagIndex];
+    }
+  }
 }
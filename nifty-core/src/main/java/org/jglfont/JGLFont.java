@@ -31,6 +31,27 @@ public interface JGLFont {
    */
   void renderText(int x, int y, String text, float sizeX, float sizeY, float r, float g, float b, float a);
 
+  /**
+   * Output the part of the text from start to end at the given x and y position using the r,g,b,a components. The
+   * text is rendered as is. It is not preprocessed by the JGLFontRenderer so it must not contain any markup. The rest
+   * of the text is only used for kerning.
+   *
+   * @param x x position
+   * @param y y position
+   * @param text the text
+   * @param start index of the first character to output
+   * @param end index behind the last character to output
+   * @param sizeX x scale factor of the text (this should be apply with x,y as the origin)
+   * @param sizeY y scale factor of the text (this should be apply with x,y as the origin)
+   * @param r red
+   * @param g green
+   * @param b blue
+   * @param a alpha
+   * @return the x position behind the last character rendered
+   */
+  int renderTextRun(
+      int x, int y, String text, int start, int end, float sizeX, float sizeY, float r, float g, float b, float a);
+
   /**
    * Get the width of a single character.
    *
@@ -76,6 +76,44 @@ public class JGLFontImpl implements JGLFont {
     fontData.getRenderer().afterRender();
   }
 
+  /* (non-Javadoc)
+   * @see org.org.jglfont.impl.JGLFont#renderTextRun(int, int, java.lang.String, int, int, float, float, float, float, float, float)
+   */
+  @Override
+  public int renderTextRun(
+      final int x,
+      final int y,
+      final String text,
+      final int start,
+      final int end,
+      final float sizeX,
+      final float sizeY,
+      final float r,
+      final float g,
+      final float b,
+      final float a) {
+    if (start >= end) {
+      return x;
+    }
+
+    int xPos = x;
+    fontData.getRenderer().beforeRender(customRenderState);
+    for (int offset = start; offset < end; /* no increment */) {
+      int currentCodepoint = text.codePointAt(offset);
+      int nextCodePoint = getNextCodepoint(text, offset);
+
+      offset += Character.charCount(currentCodepoint);
+
+      JGLFontGlyphInfo characterInfo = fontData.getGlyphs().get(currentCodepoint);
+      if (characterInfo != null) {
+        fontData.getRenderer().render(characterInfo.getPage(), xPos, y, currentCodepoint, sizeX, sizeY, r, g, b, a);
+        xPos += (float) getCharacterWidth(currentCodepoint, nextCodePoint, sizeX);
+      }
+    }
+    fontData.getRenderer().afterRender();
+    return xPos;
+  }
+
   @Override
   public int getCharacterWidth(final int currentCharacter, final int nextCharacter) {
     return getCharacterWidth(currentCharacter, nextCharacter, 1.f);
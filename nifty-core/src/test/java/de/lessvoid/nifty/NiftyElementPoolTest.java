@@ -0,0 +1,122 @@
+package de.lessvoid.nifty;
+
+import de.lessvoid.nifty.builder.ControlBuilder;
+import de.lessvoid.nifty.controls.AbstractController;
+import de.lessvoid.nifty.controls.Parameters;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.input.NiftyInputEvent;
+import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.nifty.spi.input.InputSystem;
+import de.lessvoid.nifty.spi.render.RenderDevice;
+import de.lessvoid.nifty.spi.sound.SoundDevice;
+import de.lessvoid.nifty.spi.time.impl.AccurateTimeProvider;
+import org.bushe.swing.event.EventTopicSubscriber;
+import org.easymock.EasyMock;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+public class NiftyElementPoolTest {
+  private Nifty nifty;
+  private Screen screen;
+  private Element layer;
+
+  public static class TestEvent implements NiftyEvent {
+  }
+
+  public static class CountingController extends AbstractController implements EventTopicSubscriber<TestEvent> {
+    private int bindCount;
+    private int eventCount;
+
+    @Override
+    public void bind(
+        @Nonnull final Nifty nifty,
+        @Nonnull final Screen screen,
+        @Nonnull final Element element,
+        @Nonnull final Parameters parameter) {
+      bind(element);
+      bindCount++;
+      String id = element.getId();
+      assertNotNull(id);
+      nifty.subscribe(screen, id, TestEvent.class, this);
+    }
+
+    @Override
+    public void onStartScreen() {
+    }
+
+    @Override
+    public boolean inputEvent(@Nonnull final NiftyInputEvent inputEvent) {
+      return false;
+    }
+
+    @Override
+    public void onFocus(final boolean getFocus) {
+    }
+
+    @Override
+    public void onEndScreen() {
+    }
+
+    @Override
+    public void onEvent(@Nonnull final String topic, @Nonnull final TestEvent data) {
+      eventCount++;
+    }
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    RenderDevice renderDeviceMock = EasyMock.createNiceMock(RenderDevice.class);
+    EasyMock.expect(renderDeviceMock.getWidth()).andStubReturn(800);
+    EasyMock.expect(renderDeviceMock.getHeight()).andStubReturn(600);
+    SoundDevice soundDeviceMock = EasyMock.createNiceMock(SoundDevice.class);
+    InputSystem inputSystemMock = EasyMock.createNiceMock(InputSystem.class);
+    EasyMock.replay(renderDeviceMock, soundDeviceMock, inputSystemMock);
+
+    nifty = new Nifty(renderDeviceMock, soundDeviceMock, inputSystemMock, new AccurateTimeProvider());
+    nifty.addXml(new ByteArrayInputStream((
+        "<nifty>"
+        + "<controlDefinition name=\"counting\" controller=\"" + CountingController.class.getName() + "\">"
+        + "<panel/>"
+        + "</controlDefinition>"
+        + "<screen id=\"start\">"
+        + "<layer id=\"layer\" childLayout=\"vertical\"/>"
+        + "</screen>"
+        + "</nifty>").getBytes("ISO-8859-1")));
+    nifty.gotoScreen("start");
+    screen = nifty.getCurrentScreen();
+    assertNotNull(screen);
+    layer = screen.findElementById("layer");
+    assertNotNull(layer);
+  }
+
+  @Test
+  public void testReusedControlStillReceivesEvents() {
+    Element element = new ControlBuilder("counter", "counting").build(nifty, screen, layer);
+    element.setPoolKey("counting");
+    CountingController controller = element.getControl(CountingController.class);
+    assertNotNull(controller);
+    nifty.publishEvent("counter", new TestEvent());
+    assertEquals(1, controller.eventCount);
+
+    element.markForRemoval();
+    nifty.update();
+    assertEquals(1, screen.getElementPool().getSize());
+    nifty.publishEvent("counter", new TestEvent());
+    assertEquals(1, controller.eventCount);
+
+    Element reused = nifty.obtainPooledElement(screen, layer, "counting");
+    assertSame(element, reused);
+    assertSame(element, screen.findElementById("counter"));
+    nifty.publishEvent("counter", new TestEvent());
+
+    assertEquals(2, controller.bindCount);
+    assertEquals(2, controller.eventCount);
+  }
+}
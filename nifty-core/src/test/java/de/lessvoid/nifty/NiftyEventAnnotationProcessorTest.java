@@ -0,0 +1,71 @@
+package de.lessvoid.nifty;
+
+import org.bushe.swing.event.EventService;
+import org.bushe.swing.event.EventServiceLocator;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+
+import static org.junit.Assert.assertEquals;
+
+public class NiftyEventAnnotationProcessorTest {
+  private EventService eventService;
+
+  public static class Controller {
+    private int idEvents;
+    private int patternEvents;
+
+    @NiftyEventSubscriber(id = "annotation-test-id")
+    public void onIdEvent(@Nonnull final String id, @Nonnull final String event) {
+      idEvents++;
+    }
+
+    @NiftyEventSubscriber(pattern = "annotation-test-.*")
+    public void onPatternEvent(@Nonnull final String id, @Nonnull final String event) {
+      patternEvents++;
+    }
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    if (EventServiceLocator.getEventService("NiftyEventBus") == null) {
+      EventServiceLocator.setEventService("NiftyEventBus", new NiftyEventBus());
+    }
+    eventService = EventServiceLocator.getEventService("NiftyEventBus");
+  }
+
+  @Test
+  public void testInstancesOfTheSameClassAreSubscribed() {
+    Controller first = new Controller();
+    Controller second = new Controller();
+    NiftyEventAnnotationProcessor.process(first);
+    NiftyEventAnnotationProcessor.process(second);
+
+    eventService.publish("annotation-test-id", "event");
+    NiftyEventAnnotationProcessor.unprocess(first);
+    eventService.publish("annotation-test-id", "event");
+    NiftyEventAnnotationProcessor.unprocess(second);
+    eventService.publish("annotation-test-id", "event");
+
+    assertEquals(1, first.idEvents);
+    assertEquals(1, first.patternEvents);
+    assertEquals(2, second.idEvents);
+    assertEquals(2, second.patternEvents);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidMethodIsReportedEveryTime() {
+    Object invalid = new Object() {
+      @NiftyEventSubscriber(id = "annotation-test-invalid")
+      public void onEvent(@Nonnull final String event) {
+      }
+    };
+    try {
+      NiftyEventAnnotationProcessor.process(invalid);
+    } catch (IllegalArgumentException e) {
+      // the class is not cached, so the second call has to fail in the same way
+    }
+    NiftyEventAnnotationProcessor.process(invalid);
+  }
+}
@@ -0,0 +1,60 @@
+package de.lessvoid.nifty;
+
+import org.bushe.swing.event.EventService;
+import org.bushe.swing.event.EventTopicSubscriber;
+import org.bushe.swing.event.ThreadSafeEventService;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.regex.Pattern;
+
+//@Ignore
+public class NiftyEventBusPerformanceTest {
+  private static final int TOPICS = 100;
+  private static final int PUBLISHES = 100000;
+
+  private int count;
+
+  @Test
+  public void testPerformance() {
+    runPublish("ThreadSafeEventService publish", new ThreadSafeEventService());
+    runPublish("NiftyEventBus publish", new NiftyEventBus());
+  }
+
+  @Test
+  public void testPerformanceWithPatternSubscriber() {
+    runPublish("ThreadSafeEventService publish with pattern subscriber",
+        withPatternSubscriber(new ThreadSafeEventService()));
+    runPublish("NiftyEventBus publish with pattern subscriber", withPatternSubscriber(new NiftyEventBus()));
+  }
+
+  @Nonnull
+  private EventService withPatternSubscriber(@Nonnull final EventService eventService) {
+    eventService.subscribeStrongly(Pattern.compile("element-1.*"), new EventTopicSubscriber<Object>() {
+      @Override
+      public void onEvent(@Nonnull final String topic, @Nonnull final Object data) {
+        count++;
+      }
+    });
+    return eventService;
+  }
+
+  private void runPublish(@Nonnull final String name, @Nonnull final EventService eventService) {
+    String[] topics = new String[TOPICS];
+    for (int i = 0; i < TOPICS; i++) {
+      topics[i] = "element-" + i;
+      eventService.subscribeStrongly(topics[i], new EventTopicSubscriber<Object>() {
+        @Override
+        public void onEvent(@Nonnull final String topic, @Nonnull final Object data) {
+          count++;
+        }
+      });
+    }
+
+    NiftyStopwatch.start();
+    for (int i = 0; i < PUBLISHES; i++) {
+      eventService.publish(topics[i % TOPICS], name);
+    }
+    NiftyStopwatch.stop(name);
+  }
+}
@@ -0,0 +1,176 @@
+package de.lessvoid.nifty;
+
+import org.bushe.swing.event.EventTopicSubscriber;
+import org.bushe.swing.event.VetoTopicEventListener;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NiftyEventBusTest {
+  private NiftyEventBus eventBus;
+  private List<String> received;
+
+  private class RecordingSubscriber implements EventTopicSubscriber<String> {
+    private final String name;
+
+    private RecordingSubscriber(@Nonnull final String name) {
+      this.name = name;
+    }
+
+    @Override
+    public void onEvent(@Nonnull final String topic, @Nonnull final String data) {
+      received.add(name + ":" + topic + ":" + data);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      return other instanceof RecordingSubscriber && name.equals(((RecordingSubscriber) other).name);
+    }
+
+    @Override
+    public int hashCode() {
+      return name.hashCode();
+    }
+  }
+
+  @Before
+  public void setUp() {
+    eventBus = new NiftyEventBus();
+    received = new ArrayList<String>();
+  }
+
+  @Test
+  public void testPublish() {
+    eventBus.subscribeStrongly("topic", new RecordingSubscriber("a"));
+    eventBus.subscribeStrongly("topic", new RecordingSubscriber("b"));
+    eventBus.subscribeStrongly("other", new RecordingSubscriber("c"));
+
+    eventBus.publish("topic", "data");
+
+    assertEquals("[a:topic:data, b:topic:data]", received.toString());
+  }
+
+  @Test
+  public void testSubscribeTwiceMovesSubscriberToTheEnd() {
+    assertTrue(eventBus.subscribeStrongly("topic", new RecordingSubscriber("a")));
+    eventBus.subscribeStrongly("topic", new RecordingSubscriber("b"));
+    assertFalse(eventBus.subscribeStrongly("topic", new RecordingSubscriber("a")));
+
+    eventBus.publish("topic", "data");
+
+    assertEquals("[b:topic:data, a:topic:data]", received.toString());
+    assertEquals(2, eventBus.getSubscribers("topic").size());
+  }
+
+  @Test
+  public void testUnsubscribeWithEqualSubscriber() {
+    eventBus.subscribeStrongly("topic", new RecordingSubscriber("a"));
+    eventBus.subscribeStrongly("topic", new RecordingSubscriber("b"));
+
+    assertTrue(eventBus.unsubscribe("topic", new RecordingSubscriber("a")));
+    assertFalse(eventBus.unsubscribe("topic", new RecordingSubscriber("a")));
+    eventBus.publish("topic", "data");
+
+    assertEquals("[b:topic:data]", received.toString());
+  }
+
+  @Test
+  public void testPatternSubscribersStillReceiveEvents() {
+    eventBus.subscribeStrongly("topic", new RecordingSubscriber("a"));
+    eventBus.subscribeStrongly(Pattern.compile("top.*"), new RecordingSubscriber("pattern"));
+
+    eventBus.publish("topic", "data");
+
+    assertEquals("[a:topic:data, pattern:topic:data]", received.toString());
+  }
+
+  @Test
+  public void testPatternSubscribersAreNotDelegated() {
+    eventBus.subscribeStrongly(Pattern.compile("top.*"), new RecordingSubscriber("pattern"));
+    assertFalse(eventBus.isTopicDelegation());
+    assertEquals(1, eventBus.getSubscribers("topic").size());
+    assertEquals(1, eventBus.getSubscribers(Pattern.compile("top.*")).size());
+
+    eventBus.publish("topic", "data");
+    eventBus.publish("other", "data");
+    assertTrue(eventBus.unsubscribe(Pattern.compile("top.*"), new RecordingSubscriber("pattern")));
+    eventBus.publish("topic", "data");
+
+    assertEquals("[pattern:topic:data]", received.toString());
+  }
+
+  @Test
+  public void testDelegationEndsWithLastDelegatedSubscription() {
+    RecordingSubscriber weakSubscriber = new RecordingSubscriber("weak");
+    VetoTopicEventListener<String> vetoListener = new VetoTopicEventListener<String>() {
+      @Override
+      public boolean shouldVeto(final String topic, final String data) {
+        return false;
+      }
+    };
+    eventBus.subscribe("topic", weakSubscriber);
+    eventBus.subscribeVetoListenerStrongly("topic", vetoListener);
+    assertTrue(eventBus.isTopicDelegation());
+
+    eventBus.publish("topic", "data");
+    assertTrue(eventBus.unsubscribe("topic", weakSubscriber));
+    assertTrue(eventBus.isTopicDelegation());
+    assertTrue(eventBus.unsubscribeVetoListener("topic", vetoListener));
+
+    assertFalse(eventBus.isTopicDelegation());
+    assertEquals("[weak:topic:data]", received.toString());
+  }
+
+  @Test
+  public void testClearAllSubscribersEndsDelegation() {
+    eventBus.subscribe(Pattern.compile("top.*"), new RecordingSubscriber("weak"));
+    assertTrue(eventBus.isTopicDelegation());
+
+    eventBus.clearAllSubscribers();
+
+    assertFalse(eventBus.isTopicDelegation());
+  }
+
+  @Test
+  public void testDelegationEndsWhenCacheIsRemoved() {
+    eventBus.setCacheSizeForTopic("topic", 1);
+    assertTrue(eventBus.isTopicDelegation());
+
+    eventBus.setCacheSizeForTopic("topic", 0);
+
+    assertFalse(eventBus.isTopicDelegation());
+  }
+
+  @Test
+  public void testFailingSubscriberDoesNotStopDelivery() {
+    eventBus.subscribeStrongly("topic", new EventTopicSubscriber<String>() {
+      @Override
+      public void onEvent(@Nonnull final String topic, @Nonnull final String data) {
+        throw new IllegalStateException("expected in test");
+      }
+    });
+    eventBus.subscribeStrongly("topic", new RecordingSubscriber("a"));
+
+    eventBus.publish("topic", "data");
+
+    assertEquals("[a:topic:data]", received.toString());
+  }
+
+  @Test
+  public void testClearAllSubscribers() {
+    eventBus.subscribeStrongly("topic", new RecordingSubscriber("a"));
+
+    eventBus.clearAllSubscribers();
+    eventBus.publish("topic", "data");
+
+    assertTrue(received.isEmpty());
+  }
+}
@@ -0,0 +1,135 @@
+package de.lessvoid.nifty;
+
+import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.nifty.screen.ScreenController;
+import de.lessvoid.nifty.screen.ScreenDematerializeHandler;
+import de.lessvoid.nifty.spi.input.InputSystem;
+import de.lessvoid.nifty.spi.render.RenderDevice;
+import de.lessvoid.nifty.spi.sound.SoundDevice;
+import de.lessvoid.nifty.spi.time.impl.AccurateTimeProvider;
+import org.easymock.EasyMock;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class NiftyLazyScreenTest {
+  private Nifty nifty;
+
+  public static class TestScreenController implements ScreenController, ScreenDematerializeHandler {
+    private Screen boundScreen;
+    private int dematerializeCount;
+
+    @Override
+    public void bind(@Nonnull final Nifty nifty, @Nonnull final Screen screen) {
+      boundScreen = screen;
+    }
+
+    @Override
+    public void onStartScreen() {
+    }
+
+    @Override
+    public void onEndScreen() {
+    }
+
+    @Override
+    public void onDematerialize(@Nonnull final Screen screen) {
+      dematerializeCount++;
+    }
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    RenderDevice renderDeviceMock = EasyMock.createNiceMock(RenderDevice.class);
+    EasyMock.expect(renderDeviceMock.getWidth()).andStubReturn(800);
+    EasyMock.expect(renderDeviceMock.getHeight()).andStubReturn(600);
+    SoundDevice soundDeviceMock = EasyMock.createNiceMock(SoundDevice.class);
+    InputSystem inputSystemMock = EasyMock.createNiceMock(InputSystem.class);
+    EasyMock.replay(renderDeviceMock, soundDeviceMock, inputSystemMock);
+
+    nifty = new Nifty(renderDeviceMock, soundDeviceMock, inputSystemMock, new AccurateTimeProvider());
+    nifty.setLazyScreens(true);
+    nifty.addXml(new ByteArrayInputStream((
+        "<nifty>"
+        + createScreen("a")
+        + createScreen("b")
+        + createScreen("c")
+        + "</nifty>").getBytes("ISO-8859-1")));
+  }
+
+  @Test
+  public void testScreensAreCreatedWhenUsed() {
+    assertFalse(nifty.isScreenMaterialized("a"));
+    assertEquals(3, nifty.getAllScreensName().size());
+
+    Screen screen = nifty.getScreen("a");
+
+    assertNotNull(screen);
+    assertTrue(nifty.isScreenMaterialized("a"));
+    assertFalse(nifty.isScreenMaterialized("b"));
+    assertNotNull(screen.findElementById("a-panel"));
+    assertSame(screen, nifty.getScreen("a"));
+  }
+
+  @Test
+  public void testLeastRecentlyUsedScreenIsDropped() {
+    Screen a = nifty.getScreen("a");
+    assertNotNull(a);
+    nifty.setScreenCacheBudget(countElements(a) * 2);
+
+    nifty.getScreen("b");
+    nifty.getScreen("a");
+    nifty.getScreen("c");
+
+    assertTrue(nifty.isScreenMaterialized("a"));
+    assertFalse(nifty.isScreenMaterialized("b"));
+    assertTrue(nifty.isScreenMaterialized("c"));
+    assertEquals(3, nifty.getAllScreensName().size());
+  }
+
+  @Test
+  public void testControllerIsKeptWhenScreenIsRecreated() {
+    Screen first = nifty.getScreen("a");
+    assertNotNull(first);
+    TestScreenController controller = (TestScreenController) first.getScreenController();
+    nifty.setScreenCacheBudget(countElements(first));
+
+    nifty.getScreen("b");
+    assertEquals(1, controller.dematerializeCount);
+
+    Screen second = nifty.getScreen("a");
+    assertNotNull(second);
+    assertSame(controller, second.getScreenController());
+  }
+
+  @Test
+  public void testRemovedLazyScreenIsGone() {
+    nifty.removeScreen("b");
+
+    assertEquals(2, nifty.getAllScreensName().size());
+  }
+
+  private static String createScreen(final String id) {
+    return "<screen id=\"" + id + "\" controller=\"" + TestScreenController.class.getName() + "\">"
+        + "<layer id=\"" + id + "-layer\" childLayout=\"vertical\">"
+        + "<panel id=\"" + id + "-panel\" height=\"10px\"/>"
+        + "</layer>"
+        + "</screen>";
+  }
+
+  private static int countElements(@Nonnull final Screen screen) {
+    int count = 0;
+    for (int i = 0; i < screen.getLayerElements().size(); i++) {
+      count += 1 + screen.getLayerElements().get(i).getChildren().size();
+    }
+    return count;
+  }
+}
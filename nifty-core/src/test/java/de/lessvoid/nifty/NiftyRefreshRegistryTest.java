@@ -0,0 +1,76 @@
+package de.lessvoid.nifty;
+
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.nifty.spi.input.InputSystem;
+import de.lessvoid.nifty.spi.render.RenderDevice;
+import de.lessvoid.nifty.spi.sound.SoundDevice;
+import de.lessvoid.nifty.spi.time.impl.AccurateTimeProvider;
+import org.easymock.EasyMock;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class NiftyRefreshRegistryTest {
+  private Nifty nifty;
+  private Screen screen;
+
+  @Before
+  public void setUp() throws Exception {
+    RenderDevice renderDeviceMock = EasyMock.createNiceMock(RenderDevice.class);
+    EasyMock.expect(renderDeviceMock.getWidth()).andStubReturn(800);
+    EasyMock.expect(renderDeviceMock.getHeight()).andStubReturn(600);
+    SoundDevice soundDeviceMock = EasyMock.createNiceMock(SoundDevice.class);
+    InputSystem inputSystemMock = EasyMock.createNiceMock(InputSystem.class);
+    EasyMock.replay(renderDeviceMock, soundDeviceMock, inputSystemMock);
+
+    nifty = new Nifty(renderDeviceMock, soundDeviceMock, inputSystemMock, new AccurateTimeProvider());
+    nifty.addXml(new ByteArrayInputStream((
+        "<nifty>"
+        + "<style id=\"small\"><attributes height=\"10px\"/></style>"
+        + "<style id=\"large\"><attributes height=\"50px\"/></style>"
+        + "<screen id=\"start\">"
+        + "<layer id=\"layer\" childLayout=\"vertical\">"
+        + "<panel id=\"first\" style=\"small\"/>"
+        + "<panel id=\"second\" style=\"small\"/>"
+        + "</layer>"
+        + "</screen>"
+        + "</nifty>").getBytes("ISO-8859-1")));
+    screen = nifty.getScreen("start");
+    assertNotNull(screen);
+  }
+
+  @Test
+  public void testStyledElementsAreRegistered() {
+    NiftyRefreshRegistry registry = nifty.getRefreshRegistry();
+
+    assertEquals(2, registry.getStyledElementCount("small"));
+    assertEquals(0, registry.getStyledElementCount("large"));
+  }
+
+  @Test
+  public void testChangingTheStyleMovesTheRegistration() {
+    Element first = screen.findElementById("first");
+    assertNotNull(first);
+
+    first.setStyle("large");
+
+    NiftyRefreshRegistry registry = nifty.getRefreshRegistry();
+    assertEquals(1, registry.getStyledElementCount("small"));
+    assertEquals(1, registry.getStyledElementCount("large"));
+  }
+
+  @Test
+  public void testStyleChangeKeepsTheRegistrations() {
+    NiftyRefreshRegistry registry = nifty.getRefreshRegistry();
+
+    registry.styleChanged("small");
+    registry.styleChanged("small");
+
+    assertEquals(2, registry.getStyledElementCount("small"));
+  }
+}
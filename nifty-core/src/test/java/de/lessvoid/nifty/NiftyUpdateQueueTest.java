@@ -0,0 +1,156 @@
+package de.lessvoid.nifty;
+
+import de.lessvoid.nifty.spi.time.TimeProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NiftyUpdateQueueTest {
+  private long time;
+  private NiftyUpdateQueue queue;
+  private List<String> executed;
+
+  @Before
+  public void setUp() {
+    queue = new NiftyUpdateQueue(new TimeProvider() {
+      @Override
+      public long getMsTime() {
+        return time;
+      }
+    });
+    executed = Collections.synchronizedList(new ArrayList<String>());
+  }
+
+  @Test
+  public void testTasksAreExecutedInOrder() {
+    queue.post(record("a"));
+    queue.post(record("b"));
+
+    queue.execute();
+
+    assertEquals("[a, b]", executed.toString());
+    assertTrue(queue.isEmpty());
+  }
+
+  @Test
+  public void testOnlyLatestTaskPerKeyIsExecuted() {
+    queue.post("health", record("health 10"));
+    queue.post(record("chat"));
+    queue.post("health", record("health 20"));
+
+    queue.execute();
+    queue.post("health", record("health 30"));
+    queue.execute();
+
+    assertEquals("[health 20, chat, health 30]", executed.toString());
+  }
+
+  @Test
+  public void testTasksPostedWhileExecutingRunNextTime() {
+    queue.post(new Runnable() {
+      @Override
+      public void run() {
+        executed.add("a");
+        queue.post(record("b"));
+      }
+    });
+
+    queue.execute();
+    assertEquals("[a]", executed.toString());
+
+    queue.execute();
+    assertEquals("[a, b]", executed.toString());
+  }
+
+  @Test
+  public void testTimeBudget() {
+    queue.setTimeBudget(10);
+    for (int i = 0; i < 3; i++) {
+      queue.post(new Runnable() {
+        @Override
+        public void run() {
+          time += 6;
+          executed.add("task");
+        }
+      });
+    }
+
+    queue.execute();
+    assertEquals(2, executed.size());
+    assertFalse(queue.isEmpty());
+
+    queue.execute();
+    assertEquals(3, executed.size());
+  }
+
+  @Test
+  public void testPostFromManyThreads() throws Exception {
+    final int threadCount = 4;
+    final int tasksPerThread = 1000;
+    final CountDownLatch start = new CountDownLatch(1);
+    Thread[] threads = new Thread[threadCount];
+    for (int t = 0; t < threadCount; t++) {
+      final String name = "thread" + t;
+      threads[t] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+          } catch (InterruptedException e) {
+            return;
+          }
+          for (int i = 0; i < tasksPerThread; i++) {
+            queue.post(record(name));
+            queue.post(name, record("coalesced"));
+          }
+        }
+      });
+      threads[t].start();
+    }
+    start.countDown();
+    while (!allDone(threads)) {
+      queue.execute();
+    }
+    queue.execute();
+
+    int plain = 0;
+    int coalesced = 0;
+    for (String name : executed) {
+      if ("coalesced".equals(name)) {
+        coalesced++;
+      } else {
+        plain++;
+      }
+    }
+    assertEquals(threadCount * tasksPerThread, plain);
+    assertTrue(coalesced >= threadCount);
+    assertTrue(coalesced <= threadCount * tasksPerThread);
+    assertTrue(queue.isEmpty());
+  }
+
+  private Runnable record(final String name) {
+    return new Runnable() {
+      @Override
+      public void run() {
+        executed.add(name);
+      }
+    };
+  }
+
+  private static boolean allDone(final Thread[] threads) {
+    for (Thread thread : threads) {
+      if (thread.isAlive()) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
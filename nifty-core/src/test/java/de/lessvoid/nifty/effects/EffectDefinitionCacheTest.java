@@ -0,0 +1,91 @@
+package de.lessvoid.nifty.effects;
+
+import de.lessvoid.nifty.effects.impl.Nop;
+import de.lessvoid.xml.xpp3.Attributes;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.*;
+
+public class EffectDefinitionCacheTest {
+  private final EffectDefinitionCache cache = new EffectDefinitionCache(2);
+  private final List<Attributes> noValues = new ArrayList<Attributes>();
+
+  @Test
+  public void testMiss() {
+    assertNull(cache.get(EffectEventId.onHover, attributes("name", "nop"), noValues));
+    assertEquals(1, cache.getMisses());
+  }
+
+  @Test
+  public void testHitWithEqualAttributes() {
+    EffectDefinition definition = definition();
+    cache.put(EffectEventId.onHover, attributes("name", "nop"), noValues, definition);
+    assertSame(definition, cache.get(EffectEventId.onHover, attributes("name", "nop"), noValues));
+    assertEquals(1, cache.getHits());
+  }
+
+  @Test
+  public void testDifferentEventIdIsNoHit() {
+    cache.put(EffectEventId.onHover, attributes("name", "nop"), noValues, definition());
+    assertNull(cache.get(EffectEventId.onFocus, attributes("name", "nop"), noValues));
+  }
+
+  @Test
+  public void testKeyIsNotChangedByLaterChanges() {
+    Attributes attributes = attributes("name", "nop");
+    cache.put(EffectEventId.onHover, attributes, noValues, definition());
+    attributes.set("name", "changed");
+    assertNotNull(cache.get(EffectEventId.onHover, attributes("name", "nop"), noValues));
+    assertNull(cache.get(EffectEventId.onHover, attributes, noValues));
+  }
+
+  @Test
+  public void testAttributeOrderDoesNotMatter() {
+    EffectDefinition definition = definition();
+    cache.put(EffectEventId.onHover, new Attributes("name", "nop", "length", "100"), noValues, definition);
+    assertSame(definition, cache.get(EffectEventId.onHover, new Attributes("length", "100", "name", "nop"), noValues));
+  }
+
+  @Test
+  public void testEffectValuesArePartOfTheKey() {
+    List<Attributes> values = new ArrayList<Attributes>();
+    values.add(attributes("color", "#ffff"));
+    cache.put(EffectEventId.onHover, attributes("name", "nop"), values, definition());
+
+    List<Attributes> otherValues = new ArrayList<Attributes>();
+    otherValues.add(attributes("color", "#000f"));
+    assertNull(cache.get(EffectEventId.onHover, attributes("name", "nop"), otherValues));
+    assertNull(cache.get(EffectEventId.onHover, attributes("name", "nop"), noValues));
+  }
+
+  @Test
+  public void testSizeLimit() {
+    cache.put(EffectEventId.onHover, attributes("name", "a"), noValues, definition());
+    cache.put(EffectEventId.onHover, attributes("name", "b"), noValues, definition());
+    cache.put(EffectEventId.onHover, attributes("name", "c"), noValues, definition());
+    assertEquals(2, cache.size());
+    assertNull(cache.get(EffectEventId.onHover, attributes("name", "a"), noValues));
+  }
+
+  private EffectDefinition definition() {
+    return new EffectDefinition(
+        Nop.class,
+        EffectEventId.onHover,
+        new EffectProperties(new Properties()),
+        false,
+        false,
+        false,
+        null,
+        null,
+        null,
+        false);
+  }
+
+  private Attributes attributes(final String key, final String value) {
+    return new Attributes(key, value);
+  }
+}
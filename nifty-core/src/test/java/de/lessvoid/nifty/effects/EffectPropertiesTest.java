@@ -1,5 +1,6 @@
 package de.lessvoid.nifty.effects;
 
+import de.lessvoid.nifty.tools.Color;
 import de.lessvoid.xml.xpp3.Attributes;
 import org.junit.Before;
 import org.junit.Test;
@@ -42,4 +43,52 @@ public class EffectPropertiesTest {
     assertFalse(effectProperties.isTimeInterpolator());
     assertNull(effectProperties.getInterpolator());
   }
+
+  @Test
+  public void testParsedColorIsReused() {
+    effectProperties.setProperty("color", "#ff0000ff");
+    Color color = effectProperties.getColor("color", "#000f");
+    assertEquals(1.0f, color.getRed(), 0.001f);
+    assertSame(color, effectProperties.getColor("color", "#000f"));
+  }
+
+  @Test
+  public void testParsedColorIsUpdatedWhenPropertyChanges() {
+    effectProperties.setProperty("color", "#ff0000ff");
+    Color color = effectProperties.getColor("color", "#000f");
+    effectProperties.setProperty("color", "#00ff00ff");
+    Color changed = effectProperties.getColor("color", "#000f");
+    assertNotSame(color, changed);
+    assertEquals(1.0f, changed.getGreen(), 0.001f);
+  }
+
+  @Test
+  public void testParsedDefaults() {
+    assertEquals(42, effectProperties.getInt("missing", 42));
+    assertEquals(1.5f, effectProperties.getFloat("missing", 1.5f), 0.001f);
+    assertTrue(effectProperties.getBoolean("missing", true));
+    assertEquals(0.0f, effectProperties.getColor("missing", "#0000").getAlpha(), 0.001f);
+  }
+
+  private enum Mode {
+    in, out
+  }
+
+  @Test
+  public void testParsedEnum() {
+    effectProperties.setProperty("mode", "out");
+    assertSame(Mode.out, effectProperties.getEnum("mode", Mode.class, null));
+    assertSame(Mode.in, effectProperties.getEnum("missing", Mode.class, Mode.in));
+    effectProperties.setProperty("mode", "unknown");
+    assertNull(effectProperties.getEnum("mode", Mode.class, null));
+  }
+
+  @Test
+  public void testCopyIsIndependent() {
+    effectProperties.setProperty("offsetX", "10");
+    EffectProperties copy = new EffectProperties(effectProperties);
+    copy.setProperty("offsetX", "20");
+    assertEquals(10, effectProperties.getInt("offsetX", 0));
+    assertEquals(20, copy.getInt("offsetX", 0));
+  }
 }
@@ -0,0 +1,119 @@
+package de.lessvoid.nifty.effects;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.render.NiftyRenderEngine;
+import de.lessvoid.nifty.spi.time.impl.AccurateTimeProvider;
+import org.easymock.EasyMock;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.LinkedList;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class EffectSharedParameterTest {
+  private static class RecordingEffect implements EffectImpl {
+    private EffectProperties activatedWith;
+
+    @Override
+    public void activate(
+        @Nonnull final Nifty nifty,
+        @Nonnull final Element element,
+        @Nonnull final EffectProperties parameter) {
+      activatedWith = parameter;
+    }
+
+    @Override
+    public void execute(
+        @Nonnull final Element element,
+        final float effectTime,
+        @Nullable final Falloff falloff,
+        @Nonnull final NiftyRenderEngine r) {
+    }
+
+    @Override
+    public void deactivate() {
+    }
+  }
+
+  @Test
+  public void testEffectsAreActivatedWithTheSharedParameters() {
+    EffectProperties shared = createSharedParameters();
+    EffectDefinition definition = createDefinition(shared);
+    RecordingEffect firstImpl = new RecordingEffect();
+    RecordingEffect secondImpl = new RecordingEffect();
+
+    createEffect(definition, firstImpl).start(null, null);
+    createEffect(definition, secondImpl).start(null, null);
+
+    assertSame(shared, firstImpl.activatedWith);
+    assertSame(shared, secondImpl.activatedWith);
+    assertTrue(shared.isReadOnly());
+  }
+
+  @Test
+  public void testSharedParametersCanNotBeModified() {
+    EffectProperties shared = createSharedParameters();
+    createDefinition(shared);
+
+    try {
+      shared.setProperty("color", "#f00f");
+      fail("shared parameters must be read only");
+    } catch (UnsupportedOperationException e) {
+      assertEquals("#fff", shared.getProperty("color"));
+    }
+  }
+
+  @Test
+  public void testGetParametersReturnsModifiableCopyWithParsedValues() {
+    EffectProperties shared = createSharedParameters();
+    EffectDefinition definition = createDefinition(shared);
+    Effect first = createEffect(definition, new RecordingEffect());
+    Effect second = createEffect(definition, new RecordingEffect());
+
+    EffectProperties copy = first.getParameters();
+    copy.setProperty("offsetX", "10");
+
+    assertNotSame(shared, copy);
+    assertFalse(copy.isReadOnly());
+    assertSame(shared.getColor("color", "#000f"), copy.getColor("color", "#000f"));
+    assertEquals(10, copy.getInt("offsetX", 0));
+    assertEquals(0, second.getParameters().getInt("offsetX", 0));
+    assertEquals(0, shared.getInt("offsetX", 0));
+  }
+
+  @Nonnull
+  private static EffectProperties createSharedParameters() {
+    Properties properties = new Properties();
+    properties.setProperty("color", "#fff");
+    EffectProperties shared = new EffectProperties(properties);
+    shared.getColor("color", "#000f");
+    return shared;
+  }
+
+  @Nonnull
+  private static EffectDefinition createDefinition(@Nonnull final EffectProperties shared) {
+    return new EffectDefinition(
+        RecordingEffect.class, EffectEventId.onActive, shared, false, false, false, null, null, null, false);
+  }
+
+  @Nonnull
+  private Effect createEffect(@Nonnull final EffectDefinition definition, @Nonnull final EffectImpl effectImpl) {
+    return new Effect(
+        EasyMock.createMock(Nifty.class),
+        definition,
+        EffectEventId.onActive,
+        EasyMock.createMock(Element.class),
+        effectImpl,
+        new AccurateTimeProvider(),
+        new LinkedList<Object>());
+  }
+}
@@ -0,0 +1,139 @@
+package de.lessvoid.nifty.elements;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.controls.FocusHandler;
+import de.lessvoid.nifty.elements.render.ElementRenderer;
+import de.lessvoid.nifty.input.NiftyMouseInputEvent;
+import de.lessvoid.nifty.layout.Box;
+import de.lessvoid.nifty.loaderv2.types.ElementType;
+import de.lessvoid.nifty.render.NiftyRenderEngine;
+import de.lessvoid.nifty.screen.MouseOverHandler;
+
+public class ElementCullTest {
+  private Nifty niftyMock;
+  private FocusHandler focusHandler = new FocusHandler();
+  private CountingRenderer insideRenderer = new CountingRenderer();
+  private CountingRenderer outsideRenderer = new CountingRenderer();
+  private Element root;
+  private Element inside;
+  private Element outside;
+
+  @Before
+  public void before() {
+    niftyMock = createNiceMock(Nifty.class);
+    replay(niftyMock);
+
+    root = createElement("root", null, new Box(0, 0, 100, 100));
+    inside = createElement("inside", root, new Box(0, 90, 100, 20), insideRenderer);
+    outside = createElement("outside", root, new Box(0, 100, 100, 20), outsideRenderer);
+    root.addChild(inside);
+    root.addChild(outside);
+    root.setClipChildren(true);
+  }
+
+  @Test
+  public void testNoCullingByDefault() {
+    root.layoutElements();
+
+    assertFalse(inside.isCulled());
+    assertFalse(outside.isCulled());
+
+    root.render(createRenderEngine());
+    assertEquals(1, insideRenderer.count);
+    assertEquals(1, outsideRenderer.count);
+  }
+
+  @Test
+  public void testCulledElementIsNotRendered() {
+    root.setCullChildren(true, false);
+    root.layoutElements();
+
+    assertFalse(inside.isCulled());
+    assertTrue(outside.isCulled());
+
+    root.render(createRenderEngine());
+    assertEquals(1, insideRenderer.count);
+    assertEquals(0, outsideRenderer.count);
+  }
+
+  @Test
+  public void testCulledElementIsSkippedForMouseOverAfterFirstEvent() {
+    root.setCullChildren(true, false);
+    root.layoutElements();
+
+    MouseOverHandler mouseOverHandler = new MouseOverHandler();
+    root.buildMouseOverElements(createMouseEvent(), 0, mouseOverHandler);
+    assertEquals(
+        "mouse over elements: [inside][root] mouse elements: [outside] hover changed elements: [outside]",
+        mouseOverHandler.getInfoString());
+
+    mouseOverHandler.reset();
+    root.buildMouseOverElements(createMouseEvent(), 0, mouseOverHandler);
+    assertEquals(
+        "mouse over elements: [inside][root] mouse elements: --- hover changed elements: ---",
+        mouseOverHandler.getInfoString());
+  }
+
+  @Test
+  public void testDisableCulling() {
+    root.setCullChildren(true, false);
+    root.layoutElements();
+    root.setCullChildren(false, false);
+    root.layoutElements();
+
+    assertFalse(outside.isCulled());
+  }
+
+  @Nonnull
+  private Element createElement(
+      @Nonnull final String id,
+      final Element parent,
+      @Nonnull final Box box,
+      @Nonnull final ElementRenderer... renderer) {
+    Element element = new Element(niftyMock, new ElementType(), id, parent, focusHandler, true, null, renderer);
+    Box elementBox = element.getLayoutPart().getBox();
+    elementBox.setX(box.getX());
+    elementBox.setY(box.getY());
+    elementBox.setWidth(box.getWidth());
+    elementBox.setHeight(box.getHeight());
+    return element;
+  }
+
+  @Nonnull
+  private NiftyRenderEngine createRenderEngine() {
+    NiftyRenderEngine renderEngine = createNiceMock(NiftyRenderEngine.class);
+    replay(renderEngine);
+    return renderEngine;
+  }
+
+  @Nonnull
+  private NiftyMouseInputEvent createMouseEvent() {
+    NiftyMouseInputEvent mouseEvent = createMock(NiftyMouseInputEvent.class);
+    expect(mouseEvent.getMouseX()).andReturn(50).anyTimes();
+    expect(mouseEvent.getMouseY()).andReturn(95).anyTimes();
+    replay(mouseEvent);
+    return mouseEvent;
+  }
+
+  private static class CountingRenderer implements ElementRenderer {
+    private int count;
+
+    @Override
+    public void render(@Nonnull final Element w, @Nonnull final NiftyRenderEngine r) {
+      count++;
+    }
+  }
+}
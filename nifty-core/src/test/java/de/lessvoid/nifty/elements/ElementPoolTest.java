@@ -0,0 +1,74 @@
+package de.lessvoid.nifty.elements;
+
+import static org.easymock.EasyMock.createMock;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ElementPoolTest {
+  private Element e1 = createMock(Element.class);
+  private Element e2 = createMock(Element.class);
+  private Element e3 = createMock(Element.class);
+
+  @Test
+  public void testPollFromEmptyPoolIsMiss() {
+    ElementPool pool = new ElementPool(2);
+
+    assertNull(pool.poll("key"));
+    assertEquals(0, pool.getHitCount());
+    assertEquals(1, pool.getMissCount());
+  }
+
+  @Test
+  public void testPollReturnsElementWithSameKey() {
+    ElementPool pool = new ElementPool(2);
+    assertTrue(pool.offer("a", e1));
+    assertTrue(pool.offer("b", e2));
+
+    assertSame(e2, pool.poll("b"));
+    assertNull(pool.poll("b"));
+    assertSame(e1, pool.poll("a"));
+    assertEquals(2, pool.getHitCount());
+    assertEquals(1, pool.getMissCount());
+    assertEquals(0, pool.getSize());
+  }
+
+  @Test
+  public void testOfferToFullPoolIsDiscarded() {
+    ElementPool pool = new ElementPool(2);
+    assertTrue(pool.offer("a", e1));
+    assertTrue(pool.offer("a", e2));
+
+    assertTrue(pool.isFull());
+    assertFalse(pool.offer("a", e3));
+    assertEquals(2, pool.getSize());
+    assertEquals(1, pool.getDiscardCount());
+  }
+
+  @Test
+  public void testReducingMaxSizeDropsElements() {
+    ElementPool pool = new ElementPool(3);
+    pool.offer("a", e1);
+    pool.offer("a", e2);
+    pool.offer("b", e3);
+
+    pool.setMaxSize(1);
+
+    assertEquals(1, pool.getSize());
+    assertEquals(2, pool.getDiscardCount());
+  }
+
+  @Test
+  public void testClear() {
+    ElementPool pool = new ElementPool(3);
+    pool.offer("a", e1);
+    pool.clear();
+
+    assertEquals(0, pool.getSize());
+    assertNull(pool.poll("a"));
+  }
+}
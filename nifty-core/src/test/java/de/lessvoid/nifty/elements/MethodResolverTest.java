@@ -22,4 +22,19 @@ public class MethodResolverTest extends TestCase {
     assertEquals("two", result[1]);
     assertEquals("three", result[2]);
   }
+
+  public void testCachedParametersAreShared() {
+    String[] result = MethodResolver.getParameters("cached(one, two)");
+    assertEquals(2, result.length);
+    assertSame(result, MethodResolver.getParameters("cached(one, two)"));
+  }
+
+  public void testFindMethodIgnoresCase() {
+    assertEquals("testEmptyParameters", MethodResolver.findMethod(getClass(), "TESTEMPTYPARAMETERS()").getName());
+  }
+
+  public void testMissingMethodStaysMissing() {
+    assertNull(MethodResolver.findMethod(getClass(), "methodThatDoesNotExist()"));
+    assertNull(MethodResolver.findMethod(getClass(), "methodThatDoesNotExist()"));
+  }
 }
@@ -1,20 +1,20 @@
 package de.lessvoid.nifty.elements.render;
 
 import static org.easymock.EasyMock.createMock;
-import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
 import static org.easymock.EasyMock.isA;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
 import junit.framework.TestCase;
 
-import org.bushe.swing.event.EventService;
-
 import de.lessvoid.nifty.Nifty;
-import de.lessvoid.nifty.NiftyLocaleChangedEvent;
+import de.lessvoid.nifty.NiftyRefreshRegistry;
+import de.lessvoid.nifty.elements.Element;
 import de.lessvoid.nifty.layout.align.HorizontalAlign;
 import de.lessvoid.nifty.layout.align.VerticalAlign;
 import de.lessvoid.nifty.render.NiftyRenderEngine;
+import de.lessvoid.nifty.render.TextRuns;
 import de.lessvoid.nifty.spi.render.RenderFont;
 
 public class TextRendererTest extends TestCase {
@@ -31,21 +31,16 @@ public class TextRendererTest extends TestCase {
   }
 
   public void testInit() {
-    EventService eventServiceMock = createMock(EventService.class);
     Nifty niftyMock = createMock(Nifty.class);
     NiftyRenderEngine niftyRenderEngineMock = createMock(NiftyRenderEngine.class);
 
     expect(niftyMock.getRenderEngine()).andReturn(niftyRenderEngineMock);
     expect(niftyMock.specialValuesReplace("a\nc")).andReturn("a\nc");
-    expect(niftyMock.getEventService()).andReturn(eventServiceMock);
     replay(niftyMock);
 
     expect(niftyRenderEngineMock.getFont()).andReturn(renderFont).anyTimes();
     replay(niftyRenderEngineMock);
 
-    expect(eventServiceMock.subscribe(eq(NiftyLocaleChangedEvent.class), isA(TextRenderer.class))).andReturn(true);
-    replay(eventServiceMock);
-
     TextRenderer render = new TextRenderer(niftyMock, renderFont, "a\nc");
 
     assertEquals(20, render.getTextHeight());
@@ -54,7 +49,6 @@ public class TextRendererTest extends TestCase {
     verify(renderFont);
     verify(niftyRenderEngineMock);
     verify(niftyMock);
-    verify(eventServiceMock);
   }
 
   public void testGetStartYWithVerticalAlignTop() {
@@ -88,4 +82,85 @@ public class TextRendererTest extends TestCase {
   public void testGetStartXWithHorizontalAlignDefault() {
     assertEquals(0, TextRenderer.getStartXWithHorizontalAlign(100, 200, null));
   }
+
+  public void testRenderMeasuresLinesOnlyOnce() {
+    RenderFont font = createMock(RenderFont.class);
+    expect(font.getHeight()).andReturn(10).anyTimes();
+    expect(font.getWidth("ab")).andReturn(20).once();
+    expect(font.getWidth("c")).andReturn(10).once();
+    replay(font);
+
+    Nifty niftyMock = createNiftyMock("ab\nc");
+    replay(niftyMock);
+
+    TextRenderer render = new TextRenderer(niftyMock, font, "ab\nc");
+
+    Element element = createMock(Element.class);
+    expect(element.getX()).andReturn(0).anyTimes();
+    expect(element.getY()).andReturn(0).anyTimes();
+    expect(element.getWidth()).andReturn(100).anyTimes();
+    expect(element.getHeight()).andReturn(20).anyTimes();
+    replay(element);
+
+    NiftyRenderEngine renderEngine = createMock(NiftyRenderEngine.class);
+    expect(renderEngine.isColorChanged()).andReturn(true).anyTimes();
+    expect(renderEngine.getFont()).andReturn(font).anyTimes();
+    renderEngine.renderTextRuns(TextRuns.parse("ab"), 40, 0);
+    expectLastCall().times(3);
+    renderEngine.renderTextRuns(TextRuns.parse("c"), 45, 10);
+    expectLastCall().times(3);
+    replay(renderEngine);
+
+    render.render(element, renderEngine);
+    render.render(element, renderEngine);
+    render.render(element, renderEngine);
+
+    assertEquals(20, render.getTextWidth());
+    verify(font);
+    verify(renderEngine);
+  }
+
+  public void testSetTextMeasuresAgain() {
+    RenderFont font = createMock(RenderFont.class);
+    expect(font.getWidth("a")).andReturn(10).once();
+    expect(font.getWidth("abc")).andReturn(30).once();
+    replay(font);
+
+    Nifty niftyMock = createNiftyMock("a");
+    expect(niftyMock.specialValuesReplace("abc")).andReturn("abc");
+    replay(niftyMock);
+
+    TextRenderer render = new TextRenderer(niftyMock, font, "a");
+    assertEquals(10, render.getTextWidth());
+    render.setText("abc");
+    assertEquals(30, render.getTextWidth());
+    verify(font);
+  }
+
+  public void testLocalizedTextIsRegisteredForLocaleChanges() {
+    NiftyRefreshRegistry registry = new NiftyRefreshRegistry();
+    Nifty niftyMock = createMock(Nifty.class);
+    expect(niftyMock.getRefreshRegistry()).andReturn(registry).once();
+    expect(niftyMock.specialValuesReplace("${bundle.hello}")).andReturn("Hello").andReturn("Hallo");
+    expect(niftyMock.specialValuesReplace("plain")).andReturn("plain");
+    replay(niftyMock);
+
+    TextRenderer render = new TextRenderer(niftyMock, renderFont, "${bundle.hello}");
+    assertEquals(1, registry.getLocalizedTextCount());
+    assertEquals("Hello", render.getOriginalText());
+
+    registry.localeChanged();
+    assertEquals("Hallo", render.getOriginalText());
+    assertEquals(1, registry.getLocalizedTextCount());
+
+    render.setText("plain");
+    assertEquals(0, registry.getLocalizedTextCount());
+    verify(niftyMock);
+  }
+
+  private Nifty createNiftyMock(final String text) {
+    Nifty niftyMock = createMock(Nifty.class);
+    expect(niftyMock.specialValuesReplace(text)).andReturn(text);
+    return niftyMock;
+  }
 }
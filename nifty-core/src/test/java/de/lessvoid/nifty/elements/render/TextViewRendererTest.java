@@ -0,0 +1,78 @@
+package de.lessvoid.nifty.elements.render;
+
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.render.NiftyRenderEngine;
+import de.lessvoid.nifty.render.TextRuns;
+import de.lessvoid.nifty.spi.render.RenderFont;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+
+public class TextViewRendererTest {
+  private final TextViewRenderer renderer = new TextViewRenderer();
+  private RenderFont font;
+  private Element element;
+  private NiftyRenderEngine renderEngine;
+
+  @Before
+  public void before() {
+    font = createNiceMock(RenderFont.class);
+    expect(font.getHeight()).andReturn(10).anyTimes();
+    replay(font);
+    renderer.setFont(font);
+
+    element = createMock(Element.class);
+    expect(element.getX()).andReturn(100).anyTimes();
+    expect(element.getY()).andReturn(200).anyTimes();
+    expect(element.getHeight()).andReturn(30).anyTimes();
+    replay(element);
+
+    renderEngine = createMock(NiftyRenderEngine.class);
+    expect(renderEngine.isColorChanged()).andReturn(true).anyTimes();
+    expect(renderEngine.getFont()).andReturn(font).anyTimes();
+
+    for (int i = 0; i < 1000; i++) {
+      renderer.getLineStore().addLine("line " + i);
+    }
+  }
+
+  @Test
+  public void testRenderOnlyLastVisibleLines() {
+    renderEngine.renderTextRuns(TextRuns.parse("line 997"), 100, 200);
+    renderEngine.renderTextRuns(TextRuns.parse("line 998"), 100, 210);
+    renderEngine.renderTextRuns(TextRuns.parse("line 999"), 100, 220);
+    replay(renderEngine);
+
+    renderer.render(element, renderEngine);
+    verify(renderEngine);
+  }
+
+  @Test
+  public void testRenderAfterScrollTo() {
+    renderEngine.renderTextRuns(TextRuns.parse("line 10"), 100, 200);
+    renderEngine.renderTextRuns(TextRuns.parse("line 11"), 100, 210);
+    renderEngine.renderTextRuns(TextRuns.parse("line 12"), 100, 220);
+    replay(renderEngine);
+
+    renderer.scrollTo(10);
+    renderer.render(element, renderEngine);
+    verify(renderEngine);
+  }
+
+  @Test
+  public void testScrollToIsLimitedToLastPage() {
+    renderEngine.renderTextRuns(TextRuns.parse("line 997"), 100, 200);
+    renderEngine.renderTextRuns(TextRuns.parse("line 998"), 100, 210);
+    renderEngine.renderTextRuns(TextRuns.parse("line 999"), 100, 220);
+    replay(renderEngine);
+
+    renderer.scrollTo(5000);
+    renderer.render(element, renderEngine);
+    verify(renderEngine);
+  }
+}
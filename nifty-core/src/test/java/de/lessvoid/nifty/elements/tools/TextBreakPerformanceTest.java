@@ -0,0 +1,75 @@
+package de.lessvoid.nifty.elements.tools;
+
+import de.lessvoid.nifty.NiftyStopwatch;
+import de.lessvoid.nifty.spi.render.RenderFont;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+//@Ignore
+public class TextBreakPerformanceTest {
+  private static final int PARAGRAPH_SIZE = 100 * 1024;
+  private static final int WIDTH = 800;
+
+  private final RenderFont font = new FixedAdvanceFont();
+  private final Random r = new Random(0);
+
+  @Test
+  public void testPerformanceWithWords() {
+    StringBuilder text = new StringBuilder(PARAGRAPH_SIZE);
+    while (text.length() < PARAGRAPH_SIZE) {
+      int wordLength = 1 + r.nextInt(12);
+      for (int i = 0; i < wordLength; i++) {
+        text.append((char) ('a' + r.nextInt(26)));
+      }
+      text.append(' ');
+    }
+    split(text.toString(), "100 KB paragraph with words");
+  }
+
+  @Test
+  public void testPerformanceWithoutSpaces() {
+    StringBuilder text = new StringBuilder(PARAGRAPH_SIZE);
+    while (text.length() < PARAGRAPH_SIZE) {
+      text.append((char) (0x4e00 + r.nextInt(0x5000)));
+    }
+    split(text.toString(), "100 KB paragraph without spaces");
+  }
+
+  private void split(final String text, final String message) {
+    NiftyStopwatch.start();
+    List<String> lines = new TextBreak(text, WIDTH, font).split();
+    NiftyStopwatch.stop(message);
+
+    assertTrue(lines.size() > text.length() / WIDTH);
+  }
+
+  private static class FixedAdvanceFont implements RenderFont {
+    @Override
+    public int getWidth(final String text) {
+      return getWidth(text, 1.0f);
+    }
+
+    @Override
+    public int getWidth(final String text, final float size) {
+      return (int) (text.length() * 8 * size);
+    }
+
+    @Override
+    public int getHeight() {
+      return 16;
+    }
+
+    @Override
+    public int getCharacterAdvance(final char currentCharacter, final char nextCharacter, final float size) {
+      return (int) (8 * size);
+    }
+
+    @Override
+    public void dispose() {
+    }
+  }
+}
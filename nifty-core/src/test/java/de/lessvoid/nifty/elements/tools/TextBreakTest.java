@@ -1,6 +1,8 @@
 package de.lessvoid.nifty.elements.tools;
 
+import static org.easymock.EasyMock.anyChar;
 import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
@@ -33,7 +35,7 @@ public class TextBreakTest {
 
   @Test
   public void testNoSplit() {
-    expect(renderFontMock.getWidth("abcdef")).andReturn(12);
+    expectCharacterAdvance(2);
     replay(elementMock);
     replay(renderFontMock);
 
@@ -48,9 +50,7 @@ public class TextBreakTest {
   public void testSplit() {
     replay(elementMock);
 
-    expect(renderFontMock.getWidth("abc")).andReturn(95);
-    expect(renderFontMock.getWidth("def")).andReturn(95);
-    expect(renderFontMock.getWidth(" def")).andReturn(95);
+    expectCharacterAdvance(30);
     replay(renderFontMock);
 
     TextBreak textBreak = new TextBreak("abc def", 100, renderFontMock);
@@ -65,8 +65,7 @@ public class TextBreakTest {
   public void testNoneSplit() {
     replay(elementMock);
 
-    expect(renderFontMock.getWidth("abc")).andReturn(40);
-    expect(renderFontMock.getWidth(" def")).andReturn(40);
+    expectCharacterAdvance(10);
     replay(renderFontMock);
 
     TextBreak textBreak = new TextBreak("abc def", 100, renderFontMock);
@@ -76,4 +75,55 @@ public class TextBreakTest {
     assertEquals("abc def", lines.get(0));
   }
 
+  @Test
+  public void testSplitLongWord() {
+    replay(elementMock);
+
+    expectCharacterAdvance(30);
+    replay(renderFontMock);
+
+    TextBreak textBreak = new TextBreak("abcdefgh ij", 100, renderFontMock);
+    List<String> lines = textBreak.split();
+
+    assertEquals(4, lines.size());
+    assertEquals("abc", lines.get(0));
+    assertEquals("def", lines.get(1));
+    assertEquals("gh", lines.get(2));
+    assertEquals("ij", lines.get(3));
+  }
+
+  @Test
+  public void testSplitWithWidthSmallerThanCharacter() {
+    replay(elementMock);
+
+    expectCharacterAdvance(30);
+    replay(renderFontMock);
+
+    TextBreak textBreak = new TextBreak("ab", 10, renderFontMock);
+    List<String> lines = textBreak.split();
+
+    assertEquals(2, lines.size());
+    assertEquals("a", lines.get(0));
+    assertEquals("b", lines.get(1));
+  }
+
+  @Test
+  public void testSplitKeepsColor() {
+    replay(elementMock);
+
+    expectCharacterAdvance(30);
+    replay(renderFontMock);
+
+    TextBreak textBreak = new TextBreak("ab \\#ff0000#cd ef", 100, renderFontMock);
+    List<String> lines = textBreak.split();
+
+    assertEquals(3, lines.size());
+    assertEquals("ab", lines.get(0));
+    assertEquals("\\#ff0000#cd", lines.get(1));
+    assertEquals("\\#ff0000#ef", lines.get(2));
+  }
+
+  private void expectCharacterAdvance(final int advance) {
+    expect(renderFontMock.getCharacterAdvance(anyChar(), anyChar(), eq(1.0f))).andReturn(advance).atLeastOnce();
+  }
 }
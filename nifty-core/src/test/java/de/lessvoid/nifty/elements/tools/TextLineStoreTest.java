@@ -0,0 +1,106 @@
+package de.lessvoid.nifty.elements.tools;
+
+import de.lessvoid.nifty.spi.render.RenderFont;
+import org.junit.Test;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertEquals;
+
+public class TextLineStoreTest {
+  private final TextLineStore lineStore = new TextLineStore();
+
+  @Test
+  public void testEmpty() {
+    assertEquals(0, lineStore.getLineCount());
+  }
+
+  @Test
+  public void testAppendSplitsLines() {
+    lineStore.append("first\nsecond\n\nfourth");
+    assertEquals(4, lineStore.getLineCount());
+    assertEquals("first", lineStore.getLine(0));
+    assertEquals("second", lineStore.getLine(1));
+    assertEquals("", lineStore.getLine(2));
+    assertEquals("fourth", lineStore.getLine(3));
+  }
+
+  @Test
+  public void testManyLines() {
+    for (int i = 0; i < 5000; i++) {
+      lineStore.addLine("line " + i);
+    }
+    assertEquals(5000, lineStore.getLineCount());
+    assertEquals("line 0", lineStore.getLine(0));
+    assertEquals("line 1023", lineStore.getLine(1023));
+    assertEquals("line 1024", lineStore.getLine(1024));
+    assertEquals("line 4999", lineStore.getLine(4999));
+  }
+
+  @Test
+  public void testMaxLinesRemovesOldestLines() {
+    lineStore.setMaxLines(1500);
+    for (int i = 0; i < 5000; i++) {
+      lineStore.addLine("line " + i);
+    }
+    assertEquals(1500, lineStore.getLineCount());
+    assertEquals("line 3500", lineStore.getLine(0));
+    assertEquals("line 4999", lineStore.getLine(1499));
+  }
+
+  @Test
+  public void testSetMaxLinesRemovesOldestLines() {
+    lineStore.append("a\nb\nc");
+    int version = lineStore.getVersion();
+    lineStore.setMaxLines(2);
+    assertEquals(2, lineStore.getLineCount());
+    assertEquals("b", lineStore.getLine(0));
+    assertEquals(version + 1, lineStore.getVersion());
+  }
+
+  @Test
+  public void testClear() {
+    lineStore.append("a\nb\nc");
+    lineStore.clear();
+    assertEquals(0, lineStore.getLineCount());
+    lineStore.addLine("d");
+    assertEquals("d", lineStore.getLine(0));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testGetLineOutOfBounds() {
+    lineStore.addLine("a");
+    lineStore.getLine(1);
+  }
+
+  @Test
+  public void testLineWidthIsMeasuredOnlyOnce() {
+    RenderFont font = createMock(RenderFont.class);
+    expect(font.getWidth("abc")).andReturn(30).once();
+    replay(font);
+
+    lineStore.addLine("abc");
+    assertEquals(30, lineStore.getLineWidth(0, font));
+    assertEquals(30, lineStore.getLineWidth(0, font));
+    verify(font);
+  }
+
+  @Test
+  public void testLineWidthIsMeasuredAgainWithOtherFont() {
+    RenderFont font = createMock(RenderFont.class);
+    expect(font.getWidth("abc")).andReturn(30).once();
+    replay(font);
+    RenderFont otherFont = createMock(RenderFont.class);
+    expect(otherFont.getWidth("abc")).andReturn(60).once();
+    replay(otherFont);
+
+    lineStore.addLine("abc");
+    assertEquals(30, lineStore.getLineWidth(0, font));
+    assertEquals(60, lineStore.getLineWidth(0, otherFont));
+    assertEquals(60, lineStore.getLineWidth(0, otherFont));
+    verify(font);
+    verify(otherFont);
+  }
+}
@@ -13,6 +13,9 @@ import org.easymock.EasyMock;
 
 import javax.annotation.Nonnull;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class NiftyLoaderTest extends TestCase {
 
@@ -87,4 +90,77 @@ public class NiftyLoaderTest extends TestCase {
         + "</nifty>";
     niftyLoader.loadNiftyXml("nifty.nxs", new ByteArrayInputStream(testXml.getBytes("ISO-8859-1")));
   }
+
+  public void testParallelLoadingCreatesSameTypes() throws Exception {
+    Nifty nifty = createNifty();
+    String filename = "de/lessvoid/nifty/loaderv2/compiled-test.xml";
+
+    NiftyLoader sequentialLoader = createLoader(nifty);
+    NiftyLoader parallelLoader = createLoader(nifty);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      parallelLoader.setExecutor(executor);
+      parallelLoader.prefetch("nifty.nxs", filename);
+
+      assertEquals(
+          sequentialLoader.loadNiftyXml("nifty.nxs", filename).output(),
+          parallelLoader.loadNiftyXml("nifty.nxs", filename).output());
+      assertEquals(0, parallelLoader.getPrefetchedCount());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void testParallelLoadingReportsMissingFile() throws Exception {
+    Nifty nifty = createNifty();
+    NiftyLoader loader = createLoader(nifty);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      loader.setExecutor(executor);
+      loader.prefetch("nifty.nxs", "does-not-exist.xml");
+      loader.loadNiftyXml("nifty.nxs", "does-not-exist.xml");
+      fail("expected IOException");
+    } catch (IOException e) {
+      // expected
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void testFailedParallelLoadingDropsUnusedPrefetches() throws Exception {
+    Nifty nifty = createNifty();
+    NiftyLoader loader = createLoader(nifty);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    String testXml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+        + "<nifty xmlns=\"http://nifty-gui.lessvoid.com/nifty-gui\">"
+        + "<useStyles filename=\"does-not-exist.xml\"/>"
+        + "<useStyles filename=\"de/lessvoid/nifty/loaderv2/compiled-test-styles.xml\"/>"
+        + "</nifty>";
+    try {
+      loader.setExecutor(executor);
+      loader.prefetch("nifty.nxs", "de/lessvoid/nifty/loaderv2/compiled-test.xml");
+      loader.loadNiftyXml("nifty.nxs", new ByteArrayInputStream(testXml.getBytes("ISO-8859-1")));
+      fail("expected IOException");
+    } catch (IOException e) {
+      // the explicitly prefetched file is kept, the style file that was not loaded anymore is dropped
+      assertEquals(1, loader.getPrefetchedCount());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private Nifty createNifty() {
+    RenderDevice renderDeviceMock = EasyMock.createNiceMock(RenderDevice.class);
+    SoundDevice soundDeviceMock = EasyMock.createNiceMock(SoundDevice.class);
+    InputSystem inputSystemMock = EasyMock.createNiceMock(InputSystem.class);
+    EasyMock.replay(renderDeviceMock, soundDeviceMock, inputSystemMock);
+    return new Nifty(renderDeviceMock, soundDeviceMock, inputSystemMock, new AccurateTimeProvider());
+  }
+
+  private NiftyLoader createLoader(@Nonnull final Nifty nifty) throws Exception {
+    NiftyLoader niftyLoader = new NiftyLoader(nifty, new AccurateTimeProvider());
+    niftyLoader.registerSchema("nifty.nxs", nifty.getResourceAsStream("nifty.nxs"));
+    niftyLoader.registerSchema("nifty-styles.nxs", nifty.getResourceAsStream("nifty-styles.nxs"));
+    return niftyLoader;
+  }
 }
@@ -0,0 +1,128 @@
+package de.lessvoid.nifty.loaderv2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.easymock.EasyMock;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.loaderv2.types.NiftyType;
+import de.lessvoid.nifty.spi.input.InputSystem;
+import de.lessvoid.nifty.spi.render.RenderDevice;
+import de.lessvoid.nifty.spi.sound.SoundDevice;
+import de.lessvoid.nifty.spi.time.TimeProvider;
+import de.lessvoid.nifty.spi.time.impl.AccurateTimeProvider;
+import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
+import de.lessvoid.xml.lwxs.CompiledXml;
+
+public class NiftyXmlCompilerTest {
+  private static final String MAIN = "de/lessvoid/nifty/loaderv2/compiled-test.xml";
+  private static final String STYLES = "de/lessvoid/nifty/loaderv2/compiled-test-styles.xml";
+
+  private Nifty nifty;
+  private TimeProvider timeProvider;
+  private NiftyXmlCompiler compiler;
+
+  @Before
+  public void setUp() throws Exception {
+    RenderDevice renderDeviceMock = EasyMock.createNiceMock(RenderDevice.class);
+    SoundDevice soundDeviceMock = EasyMock.createNiceMock(SoundDevice.class);
+    InputSystem inputSystemMock = EasyMock.createNiceMock(InputSystem.class);
+    EasyMock.replay(renderDeviceMock, soundDeviceMock, inputSystemMock);
+
+    timeProvider = new AccurateTimeProvider();
+    nifty = new Nifty(renderDeviceMock, soundDeviceMock, inputSystemMock, timeProvider);
+    compiler = new NiftyXmlCompiler(new NiftyResourceLoader());
+  }
+
+  @Test
+  public void testReferencedStylesAreCompiled() throws Exception {
+    CompiledNiftyXml compiled = compiler.compile(MAIN);
+
+    assertEquals(2, compiled.getDocuments().size());
+    assertNotNull(compiled.get(NiftyXmlCompiler.SCHEMA_NIFTY, MAIN));
+    assertNotNull(compiled.get(NiftyXmlCompiler.SCHEMA_STYLES, STYLES));
+  }
+
+  @Test
+  public void testCompiledXmlCreatesSameTypes() throws Exception {
+    CompiledNiftyXml compiled = writeAndRead(compiler.compile(MAIN));
+
+    NiftyLoader xmlLoader = createLoader();
+    NiftyLoader compiledLoader = createLoader();
+    compiledLoader.addCompiledXml(compiled);
+
+    assertEquals(
+        xmlLoader.loadNiftyXml(NiftyXmlCompiler.SCHEMA_NIFTY, MAIN).output(),
+        compiledLoader.loadNiftyXml(NiftyXmlCompiler.SCHEMA_NIFTY, MAIN).output());
+  }
+
+  @Test
+  public void testCompiledXmlIsUsedWhenUpToDate() throws Exception {
+    NiftyLoader loader = createLoader();
+    loader.addCompiledXml(createEmptyCompiledXml(checksum(MAIN)));
+
+    assertEquals(new NiftyType().output(), loader.loadNiftyXml(NiftyXmlCompiler.SCHEMA_NIFTY, MAIN).output());
+  }
+
+  @Test
+  public void testOutdatedCompiledXmlIsIgnored() throws Exception {
+    NiftyLoader loader = createLoader();
+    loader.addCompiledXml(createEmptyCompiledXml(checksum(MAIN) + 1));
+
+    assertFalse(new NiftyType().output().equals(loader.loadNiftyXml(NiftyXmlCompiler.SCHEMA_NIFTY, MAIN).output()));
+  }
+
+  @Test
+  public void testUnknownVersionIsRejected() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new CompiledNiftyXml().write(out);
+    byte[] data = out.toByteArray();
+    data[7]++;
+
+    try {
+      CompiledNiftyXml.read(new ByteArrayInputStream(data));
+      fail("expected IOException");
+    } catch (IOException e) {
+      // expected
+    }
+  }
+
+  private CompiledNiftyXml createEmptyCompiledXml(final long checksum) {
+    CompiledNiftyXml compiled = new CompiledNiftyXml();
+    CompiledXml empty = new CompiledXml(new CompiledXml.Node(NiftyType.class.getName(), null, new String[0]));
+    compiled.add(new CompiledNiftyXml.Document(NiftyXmlCompiler.SCHEMA_NIFTY, MAIN, checksum, empty));
+    return compiled;
+  }
+
+  private NiftyLoader createLoader() throws Exception {
+    NiftyLoader loader = new NiftyLoader(nifty, timeProvider);
+    loader.registerSchema(NiftyXmlCompiler.SCHEMA_NIFTY, nifty.getResourceAsStream(NiftyXmlCompiler.SCHEMA_NIFTY));
+    loader.registerSchema(NiftyXmlCompiler.SCHEMA_STYLES, nifty.getResourceAsStream(NiftyXmlCompiler.SCHEMA_STYLES));
+    return loader;
+  }
+
+  private long checksum(final String filename) throws IOException {
+    InputStream stream = nifty.getResourceAsStream(filename);
+    try {
+      return CompiledNiftyXml.checksum(stream);
+    } finally {
+      stream.close();
+    }
+  }
+
+  private CompiledNiftyXml writeAndRead(final CompiledNiftyXml compiled) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    compiled.write(out);
+    return CompiledNiftyXml.read(new ByteArrayInputStream(out.toByteArray()));
+  }
+}
@@ -0,0 +1,136 @@
+package de.lessvoid.nifty.loaderv2.types;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.loaderv2.types.resolver.style.StyleResolver;
+import de.lessvoid.xml.xpp3.Attributes;
+
+public class ControlPrototypeCacheTest {
+  private final ControlPrototypeCache cache = new ControlPrototypeCache();
+  private final Map<String, StyleType> styles = new HashMap<String, StyleType>();
+  private ControlDefinitionType controlDefinition;
+  private Nifty nifty;
+
+  @Before
+  public void setUp() {
+    addStyle("red#content", "color", "#f00f");
+    addStyle("green#content", "color", "#0f0f");
+    addStyle("red#child", "height", "10px");
+
+    controlDefinition = new ControlDefinitionType(new Attributes("name", "my-control"));
+    ElementType content = new PanelType(new Attributes("id", "#content", "style", "#content"));
+    controlDefinition.addPanel(content);
+
+    nifty = createNiceMock(Nifty.class);
+    expect(nifty.getControlPrototypeCache()).andReturn(cache).anyTimes();
+    expect(nifty.resolveControlDefinition("my-control")).andReturn(controlDefinition).anyTimes();
+    expect(nifty.getDefaultStyleResolver()).andReturn(new StyleResolver() {
+      @Nullable
+      @Override
+      public StyleType resolve(@Nullable final String styleId) {
+        return styles.get(styleId);
+      }
+    }).anyTimes();
+    replay(nifty);
+  }
+
+  @Test
+  public void testSecondControlUsesPrototype() {
+    ControlType first = createControl("red");
+    ControlType second = createControl("red");
+
+    assertEquals(1, cache.getMisses());
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.size());
+    assertNotSame(first.getFirstElement(), second.getFirstElement());
+    assertEquals("#f00f", first.getFirstElement().getAttributes().get("color"));
+    assertEquals("#f00f", second.getFirstElement().getAttributes().get("color"));
+  }
+
+  @Test
+  public void testDifferentStylesAreCompiledSeparately() {
+    ControlType red = createControl("red");
+    ControlType green = createControl("green");
+
+    assertEquals(2, cache.getMisses());
+    assertEquals(2, cache.size());
+    assertEquals("#f00f", red.getFirstElement().getAttributes().get("color"));
+    assertEquals("#0f0f", green.getFirstElement().getAttributes().get("color"));
+  }
+
+  @Test
+  public void testControlWithoutStyleIsNotCached() {
+    ControlType control = new ControlType(new Attributes("name", "my-control"));
+    control.applyControls(nifty);
+    control.applyStyles(nifty.getDefaultStyleResolver());
+
+    assertEquals(0, cache.getMisses());
+    assertEquals(0, cache.size());
+    assertNull(control.getFirstElement().getAttributes().get("color"));
+  }
+
+  @Test
+  public void testInstanceChildrenAreStyled() {
+    controlDefinition.getAttributes().set("childRootId", "#content");
+    createControl("red");
+
+    ControlType control = new ControlType(new Attributes("name", "my-control", "style", "red"));
+    control.addPanel(new PanelType(new Attributes("style", "#child")));
+    prepareControl(control);
+
+    ElementType child = control.getFirstElement().getFirstElement();
+    assertEquals(1, cache.getHits());
+    assertEquals("10px", child.getAttributes().get("height"));
+  }
+
+  @Test
+  public void testCompiledFlagIsRemovedAfterPrepare() {
+    ControlType control = createControl("red");
+
+    assertFalse(control.getFirstElement().isCompiled());
+  }
+
+  @Test
+  public void testClear() {
+    createControl("red");
+    cache.clear();
+    createControl("red");
+
+    assertEquals(2, cache.getMisses());
+    assertEquals(0, cache.getHits());
+    assertEquals(1, cache.size());
+  }
+
+  private ControlType createControl(final String style) {
+    ControlType control = new ControlType(new Attributes("name", "my-control", "style", style));
+    prepareControl(control);
+    return control;
+  }
+
+  private void prepareControl(final ControlType control) {
+    control.applyControls(nifty);
+    control.applyStyles(nifty.getDefaultStyleResolver());
+    control.setCompiled(false);
+  }
+
+  private void addStyle(final String id, final String key, final String value) {
+    StyleType style = new StyleType(new Attributes("id", id));
+    style.setAttributes(new AttributesType(new Attributes(key, value)));
+    styles.put(id, style);
+  }
+}
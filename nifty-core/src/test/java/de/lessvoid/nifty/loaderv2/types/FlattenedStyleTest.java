@@ -0,0 +1,103 @@
+package de.lessvoid.nifty.loaderv2.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.effects.EffectEventId;
+import de.lessvoid.nifty.loaderv2.types.resolver.style.StyleResolverControlDefinintion;
+import de.lessvoid.nifty.loaderv2.types.resolver.style.StyleResolverDefault;
+import de.lessvoid.xml.xpp3.Attributes;
+
+public class FlattenedStyleTest {
+  private final Map<String, StyleType> styles = new HashMap<String, StyleType>();
+  private final StyleResolverDefault styleResolver = new StyleResolverDefault(styles);
+
+  @Before
+  public void setUp() {
+    StyleType base = addStyle("base", null, "width", "10px");
+    EffectsType effects = new EffectsType();
+    effects.addOnStartScreen(new EffectType(new Attributes("name", "move")));
+    base.setEffect(effects);
+
+    addStyle("derived", "base", "height", "20px");
+    addStyle("control#sub", "base", "height", "30px");
+  }
+
+  @Test
+  public void testBaseStyleIsFlattened() {
+    ElementType elementType = new PanelType();
+    styles.get("derived").applyTo(elementType, styleResolver);
+
+    assertEquals("10px", elementType.getAttributes().get("width"));
+    assertEquals("20px", elementType.getAttributes().get("height"));
+    assertEquals(1, elementType.getEffects().getEventEffectTypes(EffectEventId.onStartScreen).size());
+  }
+
+  @Test
+  public void testFlattenedStyleIsCached() {
+    StyleType derived = styles.get("derived");
+
+    FlattenedStyle first = styleResolver.getFlattenedStyle(derived, null, styleResolver);
+    assertSame(first, styleResolver.getFlattenedStyle(derived, null, styleResolver));
+
+    styleResolver.clearFlattenedStyles();
+    assertNotSame(first, styleResolver.getFlattenedStyle(derived, null, styleResolver));
+  }
+
+  @Test
+  public void testReapplyReplacesStyledValues() {
+    ElementType elementType = new PanelType();
+    styles.get("derived").applyTo(elementType, styleResolver);
+    styles.get("derived").applyTo(elementType, styleResolver);
+
+    assertEquals("20px", elementType.getAttributes().get("height"));
+    assertEquals(1, elementType.getEffects().getEventEffectTypes(EffectEventId.onStartScreen).size());
+  }
+
+  @Test
+  public void testElementAttributesWin() {
+    ElementType elementType = new PanelType(new Attributes("height", "5px"));
+    styles.get("derived").applyTo(elementType, styleResolver);
+
+    assertEquals("5px", elementType.getAttributes().get("height"));
+  }
+
+  @Test
+  public void testSubStyleInsideControl() {
+    ElementType elementType = new PanelType(new Attributes("style", "#sub"));
+    elementType.applyStyles(new StyleResolverControlDefinintion(styleResolver, "control"));
+
+    assertEquals("10px", elementType.getAttributes().get("width"));
+    assertEquals("30px", elementType.getAttributes().get("height"));
+  }
+
+  @Test
+  public void testChangedBaseStyleAfterClear() {
+    ElementType elementType = new PanelType();
+    styles.get("derived").applyTo(elementType, styleResolver);
+
+    addStyle("base", null, "width", "99px");
+    styleResolver.clearFlattenedStyles();
+    ElementType other = new PanelType();
+    styles.get("derived").applyTo(other, styleResolver);
+
+    assertEquals("99px", other.getAttributes().get("width"));
+  }
+
+  private StyleType addStyle(final String id, final String base, final String key, final String value) {
+    StyleType style = new StyleType(new Attributes("id", id));
+    if (base != null) {
+      style.getAttributes().set("base", base);
+    }
+    style.setAttributes(new AttributesType(new Attributes(key, value)));
+    styles.put(id, style);
+    return style;
+  }
+}
@@ -0,0 +1,71 @@
+package de.lessvoid.nifty.render;
+
+import de.lessvoid.nifty.tools.Color;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TextRunsTest {
+  @Test
+  public void testPlainText() {
+    String text = "Hello World";
+    TextRuns runs = TextRuns.parse(text);
+    assertFalse(runs.hasColorMarkup());
+    assertSame(text, runs.getText());
+    assertEquals(1, runs.getRunCount());
+    assertEquals(0, runs.getRunStart(0));
+    assertEquals(11, runs.getRunEnd(0));
+    assertNull(runs.getRunColor(0));
+  }
+
+  @Test
+  public void testColorAtBeginning() {
+    TextRuns runs = TextRuns.parse("\\#ff0000#Hello");
+    assertTrue(runs.hasColorMarkup());
+    assertEquals("Hello", runs.getText());
+    assertEquals(1, runs.getRunCount());
+    assertColor(new Color("#ff0000"), runs.getRunColor(0));
+  }
+
+  @Test
+  public void testColorInTheMiddle() {
+    TextRuns runs = TextRuns.parse("Hello \\#0f0#World\\#00f#!");
+    assertEquals("Hello World!", runs.getText());
+    assertEquals(3, runs.getRunCount());
+    assertNull(runs.getRunColor(0));
+    assertEquals(0, runs.getRunStart(0));
+    assertEquals(6, runs.getRunEnd(0));
+    assertColor(new Color("#0f0"), runs.getRunColor(1));
+    assertEquals(6, runs.getRunStart(1));
+    assertEquals(11, runs.getRunEnd(1));
+    assertColor(new Color("#00f"), runs.getRunColor(2));
+    assertEquals(11, runs.getRunStart(2));
+    assertEquals(12, runs.getRunEnd(2));
+  }
+
+  @Test
+  public void testInvalidMarkupIsKept() {
+    String text = "a\\#xyz#b\\n";
+    TextRuns runs = TextRuns.parse(text);
+    assertFalse(runs.hasColorMarkup());
+    assertEquals(text, runs.getText());
+    assertEquals(1, runs.getRunCount());
+  }
+
+  @Test
+  public void testGetColorMarkupEnd() {
+    assertEquals(9, TextRuns.getColorMarkupEnd("\\#ff00ff#abc", 0));
+    assertEquals(-1, TextRuns.getColorMarkupEnd("\\#ff00ff#abc", 1));
+    assertEquals(-1, TextRuns.getColorMarkupEnd("\\#ff00ff", 0));
+  }
+
+  private void assertColor(final Color expected, final Color actual) {
+    assertEquals(expected.getRed(), actual.getRed(), 0.001f);
+    assertEquals(expected.getGreen(), actual.getGreen(), 0.001f);
+    assertEquals(expected.getBlue(), actual.getBlue(), 0.001f);
+  }
+}
@@ -0,0 +1,84 @@
+package de.lessvoid.nifty.screen;
+
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.input.NiftyMouseInputEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.easymock.EasyMock.*;
+
+public class MouseOverHandlerTest {
+  private static final long EVENT_TIME = 0;
+  private final MouseOverHandler mouseOverHandler = new MouseOverHandler();
+  private final NiftyMouseInputEvent mouseEvent = new NiftyMouseInputEvent();
+  private Element element;
+
+  @Before
+  public void before() {
+    element = createMock(Element.class);
+  }
+
+  @After
+  public void after() {
+    verify(element);
+  }
+
+  @Test
+  public void testNewMouseElementProcessesHover() {
+    expectHoverProcessing();
+    replay(element);
+
+    processMouseEvent();
+  }
+
+  @Test
+  public void testUnchangedMouseElementSkipsHover() {
+    expectHoverProcessing();
+    expect(element.hasPositionDependentHoverEffects()).andReturn(false).times(2);
+    expect(element.mouseEventInteraction(mouseEvent, EVENT_TIME)).andReturn(false);
+    replay(element);
+
+    processMouseEvent();
+    processMouseEvent();
+  }
+
+  @Test
+  public void testUnchangedMouseElementWithPositionDependentHover() {
+    expectHoverProcessing();
+    expect(element.hasPositionDependentHoverEffects()).andReturn(true).times(2);
+    expectHoverProcessing();
+    replay(element);
+
+    processMouseEvent();
+    processMouseEvent();
+  }
+
+  @Test
+  public void testMouseElementProcessesHoverAfterMouseOver() {
+    expectHoverProcessing();
+    expect(element.mouseEvent(mouseEvent, EVENT_TIME)).andReturn(false);
+    expectHoverProcessing();
+    replay(element);
+
+    processMouseEvent();
+
+    mouseOverHandler.reset();
+    mouseOverHandler.addMouseOverElement(element);
+    mouseOverHandler.processMouseEvent(mouseEvent, EVENT_TIME);
+
+    processMouseEvent();
+  }
+
+  private void expectHoverProcessing() {
+    element.mouseEventHoverPreprocess(mouseEvent, EVENT_TIME);
+    element.mouseEventHover(mouseEvent);
+    expect(element.mouseEventInteraction(mouseEvent, EVENT_TIME)).andReturn(false);
+  }
+
+  private void processMouseEvent() {
+    mouseOverHandler.reset();
+    mouseOverHandler.addMouseElement(element);
+    mouseOverHandler.processMouseEvent(mouseEvent, EVENT_TIME);
+  }
+}
@@ -0,0 +1,33 @@
+package de.lessvoid.nifty.screen;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.render.NiftyRenderEngine;
+import de.lessvoid.nifty.spi.time.TimeProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.easymock.EasyMock.*;
+import static org.junit.Assert.assertEquals;
+
+public class ScreenElementPoolTest {
+  private Screen screen;
+
+  @Before
+  public void before() {
+    Nifty niftyMock = createNiceMock(Nifty.class);
+    expect(niftyMock.getRenderEngine()).andStubReturn(createNiceMock(NiftyRenderEngine.class));
+    replay(niftyMock);
+
+    screen = new Screen(niftyMock, "id", createNiceMock(ScreenController.class), createNiceMock(TimeProvider.class));
+  }
+
+  @Test
+  public void testOnEndScreenHasEndedClearsElementPool() {
+    screen.getElementPool().offer("key", createMock(Element.class));
+    assertEquals(1, screen.getElementPool().getSize());
+
+    screen.onEndScreenHasEnded();
+    assertEquals(0, screen.getElementPool().getSize());
+  }
+}
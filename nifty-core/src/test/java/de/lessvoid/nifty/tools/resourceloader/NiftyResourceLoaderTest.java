@@ -0,0 +1,274 @@
+package de.lessvoid.nifty.tools.resourceloader;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class NiftyResourceLoaderTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private NiftyResourceLoader resourceLoader;
+  private CountingLocation countingLocation;
+
+  private static class CountingLocation implements ResourceLocation {
+    private int opened;
+    private int searched;
+
+    @Nullable
+    @Override
+    public InputStream getResourceAsStream(@Nonnull final String ref) {
+      searched++;
+      if (!"counted.txt".equals(ref)) {
+        return null;
+      }
+      opened++;
+      return new ByteArrayInputStream("0123456789".getBytes());
+    }
+
+    @Nullable
+    @Override
+    public URL getResource(@Nonnull final String ref) {
+      return null;
+    }
+  }
+
+  @Before
+  public void setUp() {
+    countingLocation = new CountingLocation();
+    resourceLoader = new NiftyResourceLoader();
+    resourceLoader.removeAllResourceLocations();
+    resourceLoader.addResourceLocation(countingLocation);
+  }
+
+  @Test
+  public void testCacheDisabledByDefault() throws Exception {
+    assertEquals("0123456789", read(resourceLoader.getResourceAsStream("counted.txt")));
+    assertEquals("0123456789", read(resourceLoader.getResourceAsStream("counted.txt")));
+
+    assertEquals(2, countingLocation.opened);
+    assertEquals(0, resourceLoader.getCacheHits());
+    assertEquals(0, resourceLoader.getCacheMisses());
+  }
+
+  @Test
+  public void testCachedResourceIsReadOnce() throws Exception {
+    resourceLoader.setCacheSize(1024, 100);
+
+    assertEquals("0123456789", read(resourceLoader.getResourceAsStream("counted.txt")));
+    assertEquals("0123456789", read(resourceLoader.getResourceAsStream("counted.txt")));
+
+    assertEquals(1, countingLocation.opened);
+    assertEquals(1, resourceLoader.getCacheHits());
+    assertEquals(1, resourceLoader.getCacheMisses());
+    assertEquals(10, resourceLoader.getCachedBytes());
+  }
+
+  @Test
+  public void testLargeResourceIsNotCached() throws Exception {
+    resourceLoader.setCacheSize(1024, 5);
+
+    assertEquals("0123456789", read(resourceLoader.getResourceAsStream("counted.txt")));
+    assertEquals("0123456789", read(resourceLoader.getResourceAsStream("counted.txt")));
+
+    assertEquals(2, countingLocation.opened);
+    assertEquals(0, resourceLoader.getCachedBytes());
+  }
+
+  @Test
+  public void testCacheSizeLimit() throws Exception {
+    resourceLoader.setCacheSize(1024, 100);
+    read(resourceLoader.getResourceAsStream("counted.txt"));
+
+    resourceLoader.setCacheSize(5, 100);
+
+    assertEquals(0, resourceLoader.getCachedBytes());
+  }
+
+  @Test
+  public void testResourceReadWhileCacheIsClearedIsNotCached() throws Exception {
+    resourceLoader.setCacheSize(1024, 100);
+    resourceLoader.addResourceLocation(new ResourceLocation() {
+      @Nullable
+      @Override
+      public InputStream getResourceAsStream(@Nonnull final String ref) {
+        resourceLoader.clearCache();
+        return new ByteArrayInputStream("old".getBytes());
+      }
+
+      @Nullable
+      @Override
+      public URL getResource(@Nonnull final String ref) {
+        return null;
+      }
+    });
+
+    assertEquals("old", read(resourceLoader.getResourceAsStream("removed.txt")));
+
+    assertEquals(0, resourceLoader.getCachedBytes());
+  }
+
+  @Test
+  public void testMissingResourceIsSearchedOnce() throws Exception {
+    resourceLoader.setCacheSize(1024, 100);
+
+    assertNull(resourceLoader.getResourceAsStream("missing.txt"));
+    assertNull(resourceLoader.getResourceAsStream("missing.txt"));
+    assertEquals(1, countingLocation.searched);
+
+    resourceLoader.clearCache();
+    assertNull(resourceLoader.getResourceAsStream("missing.txt"));
+    assertEquals(2, countingLocation.searched);
+  }
+
+  @Test
+  public void testMissingResourceIsSearchedAgainWithoutCache() throws Exception {
+    assertNull(resourceLoader.getResourceAsStream("missing.txt"));
+    assertNull(resourceLoader.getResourceAsStream("missing.txt"));
+
+    assertEquals(2, countingLocation.searched);
+  }
+
+  @Test
+  public void testIndexedLocationIsSkippedForUnknownResources() throws Exception {
+    File zip = createZip("images/a.png", "png");
+    resourceLoader.removeAllResourceLocations();
+    resourceLoader.addResourceLocation(new ZipLocation(zip));
+    resourceLoader.addResourceLocation(countingLocation);
+
+    assertEquals("png", read(resourceLoader.getResourceAsStream("images/a.png")));
+    assertEquals("0123456789", read(resourceLoader.getResourceAsStream("counted.txt")));
+    assertNull(resourceLoader.getResourceAsStream("missing.png"));
+    assertNotNull(resourceLoader.getResource("images/a.png"));
+  }
+
+  @Test
+  public void testZipLocation() throws Exception {
+    ZipLocation location = new ZipLocation(createZip("fonts/font.fnt", "font"));
+
+    assertTrue(location.hasResource("fonts/font.fnt"));
+    assertTrue(location.hasResource("fonts\\font.fnt"));
+    assertFalse(location.hasResource("fonts"));
+    assertTrue(location.hasResource("./fonts/font.fnt"));
+    assertEquals("font", read(location.getResourceAsStream("/fonts/font.fnt")));
+    assertEquals("font", read(location.getResource("fonts/font.fnt").openStream()));
+    location.close();
+  }
+
+  @Test
+  public void testDirectoryLocation() throws Exception {
+    File directory = folder.newFolder("assets");
+    write(new File(directory, "style.xml"), "xml");
+    DirectoryLocation location = new DirectoryLocation(directory);
+    File sub = new File(directory, "sub");
+    assertTrue(sub.mkdir());
+    write(new File(sub, "image.png"), "png");
+
+    assertTrue(location.hasResource("style.xml"));
+    assertFalse(location.hasResource("sub/image.png"));
+
+    location.refresh();
+
+    assertTrue(location.hasResource("sub/image.png"));
+    assertTrue(location.hasResource("/sub\\image.png"));
+    assertTrue(location.hasResource("./style.xml"));
+    assertEquals("png", read(location.getResourceAsStream("sub/image.png")));
+  }
+
+  @Test
+  public void testDirectoryLocationRefreshClearsCache() throws Exception {
+    File directory = folder.newFolder("changing");
+    write(new File(directory, "style.xml"), "old");
+    DirectoryLocation location = new DirectoryLocation(directory);
+    resourceLoader.addResourceLocation(location);
+    resourceLoader.setCacheSize(1024, 100);
+    assertEquals("old", read(resourceLoader.getResourceAsStream("style.xml")));
+
+    write(new File(directory, "style.xml"), "new");
+    location.refresh();
+
+    assertEquals(0, resourceLoader.getCachedBytes());
+    assertEquals("new", read(resourceLoader.getResourceAsStream("style.xml")));
+  }
+
+  @Test
+  public void testGetResourceAsBufferMapsLargeFiles() throws Exception {
+    File directory = folder.newFolder("large");
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < 100 * 1024; i++) {
+      content.append((char) ('a' + i % 26));
+    }
+    write(new File(directory, "large.txt"), content.toString());
+    write(new File(directory, "small.txt"), "small");
+    resourceLoader.addResourceLocation(new DirectoryLocation(directory));
+
+    ByteBuffer large = resourceLoader.getResourceAsBuffer("large.txt");
+    ByteBuffer small = resourceLoader.getResourceAsBuffer("small.txt");
+
+    assertNotNull(large);
+    assertTrue(large.isDirect());
+    assertEquals(content.length(), large.remaining());
+    assertNotNull(small);
+    assertEquals(5, small.remaining());
+    assertNull(resourceLoader.getResourceAsBuffer("missing.txt"));
+  }
+
+  @Nonnull
+  private File createZip(@Nonnull final String name, @Nonnull final String content) throws IOException {
+    File file = folder.newFile("resources.zip");
+    ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file));
+    try {
+      out.putNextEntry(new ZipEntry(name.substring(0, name.indexOf('/') + 1)));
+      out.closeEntry();
+      out.putNextEntry(new ZipEntry(name));
+      out.write(content.getBytes("ISO-8859-1"));
+      out.closeEntry();
+    } finally {
+      out.close();
+    }
+    return file;
+  }
+
+  private static void write(@Nonnull final File file, @Nonnull final String content) throws IOException {
+    FileOutputStream out = new FileOutputStream(file);
+    try {
+      out.write(content.getBytes("ISO-8859-1"));
+    } finally {
+      out.close();
+    }
+  }
+
+  @Nonnull
+  private static String read(@Nullable final InputStream in) throws IOException {
+    assertNotNull(in);
+    try {
+      StringBuilder result = new StringBuilder();
+      int c;
+      while ((c = in.read()) >= 0) {
+        result.append((char) c);
+      }
+      return result.toString();
+    } finally {
+      in.close();
+    }
+  }
+}
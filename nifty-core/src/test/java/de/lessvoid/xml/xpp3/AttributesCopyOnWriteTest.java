@@ -0,0 +1,125 @@
+package de.lessvoid.xml.xpp3;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class AttributesCopyOnWriteTest {
+  private static final String TAG = "tag";
+
+  private Attributes source = new Attributes();
+
+  @Before
+  public void setUp() {
+    source.set("key", "value");
+    source.mergeAndTag(new Attributes("tagged", "taggedValue"), TAG);
+  }
+
+  @Test
+  public void testChangingTheCopyKeepsTheSource() {
+    Attributes copy = new Attributes(source);
+    copy.set("key", "changed");
+    copy.removeWithTag(TAG);
+
+    assertEquals("value", source.get("key"));
+    assertEquals("taggedValue", source.getWithTag("tagged", TAG));
+    assertEquals("changed", copy.get("key"));
+    assertFalse(copy.isSet("tagged"));
+  }
+
+  @Test
+  public void testChangingTheSourceKeepsTheCopy() {
+    Attributes copy = new Attributes(source);
+    source.remove("key");
+    source.set("new", "newValue");
+
+    assertEquals("value", copy.get("key"));
+    assertNull(copy.get("new"));
+    assertEquals("taggedValue", copy.getWithTag("tagged", TAG));
+  }
+
+  @Test
+  public void testMergeKeepsTags() {
+    Attributes target = new Attributes();
+    target.merge(source);
+
+    assertEquals("taggedValue", target.getWithTag("tagged", TAG));
+    assertNull(target.getWithTag("key", TAG));
+  }
+
+  @Test
+  public void testRemovedAttributeLosesTag() {
+    source.remove("tagged");
+    source.set("tagged", "plain");
+
+    assertNull(source.getWithTag("tagged", TAG));
+  }
+
+  @Test
+  public void testLargeAttributes() {
+    Attributes attributes = new Attributes();
+    for (int i = 0; i < 100; i++) {
+      attributes.set(new String("key" + i), String.valueOf(i));
+    }
+    attributes.remove("key10");
+
+    assertNull(attributes.get("key10"));
+    assertEquals("99", attributes.get("key99"));
+    assertEquals(99, attributes.getAttributes().size());
+  }
+
+  @Test
+  public void testManyTags() {
+    Attributes attributes = new Attributes();
+    for (int i = 0; i < 200; i++) {
+      attributes.mergeAndTag(new Attributes("key", String.valueOf(i)), "tag" + i);
+      attributes.removeWithTag("tag" + i);
+    }
+
+    assertFalse(attributes.isSet("key"));
+  }
+
+  @Test
+  public void testMoreThan64TagsInUse() {
+    Attributes attributes = new Attributes();
+    for (int i = 0; i < 100; i++) {
+      attributes.mergeAndTag(new Attributes("key" + i, String.valueOf(i)), "tag" + i);
+    }
+    Attributes target = new Attributes();
+    target.merge(attributes);
+    Attributes copy = new Attributes(attributes);
+    copy.removeWithTag("tag80");
+
+    assertEquals("80", attributes.getWithTag("key80", "tag80"));
+    assertNull(attributes.getWithTag("key80", "tag81"));
+    assertEquals("99", target.getWithTag("key99", "tag99"));
+    assertFalse(copy.isSet("key80"));
+    assertEquals("81", copy.getWithTag("key81", "tag81"));
+    assertEquals("3", copy.getWithTag("key3", "tag3"));
+  }
+
+  @Test
+  public void testAttributesViewFollowsChanges() {
+    Map<String, String> view = source.getAttributes();
+    Attributes copy = new Attributes(source);
+    source.set("key", "changed");
+    source.set("new", "newValue");
+
+    assertSame(view, source.getAttributes());
+    assertEquals("changed", view.get("key"));
+    assertEquals(Arrays.asList("key", "tagged", "new"), Arrays.asList(view.keySet().toArray()));
+    assertEquals("value", copy.getAttributes().get("key"));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testAttributesViewIsReadOnly() {
+    source.getAttributes().put("key", "changed");
+  }
+}
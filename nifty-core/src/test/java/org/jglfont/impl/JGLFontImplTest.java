@@ -15,6 +15,7 @@ import java.io.InputStream;
 
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.*;
+import static org.junit.Assert.assertEquals;
 
 
 public class JGLFontImplTest {
@@ -84,6 +85,18 @@ public class JGLFontImplTest {
     jglFont.renderText(100, 100, "ab", 1.f, 1.f, 1.f, 0.9f, 0.8f, 0.7f);
   }
 
+  @Test
+  public void testRenderTextRunWithKerning() throws Exception {
+    initializeFontRenderer();
+    fontRenderer.beforeRender(null);
+    fontRenderer.render("name-0", 100, 100, 'a', 1.f, 1.f, 1.f, 0.9f, 0.8f, 0.7f);
+    fontRenderer.afterRender();
+    replay(fontRenderer);
+
+    jglFont = new JGLFontImpl(createBitmapFont());
+    assertEquals(117, jglFont.renderTextRun(100, 100, "ab", 0, 1, 1.f, 1.f, 1.f, 0.9f, 0.8f, 0.7f));
+  }
+
   @Test
   public void testRenderStringWithoutKerning() throws Exception {
     initializeFontRenderer();